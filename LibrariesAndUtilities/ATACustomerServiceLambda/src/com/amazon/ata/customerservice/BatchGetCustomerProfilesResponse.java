@@ -0,0 +1,140 @@
+package com.amazon.ata.customerservice;
+
+import java.util.Map;
+import java.util.Arrays;
+
+public class BatchGetCustomerProfilesResponse implements Comparable<BatchGetCustomerProfilesResponse> {
+
+  /**
+   * Statically creates a builder instance for BatchGetCustomerProfilesResponse.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Fluent builder for instances of BatchGetCustomerProfilesResponse.
+   */
+  public static class Builder {
+
+    protected Map<String, CustomerProfile> customerProfiles;
+    /**
+     * Sets the value of the field "customerProfiles" to be used for the constructed object.
+     * @param customerProfiles
+     *   The value of the "customerProfiles" field.
+     * @return
+     *   This builder.
+     */
+    public Builder withCustomerProfiles(Map<String, CustomerProfile> customerProfiles) {
+      this.customerProfiles = customerProfiles;
+      return this;
+    }
+
+    /**
+     * Sets the fields of the given instances to the corresponding values recorded when calling the "with*" methods.
+     * @param instance
+     *   The instance to be populated.
+     */
+    protected void populate(BatchGetCustomerProfilesResponse instance) {
+      instance.setCustomerProfiles(this.customerProfiles);
+    }
+
+    /**
+     * Builds an instance of BatchGetCustomerProfilesResponse.
+     * <p>
+     * The built object has its fields set to the values given when calling the "with*" methods of this builder.
+     * </p>
+     */
+    public BatchGetCustomerProfilesResponse build() {
+      BatchGetCustomerProfilesResponse instance = new BatchGetCustomerProfilesResponse();
+
+      populate(instance);
+
+      return instance;
+    }
+  };
+
+  private Map<String, CustomerProfile> customerProfiles;
+
+  public Map<String, CustomerProfile> getCustomerProfiles() {
+    return this.customerProfiles;
+  }
+
+  public void setCustomerProfiles(Map<String, CustomerProfile> customerProfiles) {
+    this.customerProfiles = customerProfiles;
+  }
+
+  private static final int classNameHashCode =
+      internalHashCodeCompute("com.amazon.ata.customerservice.BatchGetCustomerProfilesResponse");
+
+  /**
+   * HashCode implementation for BatchGetCustomerProfilesResponse
+   * based on java.util.Arrays.hashCode
+   */
+  @Override
+  public int hashCode() {
+    return internalHashCodeCompute(
+        classNameHashCode,
+        getCustomerProfiles());
+  }
+
+  private static int internalHashCodeCompute(Object... objects) {
+    return Arrays.hashCode(objects);
+  }
+  /**
+   * Equals implementation for BatchGetCustomerProfilesResponse
+   * based on instanceof and Object.equals().
+   */
+  @Override
+  public boolean equals(final Object other) {
+    if (!(other instanceof BatchGetCustomerProfilesResponse)) {
+      return false;
+    }
+
+    BatchGetCustomerProfilesResponse that = (BatchGetCustomerProfilesResponse) other;
+
+    return
+        internalEqualityCheck(getCustomerProfiles(), that.getCustomerProfiles());
+  }
+
+  private static boolean internalEqualityCheck(Object a, Object b) {
+    return a == b || (a != null && a.equals(b));
+  }
+
+  @SuppressWarnings({"rawtypes","unchecked"})
+  /** @deprecated This is broken and should not be used for any critical business processing. Please see https://issues.amazon.com/SF-955 */
+  @Deprecated
+  public int compareTo(@Deprecated BatchGetCustomerProfilesResponse o) {
+
+    if(o == null)
+      return -1;
+    if(o == this)
+      return 0;
+    BatchGetCustomerProfilesResponse t = o;
+    {
+      Object o1 = getCustomerProfiles();
+      Object o2 = t.getCustomerProfiles();
+      if(o1 != o2) {
+        if(o1 == null)
+          return -1;
+        if(o2 == null)
+          return 1;
+        if(o1 instanceof Comparable<?>) {
+          Comparable c1 = (Comparable)o1;
+          int ret = c1.compareTo(o2);
+          if(ret != 0)
+            return ret;
+        }
+        else if(!o1.equals(o2)) {
+          int hc1 = o1.hashCode();
+          int hc2 = o2.hashCode();
+          if(hc1 < hc2) return -1;
+          if(hc1 > hc2) return 1;
+        }
+      }
+    }
+    return 0;
+
+  }
+
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.amazon.atacustomerservicelambda.activity;
+
+import com.amazon.ata.customerservice.BatchGetCustomerProfilesRequest;
+import com.amazon.ata.customerservice.BatchGetCustomerProfilesResponse;
+import com.amazon.ata.customerservice.CustomerProfile;
+import com.amazon.ata.customerservice.InvalidParameterException;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.google.common.annotations.VisibleForTesting;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.inject.Inject;
+
+public class BatchGetCustomerProfilesActivity
+    implements RequestHandler<BatchGetCustomerProfilesRequest, BatchGetCustomerProfilesResponse> {
+
+    @VisibleForTesting
+    protected static final long SLEEP_MS = 200;
+
+    @VisibleForTesting
+    public static final int MAX_BATCH_SIZE = 100;
+
+    @Inject
+    public BatchGetCustomerProfilesActivity() {
+
+    }
+
+    /**
+     * Handles BatchGetCustomerProfiles requests. Looks up the profiles of up to MAX_BATCH_SIZE customers in one call,
+     * for the same latency as a single GetCustomerProfile call.
+     *
+     * @param request the customers to get profiles for.
+     * @return the profile of each customer, keyed by customerId.
+     * @throws InvalidParameterException if customerIds is null, contains a null or has more than MAX_BATCH_SIZE ids
+     */
+    @Override
+    public BatchGetCustomerProfilesResponse handleRequest(BatchGetCustomerProfilesRequest request, Context context) {
+        try {
+            Thread.sleep(SLEEP_MS);
+        } catch (InterruptedException e)  {
+            // Do nothing, just go ahead and send the results.
+            Thread.currentThread().interrupt();
+        }
+
+        if (request.getCustomerIds() == null) {
+            throw new InvalidParameterException("CustomerIds cannot be null.");
+        }
+        if (request.getCustomerIds().size() > MAX_BATCH_SIZE) {
+            throw new InvalidParameterException("CustomerIds cannot have more than " + MAX_BATCH_SIZE + " ids.");
+        }
+
+        Map<String, CustomerProfile> profiles = new LinkedHashMap<>();
+        for (String customerId : request.getCustomerIds()) {
+            if (customerId == null) {
+                throw new InvalidParameterException("CustomerIds cannot contain null.");
+            }
+            profiles.put(customerId, GetCustomerProfileActivity.lookUpProfile(customerId));
+        }
+
+        return BatchGetCustomerProfilesResponse.builder()
+            .withCustomerProfiles(profiles)
+            .build();
+    }
+}
@@ -87,10 +87,19 @@ public class GetCustomerProfileActivity implements RequestHandler<GetCustomerPro
             throw new InvalidParameterException("CustomerId cannot be null.");
         }
 
-        final int profileId = (request.getCustomerId().chars().sum() + request.getCustomerId().charAt(0)) % 10;
-
         return new GetCustomerProfileResponse().builder()
-            .withCustomerProfile(PROFILES.get(profileId))
+            .withCustomerProfile(lookUpProfile(request.getCustomerId()))
             .build();
     }
+
+    /**
+     * Finds the profile for a customer, without the delay of a call to the service.
+     *
+     * @param customerId the customer to find a profile for, not null.
+     * @return the customer's profile.
+     */
+    static CustomerProfile lookUpProfile(String customerId) {
+        final int profileId = (customerId.chars().sum() + customerId.charAt(0)) % 10;
+        return PROFILES.get(profileId);
+    }
 }
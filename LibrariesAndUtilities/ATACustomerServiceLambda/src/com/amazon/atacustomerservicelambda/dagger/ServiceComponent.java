@@ -1,6 +1,7 @@
 
 package com.amazon.atacustomerservicelambda.dagger;
 
+import com.amazon.atacustomerservicelambda.activity.BatchGetCustomerProfilesActivity;
 import com.amazon.atacustomerservicelambda.activity.GetCustomerProfileActivity;
 import com.amazon.atacustomerservicelambda.activity.GetCustomerSpendCategoriesActivity;
 //import com.amazon.atacustomerservicelambda.metrics.MetricsHandler;
@@ -15,4 +16,6 @@ public interface ServiceComponent {
     GetCustomerProfileActivity getCustomerProfileActivity();
 
     GetCustomerSpendCategoriesActivity getCustomerSpendCategoriesActivity();
+
+    BatchGetCustomerProfilesActivity getBatchGetCustomerProfilesActivity();
 }
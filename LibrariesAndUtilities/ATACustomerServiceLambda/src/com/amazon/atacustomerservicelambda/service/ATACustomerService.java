@@ -1,10 +1,13 @@
 package com.amazon.atacustomerservicelambda.service;
 
+import com.amazon.ata.customerservice.BatchGetCustomerProfilesRequest;
+import com.amazon.ata.customerservice.BatchGetCustomerProfilesResponse;
 import com.amazon.ata.customerservice.GetCustomerProfileRequest;
 import com.amazon.ata.customerservice.GetCustomerProfileResponse;
 import com.amazon.ata.customerservice.GetCustomerSpendCategoriesRequest;
 import com.amazon.ata.customerservice.GetCustomerSpendCategoriesResponse;
 
+import com.amazon.atacustomerservicelambda.activity.BatchGetCustomerProfilesActivity;
 import com.amazon.atacustomerservicelambda.activity.GetCustomerProfileActivity;
 import com.amazon.atacustomerservicelambda.activity.GetCustomerSpendCategoriesActivity;
 
@@ -14,6 +17,8 @@ public class ATACustomerService {
             new GetCustomerProfileActivity();
     private final GetCustomerSpendCategoriesActivity getCustomerSpendCategoriesActivity =
             new GetCustomerSpendCategoriesActivity();
+    private final BatchGetCustomerProfilesActivity batchGetCustomerProfilesActivity =
+            new BatchGetCustomerProfilesActivity();
 
     /**
      * Gets a profile for the customer. Customer profiles contain a customer's demographic information.
@@ -35,4 +40,14 @@ public class ATACustomerService {
     public GetCustomerSpendCategoriesResponse getCustomerSpendCategories(GetCustomerSpendCategoriesRequest request) {
         return getCustomerSpendCategoriesActivity.handleRequest(request, null);
     }
+
+    /**
+     * Gets the profiles of many customers in one call, for the latency of a single getCustomerProfile call.
+     *
+     * @param request The customers to get profiles for, at most BatchGetCustomerProfilesActivity.MAX_BATCH_SIZE.
+     * @return BatchGetCustomerProfilesResponse - Contains the profile of each customer, keyed by customerId.
+     */
+    public BatchGetCustomerProfilesResponse batchGetCustomerProfiles(BatchGetCustomerProfilesRequest request) {
+        return batchGetCustomerProfilesActivity.handleRequest(request, null);
+    }
 }
@@ -0,0 +1,187 @@
+package com.amazon.ata.primeclubservice;
+
+import java.util.List;
+import java.util.Arrays;
+
+public class BatchGetPrimeBenefitsRequest implements Comparable<BatchGetPrimeBenefitsRequest> {
+
+  /**
+   * Statically creates a builder instance for BatchGetPrimeBenefitsRequest.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Fluent builder for instances of BatchGetPrimeBenefitsRequest.
+   */
+  public static class Builder {
+
+    protected List<String> customerIds;
+    /**
+     * Sets the value of the field "customerIds" to be used for the constructed object.
+     * @param customerIds
+     *   The value of the "customerIds" field.
+     * @return
+     *   This builder.
+     */
+    public Builder withCustomerIds(List<String> customerIds) {
+      this.customerIds = customerIds;
+      return this;
+    }
+
+    protected String marketplaceId;
+    /**
+     * Sets the value of the field "marketplaceId" to be used for the constructed object.
+     * @param marketplaceId
+     *   The value of the "marketplaceId" field.
+     * @return
+     *   This builder.
+     */
+    public Builder withMarketplaceId(String marketplaceId) {
+      this.marketplaceId = marketplaceId;
+      return this;
+    }
+
+    /**
+     * Sets the fields of the given instances to the corresponding values recorded when calling the "with*" methods.
+     * @param instance
+     *   The instance to be populated.
+     */
+    protected void populate(BatchGetPrimeBenefitsRequest instance) {
+      instance.setCustomerIds(this.customerIds);
+      instance.setMarketplaceId(this.marketplaceId);
+    }
+
+    /**
+     * Builds an instance of BatchGetPrimeBenefitsRequest.
+     * <p>
+     * The built object has its fields set to the values given when calling the "with*" methods of this builder.
+     * </p>
+     */
+    public BatchGetPrimeBenefitsRequest build() {
+      BatchGetPrimeBenefitsRequest instance = new BatchGetPrimeBenefitsRequest();
+
+      populate(instance);
+
+      return instance;
+    }
+  };
+
+  private List<String> customerIds;
+  private String marketplaceId;
+
+  public List<String> getCustomerIds() {
+    return this.customerIds;
+  }
+
+  public void setCustomerIds(List<String> customerIds) {
+    this.customerIds = customerIds;
+  }
+
+  public String getMarketplaceId() {
+    return this.marketplaceId;
+  }
+
+  public void setMarketplaceId(String marketplaceId) {
+    this.marketplaceId = marketplaceId;
+  }
+
+  private static final int classNameHashCode =
+      internalHashCodeCompute("com.amazon.ata.primeclubservice.BatchGetPrimeBenefitsRequest");
+
+  /**
+   * HashCode implementation for BatchGetPrimeBenefitsRequest
+   * based on java.util.Arrays.hashCode
+   */
+  @Override
+  public int hashCode() {
+    return internalHashCodeCompute(
+        classNameHashCode,
+        getCustomerIds(),
+        getMarketplaceId());
+  }
+
+  private static int internalHashCodeCompute(Object... objects) {
+    return Arrays.hashCode(objects);
+  }
+  /**
+   * Equals implementation for BatchGetPrimeBenefitsRequest
+   * based on instanceof and Object.equals().
+   */
+  @Override
+  public boolean equals(final Object other) {
+    if (!(other instanceof BatchGetPrimeBenefitsRequest)) {
+      return false;
+    }
+
+    BatchGetPrimeBenefitsRequest that = (BatchGetPrimeBenefitsRequest) other;
+
+    return
+        internalEqualityCheck(getCustomerIds(), that.getCustomerIds())
+        && internalEqualityCheck(getMarketplaceId(), that.getMarketplaceId());
+  }
+
+  private static boolean internalEqualityCheck(Object a, Object b) {
+    return a == b || (a != null && a.equals(b));
+  }
+
+  @SuppressWarnings({"rawtypes","unchecked"})
+  /** @deprecated This is broken and should not be used for any critical business processing. Please see https://issues.amazon.com/SF-955 */
+  @Deprecated
+  public int compareTo(@Deprecated BatchGetPrimeBenefitsRequest o) {
+
+    if(o == null)
+      return -1;
+    if(o == this)
+      return 0;
+    BatchGetPrimeBenefitsRequest t = o;
+    {
+      Object o1 = getCustomerIds();
+      Object o2 = t.getCustomerIds();
+      if(o1 != o2) {
+        if(o1 == null)
+          return -1;
+        if(o2 == null)
+          return 1;
+        if(o1 instanceof Comparable<?>) {
+          Comparable c1 = (Comparable)o1;
+          int ret = c1.compareTo(o2);
+          if(ret != 0)
+            return ret;
+        }
+        else if(!o1.equals(o2)) {
+          int hc1 = o1.hashCode();
+          int hc2 = o2.hashCode();
+          if(hc1 < hc2) return -1;
+          if(hc1 > hc2) return 1;
+        }
+      }
+    }
+    {
+      Object o1 = getMarketplaceId();
+      Object o2 = t.getMarketplaceId();
+      if(o1 != o2) {
+        if(o1 == null)
+          return -1;
+        if(o2 == null)
+          return 1;
+        if(o1 instanceof Comparable<?>) {
+          Comparable c1 = (Comparable)o1;
+          int ret = c1.compareTo(o2);
+          if(ret != 0)
+            return ret;
+        }
+        else if(!o1.equals(o2)) {
+          int hc1 = o1.hashCode();
+          int hc2 = o2.hashCode();
+          if(hc1 < hc2) return -1;
+          if(hc1 > hc2) return 1;
+        }
+      }
+    }
+    return 0;
+
+  }
+
+}
\ No newline at end of file
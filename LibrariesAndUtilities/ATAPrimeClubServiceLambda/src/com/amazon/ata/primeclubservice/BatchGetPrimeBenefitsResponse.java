@@ -0,0 +1,141 @@
+package com.amazon.ata.primeclubservice;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Arrays;
+
+public class BatchGetPrimeBenefitsResponse implements Comparable<BatchGetPrimeBenefitsResponse> {
+
+  /**
+   * Statically creates a builder instance for BatchGetPrimeBenefitsResponse.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Fluent builder for instances of BatchGetPrimeBenefitsResponse.
+   */
+  public static class Builder {
+
+    protected Map<String, List<PrimeBenefit>> primeBenefits;
+    /**
+     * Sets the value of the field "primeBenefits" to be used for the constructed object.
+     * @param primeBenefits
+     *   The value of the "primeBenefits" field.
+     * @return
+     *   This builder.
+     */
+    public Builder withPrimeBenefits(Map<String, List<PrimeBenefit>> primeBenefits) {
+      this.primeBenefits = primeBenefits;
+      return this;
+    }
+
+    /**
+     * Sets the fields of the given instances to the corresponding values recorded when calling the "with*" methods.
+     * @param instance
+     *   The instance to be populated.
+     */
+    protected void populate(BatchGetPrimeBenefitsResponse instance) {
+      instance.setPrimeBenefits(this.primeBenefits);
+    }
+
+    /**
+     * Builds an instance of BatchGetPrimeBenefitsResponse.
+     * <p>
+     * The built object has its fields set to the values given when calling the "with*" methods of this builder.
+     * </p>
+     */
+    public BatchGetPrimeBenefitsResponse build() {
+      BatchGetPrimeBenefitsResponse instance = new BatchGetPrimeBenefitsResponse();
+
+      populate(instance);
+
+      return instance;
+    }
+  };
+
+  private Map<String, List<PrimeBenefit>> primeBenefits;
+
+  public Map<String, List<PrimeBenefit>> getPrimeBenefits() {
+    return this.primeBenefits;
+  }
+
+  public void setPrimeBenefits(Map<String, List<PrimeBenefit>> primeBenefits) {
+    this.primeBenefits = primeBenefits;
+  }
+
+  private static final int classNameHashCode =
+      internalHashCodeCompute("com.amazon.ata.primeclubservice.BatchGetPrimeBenefitsResponse");
+
+  /**
+   * HashCode implementation for BatchGetPrimeBenefitsResponse
+   * based on java.util.Arrays.hashCode
+   */
+  @Override
+  public int hashCode() {
+    return internalHashCodeCompute(
+        classNameHashCode,
+        getPrimeBenefits());
+  }
+
+  private static int internalHashCodeCompute(Object... objects) {
+    return Arrays.hashCode(objects);
+  }
+  /**
+   * Equals implementation for BatchGetPrimeBenefitsResponse
+   * based on instanceof and Object.equals().
+   */
+  @Override
+  public boolean equals(final Object other) {
+    if (!(other instanceof BatchGetPrimeBenefitsResponse)) {
+      return false;
+    }
+
+    BatchGetPrimeBenefitsResponse that = (BatchGetPrimeBenefitsResponse) other;
+
+    return
+        internalEqualityCheck(getPrimeBenefits(), that.getPrimeBenefits());
+  }
+
+  private static boolean internalEqualityCheck(Object a, Object b) {
+    return a == b || (a != null && a.equals(b));
+  }
+
+  @SuppressWarnings({"rawtypes","unchecked"})
+  /** @deprecated This is broken and should not be used for any critical business processing. Please see https://issues.amazon.com/SF-955 */
+  @Deprecated
+  public int compareTo(@Deprecated BatchGetPrimeBenefitsResponse o) {
+
+    if(o == null)
+      return -1;
+    if(o == this)
+      return 0;
+    BatchGetPrimeBenefitsResponse t = o;
+    {
+      Object o1 = getPrimeBenefits();
+      Object o2 = t.getPrimeBenefits();
+      if(o1 != o2) {
+        if(o1 == null)
+          return -1;
+        if(o2 == null)
+          return 1;
+        if(o1 instanceof Comparable<?>) {
+          Comparable c1 = (Comparable)o1;
+          int ret = c1.compareTo(o2);
+          if(ret != 0)
+            return ret;
+        }
+        else if(!o1.equals(o2)) {
+          int hc1 = o1.hashCode();
+          int hc2 = o2.hashCode();
+          if(hc1 < hc2) return -1;
+          if(hc1 > hc2) return 1;
+        }
+      }
+    }
+    return 0;
+
+  }
+
+}
\ No newline at end of file
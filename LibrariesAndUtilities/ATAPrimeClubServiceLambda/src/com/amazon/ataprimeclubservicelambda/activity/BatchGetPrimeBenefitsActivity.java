@@ -0,0 +1,70 @@
+package com.amazon.ataprimeclubservicelambda.activity;
+
+import com.amazon.ata.primeclubservice.BatchGetPrimeBenefitsRequest;
+import com.amazon.ata.primeclubservice.BatchGetPrimeBenefitsResponse;
+import com.amazon.ata.primeclubservice.InvalidParameterException;
+import com.amazon.ata.primeclubservice.PrimeBenefit;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.google.common.annotations.VisibleForTesting;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.inject.Inject;
+
+public class BatchGetPrimeBenefitsActivity
+    implements RequestHandler<BatchGetPrimeBenefitsRequest, BatchGetPrimeBenefitsResponse> {
+
+    @VisibleForTesting
+    protected static final long SLEEP_MS = 200;
+
+    @VisibleForTesting
+    public static final int MAX_BATCH_SIZE = 100;
+
+    @Inject
+    public BatchGetPrimeBenefitsActivity() {
+
+    }
+
+    /**
+     * Handles BatchGetPrimeBenefits requests. Looks up the benefits of up to MAX_BATCH_SIZE customers in one
+     * marketplace in one call, for the same latency as a single GetPrimeBenefits call. Customers that are not prime
+     * get an empty list.
+     *
+     * @param request the customers in the marketplace to find benefits for.
+     * @return the benefits of each customer, keyed by customerId.
+     * @throws InvalidParameterException if marketplaceId or customerIds is null, customerIds contains a null or has
+     *     more than MAX_BATCH_SIZE ids
+     */
+    @Override
+    public BatchGetPrimeBenefitsResponse handleRequest(BatchGetPrimeBenefitsRequest request, Context context) {
+        try {
+            Thread.sleep(SLEEP_MS);
+        } catch (InterruptedException e)  {
+            //Do nothing, just go ahead and send the results.
+            Thread.currentThread().interrupt();
+        }
+
+        if (request.getCustomerIds() == null) {
+            throw new InvalidParameterException("CustomerIds cannot be null.");
+        }
+        if (request.getCustomerIds().size() > MAX_BATCH_SIZE) {
+            throw new InvalidParameterException("CustomerIds cannot have more than " + MAX_BATCH_SIZE + " ids.");
+        }
+        if (request.getMarketplaceId() == null) {
+            throw new InvalidParameterException("MarketplaceId cannot be null.");
+        }
+
+        Map<String, List<PrimeBenefit>> benefits = new LinkedHashMap<>();
+        for (String customerId : request.getCustomerIds()) {
+            if (customerId == null) {
+                throw new InvalidParameterException("CustomerIds cannot contain null.");
+            }
+            benefits.put(customerId, GetPrimeBenefitsActivity.lookUpBenefits(customerId));
+        }
+
+        return BatchGetPrimeBenefitsResponse.builder()
+            .withPrimeBenefits(benefits)
+            .build();
+    }
+}
@@ -91,11 +91,20 @@ public class GetPrimeBenefitsActivity implements RequestHandler<GetPrimeBenefits
             throw new InvalidParameterException("MarketplaceId cannot be null.");
         }
 
-        int benefitsId = request.getCustomerId().chars().sum() % 10;
-
         return new GetPrimeBenefitsResponse().builder()
-            .withPrimeBenefits(BENEFITS.get(benefitsId))
+            .withPrimeBenefits(lookUpBenefits(request.getCustomerId()))
             .build();
     }
 
+    /**
+     * Finds the benefits a customer receives, without the delay of a call to the service.
+     *
+     * @param customerId the customer to find benefits for, not null.
+     * @return a list of benefits.
+     */
+    static List<PrimeBenefit> lookUpBenefits(String customerId) {
+        int benefitsId = customerId.chars().sum() % 10;
+        return BENEFITS.get(benefitsId);
+    }
+
 }
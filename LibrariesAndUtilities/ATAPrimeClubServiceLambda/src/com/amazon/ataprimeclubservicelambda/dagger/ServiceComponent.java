@@ -1,6 +1,7 @@
 
 package com.amazon.ataprimeclubservicelambda.dagger;
 
+import com.amazon.ataprimeclubservicelambda.activity.BatchGetPrimeBenefitsActivity;
 import com.amazon.ataprimeclubservicelambda.activity.GetPrimeBenefitsActivity;
 //import com.amazon.ataprimeclubservicelambda.metrics.MetricsHandler;
 import dagger.Component;
@@ -12,4 +13,6 @@ public interface ServiceComponent {
     //MetricsHandler metricsHandler();
 
     GetPrimeBenefitsActivity getPrimeBenefitsActivity();
+
+    BatchGetPrimeBenefitsActivity getBatchGetPrimeBenefitsActivity();
 }
@@ -1,13 +1,17 @@
 package com.amazon.ataprimeclubservicelambda.service;
 
+import com.amazon.ata.primeclubservice.BatchGetPrimeBenefitsRequest;
+import com.amazon.ata.primeclubservice.BatchGetPrimeBenefitsResponse;
 import com.amazon.ata.primeclubservice.GetPrimeBenefitsRequest;
 import com.amazon.ata.primeclubservice.GetPrimeBenefitsResponse;
 
+import com.amazon.ataprimeclubservicelambda.activity.BatchGetPrimeBenefitsActivity;
 import com.amazon.ataprimeclubservicelambda.activity.GetPrimeBenefitsActivity;
 
 public class ATAPrimeClubService {
 
     private final GetPrimeBenefitsActivity getPrimeBenefitsActivity = new GetPrimeBenefitsActivity();
+    private final BatchGetPrimeBenefitsActivity batchGetPrimeBenefitsActivity = new BatchGetPrimeBenefitsActivity();
 
     /**
      * Determines what benefits a given customerID is receiving in a specific marketplaceID.
@@ -20,4 +24,16 @@ public class ATAPrimeClubService {
     public GetPrimeBenefitsResponse getPrimeBenefits(GetPrimeBenefitsRequest request) {
         return getPrimeBenefitsActivity.handleRequest(request, null);
     }
+
+    /**
+     * Determines what benefits many customerIds are receiving in a specific marketplaceID, in one call.
+     * Customers that are not Prime get an empty BenefitList.
+     *
+     * @param request the customers in the marketplace to find benefits for, at most
+     *     BatchGetPrimeBenefitsActivity.MAX_BATCH_SIZE.
+     * @return the benefits of each customer, keyed by customerId.
+     */
+    public BatchGetPrimeBenefitsResponse batchGetPrimeBenefits(BatchGetPrimeBenefitsRequest request) {
+        return batchGetPrimeBenefitsActivity.handleRequest(request, null);
+    }
 }
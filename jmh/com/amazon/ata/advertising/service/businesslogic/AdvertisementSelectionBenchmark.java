@@ -0,0 +1,105 @@
+package com.amazon.ata.advertising.service.businesslogic;
+
+import com.amazon.ata.advertising.service.catalog.AdvertisementCatalog;
+import com.amazon.ata.advertising.service.catalog.BenchmarkCatalog;
+import com.amazon.ata.advertising.service.catalog.MarketplaceCatalog;
+import com.amazon.ata.advertising.service.dao.BenchmarkCustomerData;
+import com.amazon.ata.advertising.service.dao.CustomerDataLoader;
+import com.amazon.ata.advertising.service.dependency.ExecutorModule;
+import com.amazon.ata.advertising.service.model.GeneratedAdvertisement;
+import com.amazon.ata.advertising.service.targeting.predicate.BenchmarkPredicates;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures selecting an ad for a request end to end, against an in-memory catalog and fake customer data, with the
+ * executors ExecutorModule provides. Each selection is for the next of a fixed set of customers, so every request
+ * loads its customer data and pays the fake DAO latency. reloadCatalog measures rebuilding the marketplace's
+ * snapshot from the content and targeting group DAOs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AdvertisementSelectionBenchmark {
+    @Param({"10", "100", "1000"})
+    private int catalogSize;
+
+    @Param({"1", "4"})
+    private int groupsPerContent;
+
+    @Param({"1", "4"})
+    private int predicatesPerGroup;
+
+    @Param({"0", "2"})
+    private long daoLatencyMillis;
+
+    private final AtomicInteger nextCustomer = new AtomicInteger();
+    private ExecutorService evaluationExecutor;
+    private ExecutorService customerDataExecutor;
+    private ScheduledExecutorService deadlineExecutor;
+    private AdvertisementCatalog catalog;
+    private AdvertisementSelectionLogic adSelector;
+
+    /**
+     * Builds the catalog and loads its marketplace, so selections only measure reading the snapshot.
+     */
+    @Setup
+    public void setUp() {
+        ExecutorModule executorModule = new ExecutorModule();
+        Optional<ExecutorService> virtualThreadExecutor =
+                executorModule.provideVirtualThreadExecutor(executorModule.provideExecutionMode());
+        evaluationExecutor = executorModule.provideTargetingEvaluationExecutor(virtualThreadExecutor);
+        customerDataExecutor = executorModule.provideCustomerDataExecutor(virtualThreadExecutor);
+        deadlineExecutor = executorModule.provideDeadlineExecutor();
+
+        CustomerDataLoader customerDataLoader =
+                BenchmarkCustomerData.customerDataLoader(daoLatencyMillis, customerDataExecutor);
+        catalog = BenchmarkCatalog.create(catalogSize, groupsPerContent, predicatesPerGroup, daoLatencyMillis,
+                BenchmarkPredicates.injector(customerDataLoader));
+        catalog.get(BenchmarkCustomerData.MARKETPLACE_ID);
+        adSelector = new AdvertisementSelectionLogic(catalog, customerDataLoader, evaluationExecutor,
+                deadlineExecutor);
+    }
+
+    /**
+     * Stops the executors' threads.
+     */
+    @TearDown
+    public void tearDown() {
+        evaluationExecutor.shutdownNow();
+        customerDataExecutor.shutdownNow();
+        deadlineExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public GeneratedAdvertisement selectAdvertisement() {
+        return adSelector.selectAdvertisement(BenchmarkCustomerData.customerId(nextCustomer.getAndIncrement()),
+                BenchmarkCustomerData.MARKETPLACE_ID);
+    }
+
+    @Benchmark
+    public MarketplaceCatalog reloadCatalog() {
+        catalog.invalidate(BenchmarkCustomerData.MARKETPLACE_ID);
+        return catalog.get(BenchmarkCustomerData.MARKETPLACE_ID);
+    }
+}
@@ -0,0 +1,86 @@
+package com.amazon.ata.advertising.service.catalog;
+
+import com.amazon.ata.advertising.service.dao.BenchmarkCustomerData;
+import com.amazon.ata.advertising.service.dao.InMemoryReadableDao;
+import com.amazon.ata.advertising.service.dependency.TargetingPredicateInjector;
+import com.amazon.ata.advertising.service.model.AdvertisementContent;
+import com.amazon.ata.advertising.service.targeting.TargetingGroup;
+import com.amazon.ata.advertising.service.targeting.predicate.BenchmarkPredicates;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Makes up a marketplace of advertising content and targeting groups for benchmarks, served by in-memory DAOs.
+ */
+public final class BenchmarkCatalog {
+    private static final long SEED = 42;
+
+    private BenchmarkCatalog() {}
+
+    /**
+     * Creates an AdvertisementCatalog with one marketplace, BenchmarkCustomerData.MARKETPLACE_ID. The same sizes always
+     * make up the same content and targeting groups.
+     * @param catalogSize The number of contents in the marketplace.
+     * @param groupsPerContent The number of targeting groups of each content.
+     * @param predicatesPerGroup The number of predicates in each targeting group.
+     * @param daoLatencyMillis How long each call to the content and targeting group DAOs waits before responding.
+     * @param injector Injects the predicates of every targeting group.
+     * @return the catalog, with nothing loaded yet
+     */
+    public static AdvertisementCatalog create(int catalogSize, int groupsPerContent, int predicatesPerGroup,
+                                              long daoLatencyMillis, TargetingPredicateInjector injector) {
+        Random random = new Random(SEED);
+        List<AdvertisementContent> contents = new ArrayList<>(catalogSize);
+        Map<String, List<TargetingGroup>> targetingGroups = new HashMap<>();
+        for (int i = 0; i < catalogSize; i++) {
+            AdvertisementContent content = content("benchmark-content-" + i);
+            contents.add(content);
+
+            List<TargetingGroup> groups = new ArrayList<>(groupsPerContent);
+            for (int j = 0; j < groupsPerContent; j++) {
+                TargetingGroup group = targetingGroup(content.getContentId() + "-group-" + j, content.getContentId(),
+                        predicatesPerGroup, random);
+                group.getTargetingPredicates().forEach(injector::inject);
+                groups.add(group);
+            }
+            targetingGroups.put(content.getContentId(), groups);
+        }
+
+        return new AdvertisementCatalog(
+                new InMemoryReadableDao<>(Collections.singletonMap(BenchmarkCustomerData.MARKETPLACE_ID, contents),
+                        daoLatencyMillis),
+                new InMemoryReadableDao<>(targetingGroups, daoLatencyMillis));
+    }
+
+    /**
+     * Makes up a piece of content in BenchmarkCustomerData.MARKETPLACE_ID.
+     * @param contentId The ID of the content.
+     * @return the content
+     */
+    public static AdvertisementContent content(String contentId) {
+        return AdvertisementContent.builder()
+                .withContentId(contentId)
+                .withMarketplaceId(BenchmarkCustomerData.MARKETPLACE_ID)
+                .withRenderableContent("<div>Advertisement " + contentId + "</div>")
+                .build();
+    }
+
+    /**
+     * Makes up a targeting group with a random click through rate and predicates.
+     * @param targetingGroupId The ID of the targeting group.
+     * @param contentId The content the group targets.
+     * @param predicatesPerGroup The number of predicates in the group.
+     * @param random The source of the click through rate and predicates.
+     * @return the targeting group, whose predicates are not yet injected
+     */
+    public static TargetingGroup targetingGroup(String targetingGroupId, String contentId, int predicatesPerGroup,
+                                                Random random) {
+        return new TargetingGroup(targetingGroupId, contentId, random.nextDouble(),
+                BenchmarkPredicates.create(predicatesPerGroup, random));
+    }
+}
@@ -0,0 +1,48 @@
+package com.amazon.ata.advertising.service.dao;
+
+import com.amazon.ata.advertising.service.scoring.FakeCustomerService;
+import com.amazon.ata.advertising.service.scoring.FakePrimeClubService;
+import com.amazon.atacustomerservicelambda.service.ATACustomerService;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Customer data for benchmarks, made up by the fake customer and prime club services instead of calling them.
+ */
+public final class BenchmarkCustomerData {
+    public static final String MARKETPLACE_ID = "1";
+    public static final int CUSTOMERS = 1024;
+
+    private static final String[] CUSTOMER_IDS = new String[CUSTOMERS];
+
+    static {
+        for (int i = 0; i < CUSTOMERS; i++) {
+            CUSTOMER_IDS[i] = "benchmark-customer-" + i;
+        }
+    }
+
+    private BenchmarkCustomerData() {}
+
+    /**
+     * Gets one of a fixed set of customer IDs, so a benchmark can cycle through customers without building strings.
+     * @param index Any number; it wraps around the set of customers.
+     * @return the customer ID
+     */
+    public static String customerId(int index) {
+        return CUSTOMER_IDS[Math.floorMod(index, CUSTOMERS)];
+    }
+
+    /**
+     * Creates a CustomerDataLoader whose profile, spend and prime benefit DAOs call the fake services.
+     * @param latencyMillis How long each call to a fake service waits before responding.
+     * @param customerDataExecutor Executor the DAOs are called on.
+     * @return the CustomerDataLoader
+     */
+    public static CustomerDataLoader customerDataLoader(long latencyMillis, Executor customerDataExecutor) {
+        ATACustomerService customerService = new FakeCustomerService(latencyMillis);
+        return new CustomerDataLoader(new CustomerProfileDao(customerService),
+                new CustomerSpendDao(customerService),
+                new PrimeDao(new FakePrimeClubService(latencyMillis)),
+                customerDataExecutor);
+    }
+}
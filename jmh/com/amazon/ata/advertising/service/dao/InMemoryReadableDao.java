@@ -0,0 +1,57 @@
+package com.amazon.ata.advertising.service.dao;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A ReadableDao backed by a map, for benchmarks. An optional delay simulates the latency of the datasource; a getAll
+ * waits once, like a single batch call.
+ *
+ * @param <I> The input type needed to retrieve an object.
+ * @param <O> The type to be retrieved from the datasource.
+ */
+public class InMemoryReadableDao<I, O> implements ReadableDao<I, O> {
+    private final Map<I, O> data;
+    private final long latencyMillis;
+
+    /**
+     * Creates an InMemoryReadableDao.
+     * @param data The object for each input. Inputs missing from the map read as null.
+     * @param latencyMillis How long each call waits before responding.
+     */
+    public InMemoryReadableDao(Map<I, O> data, long latencyMillis) {
+        this.data = data;
+        this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    public O get(I inputQuery) {
+        sleep();
+        return data.get(inputQuery);
+    }
+
+    @Override
+    public Map<I, O> getAll(Collection<I> inputQueries) {
+        sleep();
+        Map<I, O> results = new LinkedHashMap<>();
+        for (I inputQuery : inputQueries) {
+            O result = data.get(inputQuery);
+            if (result != null) {
+                results.put(inputQuery, result);
+            }
+        }
+        return results;
+    }
+
+    private void sleep() {
+        if (latencyMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
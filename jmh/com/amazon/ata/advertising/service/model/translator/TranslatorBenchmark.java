@@ -0,0 +1,93 @@
+package com.amazon.ata.advertising.service.model.translator;
+
+import com.amazon.ata.advertising.service.catalog.BenchmarkCatalog;
+import com.amazon.ata.advertising.service.dao.BenchmarkCustomerData;
+import com.amazon.ata.advertising.service.model.Advertisement;
+import com.amazon.ata.advertising.service.model.AdvertisementContent;
+import com.amazon.ata.advertising.service.model.AdvertisingContent;
+import com.amazon.ata.advertising.service.model.GeneratedAdvertisement;
+import com.amazon.ata.advertising.service.model.TargetingGroup;
+import com.amazon.ata.advertising.service.model.TargetingPredicate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures translating between the service's internal models and the coral shapes of its requests and responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TranslatorBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"1", "4", "16"})
+    private int predicatesPerGroup;
+
+    private AdvertisementContent content;
+    private AdvertisingContent coralContent;
+    private GeneratedAdvertisement generatedAdvertisement;
+    private com.amazon.ata.advertising.service.targeting.TargetingGroup targetingGroup;
+    private List<TargetingPredicate> coralPredicates;
+
+    /**
+     * Makes up a content and a targeting group, and translates each to coral once to have the shapes to read.
+     */
+    @Setup
+    public void setUp() {
+        content = BenchmarkCatalog.content("benchmark-content");
+        coralContent = AdvertisementContentTranslator.toCoral(content, BenchmarkCustomerData.MARKETPLACE_ID);
+        generatedAdvertisement = new GeneratedAdvertisement(content);
+        targetingGroup = BenchmarkCatalog.targetingGroup("benchmark-group", content.getContentId(),
+                predicatesPerGroup, new Random(SEED));
+        coralPredicates = TargetingGroupTranslator.toCoral(targetingGroup).getTargetingPredicates();
+    }
+
+    @Benchmark
+    public AdvertisingContent contentToCoral() {
+        return AdvertisementContentTranslator.toCoral(content, BenchmarkCustomerData.MARKETPLACE_ID);
+    }
+
+    @Benchmark
+    public AdvertisementContent contentFromCoral() {
+        return AdvertisementContentTranslator.fromCoral(coralContent);
+    }
+
+    @Benchmark
+    public Advertisement advertisementToCoral() {
+        return AdvertisementTranslator.toCoral(generatedAdvertisement);
+    }
+
+    @Benchmark
+    public TargetingGroup targetingGroupToCoral() {
+        return TargetingGroupTranslator.toCoral(targetingGroup);
+    }
+
+    /**
+     * Translates each of a targeting group's coral predicates, as AddTargetingGroupActivity does.
+     * @param blackhole Consumes each translated predicate.
+     */
+    @Benchmark
+    public void targetingPredicatesFromCoral(Blackhole blackhole) {
+        for (TargetingPredicate predicate : coralPredicates) {
+            blackhole.consume(TargetingPredicateTranslator.fromCoral(predicate));
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.amazon.ata.advertising.service.targeting;
+
+import com.amazon.ata.advertising.service.catalog.BenchmarkCatalog;
+import com.amazon.ata.advertising.service.dao.BenchmarkCustomerData;
+import com.amazon.ata.advertising.service.dao.CustomerDataLoader;
+import com.amazon.ata.advertising.service.dependency.ExecutorModule;
+import com.amazon.ata.advertising.service.dependency.TargetingPredicateInjector;
+import com.amazon.ata.advertising.service.model.RequestContext;
+import com.amazon.ata.advertising.service.targeting.predicate.BenchmarkPredicates;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures evaluating the targeting groups of one content for a request, the way AdvertisementSelectionLogic does:
+ * with a customer data scope open and one TargetingEvaluator shared by the groups. Each evaluation is for the next of
+ * a fixed set of customers, so it loads customer data and pays the fake DAO latency. evaluateCompiledPlans skips
+ * compiling each group into a TargetingEvaluationPlan, as a loaded catalog does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TargetingEvaluatorBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"1", "4"})
+    private int groupsPerContent;
+
+    @Param({"1", "4", "16"})
+    private int predicatesPerGroup;
+
+    @Param({"0", "2"})
+    private long daoLatencyMillis;
+
+    private final AtomicInteger nextCustomer = new AtomicInteger();
+    private ExecutorService evaluationExecutor;
+    private ExecutorService customerDataExecutor;
+    private CustomerDataLoader customerDataLoader;
+    private List<TargetingGroup> targetingGroups;
+    private List<TargetingEvaluationPlan> plans;
+
+    /**
+     * Makes up the targeting groups and compiles their plans.
+     */
+    @Setup
+    public void setUp() {
+        ExecutorModule executorModule = new ExecutorModule();
+        Optional<ExecutorService> virtualThreadExecutor =
+                executorModule.provideVirtualThreadExecutor(executorModule.provideExecutionMode());
+        evaluationExecutor = executorModule.provideTargetingEvaluationExecutor(virtualThreadExecutor);
+        customerDataExecutor = executorModule.provideCustomerDataExecutor(virtualThreadExecutor);
+        customerDataLoader = BenchmarkCustomerData.customerDataLoader(daoLatencyMillis, customerDataExecutor);
+
+        TargetingPredicateInjector injector = BenchmarkPredicates.injector(customerDataLoader);
+        Random random = new Random(SEED);
+        targetingGroups = new ArrayList<>(groupsPerContent);
+        plans = new ArrayList<>(groupsPerContent);
+        for (int i = 0; i < groupsPerContent; i++) {
+            TargetingGroup group = BenchmarkCatalog.targetingGroup("benchmark-group-" + i, "benchmark-content",
+                    predicatesPerGroup, random);
+            group.getTargetingPredicates().forEach(injector::inject);
+            targetingGroups.add(group);
+            plans.add(TargetingEvaluationPlan.compile(group));
+        }
+    }
+
+    /**
+     * Stops the executors' threads.
+     */
+    @TearDown
+    public void tearDown() {
+        evaluationExecutor.shutdownNow();
+        customerDataExecutor.shutdownNow();
+    }
+
+    /**
+     * Evaluates every targeting group.
+     * @return the number of groups that were TRUE
+     */
+    @Benchmark
+    public int evaluate() {
+        RequestContext requestContext = nextRequestContext();
+        CustomerDataLoader.RequestScope scope = customerDataLoader.openScope(requestContext);
+        try {
+            TargetingEvaluator evaluator = new TargetingEvaluator(requestContext, evaluationExecutor);
+            int matched = 0;
+            for (TargetingGroup group : targetingGroups) {
+                if (evaluator.evaluate(group).isTrue()) {
+                    matched++;
+                }
+            }
+            return matched;
+        } finally {
+            scope.close();
+        }
+    }
+
+    /**
+     * Evaluates every targeting group's compiled plan.
+     * @return the number of groups that were TRUE
+     */
+    @Benchmark
+    public int evaluateCompiledPlans() {
+        RequestContext requestContext = nextRequestContext();
+        CustomerDataLoader.RequestScope scope = customerDataLoader.openScope(requestContext);
+        try {
+            TargetingEvaluator evaluator = new TargetingEvaluator(requestContext, evaluationExecutor);
+            int matched = 0;
+            for (TargetingEvaluationPlan plan : plans) {
+                if (evaluator.evaluate(plan).isTrue()) {
+                    matched++;
+                }
+            }
+            return matched;
+        } finally {
+            scope.close();
+        }
+    }
+
+    private RequestContext nextRequestContext() {
+        return new RequestContext(BenchmarkCustomerData.customerId(nextCustomer.getAndIncrement()),
+                BenchmarkCustomerData.MARKETPLACE_ID);
+    }
+}
@@ -0,0 +1,92 @@
+package com.amazon.ata.advertising.service.targeting.predicate;
+
+import com.amazon.ata.advertising.service.dao.CustomerDataLoader;
+import com.amazon.ata.advertising.service.dependency.TargetingPredicateInjector;
+import com.amazon.ata.advertising.service.model.TargetingPredicateType;
+import com.amazon.ata.advertising.service.targeting.Comparison;
+import com.amazon.ata.customerservice.AgeRange;
+import com.amazon.ata.customerservice.Category;
+import com.amazon.ata.primeclubservice.Benefit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Makes up targeting predicates for benchmarks, and injects them with a CustomerDataLoader of the benchmark's choosing.
+ */
+public final class BenchmarkPredicates {
+    private static final TargetingPredicateType[] TYPES = TargetingPredicateType.values();
+    private static final String[] AGE_RANGES = AgeRange.values();
+    private static final String[] CATEGORIES = Category.values();
+    private static final String[] BENEFITS = Benefit.values();
+    private static final Comparison[] COMPARISONS = Comparison.values();
+    private static final int MAXIMUM_PURCHASES = 10;
+    private static final int MAXIMUM_SPEND = 250;
+
+    private BenchmarkPredicates() {}
+
+    /**
+     * Makes up a predicate of each type in turn, with random targets. Recognized predicates are never inverted, so
+     * a group can still match recognized customers.
+     * @param count The number of predicates.
+     * @param random The source of targets, seeded by the caller so every run builds the same predicates.
+     * @return the predicates, not yet injected
+     */
+    public static List<TargetingPredicate> create(int count, Random random) {
+        List<TargetingPredicate> predicates = new ArrayList<>(count);
+        int firstType = random.nextInt(TYPES.length);
+        for (int i = 0; i < count; i++) {
+            predicates.add(create(TYPES[(firstType + i) % TYPES.length], random));
+        }
+        return predicates;
+    }
+
+    /**
+     * Makes up a predicate of one type, with random targets.
+     * @param type The type of predicate.
+     * @param random The source of targets.
+     * @return the predicate, not yet injected
+     */
+    public static TargetingPredicate create(TargetingPredicateType type, Random random) {
+        boolean inverse = random.nextBoolean();
+        switch (type) {
+            case AGE:
+                return new AgeTargetingPredicate(pick(AGE_RANGES, random), inverse);
+            case CATEGORY_SPEND_FREQUENCY:
+                return new CategorySpendFrequencyTargetingPredicate(pick(CATEGORIES, random),
+                        pick(COMPARISONS, random), random.nextInt(MAXIMUM_PURCHASES), inverse);
+            case CATEGORY_SPEND_VALUE:
+                return new CategorySpendValueTargetingPredicate(pick(CATEGORIES, random),
+                        pick(COMPARISONS, random), random.nextInt(MAXIMUM_SPEND), inverse);
+            case PARENT:
+                return new ParentPredicate(inverse);
+            case PRIME_BENEFIT:
+                return new PrimeBenefitTargetingPredicate(pick(BENEFITS, random), inverse);
+            case RECOGNIZED:
+                return new RecognizedTargetingPredicate(false);
+            default:
+                throw new IllegalArgumentException("Unknown targeting predicate type " + type);
+        }
+    }
+
+    /**
+     * Creates a TargetingPredicateInjector that gives every predicate the same CustomerDataLoader, in place of the one
+     * the LambdaComponent wires.
+     * @param customerDataLoader The loader predicates read customer data from.
+     * @return the injector
+     */
+    public static TargetingPredicateInjector injector(CustomerDataLoader customerDataLoader) {
+        return new TargetingPredicateInjector(
+                predicate -> predicate.setCustomerDataLoader(customerDataLoader),
+                predicate -> predicate.setCustomerDataLoader(customerDataLoader),
+                predicate -> predicate.setCustomerDataLoader(customerDataLoader),
+                predicate -> predicate.setCustomerDataLoader(customerDataLoader),
+                predicate -> predicate.setCustomerDataLoader(customerDataLoader),
+                predicate -> { });
+    }
+
+    private static <T> T pick(T[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+}
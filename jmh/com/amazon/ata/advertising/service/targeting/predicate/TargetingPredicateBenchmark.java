@@ -0,0 +1,97 @@
+package com.amazon.ata.advertising.service.targeting.predicate;
+
+import com.amazon.ata.advertising.service.dao.BenchmarkCustomerData;
+import com.amazon.ata.advertising.service.dao.CustomerDataLoader;
+import com.amazon.ata.advertising.service.dao.CustomerDataSource;
+import com.amazon.ata.advertising.service.dependency.ExecutorModule;
+import com.amazon.ata.advertising.service.model.RequestContext;
+import com.amazon.ata.advertising.service.model.TargetingPredicateType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures evaluating a single targeting predicate of each type. evaluate is for the next of a fixed set of customers
+ * with no customer data scope open, so every evaluation loads its customer data and pays the fake DAO latency.
+ * evaluateLoaded evaluates for a customer whose data is already loaded in an open scope, which measures only the
+ * predicate's own logic.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TargetingPredicateBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"AGE", "CATEGORY_SPEND_FREQUENCY", "CATEGORY_SPEND_VALUE", "PARENT", "PRIME_BENEFIT", "RECOGNIZED"})
+    private TargetingPredicateType predicateType;
+
+    @Param({"0", "2"})
+    private long daoLatencyMillis;
+
+    private final AtomicInteger nextCustomer = new AtomicInteger();
+    private ExecutorService customerDataExecutor;
+    private TargetingPredicate predicate;
+    private RequestContext loadedRequestContext;
+    private CustomerDataLoader.RequestScope loadedScope;
+
+    /**
+     * Makes up the predicate and loads every customer data source for the customer evaluateLoaded uses.
+     */
+    @Setup
+    public void setUp() {
+        ExecutorModule executorModule = new ExecutorModule();
+        Optional<ExecutorService> virtualThreadExecutor =
+                executorModule.provideVirtualThreadExecutor(executorModule.provideExecutionMode());
+        customerDataExecutor = executorModule.provideCustomerDataExecutor(virtualThreadExecutor);
+        CustomerDataLoader customerDataLoader =
+                BenchmarkCustomerData.customerDataLoader(daoLatencyMillis, customerDataExecutor);
+
+        predicate = BenchmarkPredicates.create(predicateType, new Random(SEED));
+        BenchmarkPredicates.injector(customerDataLoader).inject(predicate);
+
+        loadedRequestContext = new RequestContext(BenchmarkCustomerData.customerId(-1),
+                BenchmarkCustomerData.MARKETPLACE_ID);
+        loadedScope = customerDataLoader.openScope(loadedRequestContext);
+        customerDataLoader.prefetchAll(loadedRequestContext, EnumSet.allOf(CustomerDataSource.class)).join();
+    }
+
+    /**
+     * Closes the loaded customer's scope and stops the executor's threads.
+     */
+    @TearDown
+    public void tearDown() {
+        loadedScope.close();
+        customerDataExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public TargetingPredicateResult evaluate() {
+        return predicate.evaluate(new RequestContext(BenchmarkCustomerData.customerId(nextCustomer.getAndIncrement()),
+                BenchmarkCustomerData.MARKETPLACE_ID));
+    }
+
+    @Benchmark
+    public TargetingPredicateResult evaluateLoaded() {
+        return predicate.evaluate(loadedRequestContext);
+    }
+}
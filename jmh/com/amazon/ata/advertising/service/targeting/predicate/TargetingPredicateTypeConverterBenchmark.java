@@ -0,0 +1,73 @@
+package com.amazon.ata.advertising.service.targeting.predicate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures writing and reading a targeting group's predicates in each encoding. unconvert reads a value it has read
+ * before, as the service does for every load of a table it has already seen, so it measures the parsed predicate
+ * cache. parse reads the value without the cache, as unconvert does the first time it sees it. reencode parses the
+ * value, then writes it back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TargetingPredicateTypeConverterBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"1", "4", "16"})
+    private int predicatesPerGroup;
+
+    @Param({"JSON", "COMPACT"})
+    private TargetingPredicateEncoding encoding;
+
+    private final TargetingPredicateTypeConverter converter = new TargetingPredicateTypeConverter();
+    private List<TargetingPredicate> predicates;
+    private String value;
+
+    /**
+     * Makes up the predicates and reads their encoded value once, so unconvert finds it cached.
+     */
+    @Setup
+    public void setUp() {
+        predicates = BenchmarkPredicates.create(predicatesPerGroup, new Random(SEED));
+        value = converter.convert(predicates, encoding);
+        converter.unconvert(value);
+    }
+
+    @Benchmark
+    public String convert() {
+        return converter.convert(predicates, encoding);
+    }
+
+    @Benchmark
+    public List<TargetingPredicate> unconvert() {
+        return converter.unconvert(value);
+    }
+
+    @Benchmark
+    public List<TargetingPredicate> parse() {
+        return converter.parse(value);
+    }
+
+    @Benchmark
+    public String reencode() {
+        return converter.reencode(value, encoding);
+    }
+}
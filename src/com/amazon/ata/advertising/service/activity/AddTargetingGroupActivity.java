@@ -1,5 +1,6 @@
 package com.amazon.ata.advertising.service.activity;
 
+import com.amazon.ata.advertising.service.catalog.AdvertisementCatalog;
 import com.amazon.ata.advertising.service.dao.TargetingGroupDao;
 import com.amazon.ata.advertising.service.model.requests.AddTargetingGroupRequest;
 import com.amazon.ata.advertising.service.model.responses.AddTargetingGroupResponse;
@@ -30,14 +31,17 @@ public class AddTargetingGroupActivity {
     private static final Logger LOG = LogManager.getLogger(AddTargetingGroupActivity.class);
 
     private final TargetingGroupDao targetingGroupDao;
+    private final AdvertisementCatalog advertisementCatalog;
 
     /**
      * Instantiate a AddTargetingGroupActivity.
      * @param targetingGroupDao source of targeting group data
+     * @param advertisementCatalog in-memory catalog to invalidate once the targeting group is added
      */
     @Inject
-    public AddTargetingGroupActivity(TargetingGroupDao targetingGroupDao) {
+    public AddTargetingGroupActivity(TargetingGroupDao targetingGroupDao, AdvertisementCatalog advertisementCatalog) {
         this.targetingGroupDao = targetingGroupDao;
+        this.advertisementCatalog = advertisementCatalog;
     }
 
     /**
@@ -66,6 +70,7 @@ public class AddTargetingGroupActivity {
 //        }
 
         TargetingGroup targetingGroup = targetingGroupDao.create(contentId, targetingPredicates);
+        advertisementCatalog.invalidateContent(contentId);
 
         return AddTargetingGroupResponse.builder()
                 .withTargetingGroup(TargetingGroupTranslator.toCoral(targetingGroup))
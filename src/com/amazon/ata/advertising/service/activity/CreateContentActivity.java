@@ -1,5 +1,6 @@
 package com.amazon.ata.advertising.service.activity;
 
+import com.amazon.ata.advertising.service.catalog.AdvertisementCatalog;
 import com.amazon.ata.advertising.service.dao.ContentDao;
 import com.amazon.ata.advertising.service.dao.TargetingGroupDao;
 import com.amazon.ata.advertising.service.model.requests.CreateContentRequest;
@@ -26,16 +27,20 @@ public class CreateContentActivity {
 
     private final ContentDao contentDao;
     private final TargetingGroupDao targetingGroupDao;
+    private final AdvertisementCatalog advertisementCatalog;
 
     /**
      * The activity for the CreateContent API.
      * @param contentDao stores the new advertisement content
      * @param targetingGroupDao stores the new targeting group
+     * @param advertisementCatalog in-memory catalog to invalidate once the content is created
      */
     @Inject
-    public CreateContentActivity(ContentDao contentDao, TargetingGroupDao targetingGroupDao) {
+    public CreateContentActivity(ContentDao contentDao, TargetingGroupDao targetingGroupDao,
+                                 AdvertisementCatalog advertisementCatalog) {
         this.contentDao = contentDao;
         this.targetingGroupDao = targetingGroupDao;
+        this.advertisementCatalog = advertisementCatalog;
     }
 
     /**
@@ -64,6 +69,7 @@ public class CreateContentActivity {
                 .map(TargetingPredicateTranslator::fromCoral)
                 .collect(Collectors.toList());
         TargetingGroup group = targetingGroupDao.create(content.getContentId(), targetingPredicates);
+        advertisementCatalog.invalidate(marketplaceId);
 
         return CreateContentResponse.builder()
                 .withAdvertisingContent(AdvertisementContentTranslator.toCoral(content, request.getMarketplaceId()))
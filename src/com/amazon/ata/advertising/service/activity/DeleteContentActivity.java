@@ -1,5 +1,6 @@
 package com.amazon.ata.advertising.service.activity;
 
+import com.amazon.ata.advertising.service.catalog.AdvertisementCatalog;
 import com.amazon.ata.advertising.service.dao.ContentDao;
 import com.amazon.ata.advertising.service.dao.TargetingGroupDao;
 import com.amazon.ata.advertising.service.model.requests.DeleteContentRequest;
@@ -15,16 +16,20 @@ public class DeleteContentActivity {
 
     private final ContentDao contentDao;
     private final TargetingGroupDao targetingGroupDao;
+    private final AdvertisementCatalog advertisementCatalog;
 
     /**
      * The activity for the DeleteContent API.
      * @param contentDao contains the advertisement content to delete
      * @param targetingGroupDao contains the targeting groups to delete
+     * @param advertisementCatalog in-memory catalog to invalidate once the content is deleted
      */
     @Inject
-    public DeleteContentActivity(ContentDao contentDao, TargetingGroupDao targetingGroupDao) {
+    public DeleteContentActivity(ContentDao contentDao, TargetingGroupDao targetingGroupDao,
+                                 AdvertisementCatalog advertisementCatalog) {
         this.contentDao = contentDao;
         this.targetingGroupDao = targetingGroupDao;
+        this.advertisementCatalog = advertisementCatalog;
     }
 
     /**
@@ -40,6 +45,7 @@ public class DeleteContentActivity {
 
         targetingGroupDao.delete(contentId);
         contentDao.delete(contentId);
+        advertisementCatalog.invalidateContent(contentId);
 
         return DeleteContentResponse.builder().build();
     }
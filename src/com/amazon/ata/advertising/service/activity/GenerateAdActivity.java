@@ -3,6 +3,7 @@ package com.amazon.ata.advertising.service.activity;
 import com.amazon.ata.advertising.service.model.requests.GenerateAdvertisementRequest;
 import com.amazon.ata.advertising.service.model.responses.GenerateAdvertisementResponse;
 import com.amazon.ata.advertising.service.businesslogic.AdvertisementSelectionLogic;
+import com.amazon.ata.advertising.service.model.Deadline;
 import com.amazon.ata.advertising.service.model.EmptyGeneratedAdvertisement;
 import com.amazon.ata.advertising.service.model.GeneratedAdvertisement;
 import com.amazon.ata.advertising.service.model.translator.AdvertisementTranslator;
@@ -10,6 +11,10 @@ import com.amazon.ata.advertising.service.model.translator.AdvertisementTranslat
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import javax.inject.Inject;
 
 /**
@@ -19,16 +24,23 @@ import javax.inject.Inject;
  */
 public class GenerateAdActivity {
     private static final Logger LOG = LogManager.getLogger(GenerateAdActivity.class);
+    private static final String SLA_MILLIS = "ata.advertising.generateAd.slaMillis";
+    private static final long DEFAULT_SLA_MILLIS = 2000;
+    private static final Duration RESPONSE_RESERVE = Duration.ofMillis(50);
+    private static final Duration SELECTION_RESERVE = Duration.ofMillis(20);
 
     private final AdvertisementSelectionLogic adSelector;
+    private final Duration sla;
 
     /**
-     * A Coral activity for the GenerateAdvertisement API.
+     * A Coral activity for the GenerateAdvertisement API. The longest the activity spends on a request can be
+     * configured with the system property ata.advertising.generateAd.slaMillis.
      * @param advertisementSelector The business logic to select an ad.
      */
     @Inject
     public GenerateAdActivity(AdvertisementSelectionLogic advertisementSelector) {
         this.adSelector = advertisementSelector;
+        this.sla = Duration.ofMillis(Long.getLong(SLA_MILLIS, DEFAULT_SLA_MILLIS));
     }
 
     /**
@@ -40,18 +52,46 @@ public class GenerateAdActivity {
      *      advertisement could be generated.
      */
     public GenerateAdvertisementResponse generateAd(GenerateAdvertisementRequest request) {
+        return generateAd(request, sla);
+    }
+
+    /**
+     * Decides on an ad like generateAd, within the time the caller has left. The response is returned within the
+     * smaller of the configured SLA and remainingTime, less a reserve for returning it. Targeting that can't be
+     * decided in that time is skipped, so the ad may be one with less targeting, or empty.
+     * @param request Contains the customerId to generate an advertisement for, and the marketplace id where the ad
+     *                will be rendered
+     * @param remainingTime How long the caller will wait for the response, such as the Lambda's remaining time
+     * @return the response will contain the generated advertisement. It's content will be an empty String if no
+     *      advertisement could be generated in time.
+     */
+    public GenerateAdvertisementResponse generateAd(GenerateAdvertisementRequest request, Duration remainingTime) {
         String customerId = request.getCustomerId();
         String marketplaceId = request.getMarketplaceId();
         LOG.info(String.format("Generating ad for customerId: %s in marketplace: %s", customerId, marketplaceId));
 
+        Duration budget = remainingTime.minus(RESPONSE_RESERVE);
+        Deadline responseDeadline = Deadline.after(budget.compareTo(sla) < 0 ? budget : sla);
+
         GenerateAdvertisementResponse response;
+        CompletableFuture<GeneratedAdvertisement> selection = null;
         try {
-            final GeneratedAdvertisement generatedAd = adSelector.selectAdvertisement(customerId,
-                marketplaceId);
+            selection = adSelector.selectAdvertisementAsync(customerId, marketplaceId,
+                    responseDeadline.minus(SELECTION_RESERVE));
+            final GeneratedAdvertisement generatedAd =
+                    selection.get(responseDeadline.remainingMillis(), TimeUnit.MILLISECONDS);
 
             response = GenerateAdvertisementResponse.builder()
                     .withAdvertisement(AdvertisementTranslator.toCoral(generatedAd))
                     .build();
+        } catch (TimeoutException e) {
+            selection.cancel(true);
+            LOG.warn(String.format("Timed out generating ad for customer, %s, in marketplace %s. Returning empty ad.",
+                request.getCustomerId(),
+                request.getMarketplaceId()));
+            response = GenerateAdvertisementResponse.builder()
+                    .withAdvertisement(AdvertisementTranslator.toCoral(new EmptyGeneratedAdvertisement()))
+                    .build();
         } catch (Exception e) {
             LOG.error(String.format(
                 "Something unexpected happened when calling GenerateAdvertisement for customer, %s, in marketplace %s.",
@@ -0,0 +1,76 @@
+package com.amazon.ata.advertising.service.activity;
+
+import com.amazon.ata.advertising.service.businesslogic.AdvertisementSelectionLogic;
+import com.amazon.ata.advertising.service.model.AdvertisementPlacement;
+import com.amazon.ata.advertising.service.model.EmptyGeneratedAdvertisement;
+import com.amazon.ata.advertising.service.model.GeneratedAdvertisement;
+import com.amazon.ata.advertising.service.model.PlacedAdvertisement;
+import com.amazon.ata.advertising.service.model.requests.GenerateAdvertisementsBatchRequest;
+import com.amazon.ata.advertising.service.model.responses.GenerateAdvertisementsBatchResponse;
+import com.amazon.ata.advertising.service.model.translator.AdvertisementTranslator;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.inject.Inject;
+
+/**
+ *
+ * Activity class for the generate advertisements batch operation.
+ *
+ */
+public class GenerateAdvertisementsBatchActivity {
+    private static final Logger LOG = LogManager.getLogger(GenerateAdvertisementsBatchActivity.class);
+
+    private final AdvertisementSelectionLogic adSelector;
+
+    /**
+     * A Coral activity for the GenerateAdvertisementsBatch API.
+     * @param advertisementSelector The business logic to select ads.
+     */
+    @Inject
+    public GenerateAdvertisementsBatchActivity(AdvertisementSelectionLogic advertisementSelector) {
+        this.adSelector = advertisementSelector;
+    }
+
+    /**
+     * Generates an ad for every placement in the request, such as each slot on a page or each customer in an email
+     * campaign. Slots for the same customer and marketplace are filled with different ads.
+     * @param request Contains the customerId, marketplaceId and slotId of each placement to fill.
+     * @return the response will contain one advertisement per placement, in the order of the request. An
+     *      advertisement's content will be an empty String if no advertisement could be generated for its placement.
+     */
+    public GenerateAdvertisementsBatchResponse generateAds(GenerateAdvertisementsBatchRequest request) {
+        List<AdvertisementPlacement> placements = request.getPlacements() == null ?
+                Collections.emptyList() : request.getPlacements();
+        LOG.info(String.format("Generating ads for %d placements", placements.size()));
+
+        List<GeneratedAdvertisement> generatedAds;
+        try {
+            generatedAds = adSelector.selectAdvertisements(placements);
+        } catch (Exception e) {
+            LOG.error(String.format(
+                "Something unexpected happened when calling GenerateAdvertisementsBatch for %d placements.",
+                placements.size()), e);
+            generatedAds = new ArrayList<>();
+            for (int i = 0; i < placements.size(); i++) {
+                generatedAds.add(new EmptyGeneratedAdvertisement());
+            }
+        }
+
+        List<PlacedAdvertisement> advertisements = new ArrayList<>(placements.size());
+        for (int i = 0; i < placements.size(); i++) {
+            advertisements.add(PlacedAdvertisement.builder()
+                    .withSlotId(placements.get(i).getSlotId())
+                    .withAdvertisement(AdvertisementTranslator.toCoral(generatedAds.get(i)))
+                    .build());
+        }
+
+        return GenerateAdvertisementsBatchResponse.builder()
+                .withAdvertisements(advertisements)
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.amazon.ata.advertising.service.activity;
 
+import com.amazon.ata.advertising.service.catalog.AdvertisementCatalog;
 import com.amazon.ata.advertising.service.dao.TargetingGroupDao;
 import com.amazon.ata.advertising.service.model.requests.UpdateClickThroughRateRequest;
 import com.amazon.ata.advertising.service.model.responses.UpdateClickThroughRateResponse;
@@ -15,14 +16,18 @@ public class UpdateClickThroughRateActivity {
     private static final Logger LOG = LogManager.getLogger(UpdateClickThroughRateActivity.class);
 
     private final TargetingGroupDao targetingGroupDao;
+    private final AdvertisementCatalog advertisementCatalog;
 
     /**
      * Instantiates an UpdateClickThroughRateActivity.
      * @param targetingGroupDao The source of data for targeting groups
+     * @param advertisementCatalog The in-memory catalog to invalidate once the click through rate is updated
      */
     @Inject
-    public UpdateClickThroughRateActivity(TargetingGroupDao targetingGroupDao) {
+    public UpdateClickThroughRateActivity(TargetingGroupDao targetingGroupDao,
+                                          AdvertisementCatalog advertisementCatalog) {
         this.targetingGroupDao = targetingGroupDao;
+        this.advertisementCatalog = advertisementCatalog;
     }
 
     /**
@@ -36,6 +41,7 @@ public class UpdateClickThroughRateActivity {
         LOG.info(String.format("Updating CTR for targeting group with id: %s to %.3f", targetingGroupId, ctr));
 
         TargetingGroup group = targetingGroupDao.update(targetingGroupId, ctr);
+        advertisementCatalog.invalidateContent(group.getContentId());
 
         return UpdateClickThroughRateResponse.builder()
                 .withTargetingGroup(TargetingGroupTranslator.toCoral(group))
@@ -1,5 +1,6 @@
 package com.amazon.ata.advertising.service.activity;
 
+import com.amazon.ata.advertising.service.catalog.AdvertisementCatalog;
 import com.amazon.ata.advertising.service.dao.ContentDao;
 import com.amazon.ata.advertising.service.dao.TargetingGroupDao;
 import com.amazon.ata.advertising.service.model.AdvertisingContent;
@@ -23,16 +24,20 @@ public class UpdateContentActivity {
 
     private final ContentDao contentDao;
     private final TargetingGroupDao targetingGroupDao;
+    private final AdvertisementCatalog advertisementCatalog;
 
     /**
      * Instantiates an UpdateContentActivity.
      * @param contentDao The source of data for content
      * @param targetingGroupDao The source of data for targeting groups
+     * @param advertisementCatalog The in-memory catalog to invalidate once the content is updated
      */
     @Inject
-    public UpdateContentActivity(ContentDao contentDao, TargetingGroupDao targetingGroupDao) {
+    public UpdateContentActivity(ContentDao contentDao, TargetingGroupDao targetingGroupDao,
+                                 AdvertisementCatalog advertisementCatalog) {
         this.contentDao = contentDao;
         this.targetingGroupDao = targetingGroupDao;
+        this.advertisementCatalog = advertisementCatalog;
     }
 
     /**
@@ -49,6 +54,8 @@ public class UpdateContentActivity {
 
         AdvertisementContent updatedContent = contentDao.update(marketplaceId,
             AdvertisementContentTranslator.fromCoral(requestedContent));
+        advertisementCatalog.invalidateContent(updatedContent.getContentId());
+        advertisementCatalog.invalidate(marketplaceId);
 
         List<TargetingGroup> targetingGroups = targetingGroupDao.get(updatedContent.getContentId());
         List<com.amazon.ata.advertising.service.model.TargetingGroup> coralTargetingGroup = targetingGroups.stream()
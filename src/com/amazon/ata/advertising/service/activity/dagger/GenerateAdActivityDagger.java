@@ -1,6 +1,6 @@
 package com.amazon.ata.advertising.service.activity.dagger;
 
-import com.amazon.ata.advertising.service.dependency.DaggerLambdaComponent;
+import com.amazon.ata.advertising.service.dependency.SharedLambdaComponent;
 import com.amazon.ata.advertising.service.model.requests.GenerateAdvertisementRequest;
 import com.amazon.ata.advertising.service.model.responses.GenerateAdvertisementResponse;
 
@@ -8,11 +8,17 @@ import com.amazon.ata.advertising.service.dependency.LambdaComponent;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 
+import java.time.Duration;
+
 public class GenerateAdActivityDagger implements RequestHandler<GenerateAdvertisementRequest, GenerateAdvertisementResponse> {
-    private static final LambdaComponent dagger = DaggerLambdaComponent.create();
+    private static final LambdaComponent dagger = SharedLambdaComponent.get();
 
     @Override
     public GenerateAdvertisementResponse handleRequest(GenerateAdvertisementRequest generateAdvertisementRequest, Context context) {
-        return dagger.provideGenerateAdActivity().generateAd(generateAdvertisementRequest);
+        if (context == null) {
+            return dagger.provideGenerateAdActivity().generateAd(generateAdvertisementRequest);
+        }
+        return dagger.provideGenerateAdActivity().generateAd(generateAdvertisementRequest,
+                Duration.ofMillis(context.getRemainingTimeInMillis()));
     }
 }
@@ -0,0 +1,20 @@
+package com.amazon.ata.advertising.service.activity.dagger;
+
+import com.amazon.ata.advertising.service.dependency.SharedLambdaComponent;
+import com.amazon.ata.advertising.service.model.requests.GenerateAdvertisementsBatchRequest;
+import com.amazon.ata.advertising.service.model.responses.GenerateAdvertisementsBatchResponse;
+
+import com.amazon.ata.advertising.service.dependency.LambdaComponent;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+
+public class GenerateAdvertisementsBatchActivityDagger
+        implements RequestHandler<GenerateAdvertisementsBatchRequest, GenerateAdvertisementsBatchResponse> {
+    private static final LambdaComponent dagger = SharedLambdaComponent.get();
+
+    @Override
+    public GenerateAdvertisementsBatchResponse handleRequest(GenerateAdvertisementsBatchRequest request,
+                                                             Context context) {
+        return dagger.provideGenerateAdvertisementsBatchActivity().generateAds(request);
+    }
+}
@@ -1,6 +1,6 @@
 package com.amazon.ata.advertising.service.activity.dagger;
 
-import com.amazon.ata.advertising.service.dependency.DaggerLambdaComponent;
+import com.amazon.ata.advertising.service.dependency.SharedLambdaComponent;
 import com.amazon.ata.advertising.service.model.requests.UpdateClickThroughRateRequest;
 import com.amazon.ata.advertising.service.model.responses.UpdateClickThroughRateResponse;
 
@@ -9,7 +9,7 @@ import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 
 public class UpdateClickThroughRateActivityDagger implements RequestHandler<UpdateClickThroughRateRequest, UpdateClickThroughRateResponse> {
-    private static final LambdaComponent dagger = DaggerLambdaComponent.create();
+    private static final LambdaComponent dagger = SharedLambdaComponent.get();
 
     @Override
     public UpdateClickThroughRateResponse handleRequest(UpdateClickThroughRateRequest updateClickThroughRateRequest, Context context) {
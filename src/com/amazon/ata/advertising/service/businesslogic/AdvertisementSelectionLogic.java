@@ -1,21 +1,27 @@
 package com.amazon.ata.advertising.service.businesslogic;
 
-import com.amazon.ata.advertising.service.dao.ReadableDao;
+import com.amazon.ata.advertising.service.catalog.AdvertisementCatalog;
+import com.amazon.ata.advertising.service.catalog.MarketplaceCatalog;
+import com.amazon.ata.advertising.service.dao.CustomerDataLoader;
+import com.amazon.ata.advertising.service.dependency.ExecutorModule;
 import com.amazon.ata.advertising.service.model.*;
 import com.amazon.ata.advertising.service.targeting.TargetingEvaluator;
-import com.amazon.ata.advertising.service.targeting.TargetingGroup;
+import com.amazon.ata.advertising.service.targeting.TargetingIndex;
 
-import com.amazon.ata.advertising.service.targeting.predicate.TargetingPredicate;
-import com.amazon.ata.advertising.service.targeting.predicate.TargetingPredicateResult;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
+import javax.inject.Named;
 
 /**
  * This class is responsible for picking the advertisement to be rendered.
@@ -24,20 +30,30 @@ public class AdvertisementSelectionLogic {
 
     private static final Logger LOG = LogManager.getLogger(AdvertisementSelectionLogic.class);
 
-    private final ReadableDao<String, List<AdvertisementContent>> contentDao;
-    private final ReadableDao<String, List<TargetingGroup>> targetingGroupDao;
+    private final AdvertisementCatalog advertisementCatalog;
+    private final CustomerDataLoader customerDataLoader;
+    private final ExecutorService evaluationExecutor;
+    private final ScheduledExecutorService deadlineExecutor;
     private Random random = new Random();
 
     /**
      * Constructor for AdvertisementSelectionLogic.
-     * @param contentDao Source of advertising content.
-     * @param targetingGroupDao Source of targeting groups for each advertising content.
+     * @param advertisementCatalog In-memory snapshot of each marketplace's content and targeting groups.
+     * @param customerDataLoader Shares customer data between the predicates evaluated for a request.
+     * @param evaluationExecutor Shared executor used to evaluate targeting predicates.
+     * @param deadlineExecutor Completes selections whose deadline passes while customer data is loading.
      */
     @Inject
-    public AdvertisementSelectionLogic(ReadableDao<String, List<AdvertisementContent>> contentDao,
-                                       ReadableDao<String, List<TargetingGroup>> targetingGroupDao) {
-        this.contentDao = contentDao;
-        this.targetingGroupDao = targetingGroupDao;
+    public AdvertisementSelectionLogic(AdvertisementCatalog advertisementCatalog,
+                                       CustomerDataLoader customerDataLoader,
+                                       @Named(ExecutorModule.TARGETING_EVALUATION_EXECUTOR)
+                                               ExecutorService evaluationExecutor,
+                                       @Named(ExecutorModule.DEADLINE_EXECUTOR)
+                                               ScheduledExecutorService deadlineExecutor) {
+        this.advertisementCatalog = advertisementCatalog;
+        this.customerDataLoader = customerDataLoader;
+        this.evaluationExecutor = evaluationExecutor;
+        this.deadlineExecutor = deadlineExecutor;
     }
 
     /**
@@ -63,20 +79,22 @@ public class AdvertisementSelectionLogic {
         if (StringUtils.isEmpty(marketplaceId)) {
             LOG.warn("MarketplaceId cannot be null or empty. Returning empty ad.");
         } else {
-            final List<AdvertisementContent> contents = contentDao.get(marketplaceId);
+            final MarketplaceCatalog catalog = advertisementCatalog.get(marketplaceId);
 
-            if (CollectionUtils.isNotEmpty(contents)) {
-                List<AdvertisementContent> eligibleAdvertisements =
-                        filterEligibleAdvertisements(contents, customerId, marketplaceId);
-
-                if (CollectionUtils.isNotEmpty(eligibleAdvertisements)) {
-                    //Ad that the customer is eligible for with the highest click through rate.
-                    SortedMap<Double, AdvertisementContent> advertisementContentTreeMap =
-                                                        filterCTR(eligibleAdvertisements, customerId, marketplaceId);
-
-                    AdvertisementContent advertisementContentCTR = advertisementContentTreeMap
-                            .get(advertisementContentTreeMap.firstKey());
+            if (CollectionUtils.isNotEmpty(catalog.getContents())) {
+                final RequestContext requestContext = new RequestContext(customerId, marketplaceId);
+                final TargetingEvaluator targetingEvaluator =
+                        new TargetingEvaluator(requestContext, evaluationExecutor);
+                AdvertisementContent advertisementContentCTR;
+                final CustomerDataLoader.RequestScope scope = customerDataLoader.openScope(requestContext);
+                try {
+                    customerDataLoader.prefetch(requestContext, catalog.getRequiredCustomerData());
+                    advertisementContentCTR = selectHighestCTR(catalog, requestContext, targetingEvaluator);
+                } finally {
+                    scope.close();
+                }
 
+                if (advertisementContentCTR != null) {
                     generatedAdvertisement = new GeneratedAdvertisement(advertisementContentCTR);
                 }
             }
@@ -84,42 +102,162 @@ public class AdvertisementSelectionLogic {
         return generatedAdvertisement;
     }
 
-    private List<AdvertisementContent> filterEligibleAdvertisements(List<AdvertisementContent> contents, String customerId, String marketplaceId) {
-        final TargetingEvaluator targetingEvaluator =
-                new TargetingEvaluator(new RequestContext(customerId, marketplaceId));
-        return contents.stream()
-                //Filter: at least one targeting group for customer in ad content
-                .filter(advertisementContent -> targetingGroupDao.get(advertisementContent.getContentId())
-                        .stream()
-                        .map(targetingEvaluator::evaluate)
-                        .anyMatch(TargetingPredicateResult::isTrue))
-                .collect(Collectors.toList());
-
+    /**
+     * Selects the same advertisement as selectAdvertisement without parking a thread on customer data. The customer
+     * data the marketplace's predicates read is loaded in parallel, and the ad is selected on whichever thread
+     * finishes the last load, once every predicate can be evaluated without waiting. Cancelling the returned future,
+     * such as when the request's deadline passes, closes the request's scope and cancels the loads still in flight.
+     *
+     * @param customerId - the customer to generate a custom advertisement for
+     * @param marketplaceId - the id of the marketplace the advertisement will be rendered on
+     * @return a future completed with an advertisement customized for the customer id provided, or an empty
+     *     advertisement if one could not be generated.
+     */
+    public CompletableFuture<GeneratedAdvertisement> selectAdvertisementAsync(String customerId, String marketplaceId) {
+        return selectAdvertisementAsync(customerId, marketplaceId, Deadline.NONE);
     }
 
-    private SortedMap<Double, AdvertisementContent> filterCTR(List<AdvertisementContent> eligibleAdvertisements,
-                                                            String customerId, String marketplaceId) {
+    /**
+     * Selects an advertisement like selectAdvertisementAsync, completing by the deadline. If customer data is still
+     * loading when the deadline passes, the ad is selected right away from the data that has loaded: groups that read
+     * missing data don't match, so the result is the highest click through rate content whose targeting could be
+     * decided, such as content without targeting predicates, or an EmptyGeneratedAdvertisement.
+     *
+     * @param customerId - the customer to generate a custom advertisement for
+     * @param marketplaceId - the id of the marketplace the advertisement will be rendered on
+     * @param deadline - when the advertisement must be selected by
+     * @return a future completed with the best advertisement found by the deadline
+     */
+    public CompletableFuture<GeneratedAdvertisement> selectAdvertisementAsync(String customerId, String marketplaceId,
+                                                                              Deadline deadline) {
+        if (StringUtils.isEmpty(marketplaceId)) {
+            LOG.warn("MarketplaceId cannot be null or empty. Returning empty ad.");
+            return CompletableFuture.completedFuture(new EmptyGeneratedAdvertisement());
+        }
+        final MarketplaceCatalog catalog = advertisementCatalog.get(marketplaceId);
+        if (CollectionUtils.isEmpty(catalog.getContents())) {
+            return CompletableFuture.completedFuture(new EmptyGeneratedAdvertisement());
+        }
+
+        final RequestContext requestContext = new RequestContext(customerId, marketplaceId, deadline);
+        final CustomerDataLoader.RequestScope scope = customerDataLoader.openScope(requestContext);
+        try {
+            final CompletableFuture<GeneratedAdvertisement> selection = byDeadline(
+                    customerDataLoader.prefetchAll(requestContext, catalog.getRequiredCustomerData()), deadline)
+                    .thenApply(loaded -> {
+                        final AdvertisementContent content = selectHighestCTR(catalog, requestContext,
+                                new TargetingEvaluator(requestContext, MoreExecutors.newDirectExecutorService()));
+                        return content == null ? new EmptyGeneratedAdvertisement() :
+                                new GeneratedAdvertisement(content);
+                    });
+            selection.whenComplete((generatedAdvertisement, e) -> scope.close());
+            return selection;
+        } catch (RuntimeException e) {
+            scope.close();
+            throw e;
+        }
+    }
 
-        final TargetingEvaluator targetingEvaluator =
-                new TargetingEvaluator(new RequestContext(customerId, marketplaceId));
-        SortedMap<Double, AdvertisementContent> advertisementContentTreeMap =
-                new TreeMap<>(Comparator.reverseOrder());
+    /**
+     * Selects an advertisement for each placement in one pass. Each marketplace's catalog snapshot is read once, every
+     * customer's data starts loading before any ad is selected, and placements for the same customer and marketplace
+     * share one targeting match. Those placements are given different content, highest click through rate first, and
+     * get an EmptyGeneratedAdvertisement once the customer has no more eligible content. A failure selecting ads for
+     * one customer only empties that customer's placements.
+     *
+     * @param placements - the customer and marketplace of each ad slot to fill
+     * @return one advertisement per placement, in the order of the placements
+     */
+    public List<GeneratedAdvertisement> selectAdvertisements(List<AdvertisementPlacement> placements) {
+        final GeneratedAdvertisement[] generatedAdvertisements = new GeneratedAdvertisement[placements.size()];
+        final Map<RequestContext, List<Integer>> slotsByRequest = new LinkedHashMap<>();
+        for (int slot = 0; slot < placements.size(); slot++) {
+            generatedAdvertisements[slot] = new EmptyGeneratedAdvertisement();
+            final AdvertisementPlacement placement = placements.get(slot);
+            if (StringUtils.isEmpty(placement.getMarketplaceId())) {
+                LOG.warn("MarketplaceId cannot be null or empty. Returning empty ad for slot {}.",
+                        placement.getSlotId());
+            } else {
+                slotsByRequest.computeIfAbsent(new RequestContext(placement.getCustomerId(),
+                        placement.getMarketplaceId()), requestContext -> new ArrayList<>()).add(slot);
+            }
+        }
 
-        for (AdvertisementContent advertisementContent : eligibleAdvertisements) {
+        final Map<String, MarketplaceCatalog> catalogs = new HashMap<>();
+        final List<CustomerDataLoader.RequestScope> scopes = new ArrayList<>();
+        try {
+            for (RequestContext requestContext : slotsByRequest.keySet()) {
+                final MarketplaceCatalog catalog =
+                        catalogs.computeIfAbsent(requestContext.getMarketplaceId(), advertisementCatalog::get);
+                scopes.add(customerDataLoader.openScope(requestContext));
+                customerDataLoader.prefetch(requestContext, catalog.getRequiredCustomerData());
+            }
 
-            SortedMap<Double, AdvertisementContent> potentialClickThru =
-                    new TreeMap<>(Comparator.reverseOrder());
-            for (TargetingGroup targetingGroup : targetingGroupDao.get(advertisementContent.getContentId())) {
-                //if the targetingGroup evaluates to true compare against others in the group
-                boolean isEligibleCRT = targetingEvaluator.evaluate(targetingGroup).equals(TargetingPredicateResult.TRUE);
-                if (isEligibleCRT) {
-                    potentialClickThru.put(targetingGroup.getClickThroughRate(), advertisementContent);
+            slotsByRequest.forEach((requestContext, slots) -> {
+                try {
+                    final List<AdvertisementContent> contents = selectHighestCTR(
+                            catalogs.get(requestContext.getMarketplaceId()), requestContext, slots.size());
+                    for (int i = 0; i < contents.size(); i++) {
+                        generatedAdvertisements[slots.get(i)] = new GeneratedAdvertisement(contents.get(i));
+                    }
+                } catch (RuntimeException e) {
+                    LOG.error(String.format("Unable to select ads for customer, %s, in marketplace %s.",
+                            requestContext.getCustomerId(), requestContext.getMarketplaceId()), e);
                 }
+            });
+        } finally {
+            scopes.forEach(CustomerDataLoader.RequestScope::close);
+        }
+        return Arrays.asList(generatedAdvertisements);
+    }
+
+    /**
+     * A future completed when the customer data has loaded or the deadline passes, whichever is first.
+     */
+    private CompletableFuture<Void> byDeadline(CompletableFuture<Void> loaded, Deadline deadline) {
+        if (!deadline.isBounded() || loaded.isDone()) {
+            return loaded;
+        }
+        final CompletableFuture<Void> ready = new CompletableFuture<>();
+        loaded.whenComplete((result, e) -> ready.complete(null));
+        final ScheduledFuture<?> timer = deadlineExecutor.schedule(() -> {
+            if (ready.complete(null)) {
+                LOG.warn("Deadline passed while loading customer data, selecting from the data loaded so far.");
+            }
+        }, deadline.remainingMillis(), TimeUnit.MILLISECONDS);
+        ready.whenComplete((result, e) -> timer.cancel(false));
+        return ready;
+    }
+
+    /**
+     * Matches the customer against every candidate in the marketplace's targeting index, then takes the first match,
+     * which has the highest click through rate. Predicates the index can't represent are only evaluated for candidates
+     * that matched everything else, in order, until one matches.
+     */
+    private AdvertisementContent selectHighestCTR(MarketplaceCatalog catalog, RequestContext requestContext,
+                                                  TargetingEvaluator targetingEvaluator) {
+        int match = catalog.getTargetingIndex().firstMatch(requestContext, customerDataLoader, targetingEvaluator);
+        return match < 0 ? null : catalog.getCandidates().get(match).getContent();
+    }
+
+    /**
+     * The customer's eligible content with the highest click through rates, at most one entry per content even when
+     * several of its targeting groups match.
+     */
+    private List<AdvertisementContent> selectHighestCTR(MarketplaceCatalog catalog, RequestContext requestContext,
+                                                        int count) {
+        final TargetingIndex index = catalog.getTargetingIndex();
+        final TargetingEvaluator targetingEvaluator = new TargetingEvaluator(requestContext, evaluationExecutor);
+        final BitSet matches = index.match(requestContext, customerDataLoader);
+        final List<AdvertisementContent> selected = new ArrayList<>();
+        final Set<String> selectedContentIds = new HashSet<>();
+        int match = -1;
+        while (selected.size() < count && (match = index.nextMatch(matches, match + 1, targetingEvaluator)) >= 0) {
+            final AdvertisementContent content = catalog.getCandidates().get(match).getContent();
+            if (selectedContentIds.add(content.getContentId())) {
+                selected.add(content);
             }
-            //select the highest CTR  for the ad and add to the tree.
-            Double key = potentialClickThru.firstKey();
-            advertisementContentTreeMap.put(key, potentialClickThru.get(key));
         }
-        return advertisementContentTreeMap;
+        return selected;
     }
 }
@@ -0,0 +1,163 @@
+package com.amazon.ata.advertising.service.catalog;
+
+import com.amazon.ata.advertising.service.dao.ReadableDao;
+import com.amazon.ata.advertising.service.model.AdvertisementContent;
+import com.amazon.ata.advertising.service.targeting.TargetingGroup;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps an in-memory MarketplaceCatalog for every marketplace ads have been requested in, so selecting an ad never
+ * has to query the content or targeting group tables. A marketplace is loaded the first time it is requested, rebuilt
+ * in the background on a fixed interval, and swapped in atomically once the new snapshot is complete. Concurrent
+ * requests for a marketplace that is still loading wait for the same load, which runs on the first requester's thread
+ * outside of any map lock.
+ *
+ * Activities that change content invalidate the affected marketplace so the next request reloads it. Invalidation
+ * only reaches the catalog of the process the activity ran in: each activity is its own Lambda handler, so containers
+ * serving other activities keep their snapshot until their next refresh.
+ */
+public class AdvertisementCatalog {
+    private static final Logger LOG = LogManager.getLogger(AdvertisementCatalog.class);
+
+    private final ReadableDao<String, List<AdvertisementContent>> contentDao;
+    private final ReadableDao<String, List<TargetingGroup>> targetingGroupDao;
+    private final ConcurrentMap<String, CompletableFuture<MarketplaceCatalog>> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs an AdvertisementCatalog.
+     * @param contentDao Source of advertising content.
+     * @param targetingGroupDao Source of targeting groups for each advertising content.
+     */
+    public AdvertisementCatalog(ReadableDao<String, List<AdvertisementContent>> contentDao,
+                                ReadableDao<String, List<TargetingGroup>> targetingGroupDao) {
+        this.contentDao = contentDao;
+        this.targetingGroupDao = targetingGroupDao;
+    }
+
+    /**
+     * Rebuilds every loaded marketplace on the given executor, waiting refreshInterval between rebuilds.
+     * @param refreshExecutor The executor the rebuilds run on.
+     * @param refreshInterval How long to wait between rebuilds.
+     */
+    public void scheduleRefresh(ScheduledExecutorService refreshExecutor, Duration refreshInterval) {
+        long intervalMillis = refreshInterval.toMillis();
+        refreshExecutor.scheduleWithFixedDelay(this::refresh, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets the current snapshot of a marketplace, loading it if the marketplace has not been requested before or was
+     * invalidated.
+     * @param marketplaceId The marketplace to get the content of.
+     * @return The marketplace's snapshot.
+     */
+    public MarketplaceCatalog get(String marketplaceId) {
+        CompletableFuture<MarketplaceCatalog> snapshot = snapshots.get(marketplaceId);
+        if (snapshot == null) {
+            CompletableFuture<MarketplaceCatalog> loading = new CompletableFuture<>();
+            snapshot = snapshots.putIfAbsent(marketplaceId, loading);
+            if (snapshot == null) {
+                return loadInto(marketplaceId, loading);
+            }
+        }
+        try {
+            return snapshot.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Rebuilds the snapshot of every loaded marketplace. A marketplace that fails to load keeps its previous snapshot,
+     * and a marketplace that was invalidated while it was being rebuilt is left for the next request to reload.
+     * Marketplaces still being loaded by a request are skipped.
+     */
+    public void refresh() {
+        for (Map.Entry<String, CompletableFuture<MarketplaceCatalog>> entry : snapshots.entrySet()) {
+            String marketplaceId = entry.getKey();
+            if (!entry.getValue().isDone()) {
+                continue;
+            }
+            try {
+                snapshots.replace(marketplaceId, entry.getValue(),
+                        CompletableFuture.completedFuture(load(marketplaceId)));
+            } catch (RuntimeException e) {
+                LOG.warn(String.format("Unable to refresh the catalog for marketplace %s, keeping the previous one.",
+                        marketplaceId), e);
+            }
+        }
+    }
+
+    /**
+     * Drops the snapshot of a marketplace so the next request reloads it.
+     * @param marketplaceId The marketplace whose content changed.
+     */
+    public void invalidate(String marketplaceId) {
+        if (marketplaceId != null) {
+            snapshots.remove(marketplaceId);
+        }
+    }
+
+    /**
+     * Drops the snapshot of every marketplace that contains a piece of content, and of every marketplace still being
+     * loaded, since that load may have read the content before it changed.
+     * @param contentId The content that changed.
+     */
+    public void invalidateContent(String contentId) {
+        if (contentId != null) {
+            snapshots.values().removeIf(snapshot -> !snapshot.isDone() || snapshot.join().containsContent(contentId));
+        }
+    }
+
+    /**
+     * Loads a marketplace and completes the future requests for it are waiting on. A failed load is removed from the
+     * map before its waiters see the failure, so the next request tries again.
+     */
+    private MarketplaceCatalog loadInto(String marketplaceId, CompletableFuture<MarketplaceCatalog> loading) {
+        MarketplaceCatalog snapshot;
+        try {
+            snapshot = load(marketplaceId);
+        } catch (Throwable e) {
+            snapshots.remove(marketplaceId, loading);
+            loading.completeExceptionally(e);
+            throw e;
+        }
+        loading.complete(snapshot);
+        return snapshot;
+    }
+
+    private MarketplaceCatalog load(String marketplaceId) {
+        List<AdvertisementContent> contents = Optional.ofNullable(contentDao.get(marketplaceId))
+                .orElse(Collections.emptyList());
+
+        Set<String> contentIds = new LinkedHashSet<>();
+        contents.forEach(content -> contentIds.add(content.getContentId()));
+        Map<String, List<TargetingGroup>> loadedTargetingGroups = targetingGroupDao.getAll(contentIds);
+
+        Map<String, List<TargetingGroup>> targetingGroups = new LinkedHashMap<>();
+        for (String contentId : contentIds) {
+            targetingGroups.put(contentId,
+                    Optional.ofNullable(loadedTargetingGroups.get(contentId)).orElse(Collections.emptyList()));
+        }
+        return new MarketplaceCatalog(marketplaceId, contents, targetingGroups);
+    }
+}
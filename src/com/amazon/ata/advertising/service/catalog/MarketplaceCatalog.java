@@ -0,0 +1,137 @@
+package com.amazon.ata.advertising.service.catalog;
+
+import com.amazon.ata.advertising.service.dao.CustomerDataSource;
+import com.amazon.ata.advertising.service.model.AdvertisementContent;
+import com.amazon.ata.advertising.service.targeting.TargetingGroup;
+import com.amazon.ata.advertising.service.targeting.TargetingIndex;
+import com.amazon.ata.advertising.service.targeting.predicate.TargetingPredicate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * An immutable snapshot of the advertising content scheduled in a marketplace, along with the targeting groups of each
+ * piece of content. Every (content, targeting group) pair is also kept as a TargetingCandidate, sorted by descending
+ * click through rate, so the first candidate that matches a customer is the best ad they can be shown. The candidates'
+ * targeting groups are indexed in that order, so the index's first match is the best candidate. A snapshot is never
+ * modified once built; the AdvertisementCatalog replaces it as a whole.
+ */
+public final class MarketplaceCatalog {
+    private final String marketplaceId;
+    private final List<AdvertisementContent> contents;
+    private final Map<String, List<TargetingGroup>> targetingGroups;
+    private final List<TargetingCandidate> candidates;
+    private final TargetingIndex targetingIndex;
+    private final Set<CustomerDataSource> requiredCustomerData;
+
+    /**
+     * Builds a snapshot of a marketplace's content.
+     * @param marketplaceId The marketplace the content is scheduled in.
+     * @param contents The content in the marketplace, in the order it should be considered.
+     * @param targetingGroups The targeting groups of each content, keyed by contentId.
+     */
+    public MarketplaceCatalog(String marketplaceId,
+                              List<AdvertisementContent> contents,
+                              Map<String, List<TargetingGroup>> targetingGroups) {
+        this.marketplaceId = marketplaceId;
+        this.contents = Collections.unmodifiableList(new ArrayList<>(contents));
+
+        Map<String, List<TargetingGroup>> copiedTargetingGroups = new HashMap<>();
+        Set<CustomerDataSource> dataSources = EnumSet.noneOf(CustomerDataSource.class);
+        targetingGroups.forEach((contentId, contentTargetingGroups) -> {
+            copiedTargetingGroups.put(contentId, Collections.unmodifiableList(new ArrayList<>(contentTargetingGroups)));
+            contentTargetingGroups.forEach(targetingGroup -> addRequiredCustomerData(targetingGroup, dataSources));
+        });
+        this.targetingGroups = Collections.unmodifiableMap(copiedTargetingGroups);
+        this.candidates = Collections.unmodifiableList(sortedCandidates(this.contents, this.targetingGroups));
+        this.targetingIndex = TargetingIndex.build(this.candidates.stream()
+                .map(TargetingCandidate::getTargetingGroup)
+                .collect(Collectors.toList()));
+        this.requiredCustomerData = Collections.unmodifiableSet(dataSources);
+    }
+
+    public String getMarketplaceId() {
+        return marketplaceId;
+    }
+
+    public List<AdvertisementContent> getContents() {
+        return contents;
+    }
+
+    /**
+     * Gets the targeting groups of a piece of content in this marketplace.
+     * @param contentId The content to get targeting groups for.
+     * @return The content's targeting groups, or an empty list if the content has none.
+     */
+    public List<TargetingGroup> getTargetingGroups(String contentId) {
+        return targetingGroups.getOrDefault(contentId, Collections.emptyList());
+    }
+
+    /**
+     * Every (content, targeting group) pair in the marketplace, highest click through rate first. Pairs with the same
+     * click through rate keep the order of their content, then the order of the content's targeting groups.
+     * @return the candidates, sorted by descending click through rate.
+     */
+    public List<TargetingCandidate> getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * The targeting groups of getCandidates(), indexed in the same order, so bit i of a match is candidate i.
+     * @return the marketplace's targeting index.
+     */
+    public TargetingIndex getTargetingIndex() {
+        return targetingIndex;
+    }
+
+    /**
+     * The customer data read by any predicate in this marketplace.
+     * @return the customer data sources predicates in this marketplace need.
+     */
+    public Set<CustomerDataSource> getRequiredCustomerData() {
+        return requiredCustomerData;
+    }
+
+    /**
+     * Whether a piece of content is part of this snapshot.
+     * @param contentId The content to look for.
+     * @return true if the content is scheduled in this marketplace.
+     */
+    public boolean containsContent(String contentId) {
+        return targetingGroups.containsKey(contentId);
+    }
+
+    private static List<TargetingCandidate> sortedCandidates(List<AdvertisementContent> contents,
+                                                             Map<String, List<TargetingGroup>> targetingGroups) {
+        List<TargetingCandidate> sorted = new ArrayList<>();
+        for (AdvertisementContent content : contents) {
+            for (TargetingGroup targetingGroup : targetingGroups.getOrDefault(content.getContentId(),
+                    Collections.emptyList())) {
+                sorted.add(new TargetingCandidate(content, targetingGroup));
+            }
+        }
+        // List.sort is stable, so ties stay in content order.
+        sorted.sort(Comparator.comparingDouble(
+                (TargetingCandidate candidate) -> candidate.getTargetingGroup().getClickThroughRate()).reversed());
+        return sorted;
+    }
+
+    private static void addRequiredCustomerData(TargetingGroup targetingGroup, Set<CustomerDataSource> dataSources) {
+        if (targetingGroup.getTargetingPredicates() == null) {
+            return;
+        }
+        for (TargetingPredicate targetingPredicate : targetingGroup.getTargetingPredicates()) {
+            CustomerDataSource dataSource = targetingPredicate.getRequiredCustomerData();
+            if (dataSource != null) {
+                dataSources.add(dataSource);
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.amazon.ata.advertising.service.catalog;
+
+import com.amazon.ata.advertising.service.model.AdvertisementContent;
+import com.amazon.ata.advertising.service.targeting.TargetingGroup;
+
+/**
+ * A piece of advertising content paired with one of its targeting groups. The content can be shown to a customer if
+ * the targeting group evaluates to TRUE for them.
+ */
+public final class TargetingCandidate {
+    private final AdvertisementContent content;
+    private final TargetingGroup targetingGroup;
+
+    /**
+     * Pairs a piece of content with one of its targeting groups.
+     * @param content The content shown if the targeting group matches.
+     * @param targetingGroup One of the content's targeting groups.
+     */
+    public TargetingCandidate(AdvertisementContent content, TargetingGroup targetingGroup) {
+        this.content = content;
+        this.targetingGroup = targetingGroup;
+    }
+
+    public AdvertisementContent getContent() {
+        return content;
+    }
+
+    public TargetingGroup getTargetingGroup() {
+        return targetingGroup;
+    }
+}
@@ -0,0 +1,78 @@
+package com.amazon.ata.advertising.service.dao;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Batch sizes and wait times of a MicroBatchingReadableDao. Safe to update from every calling thread at once.
+ */
+public final class BatchMetrics {
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong batchedInputs = new AtomicLong();
+    private final AtomicLong largestBatch = new AtomicLong();
+    private final AtomicLong coalescedGets = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+
+    /**
+     * Records a batch sent to the delegate.
+     * @return the number of batches so far, including this one
+     */
+    long recordBatch(int size, long batchWaitNanos) {
+        batchedInputs.addAndGet(size);
+        largestBatch.accumulateAndGet(size, Math::max);
+        waitNanos.addAndGet(batchWaitNanos);
+        return batches.incrementAndGet();
+    }
+
+    void recordCoalesced() {
+        coalescedGets.incrementAndGet();
+    }
+
+    /**
+     * Batches sent to the delegate.
+     * @return batches
+     */
+    public long getBatches() {
+        return batches.get();
+    }
+
+    /**
+     * Distinct inputs per batch, on average.
+     * @return average batch size
+     */
+    public double getAverageBatchSize() {
+        long count = getBatches();
+        return count == 0 ? 0 : (double) batchedInputs.get() / count;
+    }
+
+    /**
+     * The most distinct inputs sent in one batch.
+     * @return largest batch size
+     */
+    public long getLargestBatch() {
+        return largestBatch.get();
+    }
+
+    /**
+     * Reads that shared a call already waiting or in flight for the same input instead of making their own.
+     * @return coalesced reads
+     */
+    public long getCoalescedGets() {
+        return coalescedGets.get();
+    }
+
+    /**
+     * How long a batch waited for inputs to join it before it was sent, on average.
+     * @return average wait in milliseconds
+     */
+    public double getAverageWaitMillis() {
+        long count = getBatches();
+        return count == 0 ? 0 : (double) waitNanos.get() / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("batches=%d averageBatchSize=%.1f largestBatch=%d coalescedGets=%d averageWaitMillis=%.2f",
+                getBatches(), getAverageBatchSize(), getLargestBatch(), getCoalescedGets(), getAverageWaitMillis());
+    }
+}
@@ -0,0 +1,218 @@
+package com.amazon.ata.advertising.service.dao;
+
+import com.amazon.ata.advertising.service.exceptions.AdvertisementServiceException;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the results of another ReadableDao across requests. Entries expire a fixed time after they were loaded, and
+ * the least recently used entries are evicted once the cache holds its maximum number of entries.
+ *
+ * A null result, such as a customer the service has no data for, is cached the same as any other result. Concurrent
+ * misses for the same input share a single call to the delegate. The call is made on the load executor rather than on
+ * the thread of the request that missed first, so cancelling or interrupting that request doesn't fail the load for
+ * the other requests waiting on it. Failed calls are not cached. A getAll loads all of its misses with one getAll on
+ * the delegate. Hit, miss and eviction counts are logged every REPORT_INTERVAL lookups.
+ *
+ * @param <I> The input type needed to retrieve an object.
+ * @param <O> The type to be retrieved from the datasource.
+ */
+public class CachingReadableDao<I, O> implements ReadableDao<I, O> {
+    private static final Logger LOG = LogManager.getLogger(CachingReadableDao.class);
+    private static final long REPORT_INTERVAL = 10_000;
+
+    private final String name;
+    private final ReadableDao<I, O> delegate;
+    private final Executor loadExecutor;
+    private final Cache<I, CompletableFuture<Optional<O>>> cache;
+    private final AtomicLong lookups = new AtomicLong();
+
+    /**
+     * Wraps a ReadableDao in a cache.
+     * @param name The name of the datasource, used when reporting statistics.
+     * @param delegate The dao to load missing entries from.
+     * @param timeToLive How long an entry is served from the cache after it was loaded.
+     * @param maximumSize The most entries the cache holds.
+     * @param loadExecutor The executor calls to the delegate run on. Callers wait for their results, so it must not be
+     *                     the executor the callers run on.
+     */
+    public CachingReadableDao(String name, ReadableDao<I, O> delegate, Duration timeToLive, long maximumSize,
+                              Executor loadExecutor) {
+        this(name, delegate, timeToLive, maximumSize, loadExecutor, Ticker.systemTicker());
+    }
+
+    @VisibleForTesting
+    CachingReadableDao(String name, ReadableDao<I, O> delegate, Duration timeToLive, long maximumSize,
+                       Executor loadExecutor, Ticker ticker) {
+        this.name = name;
+        this.delegate = delegate;
+        this.loadExecutor = loadExecutor;
+        this.cache = CacheBuilder.newBuilder()
+                .expireAfterWrite(timeToLive.toNanos(), TimeUnit.NANOSECONDS)
+                .maximumSize(maximumSize)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Get an object from the cache, loading it from the delegate if it is missing or expired.
+     * @param inputQuery The information necessary to retrieve an object.
+     * @return The object queried for.
+     */
+    @Override
+    public O get(I inputQuery) {
+        recordLookups(1);
+        CompletableFuture<Optional<O>> result;
+        try {
+            result = cache.get(inputQuery, () -> load(inputQuery));
+        } catch (ExecutionException e) {
+            throw new UncheckedExecutionException(e.getCause());
+        }
+        return join(inputQuery, result).orElse(null);
+    }
+
+    /**
+     * Get several objects from the cache, loading the missing or expired ones from the delegate in one getAll.
+     * @param inputQueries The information necessary to retrieve each object.
+     * @return The objects queried for, keyed by their input. Inputs with a null result are left out.
+     */
+    @Override
+    public Map<I, O> getAll(Collection<I> inputQueries) {
+        recordLookups(inputQueries.size());
+        Map<I, CompletableFuture<Optional<O>>> cached = cache.getAllPresent(inputQueries);
+        Map<I, CompletableFuture<Optional<O>>> results = new LinkedHashMap<>();
+        Map<I, CompletableFuture<Optional<O>>> misses = new LinkedHashMap<>();
+        for (I inputQuery : inputQueries) {
+            if (results.containsKey(inputQuery)) {
+                continue;
+            }
+            CompletableFuture<Optional<O>> result = cached.get(inputQuery);
+            if (result == null) {
+                CompletableFuture<Optional<O>> loading = new CompletableFuture<>();
+                result = cache.asMap().putIfAbsent(inputQuery, loading);
+                if (result == null) {
+                    result = loading;
+                    misses.put(inputQuery, loading);
+                }
+            }
+            results.put(inputQuery, result);
+        }
+        if (!misses.isEmpty()) {
+            loadAll(misses);
+        }
+
+        Map<I, O> loaded = new LinkedHashMap<>();
+        results.forEach((inputQuery, result) ->
+                join(inputQuery, result).ifPresent(value -> loaded.put(inputQuery, value)));
+        return loaded;
+    }
+
+    /**
+     * Removes an entry, so the next get loads it from the delegate.
+     * @param inputQuery The entry to remove.
+     */
+    public void invalidate(I inputQuery) {
+        cache.invalidate(inputQuery);
+    }
+
+    /**
+     * Hit, miss and eviction counts since the cache was created.
+     * @return A snapshot of the cache statistics.
+     */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    private CompletableFuture<Optional<O>> load(I inputQuery) {
+        CompletableFuture<Optional<O>> result = new CompletableFuture<>();
+        run(() -> result.complete(Optional.ofNullable(delegate.get(inputQuery))), result);
+        result.whenComplete((value, e) -> {
+            if (e != null) {
+                cache.asMap().remove(inputQuery, result);
+            }
+        });
+        return result;
+    }
+
+    private void loadAll(Map<I, CompletableFuture<Optional<O>>> misses) {
+        CompletableFuture<Void> batch = new CompletableFuture<>();
+        run(() -> {
+            Map<I, O> loaded = delegate.getAll(misses.keySet());
+            misses.forEach((inputQuery, result) -> result.complete(Optional.ofNullable(loaded.get(inputQuery))));
+            batch.complete(null);
+        }, batch);
+        batch.whenComplete((value, e) -> {
+            if (e != null) {
+                misses.forEach((inputQuery, result) -> {
+                    cache.asMap().remove(inputQuery, result);
+                    result.completeExceptionally(e);
+                });
+            }
+        });
+    }
+
+    /**
+     * Runs a call to the delegate on the load executor, or on the caller's thread if the executor rejects it, and
+     * fails the future if the call throws.
+     */
+    private void run(Runnable call, CompletableFuture<?> result) {
+        Runnable task = () -> {
+            try {
+                call.run();
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        };
+        try {
+            loadExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.run();
+        }
+    }
+
+    /**
+     * Waits for a load. A failed load is removed from the cache, in case it failed before it was cached, so the next
+     * lookup tries again.
+     */
+    private Optional<O> join(I inputQuery, CompletableFuture<Optional<O>> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AdvertisementServiceException("Interrupted waiting for the cache to load.", e);
+        } catch (ExecutionException e) {
+            cache.asMap().remove(inputQuery, result);
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new UncheckedExecutionException(e.getCause());
+        }
+    }
+
+    private void recordLookups(int count) {
+        long total = lookups.addAndGet(count);
+        if (total / REPORT_INTERVAL != (total - count) / REPORT_INTERVAL) {
+            CacheStats stats = cache.stats();
+            LOG.info(String.format("%s cache: hitRate=%.3f %s", name, stats.hitRate(), stats));
+        }
+    }
+}
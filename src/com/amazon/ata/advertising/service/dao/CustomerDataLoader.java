@@ -0,0 +1,257 @@
+package com.amazon.ata.advertising.service.dao;
+
+import com.amazon.ata.advertising.service.model.CustomerSpendVector;
+import com.amazon.ata.advertising.service.model.RequestContext;
+import com.amazon.ata.customerservice.CustomerProfile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Loads the customer data that targeting predicates are evaluated against. While a request has a scope open for its
+ * RequestContext, each of the customer profile, customer spend and prime benefits is fetched at most once, and every
+ * caller asking for the same data shares the same in-flight future. Outside of a scope, data is fetched directly from
+ * the DAOs on every call. Data can also be prefetched in parallel as soon as a request knows what its predicates need.
+ * Every load is asynchronous; no thread waits on the DAOs unless a caller joins the future it was given. Loads still
+ * in flight when the last scope for a RequestContext is closed are cancelled.
+ */
+@Singleton
+public class CustomerDataLoader {
+    private final AsyncReadableDao<String, CustomerProfile> customerProfileDao;
+    private final AsyncReadableDao<RequestContext, CustomerSpendVector> customerSpendDao;
+    private final AsyncReadableDao<RequestContext, List<String>> primeDao;
+    private final ConcurrentMap<RequestContext, RequestData> requestData = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a CustomerDataLoader.
+     * @param customerProfileDao source of customer profile data
+     * @param customerSpendDao source of customer spend data
+     * @param primeDao source of prime benefit data
+     */
+    @Inject
+    public CustomerDataLoader(AsyncReadableDao<String, CustomerProfile> customerProfileDao,
+                              AsyncReadableDao<RequestContext, CustomerSpendVector> customerSpendDao,
+                              AsyncReadableDao<RequestContext, List<String>> primeDao) {
+        this.customerProfileDao = customerProfileDao;
+        this.customerSpendDao = customerSpendDao;
+        this.primeDao = primeDao;
+    }
+
+    /**
+     * Constructs a CustomerDataLoader that calls blocking DAOs on an executor.
+     * @param customerProfileDao source of customer profile data
+     * @param customerSpendDao source of customer spend data
+     * @param primeDao source of prime benefit data
+     * @param customerDataExecutor executor the DAOs are called on
+     */
+    public CustomerDataLoader(ReadableDao<String, CustomerProfile> customerProfileDao,
+                              ReadableDao<RequestContext, CustomerSpendVector> customerSpendDao,
+                              ReadableDao<RequestContext, List<String>> primeDao,
+                              Executor customerDataExecutor) {
+        this(new ExecutorReadableDao<>(customerProfileDao, customerDataExecutor),
+                new ExecutorReadableDao<>(customerSpendDao, customerDataExecutor),
+                new ExecutorReadableDao<>(primeDao, customerDataExecutor));
+    }
+
+    /**
+     * Opens a scope for a request. Data loaded for the RequestContext is shared until every scope opened for it has
+     * been closed.
+     * @param requestContext the request to share customer data across
+     * @return the scope, which must be closed when the request completes
+     */
+    public RequestScope openScope(RequestContext requestContext) {
+        requestData.compute(requestContext, (context, existing) ->
+                existing == null ? new RequestData() : existing.retain());
+        return new RequestScope(requestContext);
+    }
+
+    /**
+     * Starts loading every data source in parallel, without waiting for the results. Predicates evaluated later in
+     * the request share the in-flight loads. Only takes effect for recognized customers while a scope is open for the
+     * RequestContext.
+     * @param requestContext the request to load customer data for
+     * @param dataSources the customer data the request's predicates will read
+     */
+    public void prefetch(RequestContext requestContext, Set<CustomerDataSource> dataSources) {
+        prefetchAll(requestContext, dataSources);
+    }
+
+    /**
+     * Starts loading every data source in parallel, like prefetch, and returns a future that completes once each of
+     * them has loaded or failed. Callers can continue from it knowing the data sources can be read without waiting.
+     * @param requestContext the request to load customer data for
+     * @param dataSources the customer data the request's predicates will read
+     * @return a future completed when every prefetched load is done; already complete if nothing was prefetched
+     */
+    public CompletableFuture<Void> prefetchAll(RequestContext requestContext, Set<CustomerDataSource> dataSources) {
+        RequestData data = requestData.get(requestContext);
+        if (data == null || !requestContext.isRecognizedCustomer()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        List<CompletableFuture<?>> loads = new ArrayList<>();
+        for (CustomerDataSource dataSource : dataSources) {
+            switch (dataSource) {
+                case CUSTOMER_PROFILE:
+                    loads.add(load(data.customerProfile, customerProfileDao, requestContext.getCustomerId()));
+                    break;
+                case CUSTOMER_SPEND:
+                    loads.add(load(data.customerSpend, customerSpendDao, requestContext));
+                    break;
+                case PRIME_BENEFITS:
+                    loads.add(load(data.primeBenefits, primeDao, requestContext));
+                    break;
+                default:
+                    break;
+            }
+        }
+        return CompletableFuture.allOf(loads.stream()
+                .map(load -> load.handle((result, e) -> null))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Loads the profile of the customer in the request.
+     * @param requestContext the request to load the customer profile for
+     * @return the customer's profile
+     */
+    public CompletableFuture<CustomerProfile> loadCustomerProfile(RequestContext requestContext) {
+        RequestData data = requestData.get(requestContext);
+        return data == null ? load(customerProfileDao, requestContext.getCustomerId()) :
+                load(data.customerProfile, customerProfileDao, requestContext.getCustomerId());
+    }
+
+    /**
+     * Loads the spend per category of the customer in the request's marketplace.
+     * @param requestContext the request to load the customer spend for
+     * @return the customer's spend, indexed by category
+     */
+    public CompletableFuture<CustomerSpendVector> loadCustomerSpend(RequestContext requestContext) {
+        RequestData data = requestData.get(requestContext);
+        return data == null ? load(customerSpendDao, requestContext) :
+                load(data.customerSpend, customerSpendDao, requestContext);
+    }
+
+    /**
+     * Loads the prime benefits of the customer in the request's marketplace.
+     * @param requestContext the request to load prime benefits for
+     * @return the benefit types the customer has
+     */
+    public CompletableFuture<List<String>> loadPrimeBenefits(RequestContext requestContext) {
+        RequestData data = requestData.get(requestContext);
+        return data == null ? load(primeDao, requestContext) : load(data.primeBenefits, primeDao, requestContext);
+    }
+
+    private <I, T> CompletableFuture<T> load(AtomicReference<CompletableFuture<T>> memo, AsyncReadableDao<I, T> dao,
+                                             I inputQuery) {
+        CompletableFuture<T> existing = memo.get();
+        if (existing != null) {
+            return existing;
+        }
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (!memo.compareAndSet(null, future)) {
+            return memo.get();
+        }
+        complete(future, dao, inputQuery);
+        return future;
+    }
+
+    private <I, T> CompletableFuture<T> load(AsyncReadableDao<I, T> dao, I inputQuery) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        complete(future, dao, inputQuery);
+        return future;
+    }
+
+    private <I, T> void complete(CompletableFuture<T> future, AsyncReadableDao<I, T> dao, I inputQuery) {
+        try {
+            CompletableFuture<T> call = dao.getAsync(inputQuery);
+            call.whenComplete((result, e) -> {
+                if (e == null) {
+                    future.complete(result);
+                } else {
+                    future.completeExceptionally(e);
+                }
+            });
+            future.whenComplete((result, e) -> {
+                if (future.isCancelled()) {
+                    call.cancel(true);
+                }
+            });
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Releases a scope's hold on the RequestContext's data. Once the last scope is closed, nothing can read the data
+     * still loading for it, so those loads are cancelled.
+     */
+    private void release(RequestContext requestContext) {
+        RequestData data = requestData.get(requestContext);
+        if (data != null && requestData.computeIfPresent(requestContext,
+                (context, existing) -> existing.release()) == null) {
+            data.cancelLoads();
+        }
+    }
+
+    /**
+     * A request's hold on the customer data loaded for its RequestContext.
+     */
+    public final class RequestScope implements AutoCloseable {
+        private final RequestContext requestContext;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private RequestScope(RequestContext requestContext) {
+            this.requestContext = requestContext;
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                release(requestContext);
+            }
+        }
+    }
+
+    /**
+     * Memoized data for a RequestContext and the number of open scopes sharing it. The count is only modified while
+     * the map holds the lock for the RequestContext.
+     */
+    private static final class RequestData {
+        private final AtomicReference<CompletableFuture<CustomerProfile>> customerProfile = new AtomicReference<>();
+        private final AtomicReference<CompletableFuture<CustomerSpendVector>> customerSpend = new AtomicReference<>();
+        private final AtomicReference<CompletableFuture<List<String>>> primeBenefits = new AtomicReference<>();
+        private int openScopes = 1;
+
+        private RequestData retain() {
+            openScopes++;
+            return this;
+        }
+
+        private RequestData release() {
+            openScopes--;
+            return openScopes == 0 ? null : this;
+        }
+
+        private void cancelLoads() {
+            cancel(customerProfile);
+            cancel(customerSpend);
+            cancel(primeBenefits);
+        }
+
+        private static void cancel(AtomicReference<? extends CompletableFuture<?>> memo) {
+            CompletableFuture<?> load = memo.get();
+            if (load != null) {
+                load.cancel(true);
+            }
+        }
+    }
+}
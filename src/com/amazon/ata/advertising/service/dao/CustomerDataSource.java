@@ -0,0 +1,8 @@
+package com.amazon.ata.advertising.service.dao;
+
+/**
+ * The customer data a targeting predicate reads from when it is evaluated.
+ */
+public enum CustomerDataSource {
+    NONE, CUSTOMER_PROFILE, CUSTOMER_SPEND, PRIME_BENEFITS
+}
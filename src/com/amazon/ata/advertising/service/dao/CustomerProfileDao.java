@@ -1,9 +1,18 @@
 package com.amazon.ata.advertising.service.dao;
 
+import com.amazon.ata.customerservice.BatchGetCustomerProfilesRequest;
 import com.amazon.ata.customerservice.CustomerProfile;
 import com.amazon.ata.customerservice.GetCustomerProfileRequest;
 
+import com.amazon.atacustomerservicelambda.activity.BatchGetCustomerProfilesActivity;
 import com.amazon.atacustomerservicelambda.service.ATACustomerService;
+import com.google.common.collect.Iterables;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Gets the profile of a customer filled with the customers estimated demographic information.
@@ -34,4 +43,30 @@ public class CustomerProfileDao implements ReadableDao<String, CustomerProfile>
         return customerClient.getCustomerProfile(request)
                 .getCustomerProfile();
     }
+
+    /**
+     * Get the CustomerProfiles of several customers, in as few calls to the CustomerService as its batch size allows.
+     * A customer the batch response leaves out is looked up with get, so each customer gets the same profile either
+     * way.
+     *
+     * @param customerIds The customerIds to get demographic information for.
+     * @return The CustomerProfile of each customer, keyed by customerId
+     */
+    @Override
+    public Map<String, CustomerProfile> getAll(Collection<String> customerIds) {
+        Map<String, CustomerProfile> profiles = new LinkedHashMap<>();
+        for (List<String> batch : Iterables.partition(new LinkedHashSet<>(customerIds),
+                BatchGetCustomerProfilesActivity.MAX_BATCH_SIZE)) {
+            final BatchGetCustomerProfilesRequest request = BatchGetCustomerProfilesRequest.builder()
+                    .withCustomerIds(batch)
+                    .build();
+            Map<String, CustomerProfile> batchProfiles = customerClient.batchGetCustomerProfiles(request)
+                    .getCustomerProfiles();
+            for (String customerId : batch) {
+                CustomerProfile profile = batchProfiles.get(customerId);
+                profiles.put(customerId, profile != null ? profile : get(customerId));
+            }
+        }
+        return profiles;
+    }
 }
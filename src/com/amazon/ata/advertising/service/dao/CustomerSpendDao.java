@@ -1,19 +1,16 @@
 package com.amazon.ata.advertising.service.dao;
 
+import com.amazon.ata.advertising.service.model.CustomerSpendVector;
 import com.amazon.ata.advertising.service.model.RequestContext;
 import com.amazon.ata.customerservice.GetCustomerSpendCategoriesRequest;
 import com.amazon.ata.customerservice.GetCustomerSpendCategoriesResponse;
-import com.amazon.ata.customerservice.Spend;
 
 import com.amazon.atacustomerservicelambda.service.ATACustomerService;
 
-import java.util.Map;
-import java.util.stream.Collectors;
-
 /**
  * Get information on a customer's spending habits in different categories.
  */
-public class CustomerSpendDao implements ReadableDao<RequestContext, Map<String, Spend>> {
+public class CustomerSpendDao implements ReadableDao<RequestContext, CustomerSpendVector> {
 
     private final ATACustomerService customerClient;
 
@@ -29,19 +26,15 @@ public class CustomerSpendDao implements ReadableDao<RequestContext, Map<String,
      * Get the amount a customer has spent in different categories on Amazon.
      *
      * @param requestContext The marketplaceId the customerId has spent in.
-     * @return SpendCategories
+     * @return The customer's purchases and spend, indexed by category
      */
     @Override
-    public Map<String, Spend> get(RequestContext requestContext) {
+    public CustomerSpendVector get(RequestContext requestContext) {
         final GetCustomerSpendCategoriesRequest request = GetCustomerSpendCategoriesRequest.builder()
                 .withCustomerId(requestContext.getCustomerId())
                 .withMarketplaceId(requestContext.getMarketplaceId())
                 .build();
         final GetCustomerSpendCategoriesResponse result = customerClient.getCustomerSpendCategories(request);
-        return result.getCustomerSpendCategories()
-                .getSpendCategories()
-                .entrySet()
-                .stream()
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        return CustomerSpendVector.fromSpendByCategory(result.getCustomerSpendCategories().getSpendCategories());
     }
 }
@@ -0,0 +1,67 @@
+package com.amazon.ata.advertising.service.dao;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Makes a blocking ReadableDao asynchronous by calling it on an executor, so the caller's thread is free while the
+ * datasource responds. If the executor rejects the call, it is made on the caller's thread instead.
+ *
+ * @param <I> The input type needed to retrieve an object.
+ * @param <O> The type to be retrieved from the datasource.
+ */
+public class ExecutorReadableDao<I, O> implements ReadableDao<I, O>, AsyncReadableDao<I, O> {
+    private final ReadableDao<I, O> delegate;
+    private final Executor executor;
+
+    /**
+     * Wraps a ReadableDao so it can be called asynchronously.
+     * @param delegate The dao to call.
+     * @param executor The executor calls to the delegate run on.
+     */
+    public ExecutorReadableDao(ReadableDao<I, O> delegate, Executor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    /**
+     * Get an object from the delegate on the caller's thread.
+     * @param inputQuery The information necessary to retrieve an object.
+     * @return The object queried for.
+     */
+    @Override
+    public O get(I inputQuery) {
+        return delegate.get(inputQuery);
+    }
+
+    /**
+     * Get an object from the delegate on the executor. Cancelling the returned future cancels the call, interrupting
+     * the thread making it if it has started.
+     * @param inputQuery The information necessary to retrieve an object.
+     * @return A future completed with the object queried for, or exceptionally if the delegate threw.
+     */
+    @Override
+    public CompletableFuture<O> getAsync(I inputQuery) {
+        CompletableFuture<O> future = new CompletableFuture<>();
+        FutureTask<Void> call = new FutureTask<>(() -> {
+            try {
+                future.complete(delegate.get(inputQuery));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }, null);
+        future.whenComplete((result, e) -> {
+            if (future.isCancelled()) {
+                call.cancel(true);
+            }
+        });
+        try {
+            executor.execute(call);
+        } catch (RejectedExecutionException e) {
+            call.run();
+        }
+        return future;
+    }
+}
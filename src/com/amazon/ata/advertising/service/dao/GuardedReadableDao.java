@@ -0,0 +1,39 @@
+package com.amazon.ata.advertising.service.dao;
+
+import com.amazon.ata.advertising.service.resilience.DownstreamGuard;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Calls another ReadableDao through the DownstreamGuard of the service behind it, so reads fail fast with a
+ * DownstreamUnavailableException while that service is failing, slow or saturated. A getAll is guarded as one call,
+ * so a batch takes a single place in the bulkhead.
+ *
+ * @param <I> The input type needed to retrieve an object.
+ * @param <O> The type to be retrieved from the datasource.
+ */
+public class GuardedReadableDao<I, O> implements ReadableDao<I, O> {
+    private final ReadableDao<I, O> delegate;
+    private final DownstreamGuard guard;
+
+    /**
+     * Wraps a ReadableDao in a guard.
+     * @param delegate The dao to call.
+     * @param guard The guard of the service the dao calls.
+     */
+    public GuardedReadableDao(ReadableDao<I, O> delegate, DownstreamGuard guard) {
+        this.delegate = delegate;
+        this.guard = guard;
+    }
+
+    @Override
+    public O get(I inputQuery) {
+        return guard.call(() -> delegate.get(inputQuery));
+    }
+
+    @Override
+    public Map<I, O> getAll(Collection<I> inputQueries) {
+        return guard.call(() -> delegate.getAll(inputQueries));
+    }
+}
@@ -0,0 +1,109 @@
+package com.amazon.ata.advertising.service.dao;
+
+import com.amazon.ata.advertising.service.exceptions.AdvertisementServiceException;
+import com.amazon.ata.advertising.service.resilience.HedgeBudget;
+import com.amazon.ata.advertising.service.resilience.LatencyPercentile;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hedges calls to another ReadableDao to cut the tail latency of a slow downstream service. The call is made on the
+ * hedge executor; if it hasn't returned once it has taken longer than the configured percentile of recent calls, a
+ * duplicate is sent, and whichever returns first wins. A failed call still waits for the other one. The losing call is
+ * dropped if it hasn't started, but otherwise isn't interrupted, so the service's circuit breaker sees how it really
+ * ended. Hedges are capped by a HedgeBudget, and none are sent until enough calls have been timed. A bulk read with
+ * getAll is hedged as one call, so a MicroBatchingReadableDao in front of this dao has its batches hedged.
+ *
+ * @param <I> The input type needed to retrieve an object.
+ * @param <O> The type to be retrieved from the datasource.
+ */
+public class HedgingReadableDao<I, O> implements ReadableDao<I, O> {
+    private final ReadableDao<I, O> delegate;
+    private final ExecutorService hedgeExecutor;
+    private final LatencyPercentile hedgeDelay;
+    private final long minimumDelayNanos;
+    private final HedgeBudget budget;
+
+    /**
+     * Wraps a ReadableDao so slow calls are hedged.
+     * @param delegate The dao to call.
+     * @param hedgeExecutor The executor calls to the delegate run on. It must not be the executor the caller runs on.
+     * @param hedgeDelay Estimates the latency after which a call is hedged.
+     * @param minimumDelay The shortest time to wait before hedging, however fast recent calls were.
+     * @param budget Caps the share of calls that are hedged.
+     */
+    public HedgingReadableDao(ReadableDao<I, O> delegate, ExecutorService hedgeExecutor, LatencyPercentile hedgeDelay,
+                              Duration minimumDelay, HedgeBudget budget) {
+        this.delegate = delegate;
+        this.hedgeExecutor = hedgeExecutor;
+        this.hedgeDelay = hedgeDelay;
+        this.minimumDelayNanos = minimumDelay.toNanos();
+        this.budget = budget;
+    }
+
+    @Override
+    public O get(I inputQuery) {
+        return hedge(() -> delegate.get(inputQuery));
+    }
+
+    @Override
+    public Map<I, O> getAll(Collection<I> inputQueries) {
+        if (inputQueries.isEmpty()) {
+            return delegate.getAll(inputQueries);
+        }
+        return hedge(() -> delegate.getAll(inputQueries));
+    }
+
+    private <T> T hedge(Callable<T> call) {
+        long start = System.nanoTime();
+        CompletionService<T> attempts = new ExecutorCompletionService<>(hedgeExecutor);
+        List<Future<T>> futures = new ArrayList<>(2);
+        futures.add(attempts.submit(call));
+        budget.onCall();
+        try {
+            Future<T> completed = null;
+            long delayNanos = hedgeDelay.getNanos();
+            if (delayNanos >= 0) {
+                completed = attempts.poll(Math.max(delayNanos, minimumDelayNanos), TimeUnit.NANOSECONDS);
+                if (completed == null && budget.tryHedge()) {
+                    futures.add(attempts.submit(call));
+                }
+            }
+
+            ExecutionException failure = null;
+            for (int remaining = futures.size(); remaining > 0; remaining--) {
+                if (completed == null) {
+                    completed = attempts.take();
+                }
+                try {
+                    T result = completed.get();
+                    hedgeDelay.record(System.nanoTime() - start);
+                    return result;
+                } catch (ExecutionException e) {
+                    failure = e;
+                    completed = null;
+                }
+            }
+            if (failure.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) failure.getCause();
+            }
+            throw new AdvertisementServiceException("Unable to complete the call.", failure.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AdvertisementServiceException("Interrupted waiting for the call.", e);
+        } finally {
+            futures.forEach(future -> future.cancel(false));
+        }
+    }
+}
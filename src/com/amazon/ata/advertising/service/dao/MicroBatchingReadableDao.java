@@ -0,0 +1,224 @@
+package com.amazon.ata.advertising.service.dao;
+
+import com.amazon.ata.advertising.service.exceptions.AdvertisementServiceException;
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Coalesces concurrent reads of another ReadableDao. A read for an input that is already waiting or in flight shares
+ * that call instead of making its own. Reads of distinct inputs are grouped into micro-batches, so a datasource with a
+ * batch API is called once for many inputs instead of once each: the first get of a batch waits up to the batch
+ * window for others to join, or until the batch is full, then fetches the whole batch with one getAll on the delegate.
+ * Every other get in the batch waits for that result. With a maximum batch size of 1 no get waits, and only identical
+ * inputs are coalesced, which suits datasources without a batch API.
+ *
+ * A getAll is already a batch, so it is fetched straight away, sharing only the inputs already in flight. Batches are
+ * fetched on the fetch executor rather than on the thread of the read that started them, so cancelling or
+ * interrupting that read fails only that read and not the others sharing its batch. If a batch fails, every read in
+ * it fails with the same exception. No read waits longer than the batch timeout. Batch sizes and wait times are kept
+ * in BatchMetrics and logged every REPORT_INTERVAL batches.
+ *
+ * @param <I> The input type needed to retrieve an object.
+ * @param <O> The type to be retrieved from the datasource.
+ */
+public class MicroBatchingReadableDao<I, O> implements ReadableDao<I, O> {
+    private static final Logger LOG = LogManager.getLogger(MicroBatchingReadableDao.class);
+    private static final long REPORT_INTERVAL = 1000;
+
+    private final String name;
+    private final ReadableDao<I, O> delegate;
+    private final int maxBatchSize;
+    private final long batchWindowNanos;
+    private final long batchTimeoutNanos;
+    private final Executor fetchExecutor;
+    private final BatchMetrics metrics = new BatchMetrics();
+    private final Map<I, CompletableFuture<O>> inFlight = new HashMap<>();
+    private Map<I, CompletableFuture<O>> openBatch;
+
+    /**
+     * Wraps a ReadableDao so concurrent reads are coalesced.
+     * @param name The name of the datasource, used when reporting metrics.
+     * @param delegate The dao to fetch each batch from with getAll.
+     * @param maxBatchSize The most inputs in one batch.
+     * @param batchWindow The longest the first get of a batch waits for others to join.
+     * @param batchTimeout The longest a read waits for its batch to be fetched.
+     * @param fetchExecutor The executor batches are fetched on. Reads wait for their batches, so it must not be the
+     *                      executor the reads run on.
+     */
+    public MicroBatchingReadableDao(String name, ReadableDao<I, O> delegate, int maxBatchSize, Duration batchWindow,
+                                    Duration batchTimeout, Executor fetchExecutor) {
+        this.name = name;
+        this.delegate = delegate;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.batchWindowNanos = batchWindow.toNanos();
+        this.batchTimeoutNanos = batchTimeout.toNanos();
+        this.fetchExecutor = fetchExecutor;
+    }
+
+    @Override
+    public O get(I inputQuery) {
+        Map<I, CompletableFuture<O>> batch = null;
+        CompletableFuture<O> result;
+        synchronized (this) {
+            result = inFlight.get(inputQuery);
+            if (result != null) {
+                metrics.recordCoalesced();
+            } else {
+                if (openBatch == null) {
+                    openBatch = new LinkedHashMap<>();
+                }
+                if (openBatch.isEmpty()) {
+                    batch = openBatch;
+                }
+                result = new CompletableFuture<>();
+                openBatch.put(inputQuery, result);
+                inFlight.put(inputQuery, result);
+                if (openBatch.size() >= maxBatchSize) {
+                    openBatch = null;
+                    notifyAll();
+                }
+            }
+        }
+
+        if (batch != null) {
+            long start = System.nanoTime();
+            boolean interrupted = awaitBatch(batch);
+            fetchAsync(batch, System.nanoTime() - start);
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return join(result, System.nanoTime() + batchTimeoutNanos);
+    }
+
+    @Override
+    public Map<I, O> getAll(Collection<I> inputQueries) {
+        Map<I, CompletableFuture<O>> results = new LinkedHashMap<>();
+        Map<I, CompletableFuture<O>> batch = new LinkedHashMap<>();
+        synchronized (this) {
+            for (I inputQuery : inputQueries) {
+                if (results.containsKey(inputQuery)) {
+                    continue;
+                }
+                CompletableFuture<O> result = inFlight.get(inputQuery);
+                if (result != null) {
+                    metrics.recordCoalesced();
+                } else {
+                    result = new CompletableFuture<>();
+                    batch.put(inputQuery, result);
+                    inFlight.put(inputQuery, result);
+                }
+                results.put(inputQuery, result);
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            fetchAsync(batch, 0);
+        }
+        long deadline = System.nanoTime() + batchTimeoutNanos;
+        Map<I, O> loaded = new LinkedHashMap<>();
+        results.forEach((inputQuery, result) -> {
+            O value = join(result, deadline);
+            if (value != null) {
+                loaded.put(inputQuery, value);
+            }
+        });
+        return loaded;
+    }
+
+    public BatchMetrics getMetrics() {
+        return metrics;
+    }
+
+    @VisibleForTesting
+    synchronized boolean isWaiting(I inputQuery) {
+        return openBatch != null && openBatch.containsKey(inputQuery);
+    }
+
+    /**
+     * Waits until the batch is full or its window has passed, then closes it to new gets.
+     * @return true if the thread was interrupted while waiting
+     */
+    private synchronized boolean awaitBatch(Map<I, CompletableFuture<O>> batch) {
+        long deadline = System.nanoTime() + batchWindowNanos;
+        boolean interrupted = false;
+        try {
+            long remaining = batchWindowNanos;
+            while (openBatch == batch && remaining > 0) {
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                remaining = deadline - System.nanoTime();
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+        }
+        if (openBatch == batch) {
+            openBatch = null;
+        }
+        return interrupted;
+    }
+
+    /**
+     * Fetches a batch on the fetch executor, or on the caller's thread if the executor rejects it.
+     */
+    private void fetchAsync(Map<I, CompletableFuture<O>> batch, long waitNanos) {
+        try {
+            fetchExecutor.execute(() -> fetch(batch, waitNanos));
+        } catch (RejectedExecutionException e) {
+            fetch(batch, waitNanos);
+        }
+    }
+
+    private void fetch(Map<I, CompletableFuture<O>> batch, long waitNanos) {
+        try {
+            long batches = metrics.recordBatch(batch.size(), waitNanos);
+            if (batches % REPORT_INTERVAL == 0) {
+                LOG.info(String.format("%s coalescing: %s", name, metrics));
+            }
+            Map<I, O> results = delegate.getAll(batch.keySet());
+            leave(batch);
+            batch.forEach((inputQuery, result) -> result.complete(results.get(inputQuery)));
+        } catch (Throwable e) {
+            leave(batch);
+            batch.values().forEach(result -> result.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Removes a batch from the in-flight queries before it is completed, so no later get joins a finished batch.
+     */
+    private synchronized void leave(Map<I, CompletableFuture<O>> batch) {
+        batch.forEach(inFlight::remove);
+    }
+
+    private O join(CompletableFuture<O> result, long deadline) {
+        try {
+            return result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AdvertisementServiceException("Interrupted waiting for the batch.", e);
+        } catch (TimeoutException e) {
+            throw new AdvertisementServiceException(String.format("Timed out waiting for the %s batch.", name), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new AdvertisementServiceException("Unable to complete the batch.", e.getCause());
+        }
+    }
+}
@@ -1,12 +1,20 @@
 package com.amazon.ata.advertising.service.dao;
 
 import com.amazon.ata.advertising.service.model.RequestContext;
+import com.amazon.ata.primeclubservice.BatchGetPrimeBenefitsRequest;
 import com.amazon.ata.primeclubservice.GetPrimeBenefitsRequest;
 import com.amazon.ata.primeclubservice.PrimeBenefit;
 
+import com.amazon.ataprimeclubservicelambda.activity.BatchGetPrimeBenefitsActivity;
 import com.amazon.ataprimeclubservicelambda.service.ATAPrimeClubService;
+import com.google.common.collect.Iterables;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -42,4 +50,40 @@ public class PrimeDao implements ReadableDao<RequestContext, List<String>> {
                 .map(PrimeBenefit::getBenefitType)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Get the PrimeBenefit types of several customers, in one call to the PrimeClubService per marketplace and batch.
+     * A customer the batch response leaves out is looked up with get, so each customer gets the same benefits either
+     * way.
+     * @param requestContexts The marketplaceIds and customerIds to get benefits for.
+     * @return The benefit types of each customer, keyed by their RequestContext
+     */
+    @Override
+    public Map<RequestContext, List<String>> getAll(Collection<RequestContext> requestContexts) {
+        Map<String, Set<String>> customerIdsByMarketplace = new LinkedHashMap<>();
+        for (RequestContext requestContext : requestContexts) {
+            customerIdsByMarketplace.computeIfAbsent(requestContext.getMarketplaceId(), id -> new LinkedHashSet<>())
+                    .add(requestContext.getCustomerId());
+        }
+
+        Map<RequestContext, List<String>> benefits = new LinkedHashMap<>();
+        customerIdsByMarketplace.forEach((marketplaceId, customerIds) -> {
+            for (List<String> batch : Iterables.partition(customerIds, BatchGetPrimeBenefitsActivity.MAX_BATCH_SIZE)) {
+                final BatchGetPrimeBenefitsRequest request = BatchGetPrimeBenefitsRequest.builder()
+                        .withMarketplaceId(marketplaceId)
+                        .withCustomerIds(batch)
+                        .build();
+                Map<String, List<PrimeBenefit>> batchBenefits = primeClubService.batchGetPrimeBenefits(request)
+                        .getPrimeBenefits();
+                for (String customerId : batch) {
+                    RequestContext requestContext = new RequestContext(customerId, marketplaceId);
+                    List<PrimeBenefit> primeBenefits = batchBenefits.get(customerId);
+                    benefits.put(requestContext, primeBenefits != null
+                            ? primeBenefits.stream().map(PrimeBenefit::getBenefitType).collect(Collectors.toList())
+                            : get(requestContext));
+                }
+            }
+        });
+        return benefits;
+    }
 }
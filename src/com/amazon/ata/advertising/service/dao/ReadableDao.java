@@ -1,5 +1,9 @@
 package com.amazon.ata.advertising.service.dao;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Get data from a datasource.
  * @param <I> The input type needed to retrieve an object.  This may often by a query object.
@@ -13,4 +17,18 @@ public interface ReadableDao<I, O> {
      * @return The object queried for.
      */
     O get(I inputQuery);
+
+    /**
+     * Get an object for each of several inputs. Datasources that can fetch several objects at once, or in parallel,
+     * override this; by default each object is fetched in turn.
+     * @param inputQueries The information necessary to retrieve each object.
+     * @return The objects queried for, keyed by their input, in the iteration order of inputQueries.
+     */
+    default Map<I, O> getAll(Collection<I> inputQueries) {
+        Map<I, O> results = new LinkedHashMap<>();
+        for (I inputQuery : inputQueries) {
+            results.computeIfAbsent(inputQuery, this::get);
+        }
+        return results;
+    }
 }
@@ -1,16 +1,26 @@
 package com.amazon.ata.advertising.service.dao;
 
+import com.amazon.ata.advertising.service.dependency.ExecutorModule;
 import com.amazon.ata.advertising.service.dependency.TargetingPredicateInjector;
 import com.amazon.ata.advertising.service.exceptions.AdvertisementClientException;
+import com.amazon.ata.advertising.service.exceptions.AdvertisementServiceException;
 import com.amazon.ata.advertising.service.targeting.TargetingGroup;
 import com.amazon.ata.advertising.service.targeting.predicate.TargetingPredicate;
 
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 import javax.inject.Inject;
+import javax.inject.Named;
 
 /**
  * Gets the TargetingGroups for a piece of ATA ad content.
@@ -18,21 +28,26 @@ import javax.inject.Inject;
 public class TargetingGroupDao implements ReadableDao<String, List<TargetingGroup>> {
     private final TargetingPredicateInjector targetingPredicateInjector;
     private final DynamoDBMapper mapper;
+    private final ExecutorService queryExecutor;
 
     /**
      * Constructs a new TargetingGroupDao.
      * @param targetingPredicateInjector injects the dependencies into the predicates
      * @param mapper connection to DynamoDB
+     * @param queryExecutor bounded executor the queries of getAll run on
      */
     @Inject
-    public TargetingGroupDao(TargetingPredicateInjector targetingPredicateInjector, DynamoDBMapper mapper) {
+    public TargetingGroupDao(TargetingPredicateInjector targetingPredicateInjector, DynamoDBMapper mapper,
+                             @Named(ExecutorModule.TARGETING_GROUP_QUERY_EXECUTOR) ExecutorService queryExecutor) {
         this.targetingPredicateInjector = targetingPredicateInjector;
         this.mapper = mapper;
+        this.queryExecutor = queryExecutor;
     }
 
     /**
      * Retrieves a metadata object for a piece of ATA ad content. The return is wrapped in an optional, which will be
-     * empty if no metatdata could be retrieved.
+     * empty if no metatdata could be retrieved. The predicates of each targeting group are injected with this DAO's
+     * dependencies, so they read customer data through the same component as the rest of the request.
      * @param contentId The id of the content to get metadata for
      * @return the Advertisement metadata for the piece of content. If there is no metadata the Optional will be empty.
      */
@@ -43,7 +58,43 @@ public class TargetingGroupDao implements ReadableDao<String, List<TargetingGrou
                 .withIndexName(TargetingGroup.CONTENT_ID_INDEX)
                 .withConsistentRead(false)
                 .withHashKeyValues(indexHashKey);
-        return mapper.query(TargetingGroup.class, queryExpression);
+        List<TargetingGroup> targetingGroups = mapper.query(TargetingGroup.class, queryExpression);
+        targetingGroups.forEach(this::injectPredicates);
+        return targetingGroups;
+    }
+
+    private void injectPredicates(TargetingGroup targetingGroup) {
+        if (targetingGroup.getTargetingPredicates() != null) {
+            targetingGroup.setTargetingPredicates(
+                    targetingPredicateInjector.injectCopy(targetingGroup.getTargetingPredicates()));
+        }
+    }
+
+    /**
+     * Retrieves the targeting groups of several pieces of content, running one query per content concurrently on the
+     * query executor. Each result is fully paged in on the executor, so no query is left to finish on the caller.
+     * @param contentIds The ids of the content to get targeting groups for
+     * @return the targeting groups of each content, keyed by contentId, in the order of contentIds
+     */
+    @Override
+    public Map<String, List<TargetingGroup>> getAll(Collection<String> contentIds) {
+        Map<String, CompletableFuture<List<TargetingGroup>>> queries = new LinkedHashMap<>();
+        for (String contentId : contentIds) {
+            queries.computeIfAbsent(contentId, id ->
+                    CompletableFuture.supplyAsync(() -> new ArrayList<>(get(id)), queryExecutor));
+        }
+
+        Map<String, List<TargetingGroup>> targetingGroups = new LinkedHashMap<>();
+        try {
+            queries.forEach((contentId, query) -> targetingGroups.put(contentId, query.join()));
+        } catch (CompletionException e) {
+            queries.values().forEach(query -> query.cancel(false));
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new AdvertisementServiceException("Unable to query targeting groups.", e.getCause());
+        }
+        return targetingGroups;
     }
 
     /**
@@ -0,0 +1,40 @@
+package com.amazon.ata.advertising.service.dao.signals;
+
+import com.amazon.ata.advertising.service.dao.ReadableDao;
+import com.amazon.ata.customerservice.CustomerProfile;
+
+/**
+ * Serves customer profiles from a CustomerSignalStore.
+ */
+public class CustomerProfileSignalDao extends SignalStoreReadableDao<String, CustomerProfile> {
+
+    /**
+     * Serves customer profiles from a CustomerSignalStore.
+     * @param customerProfileDao The dao to load missing profiles from.
+     * @param store The store profiles are kept in.
+     */
+    public CustomerProfileSignalDao(ReadableDao<String, CustomerProfile> customerProfileDao,
+                                    CustomerSignalStore store) {
+        super(customerProfileDao, store);
+    }
+
+    @Override
+    protected String customerId(String customerId) {
+        return customerId;
+    }
+
+    @Override
+    protected boolean isStored(String customerId, CustomerSignals signals) {
+        return signals.hasProfile();
+    }
+
+    @Override
+    protected CustomerProfile read(CustomerSignals signals) {
+        return signals.toCustomerProfile();
+    }
+
+    @Override
+    protected void write(CustomerSignalStore store, String customerId, String inputQuery, CustomerProfile profile) {
+        store.writeProfile(customerId, profile);
+    }
+}
@@ -0,0 +1,398 @@
+package com.amazon.ata.advertising.service.dao.signals;
+
+import com.amazon.ata.advertising.service.model.CustomerSpendVector;
+import com.amazon.ata.customerservice.AgeRange;
+import com.amazon.ata.customerservice.Category;
+import com.amazon.ata.customerservice.CustomerProfile;
+import com.amazon.ata.customerservice.State;
+import com.amazon.ata.primeclubservice.Benefit;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import org.apache.commons.lang3.Validate;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Holds the customer data targeting predicates read in direct ByteBuffers outside of the Java heap, so that millions
+ * of customers can be cached without adding to garbage collection pauses.
+ *
+ * Each customer has one fixed-size record holding their age range, home state, parent flag, a bitmask of prime
+ * benefits and the purchase count and cents spent for every Category. Records are found by two 64-bit hashes of the
+ * customerId. The table is split into buckets of SLOTS_PER_BUCKET records; a customer is only ever stored in the
+ * bucket their hash points at, and when that bucket is full the record written longest ago is replaced.
+ *
+ * The profile, spend and prime benefit sections of a record are written and expire independently. Spend and prime
+ * benefits are remembered for the marketplace they were loaded for, by a 64-bit hash of the marketplaceId.
+ *
+ * Reads copy a record into a caller-owned CustomerSignals and do not allocate.
+ */
+public final class CustomerSignalStore {
+    static final String[] AGE_RANGES = AgeRange.values();
+    static final String[] STATES = State.values();
+    static final String[] CATEGORIES = Category.values();
+    static final String[] BENEFITS = Benefit.values();
+
+    static final int PROFILE = 1;
+    static final int SPEND = 1 << 1;
+    static final int PRIME = 1 << 2;
+    static final int PARENT_KNOWN = 1 << 3;
+    static final int PARENT = 1 << 4;
+    private static final int OCCUPIED = 1 << 7;
+
+    private static final int SLOTS_PER_BUCKET = 8;
+    private static final int LOCK_STRIPES = 4096;
+    private static final long MAX_SEGMENT_BYTES = 1L << 30;
+
+    private static final int KEY_HIGH = 0;
+    private static final int KEY_LOW = 8;
+    private static final int WRITTEN_AT = 16;
+    private static final int FLAGS = 20;
+    private static final int AGE_RANGE = 21;
+    private static final int HOME_STATE = 22;
+    private static final int SPEND_MARKETPLACE = 24;
+    private static final int PRIME_MARKETPLACE = 32;
+    private static final int PROFILE_EXPIRES_AT = 40;
+    private static final int SPEND_EXPIRES_AT = 44;
+    private static final int PRIME_EXPIRES_AT = 48;
+    private static final int PRIME_BENEFITS = 52;
+    private static final int SPEND_BY_CATEGORY = 56;
+    private static final int CATEGORY_SPEND_BYTES = Integer.BYTES + Long.BYTES;
+    private static final int RECORD_BYTES = SPEND_BY_CATEGORY + CATEGORIES.length * CATEGORY_SPEND_BYTES;
+
+    private static final Map<String, Integer> AGE_RANGE_INDEX = index(AGE_RANGES);
+    private static final Map<String, Integer> STATE_INDEX = index(STATES);
+    private static final Map<String, Integer> BENEFIT_INDEX = index(BENEFITS);
+
+    private final ByteBuffer[] segments;
+    private final int bucketsPerSegment;
+    private final int bucketCount;
+    private final StampedLock[] locks = new StampedLock[LOCK_STRIPES];
+    private final int timeToLiveSeconds;
+    private final Ticker ticker;
+    private final long startNanos;
+
+    /**
+     * Allocates a store.
+     * @param capacity The number of customers the store should be able to hold. Rounded up to whole buckets.
+     * @param timeToLive How long each section of a record is served after it was written. Must be positive; longer
+     *                   than Integer.MAX_VALUE seconds is treated as Integer.MAX_VALUE seconds.
+     */
+    public CustomerSignalStore(long capacity, Duration timeToLive) {
+        this(capacity, timeToLive, Ticker.systemTicker());
+    }
+
+    @VisibleForTesting
+    CustomerSignalStore(long capacity, Duration timeToLive, Ticker ticker) {
+        Validate.isTrue(capacity > 0, "Capacity must be positive.");
+        Validate.isTrue(!timeToLive.isNegative() && !timeToLive.isZero(), "Time to live must be positive.");
+        long buckets = (capacity + SLOTS_PER_BUCKET - 1) / SLOTS_PER_BUCKET;
+        Validate.isTrue(buckets <= Integer.MAX_VALUE, "Capacity is too large.");
+        this.bucketCount = (int) buckets;
+        this.bucketsPerSegment = (int) Math.min(bucketCount, MAX_SEGMENT_BYTES / bucketBytes());
+        int segmentCount = (bucketCount + bucketsPerSegment - 1) / bucketsPerSegment;
+        this.segments = new ByteBuffer[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            int bucketsInSegment = Math.min(bucketsPerSegment, bucketCount - i * bucketsPerSegment);
+            segments[i] = ByteBuffer.allocateDirect(bucketsInSegment * bucketBytes());
+        }
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new StampedLock();
+        }
+        this.timeToLiveSeconds = (int) Math.min(Math.max(timeToLive.getSeconds(), 1), Integer.MAX_VALUE);
+        this.ticker = ticker;
+        this.startNanos = ticker.read();
+    }
+
+    /**
+     * Copies a customer's record into signals. Sections that have expired are reported as missing.
+     * @param customerId The customer to look up.
+     * @param signals Receives the record. Its previous contents are cleared.
+     * @return true if the customer has a record with at least one section that has not expired.
+     */
+    public boolean read(String customerId, CustomerSignals signals) {
+        long keyHigh = keyHigh(customerId);
+        long keyLow = keyLow(customerId);
+        int bucket = bucket(keyHigh);
+        StampedLock lock = lock(bucket);
+
+        long stamp = lock.tryOptimisticRead();
+        boolean found = read(bucket, keyHigh, keyLow, signals);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                found = read(bucket, keyHigh, keyLow, signals);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return found && signals.getSections() != 0;
+    }
+
+    /**
+     * Stores a customer's profile.
+     * @param customerId The customer the profile belongs to.
+     * @param profile The profile to store.
+     * @return false if the profile has a value the record layout can't hold, in which case nothing is stored.
+     */
+    public boolean writeProfile(String customerId, CustomerProfile profile) {
+        Integer ageRange = ordinal(AGE_RANGE_INDEX, profile.getAgeRange());
+        Integer homeState = ordinal(STATE_INDEX, profile.getHomeState());
+        if (ageRange == null || homeState == null) {
+            return false;
+        }
+        int parentFlags = profile.isParent() == null ? 0 : profile.isParent() ? PARENT_KNOWN | PARENT : PARENT_KNOWN;
+
+        return write(customerId, (buffer, offset, now) -> {
+            buffer.put(offset + FLAGS, (byte) (buffer.get(offset + FLAGS) & ~(PARENT_KNOWN | PARENT)
+                    | PROFILE | parentFlags));
+            buffer.put(offset + AGE_RANGE, ageRange.byteValue());
+            buffer.put(offset + HOME_STATE, homeState.byteValue());
+            buffer.putInt(offset + PROFILE_EXPIRES_AT, expiresAt(now));
+        });
+    }
+
+    /**
+     * Stores a customer's spend in a marketplace, replacing any spend stored for another marketplace.
+     * @param customerId The customer the spend belongs to.
+     * @param marketplaceId The marketplace the spend was loaded for.
+     * @param customerSpend The customer's spend, indexed by Category.
+     * @return true, every spend vector can be stored
+     */
+    public boolean writeSpend(String customerId, String marketplaceId, CustomerSpendVector customerSpend) {
+        long marketplaceKey = marketplaceKey(marketplaceId);
+        return write(customerId, (buffer, offset, now) -> {
+            for (int i = 0; i < CATEGORIES.length; i++) {
+                int spendOffset = offset + SPEND_BY_CATEGORY + i * CATEGORY_SPEND_BYTES;
+                buffer.putInt(spendOffset, customerSpend.getNumberOfPurchases(i));
+                buffer.putLong(spendOffset + Integer.BYTES, customerSpend.getCentsSpent(i));
+            }
+            buffer.put(offset + FLAGS, (byte) (buffer.get(offset + FLAGS) | SPEND));
+            buffer.putLong(offset + SPEND_MARKETPLACE, marketplaceKey);
+            buffer.putInt(offset + SPEND_EXPIRES_AT, expiresAt(now));
+        });
+    }
+
+    /**
+     * Stores a customer's prime benefits in a marketplace, replacing any benefits stored for another marketplace.
+     * @param customerId The customer the benefits belong to.
+     * @param marketplaceId The marketplace the benefits were loaded for.
+     * @param benefits The benefit types the customer has.
+     * @return false if a benefit isn't a known Benefit, in which case nothing is stored.
+     */
+    public boolean writePrimeBenefits(String customerId, String marketplaceId, List<String> benefits) {
+        int mask = 0;
+        for (String benefit : benefits) {
+            Integer index = BENEFIT_INDEX.get(benefit);
+            if (index == null) {
+                return false;
+            }
+            mask |= 1 << index;
+        }
+        int benefitMask = mask;
+        long marketplaceKey = marketplaceKey(marketplaceId);
+
+        return write(customerId, (buffer, offset, now) -> {
+            buffer.put(offset + FLAGS, (byte) (buffer.get(offset + FLAGS) | PRIME));
+            buffer.putInt(offset + PRIME_BENEFITS, benefitMask);
+            buffer.putLong(offset + PRIME_MARKETPLACE, marketplaceKey);
+            buffer.putInt(offset + PRIME_EXPIRES_AT, expiresAt(now));
+        });
+    }
+
+    /**
+     * The number of bytes allocated outside of the heap.
+     * @return allocated bytes
+     */
+    public long getAllocatedBytes() {
+        return (long) bucketCount * bucketBytes();
+    }
+
+    private boolean read(int bucket, long keyHigh, long keyLow, CustomerSignals signals) {
+        signals.clear();
+        ByteBuffer buffer = segment(bucket);
+        int bucketOffset = bucketOffset(bucket);
+        for (int slot = 0; slot < SLOTS_PER_BUCKET; slot++) {
+            int offset = bucketOffset + slot * RECORD_BYTES;
+            if (isKey(buffer, offset, keyHigh, keyLow)) {
+                copy(buffer, offset, signals);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void copy(ByteBuffer buffer, int offset, CustomerSignals signals) {
+        int now = now();
+        int flags = buffer.get(offset + FLAGS);
+        int sections = 0;
+        if ((flags & PROFILE) != 0 && buffer.getInt(offset + PROFILE_EXPIRES_AT) > now) {
+            sections |= PROFILE;
+        }
+        if ((flags & SPEND) != 0 && buffer.getInt(offset + SPEND_EXPIRES_AT) > now) {
+            sections |= SPEND;
+        }
+        if ((flags & PRIME) != 0 && buffer.getInt(offset + PRIME_EXPIRES_AT) > now) {
+            sections |= PRIME;
+        }
+        signals.setRecord(sections, flags & (PARENT_KNOWN | PARENT),
+                buffer.get(offset + AGE_RANGE), buffer.get(offset + HOME_STATE),
+                buffer.getLong(offset + SPEND_MARKETPLACE), buffer.getLong(offset + PRIME_MARKETPLACE),
+                buffer.getInt(offset + PRIME_BENEFITS));
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            int spendOffset = offset + SPEND_BY_CATEGORY + i * CATEGORY_SPEND_BYTES;
+            signals.setSpend(i, buffer.getInt(spendOffset), buffer.getLong(spendOffset + Integer.BYTES));
+        }
+    }
+
+    private boolean write(String customerId, RecordWriter writer) {
+        long keyHigh = keyHigh(customerId);
+        long keyLow = keyLow(customerId);
+        int bucket = bucket(keyHigh);
+        StampedLock lock = lock(bucket);
+        int now = now();
+
+        long stamp = lock.writeLock();
+        try {
+            ByteBuffer buffer = segment(bucket);
+            int offset = slotFor(buffer, bucketOffset(bucket), keyHigh, keyLow);
+            if (!isKey(buffer, offset, keyHigh, keyLow)) {
+                for (int i = 0; i < RECORD_BYTES; i += Integer.BYTES) {
+                    buffer.putInt(offset + i, 0);
+                }
+                buffer.putLong(offset + KEY_HIGH, keyHigh);
+                buffer.putLong(offset + KEY_LOW, keyLow);
+                buffer.put(offset + FLAGS, (byte) OCCUPIED);
+            }
+            writer.write(buffer, offset, now);
+            buffer.putInt(offset + WRITTEN_AT, now);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * The customer's own slot if they have one, otherwise the first empty slot, otherwise the slot written longest
+     * ago.
+     */
+    private int slotFor(ByteBuffer buffer, int bucketOffset, long keyHigh, long keyLow) {
+        int empty = -1;
+        int oldest = bucketOffset;
+        for (int slot = 0; slot < SLOTS_PER_BUCKET; slot++) {
+            int offset = bucketOffset + slot * RECORD_BYTES;
+            if (isKey(buffer, offset, keyHigh, keyLow)) {
+                return offset;
+            }
+            if ((buffer.get(offset + FLAGS) & OCCUPIED) == 0) {
+                if (empty < 0) {
+                    empty = offset;
+                }
+            } else if (buffer.getInt(offset + WRITTEN_AT) < buffer.getInt(oldest + WRITTEN_AT)) {
+                oldest = offset;
+            }
+        }
+        return empty >= 0 ? empty : oldest;
+    }
+
+    private boolean isKey(ByteBuffer buffer, int offset, long keyHigh, long keyLow) {
+        return (buffer.get(offset + FLAGS) & OCCUPIED) != 0
+                && buffer.getLong(offset + KEY_HIGH) == keyHigh
+                && buffer.getLong(offset + KEY_LOW) == keyLow;
+    }
+
+    private ByteBuffer segment(int bucket) {
+        return segments[bucket / bucketsPerSegment];
+    }
+
+    private int bucketOffset(int bucket) {
+        return (bucket % bucketsPerSegment) * bucketBytes();
+    }
+
+    private int bucket(long keyHigh) {
+        return (int) Long.remainderUnsigned(keyHigh, bucketCount);
+    }
+
+    private StampedLock lock(int bucket) {
+        return locks[bucket % LOCK_STRIPES];
+    }
+
+    private int now() {
+        return (int) TimeUnit.NANOSECONDS.toSeconds(ticker.read() - startNanos);
+    }
+
+    /**
+     * When a section written now expires. Saturates rather than overflowing, so a long time to live never makes a
+     * section expire before it is written.
+     */
+    private int expiresAt(int now) {
+        return (int) Math.min((long) now + timeToLiveSeconds, Integer.MAX_VALUE);
+    }
+
+    private static int bucketBytes() {
+        return SLOTS_PER_BUCKET * RECORD_BYTES;
+    }
+
+    private static long keyHigh(String customerId) {
+        return hash(customerId, 0xcbf29ce484222325L);
+    }
+
+    private static long keyLow(String customerId) {
+        return hash(customerId, 0x9e3779b97f4a7c15L);
+    }
+
+    /**
+     * The 64-bit hash a section's marketplace is remembered by.
+     */
+    static long marketplaceKey(String marketplaceId) {
+        return hash(marketplaceId, 0x84222325cbf29ce4L);
+    }
+
+    /**
+     * FNV-1a over the characters of the string, finished with the MurmurHash3 64-bit mix. Works on the String's
+     * characters directly so hashing doesn't allocate.
+     */
+    private static long hash(String value, long seed) {
+        long hash = seed;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * The index of a value in its constants, plus one so that 0 can stand for null. Null if the value isn't known.
+     */
+    private static Integer ordinal(Map<String, Integer> index, String value) {
+        if (value == null) {
+            return 0;
+        }
+        Integer ordinal = index.get(value);
+        return ordinal == null ? null : ordinal + 1;
+    }
+
+    private static Map<String, Integer> index(String[] values) {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            index.put(values[i], i);
+        }
+        return index;
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter {
+        void write(ByteBuffer buffer, int offset, int now);
+    }
+}
@@ -0,0 +1,150 @@
+package com.amazon.ata.advertising.service.dao.signals;
+
+import com.amazon.ata.advertising.service.model.CustomerSpendVector;
+import com.amazon.ata.customerservice.CustomerProfile;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A reusable, mutable copy of one customer's record in a CustomerSignalStore. Callers keep an instance per thread and
+ * pass it to every read, so looking customers up doesn't allocate. The to* methods build the objects the service
+ * clients return, for callers that need them.
+ */
+public final class CustomerSignals {
+    private static final int CATEGORY_COUNT = CustomerSignalStore.CATEGORIES.length;
+
+    private final int[] numberOfPurchases = new int[CATEGORY_COUNT];
+    private final long[] centsSpent = new long[CATEGORY_COUNT];
+    private int sections;
+    private int parentFlags;
+    private int ageRange;
+    private int homeState;
+    private long spendMarketplace;
+    private long primeMarketplace;
+    private int primeBenefits;
+
+    /**
+     * Whether the customer's profile was found and hasn't expired.
+     * @return true if the profile can be read
+     */
+    public boolean hasProfile() {
+        return (sections & CustomerSignalStore.PROFILE) != 0;
+    }
+
+    /**
+     * Whether the customer's spend in a marketplace was found and hasn't expired.
+     * @param marketplaceId The marketplace the spend is needed for.
+     * @return true if the spend can be read
+     */
+    public boolean hasSpend(String marketplaceId) {
+        return (sections & CustomerSignalStore.SPEND) != 0
+                && spendMarketplace == CustomerSignalStore.marketplaceKey(marketplaceId);
+    }
+
+    /**
+     * Whether the customer's prime benefits in a marketplace were found and haven't expired.
+     * @param marketplaceId The marketplace the benefits are needed for.
+     * @return true if the benefits can be read
+     */
+    public boolean hasPrimeBenefits(String marketplaceId) {
+        return (sections & CustomerSignalStore.PRIME) != 0
+                && primeMarketplace == CustomerSignalStore.marketplaceKey(marketplaceId);
+    }
+
+    public String getAgeRange() {
+        return ageRange == 0 ? null : CustomerSignalStore.AGE_RANGES[ageRange - 1];
+    }
+
+    public String getHomeState() {
+        return homeState == 0 ? null : CustomerSignalStore.STATES[homeState - 1];
+    }
+
+    /**
+     * Whether the customer is a parent.
+     * @return TRUE or FALSE, or null if the customer service didn't know
+     */
+    public Boolean isParent() {
+        if ((parentFlags & CustomerSignalStore.PARENT_KNOWN) == 0) {
+            return null;
+        }
+        return (parentFlags & CustomerSignalStore.PARENT) != 0;
+    }
+
+    /**
+     * Whether the customer has a prime benefit.
+     * @param benefitIndex The benefit's index in Benefit.values().
+     * @return true if the customer has the benefit
+     */
+    public boolean hasPrimeBenefit(int benefitIndex) {
+        return (primeBenefits & 1 << benefitIndex) != 0;
+    }
+
+    public int getNumberOfPurchases(int categoryIndex) {
+        return numberOfPurchases[categoryIndex];
+    }
+
+    public long getCentsSpent(int categoryIndex) {
+        return centsSpent[categoryIndex];
+    }
+
+    /**
+     * Builds the customer's profile.
+     * @return CustomerProfile
+     */
+    public CustomerProfile toCustomerProfile() {
+        return CustomerProfile.builder()
+                .withAgeRange(getAgeRange())
+                .withHomeState(getHomeState())
+                .withParent(isParent())
+                .build();
+    }
+
+    /**
+     * Builds the customer's spend, indexed by category.
+     * @return CustomerSpendVector
+     */
+    public CustomerSpendVector toCustomerSpendVector() {
+        return new CustomerSpendVector(Arrays.copyOf(numberOfPurchases, CATEGORY_COUNT),
+                Arrays.copyOf(centsSpent, CATEGORY_COUNT));
+    }
+
+    /**
+     * Builds the list of benefit types the customer has.
+     * @return the customer's benefit types
+     */
+    public List<String> toPrimeBenefits() {
+        List<String> benefits = new ArrayList<>();
+        for (int i = 0; i < CustomerSignalStore.BENEFITS.length; i++) {
+            if (hasPrimeBenefit(i)) {
+                benefits.add(CustomerSignalStore.BENEFITS[i]);
+            }
+        }
+        return benefits;
+    }
+
+    int getSections() {
+        return sections;
+    }
+
+    void clear() {
+        sections = 0;
+    }
+
+    void setRecord(int sections, int parentFlags, int ageRange, int homeState, long spendMarketplace,
+                   long primeMarketplace, int primeBenefits) {
+        this.sections = sections;
+        this.parentFlags = parentFlags;
+        this.ageRange = ageRange;
+        this.homeState = homeState;
+        this.spendMarketplace = spendMarketplace;
+        this.primeMarketplace = primeMarketplace;
+        this.primeBenefits = primeBenefits;
+    }
+
+    void setSpend(int categoryIndex, int numberOfPurchases, long centsSpent) {
+        this.numberOfPurchases[categoryIndex] = numberOfPurchases;
+        this.centsSpent[categoryIndex] = centsSpent;
+    }
+}
@@ -0,0 +1,42 @@
+package com.amazon.ata.advertising.service.dao.signals;
+
+import com.amazon.ata.advertising.service.dao.ReadableDao;
+import com.amazon.ata.advertising.service.model.CustomerSpendVector;
+import com.amazon.ata.advertising.service.model.RequestContext;
+
+/**
+ * Serves customer spend per category from a CustomerSignalStore.
+ */
+public class CustomerSpendSignalDao extends SignalStoreReadableDao<RequestContext, CustomerSpendVector> {
+
+    /**
+     * Serves customer spend per category from a CustomerSignalStore.
+     * @param customerSpendDao The dao to load missing spend from.
+     * @param store The store spend is kept in.
+     */
+    public CustomerSpendSignalDao(ReadableDao<RequestContext, CustomerSpendVector> customerSpendDao,
+                                  CustomerSignalStore store) {
+        super(customerSpendDao, store);
+    }
+
+    @Override
+    protected String customerId(RequestContext requestContext) {
+        return requestContext.getCustomerId();
+    }
+
+    @Override
+    protected boolean isStored(RequestContext requestContext, CustomerSignals signals) {
+        return signals.hasSpend(requestContext.getMarketplaceId());
+    }
+
+    @Override
+    protected CustomerSpendVector read(CustomerSignals signals) {
+        return signals.toCustomerSpendVector();
+    }
+
+    @Override
+    protected void write(CustomerSignalStore store, String customerId, RequestContext requestContext,
+                         CustomerSpendVector customerSpend) {
+        store.writeSpend(customerId, requestContext.getMarketplaceId(), customerSpend);
+    }
+}
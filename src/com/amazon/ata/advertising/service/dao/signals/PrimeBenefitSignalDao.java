@@ -0,0 +1,42 @@
+package com.amazon.ata.advertising.service.dao.signals;
+
+import com.amazon.ata.advertising.service.dao.ReadableDao;
+import com.amazon.ata.advertising.service.model.RequestContext;
+
+import java.util.List;
+
+/**
+ * Serves prime benefits from a CustomerSignalStore.
+ */
+public class PrimeBenefitSignalDao extends SignalStoreReadableDao<RequestContext, List<String>> {
+
+    /**
+     * Serves prime benefits from a CustomerSignalStore.
+     * @param primeDao The dao to load missing benefits from.
+     * @param store The store benefits are kept in.
+     */
+    public PrimeBenefitSignalDao(ReadableDao<RequestContext, List<String>> primeDao, CustomerSignalStore store) {
+        super(primeDao, store);
+    }
+
+    @Override
+    protected String customerId(RequestContext requestContext) {
+        return requestContext.getCustomerId();
+    }
+
+    @Override
+    protected boolean isStored(RequestContext requestContext, CustomerSignals signals) {
+        return signals.hasPrimeBenefits(requestContext.getMarketplaceId());
+    }
+
+    @Override
+    protected List<String> read(CustomerSignals signals) {
+        return signals.toPrimeBenefits();
+    }
+
+    @Override
+    protected void write(CustomerSignalStore store, String customerId, RequestContext requestContext,
+                         List<String> benefits) {
+        store.writePrimeBenefits(customerId, requestContext.getMarketplaceId(), benefits);
+    }
+}
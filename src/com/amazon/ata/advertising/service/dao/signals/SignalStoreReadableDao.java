@@ -0,0 +1,77 @@
+package com.amazon.ata.advertising.service.dao.signals;
+
+import com.amazon.ata.advertising.service.dao.ReadableDao;
+
+/**
+ * Serves a ReadableDao from a CustomerSignalStore, loading from the delegate and storing the result when the
+ * customer's section of the record is missing or expired. Results the record layout can't hold are returned without
+ * being stored, so they are loaded from the delegate every time.
+ *
+ * @param <I> The input type needed to retrieve an object.
+ * @param <O> The type to be retrieved from the datasource.
+ */
+public abstract class SignalStoreReadableDao<I, O> implements ReadableDao<I, O> {
+    private static final ThreadLocal<CustomerSignals> SIGNALS = ThreadLocal.withInitial(CustomerSignals::new);
+
+    private final ReadableDao<I, O> delegate;
+    private final CustomerSignalStore store;
+
+    /**
+     * Wraps a ReadableDao in a CustomerSignalStore.
+     * @param delegate The dao to load missing records from.
+     * @param store The store records are kept in.
+     */
+    protected SignalStoreReadableDao(ReadableDao<I, O> delegate, CustomerSignalStore store) {
+        this.delegate = delegate;
+        this.store = store;
+    }
+
+    @Override
+    public O get(I inputQuery) {
+        String customerId = customerId(inputQuery);
+        if (customerId == null) {
+            return delegate.get(inputQuery);
+        }
+
+        CustomerSignals signals = SIGNALS.get();
+        if (store.read(customerId, signals) && isStored(inputQuery, signals)) {
+            return read(signals);
+        }
+        O value = delegate.get(inputQuery);
+        if (value != null) {
+            write(store, customerId, inputQuery, value);
+        }
+        return value;
+    }
+
+    /**
+     * The customer the input is for.
+     * @param inputQuery The information necessary to retrieve an object.
+     * @return The customerId, or null if there isn't one.
+     */
+    protected abstract String customerId(I inputQuery);
+
+    /**
+     * Whether the record holds this dao's data for the input.
+     * @param inputQuery The information necessary to retrieve an object.
+     * @param signals The customer's record.
+     * @return true if the data can be read from the record
+     */
+    protected abstract boolean isStored(I inputQuery, CustomerSignals signals);
+
+    /**
+     * Builds this dao's result from the customer's record.
+     * @param signals The customer's record.
+     * @return The object queried for.
+     */
+    protected abstract O read(CustomerSignals signals);
+
+    /**
+     * Stores a result loaded from the delegate.
+     * @param store The store to write to.
+     * @param customerId The customer the result is for.
+     * @param inputQuery The information the result was retrieved with.
+     * @param value The result.
+     */
+    protected abstract void write(CustomerSignalStore store, String customerId, I inputQuery, O value);
+}
@@ -0,0 +1,42 @@
+package com.amazon.ata.advertising.service.dependency;
+
+import com.amazon.ata.advertising.service.catalog.AdvertisementCatalog;
+import com.amazon.ata.advertising.service.dao.ReadableDao;
+import com.amazon.ata.advertising.service.model.AdvertisementContent;
+import com.amazon.ata.advertising.service.targeting.TargetingGroup;
+
+import dagger.Module;
+import dagger.Provides;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+@Module
+public class CatalogModule {
+    private static final String REFRESH_INTERVAL_SECONDS = "ata.advertising.catalog.refreshIntervalSeconds";
+    private static final long DEFAULT_REFRESH_INTERVAL_SECONDS = 60;
+
+    /**
+     * Provides the catalog of advertising content shared by every request in this process. The interval between
+     * background refreshes can be configured with the system property ata.advertising.catalog.refreshIntervalSeconds.
+     *
+     * @param contentDao source of advertising content
+     * @param targetingGroupDao source of targeting groups for each advertising content
+     * @param refreshExecutor executor the catalog is refreshed on
+     * @return AdvertisementCatalog
+     */
+    @Provides
+    @Singleton
+    public AdvertisementCatalog provideAdvertisementCatalog(
+            ReadableDao<String, List<AdvertisementContent>> contentDao,
+            ReadableDao<String, List<TargetingGroup>> targetingGroupDao,
+            @Named(ExecutorModule.CATALOG_REFRESH_EXECUTOR) ScheduledExecutorService refreshExecutor) {
+        AdvertisementCatalog catalog = new AdvertisementCatalog(contentDao, targetingGroupDao);
+        long refreshIntervalSeconds = Long.getLong(REFRESH_INTERVAL_SECONDS, DEFAULT_REFRESH_INTERVAL_SECONDS);
+        catalog.scheduleRefresh(refreshExecutor, Duration.ofSeconds(refreshIntervalSeconds));
+        return catalog;
+    }
+}
@@ -1,76 +1,343 @@
 package com.amazon.ata.advertising.service.dependency;
 
+import com.amazon.ata.advertising.service.dao.AsyncReadableDao;
+import com.amazon.ata.advertising.service.dao.CachingReadableDao;
 import com.amazon.ata.advertising.service.dao.ContentDao;
 import com.amazon.ata.advertising.service.dao.CustomerProfileDao;
 import com.amazon.ata.advertising.service.dao.CustomerSpendDao;
+import com.amazon.ata.advertising.service.dao.ExecutorReadableDao;
+import com.amazon.ata.advertising.service.dao.GuardedReadableDao;
+import com.amazon.ata.advertising.service.dao.HedgingReadableDao;
+import com.amazon.ata.advertising.service.dao.MicroBatchingReadableDao;
 import com.amazon.ata.advertising.service.dao.PrimeDao;
 import com.amazon.ata.advertising.service.dao.ReadableDao;
 import com.amazon.ata.advertising.service.dao.TargetingGroupDao;
+import com.amazon.ata.advertising.service.dao.signals.CustomerProfileSignalDao;
+import com.amazon.ata.advertising.service.dao.signals.CustomerSignalStore;
+import com.amazon.ata.advertising.service.dao.signals.CustomerSpendSignalDao;
+import com.amazon.ata.advertising.service.dao.signals.PrimeBenefitSignalDao;
 import com.amazon.ata.advertising.service.model.AdvertisementContent;
+import com.amazon.ata.advertising.service.model.CustomerSpendVector;
 import com.amazon.ata.advertising.service.model.RequestContext;
+import com.amazon.ata.advertising.service.resilience.CircuitBreaker;
+import com.amazon.ata.advertising.service.resilience.DownstreamGuard;
+import com.amazon.ata.advertising.service.resilience.HedgeBudget;
+import com.amazon.ata.advertising.service.resilience.LatencyPercentile;
 import com.amazon.ata.advertising.service.targeting.TargetingGroup;
 import com.amazon.ata.customerservice.CustomerProfile;
-import com.amazon.ata.customerservice.Spend;
 
 import com.amazon.atacustomerservicelambda.service.ATACustomerService;
 import com.amazon.ataprimeclubservicelambda.service.ATAPrimeClubService;
 import dagger.Module;
 import dagger.Provides;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import javax.inject.Named;
+import javax.inject.Singleton;
 
 @Module
 public class DaoModule {
+    public static final String CUSTOMER_SERVICE_GUARD = "CustomerServiceGuard";
+    public static final String PRIME_CLUB_SERVICE_GUARD = "PrimeClubServiceGuard";
+
+    private static final String CUSTOMER_PROFILE_CACHE_KEYS = "ata.advertising.customerProfileCache.";
+    private static final String CUSTOMER_SPEND_CACHE_KEYS = "ata.advertising.customerSpendCache.";
+    private static final String PRIME_CACHE_KEYS = "ata.advertising.primeCache.";
+    private static final String TIME_TO_LIVE_SECONDS = "timeToLiveSeconds";
+    private static final String MAXIMUM_SIZE = "maximumSize";
+    private static final long DEFAULT_TIME_TO_LIVE_SECONDS = 300;
+    private static final long DEFAULT_MAXIMUM_SIZE = 50_000;
+    private static final String CONTENT_KEYS = "ata.advertising.contentDao.";
+    private static final String TARGETING_GROUP_KEYS = "ata.advertising.targetingGroupDao.";
+    private static final String CUSTOMER_SERVICE_KEYS = "ata.advertising.customerService.";
+    private static final String PRIME_CLUB_SERVICE_KEYS = "ata.advertising.primeClubService.";
+    private static final String MAX_CONCURRENT_CALLS = "maxConcurrentCalls";
+    private static final String WINDOW_SIZE = "windowSize";
+    private static final String MINIMUM_CALLS = "minimumCalls";
+    private static final String FAILURE_RATE_THRESHOLD = "failureRateThreshold";
+    private static final String SLOW_CALL_RATE_THRESHOLD = "slowCallRateThreshold";
+    private static final String SLOW_CALL_MILLIS = "slowCallMillis";
+    private static final String OPEN_MILLIS = "openMillis";
+    private static final int DEFAULT_MAX_CONCURRENT_CALLS = 64;
+    private static final int DEFAULT_WINDOW_SIZE = 100;
+    private static final int DEFAULT_MINIMUM_CALLS = 20;
+    private static final int DEFAULT_FAILURE_RATE_THRESHOLD = 50;
+    private static final int DEFAULT_SLOW_CALL_RATE_THRESHOLD = 50;
+    private static final long DEFAULT_SLOW_CALL_MILLIS = 500;
+    private static final long DEFAULT_OPEN_MILLIS = 5000;
+    private static final String HEDGE_ENABLED = "hedgeEnabled";
+    private static final String HEDGE_PERCENTILE = "hedgePercentile";
+    private static final String MAX_HEDGE_PERCENT = "maxHedgePercent";
+    private static final String MIN_HEDGE_DELAY_MILLIS = "minHedgeDelayMillis";
+    private static final int DEFAULT_HEDGE_PERCENTILE = 95;
+    private static final int DEFAULT_MAX_HEDGE_PERCENT = 5;
+    private static final long DEFAULT_MIN_HEDGE_DELAY_MILLIS = 10;
+    private static final String BATCH_ENABLED = "batchEnabled";
+    private static final String MAX_BATCH_SIZE = "maxBatchSize";
+    private static final String BATCH_WINDOW_MILLIS = "batchWindowMillis";
+    private static final int DEFAULT_MAX_BATCH_SIZE = 25;
+    private static final int DEFAULT_CONTENT_MAX_BATCH_SIZE = 1;
+    private static final long DEFAULT_BATCH_WINDOW_MILLIS = 2;
+    private static final String BATCH_TIMEOUT_MILLIS = "batchTimeoutMillis";
+    private static final long DEFAULT_BATCH_TIMEOUT_MILLIS = 5000;
+    private static final String SIGNAL_STORE_CAPACITY = "ata.advertising.customerSignalStore.capacity";
+    private static final String SIGNAL_STORE_TIME_TO_LIVE_SECONDS =
+            "ata.advertising.customerSignalStore.timeToLiveSeconds";
 
     /**
-     * Dao for content.
+     * Dao for content. Concurrent reads of the same marketplace share one query when
+     * ata.advertising.contentDao.batchEnabled is true. The shared query runs on the batch fetch executor, so
+     * cancelling the read that started it doesn't fail the others.
      * @param contentDao source of content data
+     * @param batchFetchExecutor executor coalesced reads are fetched on
      * @return Dao
      */
     @Provides
-    public ReadableDao<String, List<AdvertisementContent>> provideContentDao(ContentDao contentDao) {
-        return contentDao;
+    @Singleton
+    public ReadableDao<String, List<AdvertisementContent>> provideContentDao(
+            ContentDao contentDao,
+            @Named(ExecutorModule.BATCH_FETCH_EXECUTOR) ExecutorService batchFetchExecutor) {
+        return batched("ContentDao", contentDao, CONTENT_KEYS, DEFAULT_CONTENT_MAX_BATCH_SIZE, batchFetchExecutor);
+    }
+
+    /**
+     * Bulkhead and circuit breaker for the customer service, shared by the customer profile and spend daos. Configured
+     * with the system properties under ata.advertising.customerService.: maxConcurrentCalls, windowSize,
+     * minimumCalls, failureRateThreshold, slowCallRateThreshold, slowCallMillis and openMillis. Calls to the customer
+     * service are hedged when ata.advertising.customerService.hedgeEnabled is true: a call still running after the
+     * hedgePercentile latency of recent calls, and at least minHedgeDelayMillis, is sent again, for at most
+     * maxHedgePercent of calls. Customer profile lookups are coalesced into batch calls when
+     * ata.advertising.customerService.batchEnabled is true: concurrent lookups wait up to batchWindowMillis for up to
+     * maxBatchSize customers to share one call. With both enabled, each batch call is hedged as a whole, since a
+     * hedge above the batcher would only rejoin the batch it is meant to race.
+     * @return DownstreamGuard
+     */
+    @Provides
+    @Singleton
+    @Named(CUSTOMER_SERVICE_GUARD)
+    public DownstreamGuard provideCustomerServiceGuard() {
+        return guard("ATACustomerService", CUSTOMER_SERVICE_KEYS);
+    }
+
+    /**
+     * Bulkhead and circuit breaker for the prime club service. Configured with the same system properties as the
+     * customer service guard, under ata.advertising.primeClubService., and hedged and batched the same way.
+     * @return DownstreamGuard
+     */
+    @Provides
+    @Singleton
+    @Named(PRIME_CLUB_SERVICE_GUARD)
+    public DownstreamGuard providePrimeClubServiceGuard() {
+        return guard("ATAPrimeClubService", PRIME_CLUB_SERVICE_KEYS);
+    }
+
+    /**
+     * Off-heap store for customer data, shared by the customer profile, spend and prime daos. Only created when the
+     * system property ata.advertising.customerSignalStore.capacity is set to the number of customers to hold; entries
+     * expire after ata.advertising.customerSignalStore.timeToLiveSeconds. Without it, the daos are cached on the heap.
+     * @return the store, if one is configured
+     */
+    @Provides
+    @Singleton
+    public Optional<CustomerSignalStore> provideCustomerSignalStore() {
+        long capacity = Long.getLong(SIGNAL_STORE_CAPACITY, 0);
+        if (capacity <= 0) {
+            return Optional.empty();
+        }
+        long timeToLiveSeconds = Long.getLong(SIGNAL_STORE_TIME_TO_LIVE_SECONDS, DEFAULT_TIME_TO_LIVE_SECONDS);
+        return Optional.of(new CustomerSignalStore(capacity, Duration.ofSeconds(timeToLiveSeconds)));
     }
 
     /**
-     * Dao for customer profiles.
+     * Dao for customer profiles, cached across requests. Configured with the system properties
+     * ata.advertising.customerProfileCache.timeToLiveSeconds and ata.advertising.customerProfileCache.maximumSize.
      * @param customerClient source of customer profile data
+     * @param customerServiceGuard bulkhead and circuit breaker for the customer service
+     * @param hedgeExecutor executor hedged calls run on
+     * @param batchFetchExecutor executor coalesced reads are fetched on
+     * @param cacheLoadExecutor executor cache misses are loaded on
+     * @param signalStore off-heap store to serve profiles from instead, if configured
      * @return Dao
      */
     @Provides
-    public ReadableDao<String, CustomerProfile> provideCustomerProfileDao(ATACustomerService customerClient) {
-        return new CustomerProfileDao(customerClient);
+    @Singleton
+    public ReadableDao<String, CustomerProfile> provideCustomerProfileDao(
+            ATACustomerService customerClient,
+            @Named(CUSTOMER_SERVICE_GUARD) DownstreamGuard customerServiceGuard,
+            @Named(ExecutorModule.HEDGE_EXECUTOR) ExecutorService hedgeExecutor,
+            @Named(ExecutorModule.BATCH_FETCH_EXECUTOR) ExecutorService batchFetchExecutor,
+            @Named(ExecutorModule.CACHE_LOAD_EXECUTOR) ExecutorService cacheLoadExecutor,
+            Optional<CustomerSignalStore> signalStore) {
+        ReadableDao<String, CustomerProfile> dao = batched("CustomerProfileDao", hedged(
+                new GuardedReadableDao<>(new CustomerProfileDao(customerClient), customerServiceGuard),
+                CUSTOMER_SERVICE_KEYS, hedgeExecutor), CUSTOMER_SERVICE_KEYS, DEFAULT_MAX_BATCH_SIZE,
+                batchFetchExecutor);
+        if (signalStore.isPresent()) {
+            return new CustomerProfileSignalDao(dao, signalStore.get());
+        }
+        return cached("CustomerProfileDao", dao, CUSTOMER_PROFILE_CACHE_KEYS, cacheLoadExecutor);
     }
 
     /**
-     * Dao for customer spend per category.
+     * Dao for customer spend per category, cached across requests. Configured with the system properties
+     * ata.advertising.customerSpendCache.timeToLiveSeconds and ata.advertising.customerSpendCache.maximumSize.
      * @param customerClient source of customer spend data
+     * @param customerServiceGuard bulkhead and circuit breaker for the customer service
+     * @param hedgeExecutor executor hedged calls run on
+     * @param cacheLoadExecutor executor cache misses are loaded on
+     * @param signalStore off-heap store to serve spend from instead, if configured
      * @return Dao
      */
     @Provides
-    public ReadableDao<RequestContext, Map<String, Spend>> provideCustomerSpendDao(ATACustomerService customerClient) {
-        return new CustomerSpendDao(customerClient);
+    @Singleton
+    public ReadableDao<RequestContext, CustomerSpendVector> provideCustomerSpendDao(
+            ATACustomerService customerClient,
+            @Named(CUSTOMER_SERVICE_GUARD) DownstreamGuard customerServiceGuard,
+            @Named(ExecutorModule.HEDGE_EXECUTOR) ExecutorService hedgeExecutor,
+            @Named(ExecutorModule.CACHE_LOAD_EXECUTOR) ExecutorService cacheLoadExecutor,
+            Optional<CustomerSignalStore> signalStore) {
+        ReadableDao<RequestContext, CustomerSpendVector> dao =
+                hedged(new GuardedReadableDao<>(new CustomerSpendDao(customerClient), customerServiceGuard),
+                        CUSTOMER_SERVICE_KEYS, hedgeExecutor);
+        if (signalStore.isPresent()) {
+            return new CustomerSpendSignalDao(dao, signalStore.get());
+        }
+        return cached("CustomerSpendDao", dao, CUSTOMER_SPEND_CACHE_KEYS, cacheLoadExecutor);
     }
 
     /**
-     * Dao for prime benefits.
+     * Dao for prime benefits, cached across requests. Configured with the system properties
+     * ata.advertising.primeCache.timeToLiveSeconds and ata.advertising.primeCache.maximumSize.
      * @param primeClubServiceClient source of prime benefit data
+     * @param primeClubServiceGuard bulkhead and circuit breaker for the prime club service
+     * @param hedgeExecutor executor hedged calls run on
+     * @param batchFetchExecutor executor coalesced reads are fetched on
+     * @param cacheLoadExecutor executor cache misses are loaded on
+     * @param signalStore off-heap store to serve benefits from instead, if configured
      * @return Dao
      */
     @Provides
-    public ReadableDao<RequestContext, List<String>> providePrimeDao(ATAPrimeClubService primeClubServiceClient) {
-        return new PrimeDao(primeClubServiceClient);
+    @Singleton
+    public ReadableDao<RequestContext, List<String>> providePrimeDao(
+            ATAPrimeClubService primeClubServiceClient,
+            @Named(PRIME_CLUB_SERVICE_GUARD) DownstreamGuard primeClubServiceGuard,
+            @Named(ExecutorModule.HEDGE_EXECUTOR) ExecutorService hedgeExecutor,
+            @Named(ExecutorModule.BATCH_FETCH_EXECUTOR) ExecutorService batchFetchExecutor,
+            @Named(ExecutorModule.CACHE_LOAD_EXECUTOR) ExecutorService cacheLoadExecutor,
+            Optional<CustomerSignalStore> signalStore) {
+        ReadableDao<RequestContext, List<String>> dao = batched("PrimeDao", hedged(
+                new GuardedReadableDao<>(new PrimeDao(primeClubServiceClient), primeClubServiceGuard),
+                PRIME_CLUB_SERVICE_KEYS, hedgeExecutor), PRIME_CLUB_SERVICE_KEYS, DEFAULT_MAX_BATCH_SIZE,
+                batchFetchExecutor);
+        if (signalStore.isPresent()) {
+            return new PrimeBenefitSignalDao(dao, signalStore.get());
+        }
+        return cached("PrimeDao", dao, PRIME_CACHE_KEYS, cacheLoadExecutor);
     }
 
+    /**
+     * Asynchronous dao for customer profiles, calling the cached dao on the customer data executor.
+     * @param customerProfileDao the cached dao for customer profiles
+     * @param customerDataExecutor executor the customer service is called on
+     * @return AsyncReadableDao
+     */
+    @Provides
+    @Singleton
+    public AsyncReadableDao<String, CustomerProfile> provideAsyncCustomerProfileDao(
+            ReadableDao<String, CustomerProfile> customerProfileDao,
+            @Named(ExecutorModule.CUSTOMER_DATA_EXECUTOR) ExecutorService customerDataExecutor) {
+        return new ExecutorReadableDao<>(customerProfileDao, customerDataExecutor);
+    }
 
     /**
-     * Dao to get all of the targeting groups for a piece of content.
+     * Asynchronous dao for customer spend per category, calling the cached dao on the customer data executor.
+     * @param customerSpendDao the cached dao for customer spend
+     * @param customerDataExecutor executor the customer service is called on
+     * @return AsyncReadableDao
+     */
+    @Provides
+    @Singleton
+    public AsyncReadableDao<RequestContext, CustomerSpendVector> provideAsyncCustomerSpendDao(
+            ReadableDao<RequestContext, CustomerSpendVector> customerSpendDao,
+            @Named(ExecutorModule.CUSTOMER_DATA_EXECUTOR) ExecutorService customerDataExecutor) {
+        return new ExecutorReadableDao<>(customerSpendDao, customerDataExecutor);
+    }
+
+    /**
+     * Asynchronous dao for prime benefits, calling the cached dao on the customer data executor.
+     * @param primeDao the cached dao for prime benefits
+     * @param customerDataExecutor executor the prime club service is called on
+     * @return AsyncReadableDao
+     */
+    @Provides
+    @Singleton
+    public AsyncReadableDao<RequestContext, List<String>> provideAsyncPrimeDao(
+            ReadableDao<RequestContext, List<String>> primeDao,
+            @Named(ExecutorModule.CUSTOMER_DATA_EXECUTOR) ExecutorService customerDataExecutor) {
+        return new ExecutorReadableDao<>(primeDao, customerDataExecutor);
+    }
+
+
+    /**
+     * Dao to get all of the targeting groups for a piece of content. Concurrent reads are coalesced when
+     * ata.advertising.targetingGroupDao.batchEnabled is true: reads of the same content share one query, and reads
+     * of different content wait up to batchWindowMillis for up to maxBatchSize contents to be queried together. The
+     * shared queries run on the batch fetch executor, so cancelling the read that started one doesn't fail the others.
      * @param targetingGroupDao source of targeting Dao data
+     * @param batchFetchExecutor executor coalesced reads are fetched on
      * @return Dao
      */
     @Provides
-    public ReadableDao<String, List<TargetingGroup>> provideTargetingGroupDao(TargetingGroupDao targetingGroupDao) {
-        return targetingGroupDao;
+    @Singleton
+    public ReadableDao<String, List<TargetingGroup>> provideTargetingGroupDao(
+            TargetingGroupDao targetingGroupDao,
+            @Named(ExecutorModule.BATCH_FETCH_EXECUTOR) ExecutorService batchFetchExecutor) {
+        return batched("TargetingGroupDao", targetingGroupDao, TARGETING_GROUP_KEYS, DEFAULT_MAX_BATCH_SIZE,
+                batchFetchExecutor);
+    }
+
+    private DownstreamGuard guard(String name, String keys) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(
+                Integer.getInteger(keys + WINDOW_SIZE, DEFAULT_WINDOW_SIZE),
+                Integer.getInteger(keys + MINIMUM_CALLS, DEFAULT_MINIMUM_CALLS),
+                Integer.getInteger(keys + FAILURE_RATE_THRESHOLD, DEFAULT_FAILURE_RATE_THRESHOLD),
+                Integer.getInteger(keys + SLOW_CALL_RATE_THRESHOLD, DEFAULT_SLOW_CALL_RATE_THRESHOLD),
+                Duration.ofMillis(Long.getLong(keys + SLOW_CALL_MILLIS, DEFAULT_SLOW_CALL_MILLIS)),
+                Duration.ofMillis(Long.getLong(keys + OPEN_MILLIS, DEFAULT_OPEN_MILLIS)));
+        return new DownstreamGuard(name,
+                Integer.getInteger(keys + MAX_CONCURRENT_CALLS, DEFAULT_MAX_CONCURRENT_CALLS), circuitBreaker);
+    }
+
+    private <I, O> ReadableDao<I, O> batched(String name, ReadableDao<I, O> dao, String keys,
+                                             int defaultMaxBatchSize, ExecutorService batchFetchExecutor) {
+        if (!Boolean.getBoolean(keys + BATCH_ENABLED)) {
+            return dao;
+        }
+        return new MicroBatchingReadableDao<>(name, dao,
+                Integer.getInteger(keys + MAX_BATCH_SIZE, defaultMaxBatchSize),
+                Duration.ofMillis(Long.getLong(keys + BATCH_WINDOW_MILLIS, DEFAULT_BATCH_WINDOW_MILLIS)),
+                Duration.ofMillis(Long.getLong(keys + BATCH_TIMEOUT_MILLIS, DEFAULT_BATCH_TIMEOUT_MILLIS)),
+                batchFetchExecutor);
+    }
+
+    private <I, O> ReadableDao<I, O> hedged(ReadableDao<I, O> dao, String keys, ExecutorService hedgeExecutor) {
+        if (!Boolean.getBoolean(keys + HEDGE_ENABLED)) {
+            return dao;
+        }
+        return new HedgingReadableDao<>(dao, hedgeExecutor,
+                new LatencyPercentile(Integer.getInteger(keys + HEDGE_PERCENTILE, DEFAULT_HEDGE_PERCENTILE)),
+                Duration.ofMillis(Long.getLong(keys + MIN_HEDGE_DELAY_MILLIS, DEFAULT_MIN_HEDGE_DELAY_MILLIS)),
+                new HedgeBudget(Integer.getInteger(keys + MAX_HEDGE_PERCENT, DEFAULT_MAX_HEDGE_PERCENT)));
+    }
+
+    private <I, O> ReadableDao<I, O> cached(String name, ReadableDao<I, O> dao, String keys,
+                                            ExecutorService cacheLoadExecutor) {
+        long timeToLiveSeconds = Long.getLong(keys + TIME_TO_LIVE_SECONDS, DEFAULT_TIME_TO_LIVE_SECONDS);
+        long maximumSize = Long.getLong(keys + MAXIMUM_SIZE, DEFAULT_MAXIMUM_SIZE);
+        return new CachingReadableDao<>(name, dao, Duration.ofSeconds(timeToLiveSeconds), maximumSize,
+                cacheLoadExecutor);
     }
 }
@@ -1,6 +1,7 @@
 package com.amazon.ata.advertising.service.dependency;
 
 import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
+import com.amazonaws.client.builder.AwsClientBuilder;
 import com.amazonaws.regions.Regions;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
@@ -13,19 +14,39 @@ import javax.inject.Singleton;
 @Module
 public class DynamoDBModule {
 
+    private static final String ENDPOINT = "ata.advertising.dynamodb.endpoint";
+
+    /**
+     * Provides a singleton instance of the DynamoDB client. Setting the system property
+     * ata.advertising.dynamodb.endpoint points the client at another endpoint, such as DynamoDB Local when running the
+     * scoring job on a workstation.
+     *
+     * @return AmazonDynamoDB
+     */
+    @Singleton
+    @Provides
+    public AmazonDynamoDB provideAmazonDynamoDB() {
+        AmazonDynamoDBClientBuilder builder = AmazonDynamoDBClientBuilder.standard()
+                .withCredentials(DefaultAWSCredentialsProviderChain.getInstance());
+        String endpoint = System.getProperty(ENDPOINT);
+        if (endpoint == null) {
+            builder.withRegion(Regions.US_WEST_2);
+        } else {
+            builder.withEndpointConfiguration(
+                    new AwsClientBuilder.EndpointConfiguration(endpoint, Regions.US_WEST_2.getName()));
+        }
+        return builder.build();
+    }
+
     /**
      * Provides a singleton instance of DynamoDBMapper.
      *
+     * @param amazonDynamoDBClient the DynamoDB client the mapper uses
      * @return DynamoDBMapper
      */
     @Singleton
     @Provides
-    public DynamoDBMapper provideDynamoDBMapper() {
-        AmazonDynamoDB amazonDynamoDBClient = AmazonDynamoDBClientBuilder.standard()
-                .withCredentials(DefaultAWSCredentialsProviderChain.getInstance())
-                .withRegion(Regions.US_WEST_2)
-                .build();
-
+    public DynamoDBMapper provideDynamoDBMapper(AmazonDynamoDB amazonDynamoDBClient) {
         return new DynamoDBMapper(amazonDynamoDBClient);
     }
 }
@@ -0,0 +1,18 @@
+package com.amazon.ata.advertising.service.dependency;
+
+/**
+ * How the executors shared by every request run their tasks, chosen with the system property
+ * ata.advertising.executionMode.
+ */
+public enum ExecutionMode {
+    /**
+     * Each executor is a bounded pool of platform threads.
+     */
+    PLATFORM,
+
+    /**
+     * Targeting evaluation, customer data calls and targeting group queries all run on one process-wide executor
+     * that starts a virtual thread per task. Requires a JVM with virtual threads; otherwise PLATFORM is used.
+     */
+    VIRTUAL
+}
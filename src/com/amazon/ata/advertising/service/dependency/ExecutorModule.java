@@ -0,0 +1,243 @@
+package com.amazon.ata.advertising.service.dependency;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import dagger.Module;
+import dagger.Provides;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+/**
+ * Wire up the executors that are shared by every request handled in this process.
+ */
+@Module
+public class ExecutorModule {
+    private static final Logger LOG = LogManager.getLogger(ExecutorModule.class);
+
+    public static final String TARGETING_EVALUATION_EXECUTOR = "TargetingEvaluationExecutor";
+    public static final String CUSTOMER_DATA_EXECUTOR = "CustomerDataExecutor";
+    public static final String CATALOG_REFRESH_EXECUTOR = "CatalogRefreshExecutor";
+    public static final String TARGETING_GROUP_QUERY_EXECUTOR = "TargetingGroupQueryExecutor";
+    public static final String VIRTUAL_THREAD_EXECUTOR = "VirtualThreadExecutor";
+    public static final String DEADLINE_EXECUTOR = "DeadlineExecutor";
+    public static final String HEDGE_EXECUTOR = "HedgeExecutor";
+    public static final String CACHE_LOAD_EXECUTOR = "CacheLoadExecutor";
+    public static final String BATCH_FETCH_EXECUTOR = "BatchFetchExecutor";
+
+    private static final String EVALUATION_KEYS = "ata.advertising.targetingEvaluation.";
+    private static final String CUSTOMER_DATA_KEYS = "ata.advertising.customerData.";
+    private static final String HEDGE_KEYS = "ata.advertising.hedge.";
+    private static final String CACHE_LOAD_KEYS = "ata.advertising.cacheLoad.";
+    private static final String BATCH_FETCH_KEYS = "ata.advertising.batchFetch.";
+    private static final String TARGETING_GROUP_QUERY_KEYS = "ata.advertising.targetingGroupQuery.";
+    private static final String EXECUTION_MODE = "ata.advertising.executionMode";
+    private static final String PARALLELISM = "parallelism";
+    private static final String QUEUE_DEPTH = "queueDepth";
+    private static final int DEFAULT_PARALLELISM = 32;
+    private static final int DEFAULT_QUEUE_DEPTH = 1024;
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    /**
+     * Provides the execution mode configured with the system property ata.advertising.executionMode, PLATFORM by
+     * default.
+     *
+     * @return ExecutionMode
+     */
+    @Provides
+    @Singleton
+    public ExecutionMode provideExecutionMode() {
+        String mode = System.getProperty(EXECUTION_MODE, ExecutionMode.PLATFORM.name());
+        try {
+            return ExecutionMode.valueOf(mode.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            LOG.warn(String.format("Unknown execution mode %s, using %s.", mode, ExecutionMode.PLATFORM));
+            return ExecutionMode.PLATFORM;
+        }
+    }
+
+    /**
+     * Provides the executor that starts a virtual thread per task, shared by targeting evaluation, customer data calls
+     * and targeting group queries in the VIRTUAL execution mode. Blocking calls park the virtual thread rather than a
+     * platform thread, so no pool bounds the number of calls in flight. Empty in the PLATFORM mode, or when the JVM
+     * has no virtual threads.
+     *
+     * @param executionMode the configured execution mode
+     * @return ExecutorService for every task, if virtual threads are in use
+     */
+    @Provides
+    @Singleton
+    @Named(VIRTUAL_THREAD_EXECUTOR)
+    public Optional<ExecutorService> provideVirtualThreadExecutor(ExecutionMode executionMode) {
+        if (executionMode != ExecutionMode.VIRTUAL) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of((ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null));
+        } catch (ReflectiveOperationException e) {
+            LOG.warn("Virtual threads are not available in this JVM, using platform threads.", e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Provides the bounded executor used to evaluate targeting predicates. The number of threads and the depth of the
+     * work queue can be configured with the system properties
+     * ata.advertising.targetingEvaluation.parallelism and ata.advertising.targetingEvaluation.queueDepth. When the
+     * queue is full the predicate is evaluated inline on the calling thread instead of being rejected.
+     *
+     * @param virtualThreadExecutor the process-wide virtual thread executor, used instead when configured
+     * @return ExecutorService for targeting predicate evaluation
+     */
+    @Provides
+    @Singleton
+    @Named(TARGETING_EVALUATION_EXECUTOR)
+    public ExecutorService provideTargetingEvaluationExecutor(
+            @Named(VIRTUAL_THREAD_EXECUTOR) Optional<ExecutorService> virtualThreadExecutor) {
+        return virtualThreadExecutor.orElseGet(() -> boundedExecutor(EVALUATION_KEYS, "targeting-evaluation-%d"));
+    }
+
+    /**
+     * Provides the bounded executor used to fetch customer data ahead of predicate evaluation. It is kept separate
+     * from the evaluation executor so predicates waiting on customer data never hold the threads that load it.
+     * Configured with the system properties ata.advertising.customerData.parallelism and
+     * ata.advertising.customerData.queueDepth.
+     *
+     * @param virtualThreadExecutor the process-wide virtual thread executor, used instead when configured
+     * @return ExecutorService for customer data calls
+     */
+    @Provides
+    @Singleton
+    @Named(CUSTOMER_DATA_EXECUTOR)
+    public ExecutorService provideCustomerDataExecutor(
+            @Named(VIRTUAL_THREAD_EXECUTOR) Optional<ExecutorService> virtualThreadExecutor) {
+        return virtualThreadExecutor.orElseGet(() -> boundedExecutor(CUSTOMER_DATA_KEYS, "customer-data-%d"));
+    }
+
+    /**
+     * Provides the bounded executor that hedged calls to the customer and prime club services run on. Callers on the
+     * customer data executor wait for these calls, so they need threads of their own. Configured with the system
+     * properties ata.advertising.hedge.parallelism and ata.advertising.hedge.queueDepth.
+     *
+     * @param virtualThreadExecutor the process-wide virtual thread executor, used instead when configured
+     * @return ExecutorService for hedged calls
+     */
+    @Provides
+    @Singleton
+    @Named(HEDGE_EXECUTOR)
+    public ExecutorService provideHedgeExecutor(
+            @Named(VIRTUAL_THREAD_EXECUTOR) Optional<ExecutorService> virtualThreadExecutor) {
+        return virtualThreadExecutor.orElseGet(() -> boundedExecutor(HEDGE_KEYS, "hedge-%d"));
+    }
+
+    /**
+     * Provides the bounded executor that the customer data caches load their misses on. The load for a missing entry
+     * is shared by every request waiting for it, so it runs here rather than on the first request's thread, where
+     * cancelling that request would fail it for all of them. Configured with the system properties
+     * ata.advertising.cacheLoad.parallelism and ata.advertising.cacheLoad.queueDepth.
+     *
+     * @param virtualThreadExecutor the process-wide virtual thread executor, used instead when configured
+     * @return ExecutorService for cache loads
+     */
+    @Provides
+    @Singleton
+    @Named(CACHE_LOAD_EXECUTOR)
+    public ExecutorService provideCacheLoadExecutor(
+            @Named(VIRTUAL_THREAD_EXECUTOR) Optional<ExecutorService> virtualThreadExecutor) {
+        return virtualThreadExecutor.orElseGet(() -> boundedExecutor(CACHE_LOAD_KEYS, "cache-load-%d"));
+    }
+
+    /**
+     * Provides the bounded executor that coalesced reads fetch their batches on. A batch is shared by every read in
+     * it, so it is fetched here rather than on the thread of the read that started it, where cancelling that read
+     * would fail the whole batch. Configured with the system properties ata.advertising.batchFetch.parallelism and
+     * ata.advertising.batchFetch.queueDepth.
+     *
+     * @param virtualThreadExecutor the process-wide virtual thread executor, used instead when configured
+     * @return ExecutorService for batch fetches
+     */
+    @Provides
+    @Singleton
+    @Named(BATCH_FETCH_EXECUTOR)
+    public ExecutorService provideBatchFetchExecutor(
+            @Named(VIRTUAL_THREAD_EXECUTOR) Optional<ExecutorService> virtualThreadExecutor) {
+        return virtualThreadExecutor.orElseGet(() -> boundedExecutor(BATCH_FETCH_KEYS, "batch-fetch-%d"));
+    }
+
+    /**
+     * Provides the bounded executor used to query the targeting groups of many contents at once when a marketplace's
+     * catalog is loaded. Configured with the system properties ata.advertising.targetingGroupQuery.parallelism and
+     * ata.advertising.targetingGroupQuery.queueDepth.
+     *
+     * @param virtualThreadExecutor the process-wide virtual thread executor, used instead when configured
+     * @return ExecutorService for targeting group queries
+     */
+    @Provides
+    @Singleton
+    @Named(TARGETING_GROUP_QUERY_EXECUTOR)
+    public ExecutorService provideTargetingGroupQueryExecutor(
+            @Named(VIRTUAL_THREAD_EXECUTOR) Optional<ExecutorService> virtualThreadExecutor) {
+        return virtualThreadExecutor.orElseGet(() ->
+                boundedExecutor(TARGETING_GROUP_QUERY_KEYS, "targeting-group-query-%d"));
+    }
+
+    /**
+     * Provides the single background thread that rebuilds the advertisement catalog.
+     *
+     * @return ScheduledExecutorService for catalog refreshes
+     */
+    @Provides
+    @Singleton
+    @Named(CATALOG_REFRESH_EXECUTOR)
+    public ScheduledExecutorService provideCatalogRefreshExecutor() {
+        return Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("catalog-refresh-%d")
+                .setDaemon(true)
+                .build());
+    }
+
+    /**
+     * Provides the single background thread that completes requests whose deadline passes before their customer data
+     * has loaded. It only runs the final, non-blocking step of selecting an ad.
+     *
+     * @return ScheduledExecutorService for request deadlines
+     */
+    @Provides
+    @Singleton
+    @Named(DEADLINE_EXECUTOR)
+    public ScheduledExecutorService provideDeadlineExecutor() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder()
+                .setNameFormat("request-deadline-%d")
+                .setDaemon(true)
+                .build());
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    private ExecutorService boundedExecutor(String keys, String threadNameFormat) {
+        int parallelism = Integer.getInteger(keys + PARALLELISM, DEFAULT_PARALLELISM);
+        int queueDepth = Integer.getInteger(keys + QUEUE_DEPTH, DEFAULT_QUEUE_DEPTH);
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism,
+                KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueDepth),
+                new ThreadFactoryBuilder()
+                        .setNameFormat(threadNameFormat)
+                        .setDaemon(true)
+                        .build(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -18,7 +18,9 @@ import javax.inject.Singleton;
 @Component(modules = {
         ExternalServiceModule.class,
         DaoModule.class,
-        DynamoDBModule.class
+        DynamoDBModule.class,
+        ExecutorModule.class,
+        CatalogModule.class
 })
 public interface LambdaComponent {
     /**
@@ -35,6 +37,8 @@ public interface LambdaComponent {
 
     GenerateAdActivity provideGenerateAdActivity();
 
+    GenerateAdvertisementsBatchActivity provideGenerateAdvertisementsBatchActivity();
+
     AddTargetingGroupActivity provideAddTargetingGroupActivity();
 
     CreateContentActivity provideCreateContentActivity();
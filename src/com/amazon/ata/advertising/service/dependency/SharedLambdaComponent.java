@@ -0,0 +1,19 @@
+package com.amazon.ata.advertising.service.dependency;
+
+/**
+ * Holds the one LambdaComponent used by every activity handler in this process, so the activities that change
+ * advertising content share singletons, such as the AdvertisementCatalog, with the activities that read it.
+ */
+public final class SharedLambdaComponent {
+    private static final LambdaComponent COMPONENT = DaggerLambdaComponent.create();
+
+    private SharedLambdaComponent() {}
+
+    /**
+     * Gets the process-wide LambdaComponent.
+     * @return the LambdaComponent shared by every activity handler
+     */
+    public static LambdaComponent get() {
+        return COMPONENT;
+    }
+}
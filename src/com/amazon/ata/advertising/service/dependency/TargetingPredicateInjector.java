@@ -7,12 +7,30 @@ import com.amazon.ata.advertising.service.targeting.predicate.ParentPredicate;
 import com.amazon.ata.advertising.service.targeting.predicate.PrimeBenefitTargetingPredicate;
 import com.amazon.ata.advertising.service.targeting.predicate.RecognizedTargetingPredicate;
 import com.amazon.ata.advertising.service.targeting.predicate.TargetingPredicate;
+import com.amazon.ata.advertising.service.targeting.predicate.TargetingPredicateTypeConverter;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import dagger.MembersInjector;
 
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 import javax.inject.Inject;
+import javax.inject.Singleton;
 
+/**
+ * Injects targeting predicates with the dependencies of the component it belongs to. Each component has its own
+ * injector, so predicates loaded by the scoring job read customer data through the scoring job's DAOs, not the
+ * Lambda's.
+ */
+@Singleton
 public class TargetingPredicateInjector {
+    private final TargetingPredicateTypeConverter converter = new TargetingPredicateTypeConverter();
+    private final Cache<List<TargetingPredicate>, List<TargetingPredicate>> injectedCopies = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
     private final MembersInjector<AgeTargetingPredicate> agePredicateInjector;
     private final MembersInjector<CategorySpendFrequencyTargetingPredicate> spendFrequencyPredicateInjector;
     private final MembersInjector<CategorySpendValueTargetingPredicate> spendValuePredicateInjector;
@@ -66,4 +84,23 @@ public class TargetingPredicateInjector {
             recognizedPredicateInjector.injectMembers((RecognizedTargetingPredicate) targetingPredicate);
         }
     }
+
+    /**
+     * Gets an injected copy of a predicate list parsed by TargetingPredicateTypeConverter. The parsed lists are shared
+     * by every component in the process, so they are copied rather than injected in place. Each parsed list is copied
+     * once per injector, and the copy is dropped once the converter no longer caches the list.
+     * @param targetingPredicates the shared, parsed predicates
+     * @return An immutable list of injected predicates
+     */
+    public List<TargetingPredicate> injectCopy(List<TargetingPredicate> targetingPredicates) {
+        try {
+            return injectedCopies.get(targetingPredicates, () -> {
+                List<TargetingPredicate> copies = converter.copy(targetingPredicates);
+                copies.forEach(this::inject);
+                return ImmutableList.copyOf(copies);
+            });
+        } catch (ExecutionException e) {
+            throw new UncheckedExecutionException(e.getCause());
+        }
+    }
 }
@@ -0,0 +1,11 @@
+package com.amazon.ata.advertising.service.exceptions;
+
+/**
+ * Thrown instead of calling a downstream service that is failing or saturated, so callers fail fast. It is thrown
+ * often during an outage, so no stack trace is captured.
+ */
+public class DownstreamUnavailableException extends RuntimeException {
+    public DownstreamUnavailableException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,165 @@
+package com.amazon.ata.advertising.service.migration;
+
+import com.amazon.ata.advertising.service.dependency.DynamoDBModule;
+import com.amazon.ata.advertising.service.targeting.TargetingGroup;
+import com.amazon.ata.advertising.service.targeting.predicate.TargetingPredicateEncoding;
+import com.amazon.ata.advertising.service.targeting.predicate.TargetingPredicateTypeConverter;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.ScanResult;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rewrites the TargetingPredicates attribute of every item in the TargetingGroups table with a given encoding. Each
+ * update is conditional on the attribute still holding the value that was scanned, so an item changed by the service
+ * during the migration is skipped rather than overwritten. Items already in the target encoding are left alone.
+ *
+ * Usage: TargetingPredicateMigration [JSON|COMPACT] [--dry-run]. The encoding defaults to COMPACT.
+ */
+public class TargetingPredicateMigration {
+    private static final Logger LOG = LogManager.getLogger(TargetingPredicateMigration.class);
+    private static final String TARGETING_GROUP_ID = "TargetingGroupId";
+    private static final String TARGETING_PREDICATES = "TargetingPredicates";
+
+    private final AmazonDynamoDB dynamoDb;
+    private final TargetingPredicateTypeConverter converter;
+    private final String tableName;
+
+    /**
+     * Constructs a migration against the TargetingGroups table.
+     * @param dynamoDb client for the table
+     * @param converter reads and writes the predicate attribute
+     */
+    public TargetingPredicateMigration(AmazonDynamoDB dynamoDb, TargetingPredicateTypeConverter converter) {
+        this.dynamoDb = dynamoDb;
+        this.converter = converter;
+        this.tableName = TargetingGroup.class.getAnnotation(DynamoDBTable.class).tableName();
+    }
+
+    /**
+     * Runs the migration.
+     * @param args the target encoding, and --dry-run to only report what would change
+     */
+    public static void main(String[] args) {
+        TargetingPredicateEncoding encoding = TargetingPredicateEncoding.COMPACT;
+        boolean dryRun = false;
+        for (String arg : args) {
+            if ("--dry-run".equals(arg)) {
+                dryRun = true;
+            } else {
+                encoding = TargetingPredicateEncoding.valueOf(arg);
+            }
+        }
+        MigrationResult result = new TargetingPredicateMigration(new DynamoDBModule().provideAmazonDynamoDB(),
+                new TargetingPredicateTypeConverter()).migrate(encoding, dryRun);
+        LOG.info("Targeting predicate migration complete. {}", result);
+    }
+
+    /**
+     * Scans the table and rewrites every item whose predicates are not already in the given encoding.
+     * @param encoding the encoding to rewrite items with
+     * @param dryRun if true, items are only counted, not updated
+     * @return counts of the items scanned, rewritten, skipped and failed
+     */
+    public MigrationResult migrate(TargetingPredicateEncoding encoding, boolean dryRun) {
+        MigrationResult result = new MigrationResult();
+        Map<String, AttributeValue> startKey = null;
+        do {
+            ScanResult page = dynamoDb.scan(new ScanRequest()
+                    .withTableName(tableName)
+                    .withProjectionExpression(TARGETING_GROUP_ID + ", " + TARGETING_PREDICATES)
+                    .withExclusiveStartKey(startKey));
+            for (Map<String, AttributeValue> item : page.getItems()) {
+                migrateItem(item, encoding, dryRun, result);
+            }
+            startKey = page.getLastEvaluatedKey();
+            LOG.info("Targeting predicate migration progress. {}", result);
+        } while (startKey != null && !startKey.isEmpty());
+        return result;
+    }
+
+    private void migrateItem(Map<String, AttributeValue> item, TargetingPredicateEncoding encoding, boolean dryRun,
+                             MigrationResult result) {
+        result.scanned++;
+        AttributeValue predicates = item.get(TARGETING_PREDICATES);
+        if (predicates == null || predicates.getS() == null) {
+            result.skipped++;
+            return;
+        }
+
+        String current = predicates.getS();
+        String rewritten;
+        try {
+            rewritten = converter.reencode(current, encoding);
+        } catch (RuntimeException e) {
+            LOG.warn("Unable to read the predicates of targeting group {}.", item.get(TARGETING_GROUP_ID), e);
+            result.failed++;
+            return;
+        }
+        if (rewritten.equals(current)) {
+            result.skipped++;
+            return;
+        }
+        if (dryRun) {
+            result.rewritten++;
+            return;
+        }
+
+        Map<String, AttributeValue> values = new HashMap<>();
+        values.put(":current", new AttributeValue(current));
+        values.put(":rewritten", new AttributeValue(rewritten));
+        try {
+            dynamoDb.updateItem(new UpdateItemRequest()
+                    .withTableName(tableName)
+                    .withKey(Collections.singletonMap(TARGETING_GROUP_ID, item.get(TARGETING_GROUP_ID)))
+                    .withUpdateExpression("SET " + TARGETING_PREDICATES + " = :rewritten")
+                    .withConditionExpression(TARGETING_PREDICATES + " = :current")
+                    .withExpressionAttributeValues(values));
+            result.rewritten++;
+        } catch (ConditionalCheckFailedException e) {
+            result.skipped++;
+        }
+    }
+
+    /**
+     * Counts of what the migration did.
+     */
+    public static class MigrationResult {
+        private int scanned;
+        private int rewritten;
+        private int skipped;
+        private int failed;
+
+        public int getScanned() {
+            return scanned;
+        }
+
+        public int getRewritten() {
+            return rewritten;
+        }
+
+        public int getSkipped() {
+            return skipped;
+        }
+
+        public int getFailed() {
+            return failed;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Scanned: %d, rewritten: %d, skipped: %d, failed: %d",
+                    scanned, rewritten, skipped, failed);
+        }
+    }
+}
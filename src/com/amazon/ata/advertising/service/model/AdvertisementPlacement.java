@@ -0,0 +1,79 @@
+package com.amazon.ata.advertising.service.model;
+
+/**
+ * One ad slot to fill: the customer who will see it, the marketplace it renders in, and the slot on the page or in the
+ * message. Placements for the same customer and marketplace are filled with different content.
+ */
+public class AdvertisementPlacement {
+    private String customerId;
+    private String marketplaceId;
+    private String slotId;
+
+    public AdvertisementPlacement(String customerId, String marketplaceId, String slotId) {
+        this.customerId = customerId;
+        this.marketplaceId = marketplaceId;
+        this.slotId = slotId;
+    }
+
+    public AdvertisementPlacement() {
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(String customerId) {
+        this.customerId = customerId;
+    }
+
+    public String getMarketplaceId() {
+        return marketplaceId;
+    }
+
+    public void setMarketplaceId(String marketplaceId) {
+        this.marketplaceId = marketplaceId;
+    }
+
+    public String getSlotId() {
+        return slotId;
+    }
+
+    public void setSlotId(String slotId) {
+        this.slotId = slotId;
+    }
+
+    public AdvertisementPlacement(Builder builder) {
+        this.customerId = builder.customerId;
+        this.marketplaceId = builder.marketplaceId;
+        this.slotId = builder.slotId;
+    }
+
+    public static Builder builder() {return new Builder();}
+
+    public static final class Builder {
+        private String customerId;
+        private String marketplaceId;
+        private String slotId;
+
+        private Builder() {
+
+        }
+
+        public Builder withCustomerId(String customerIdToUse) {
+            this.customerId = customerIdToUse;
+            return this;
+        }
+
+        public Builder withMarketplaceId(String marketplaceIdToUse) {
+            this.marketplaceId = marketplaceIdToUse;
+            return this;
+        }
+
+        public Builder withSlotId(String slotIdToUse) {
+            this.slotId = slotIdToUse;
+            return this;
+        }
+
+        public AdvertisementPlacement build() { return new AdvertisementPlacement(this); }
+    }
+}
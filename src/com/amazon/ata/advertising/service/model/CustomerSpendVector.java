@@ -0,0 +1,115 @@
+package com.amazon.ata.advertising.service.model;
+
+import com.amazon.ata.customerservice.Category;
+import com.amazon.ata.customerservice.Spend;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A customer's number of purchases and spend in cents for every Category, indexed by the category's position in
+ * Category.values(). Categories the customer hasn't purchased in have zero purchases and zero spend.
+ */
+public final class CustomerSpendVector {
+    public static final int CATEGORY_COUNT = Category.values().length;
+    public static final CustomerSpendVector EMPTY = new CustomerSpendVector(new int[CATEGORY_COUNT],
+            new long[CATEGORY_COUNT]);
+
+    private static final Map<String, Integer> CATEGORY_INDEX = new HashMap<>();
+
+    static {
+        String[] categories = Category.values();
+        for (int i = 0; i < categories.length; i++) {
+            CATEGORY_INDEX.put(categories[i], i);
+        }
+    }
+
+    private final int[] numberOfPurchases;
+    private final long[] centsSpent;
+
+    /**
+     * Creates a CustomerSpendVector. The arrays are owned by the vector afterwards and must not be modified.
+     * @param numberOfPurchases Purchases per category, CATEGORY_COUNT long.
+     * @param centsSpent Spend in cents per category, CATEGORY_COUNT long.
+     */
+    public CustomerSpendVector(int[] numberOfPurchases, long[] centsSpent) {
+        if (numberOfPurchases.length != CATEGORY_COUNT || centsSpent.length != CATEGORY_COUNT) {
+            throw new IllegalArgumentException("Spend must have a value for each of the " + CATEGORY_COUNT +
+                    " categories.");
+        }
+        this.numberOfPurchases = numberOfPurchases;
+        this.centsSpent = centsSpent;
+    }
+
+    /**
+     * Converts the customer service's spend per category. Categories this service doesn't know are dropped.
+     * @param spendByCategory Spend keyed by Category.
+     * @return CustomerSpendVector
+     */
+    public static CustomerSpendVector fromSpendByCategory(Map<String, Spend> spendByCategory) {
+        int[] numberOfPurchases = new int[CATEGORY_COUNT];
+        long[] centsSpent = new long[CATEGORY_COUNT];
+        for (Map.Entry<String, Spend> entry : spendByCategory.entrySet()) {
+            int index = categoryIndex(entry.getKey());
+            if (index >= 0 && entry.getValue() != null) {
+                numberOfPurchases[index] = entry.getValue().getNumberOfPurchases();
+                centsSpent[index] = entry.getValue().getUsdSpent() * 100L;
+            }
+        }
+        return new CustomerSpendVector(numberOfPurchases, centsSpent);
+    }
+
+    /**
+     * The position of a category in Category.values().
+     * @param category The category.
+     * @return The category's index, or -1 if it isn't a known Category.
+     */
+    public static int categoryIndex(String category) {
+        Integer index = category == null ? null : CATEGORY_INDEX.get(category);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * The number of purchases in a category.
+     * @param categoryIndex The category's index, from categoryIndex. Unknown categories have no purchases.
+     * @return number of purchases
+     */
+    public int getNumberOfPurchases(int categoryIndex) {
+        return categoryIndex < 0 ? 0 : numberOfPurchases[categoryIndex];
+    }
+
+    /**
+     * The amount spent in a category, in cents.
+     * @param categoryIndex The category's index, from categoryIndex. Unknown categories have no spend.
+     * @return cents spent
+     */
+    public long getCentsSpent(int categoryIndex) {
+        return categoryIndex < 0 ? 0 : centsSpent[categoryIndex];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final CustomerSpendVector that = (CustomerSpendVector) o;
+        return Arrays.equals(numberOfPurchases, that.numberOfPurchases) && Arrays.equals(centsSpent, that.centsSpent);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(numberOfPurchases) + Arrays.hashCode(centsSpent);
+    }
+
+    @Override
+    public String toString() {
+        return "CustomerSpendVector{" +
+                "numberOfPurchases=" + Arrays.toString(numberOfPurchases) +
+                ", centsSpent=" + Arrays.toString(centsSpent) +
+                '}';
+    }
+}
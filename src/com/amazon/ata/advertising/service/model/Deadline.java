@@ -0,0 +1,66 @@
+package com.amazon.ata.advertising.service.model;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The time by which a request must have its response. Measured on the monotonic clock, so it is only meaningful in
+ * the process that created it.
+ */
+public final class Deadline {
+    /**
+     * A deadline that never passes, for requests without a time budget.
+     */
+    public static final Deadline NONE = new Deadline(Long.MAX_VALUE);
+
+    private final long nanoTime;
+
+    private Deadline(long nanoTime) {
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * A deadline the given time from now.
+     * @param budget How long the request has.
+     * @return The deadline, already passed if the budget isn't positive.
+     */
+    public static Deadline after(Duration budget) {
+        return new Deadline(System.nanoTime() + Math.max(0, budget.toNanos()));
+    }
+
+    /**
+     * A deadline earlier than this one, leaving time for work after it.
+     * @param reserve How much earlier the new deadline is.
+     * @return The earlier deadline; NONE stays NONE.
+     */
+    public Deadline minus(Duration reserve) {
+        return this == NONE ? NONE : new Deadline(nanoTime - reserve.toNanos());
+    }
+
+    /**
+     * Whether the deadline ever passes.
+     * @return false for NONE
+     */
+    public boolean isBounded() {
+        return this != NONE;
+    }
+
+    /**
+     * The time left before the deadline.
+     * @return milliseconds left, zero once the deadline has passed, or Long.MAX_VALUE for NONE
+     */
+    public long remainingMillis() {
+        if (this == NONE) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(nanoTime - System.nanoTime()));
+    }
+
+    /**
+     * Whether the deadline has passed.
+     * @return true once no time is left
+     */
+    public boolean isExpired() {
+        return this != NONE && nanoTime - System.nanoTime() <= 0;
+    }
+}
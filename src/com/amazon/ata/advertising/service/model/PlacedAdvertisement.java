@@ -0,0 +1,61 @@
+package com.amazon.ata.advertising.service.model;
+
+/**
+ * The advertisement generated for one AdvertisementPlacement.
+ */
+public class PlacedAdvertisement {
+    private String slotId;
+    private Advertisement advertisement;
+
+    public PlacedAdvertisement(String slotId, Advertisement advertisement) {
+        this.slotId = slotId;
+        this.advertisement = advertisement;
+    }
+
+    public PlacedAdvertisement() {
+    }
+
+    public String getSlotId() {
+        return slotId;
+    }
+
+    public void setSlotId(String slotId) {
+        this.slotId = slotId;
+    }
+
+    public Advertisement getAdvertisement() {
+        return advertisement;
+    }
+
+    public void setAdvertisement(Advertisement advertisement) {
+        this.advertisement = advertisement;
+    }
+
+    public PlacedAdvertisement(Builder builder) {
+        this.slotId = builder.slotId;
+        this.advertisement = builder.advertisement;
+    }
+
+    public static Builder builder() {return new Builder();}
+
+    public static final class Builder {
+        private String slotId;
+        private Advertisement advertisement;
+
+        private Builder() {
+
+        }
+
+        public Builder withSlotId(String slotIdToUse) {
+            this.slotId = slotIdToUse;
+            return this;
+        }
+
+        public Builder withAdvertisement(Advertisement advertisementToUse) {
+            this.advertisement = advertisementToUse;
+            return this;
+        }
+
+        public PlacedAdvertisement build() { return new PlacedAdvertisement(this); }
+    }
+}
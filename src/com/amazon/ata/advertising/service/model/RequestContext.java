@@ -11,6 +11,7 @@ public class RequestContext {
     private final boolean recognizedCustomer;
     private final String customerId;
     private final String marketplaceId;
+    private final Deadline deadline;
 
     /**
      * Constructor of RequestContext objects. A flag denoting whether the customer is recognized is set based on the
@@ -20,6 +21,18 @@ public class RequestContext {
      * @param marketplaceId The marketplace to view the advertisement in.
      */
     public RequestContext(String customerId, String marketplaceId) {
+        this(customerId, marketplaceId, Deadline.NONE);
+    }
+
+    /**
+     * Constructor of RequestContext objects for a request with a time budget. The deadline is not part of the
+     * context's identity, so concurrent requests for the same customer and marketplace still share customer data.
+     * @param customerId The unique identifier for the customer who will be viewing the advertisement, if the customer
+     *                   is recognized.
+     * @param marketplaceId The marketplace to view the advertisement in.
+     * @param deadline The time by which the request must have its response. Null is treated as Deadline.NONE.
+     */
+    public RequestContext(String customerId, String marketplaceId, Deadline deadline) {
         if (StringUtils.isBlank(customerId)) {
             this.recognizedCustomer = false;
             this.customerId = null;
@@ -28,6 +41,7 @@ public class RequestContext {
             this.customerId = customerId;
         }
         this.marketplaceId = marketplaceId;
+        this.deadline = deadline == null ? Deadline.NONE : deadline;
     }
 
     public boolean isRecognizedCustomer() {
@@ -42,6 +56,10 @@ public class RequestContext {
         return marketplaceId;
     }
 
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -0,0 +1,45 @@
+package com.amazon.ata.advertising.service.model.requests;
+
+import com.amazon.ata.advertising.service.model.AdvertisementPlacement;
+
+import java.util.List;
+
+public class GenerateAdvertisementsBatchRequest {
+    private List<AdvertisementPlacement> placements;
+
+    public GenerateAdvertisementsBatchRequest(List<AdvertisementPlacement> placements) {
+        this.placements = placements;
+    }
+
+    public GenerateAdvertisementsBatchRequest() {
+    }
+
+    public List<AdvertisementPlacement> getPlacements() {
+        return placements;
+    }
+
+    public void setPlacements(List<AdvertisementPlacement> placements) {
+        this.placements = placements;
+    }
+
+    public GenerateAdvertisementsBatchRequest(Builder builder) {
+        this.placements = builder.placements;
+    }
+
+    public static Builder builder() {return new Builder();}
+
+    public static final class Builder {
+        private List<AdvertisementPlacement> placements;
+
+        private Builder() {
+
+        }
+
+        public Builder withPlacements(List<AdvertisementPlacement> placementsToUse) {
+            this.placements = placementsToUse;
+            return this;
+        }
+
+        public GenerateAdvertisementsBatchRequest build() { return new GenerateAdvertisementsBatchRequest(this); }
+    }
+}
@@ -0,0 +1,45 @@
+package com.amazon.ata.advertising.service.model.responses;
+
+import com.amazon.ata.advertising.service.model.PlacedAdvertisement;
+
+import java.util.List;
+
+public class GenerateAdvertisementsBatchResponse {
+    private List<PlacedAdvertisement> advertisements;
+
+    public GenerateAdvertisementsBatchResponse(List<PlacedAdvertisement> advertisements) {
+        this.advertisements = advertisements;
+    }
+
+    public GenerateAdvertisementsBatchResponse() {
+    }
+
+    public List<PlacedAdvertisement> getAdvertisements() {
+        return advertisements;
+    }
+
+    public void setAdvertisements(List<PlacedAdvertisement> advertisements) {
+        this.advertisements = advertisements;
+    }
+
+    public GenerateAdvertisementsBatchResponse(Builder builder) {
+        this.advertisements = builder.advertisements;
+    }
+
+    public static Builder builder() {return new Builder();}
+
+    public static final class Builder {
+        private List<PlacedAdvertisement> advertisements;
+
+        private Builder() {
+
+        }
+
+        public Builder withAdvertisements(List<PlacedAdvertisement> advertisementsToUse) {
+            this.advertisements = advertisementsToUse;
+            return this;
+        }
+
+        public GenerateAdvertisementsBatchResponse build() { return new GenerateAdvertisementsBatchResponse(this); }
+    }
+}
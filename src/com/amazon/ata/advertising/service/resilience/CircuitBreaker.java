@@ -0,0 +1,167 @@
+package com.amazon.ata.advertising.service.resilience;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+
+import java.time.Duration;
+
+/**
+ * Tracks the outcome of the most recent calls to a downstream service and stops calls to it while too many of them
+ * fail or are slow. The circuit opens once at least minimumCalls of the last windowSize calls have completed and the
+ * share of failed calls, or of calls slower than slowCallDuration, reaches its threshold. While open, no calls are
+ * permitted. After openDuration a few trial calls are let through; if they are healthy the circuit closes, otherwise
+ * it opens again.
+ */
+public final class CircuitBreaker {
+    private static final int FAILED = 1;
+    private static final int SLOW = 2;
+    private static final int MAX_HALF_OPEN_CALLS = 10;
+
+    /**
+     * The states of a circuit.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final int slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final Ticker ticker;
+
+    private final byte[] outcomes;
+    private int next;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+
+    /**
+     * Creates a closed circuit breaker.
+     * @param windowSize How many of the most recent calls the rates are measured over.
+     * @param minimumCalls How many calls must be recorded before the circuit can open.
+     * @param failureRateThreshold Percentage of failed calls that opens the circuit.
+     * @param slowCallRateThreshold Percentage of slow calls that opens the circuit.
+     * @param slowCallDuration How long a call takes before it counts as slow.
+     * @param openDuration How long the circuit stays open before trial calls are let through.
+     */
+    public CircuitBreaker(int windowSize, int minimumCalls, int failureRateThreshold, int slowCallRateThreshold,
+                          Duration slowCallDuration, Duration openDuration) {
+        this(windowSize, minimumCalls, failureRateThreshold, slowCallRateThreshold, slowCallDuration, openDuration,
+                Ticker.systemTicker());
+    }
+
+    @VisibleForTesting
+    CircuitBreaker(int windowSize, int minimumCalls, int failureRateThreshold, int slowCallRateThreshold,
+                   Duration slowCallDuration, Duration openDuration, Ticker ticker) {
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = slowCallDuration.toNanos();
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = Math.max(1, Math.min(this.minimumCalls, MAX_HALF_OPEN_CALLS));
+        this.ticker = ticker;
+        this.outcomes = new byte[windowSize];
+    }
+
+    /**
+     * Asks to make a call. Every permitted call must be followed by onSuccess or onError.
+     * @return true if the call may be made
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (ticker.read() - openedAt < openNanos) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    /**
+     * Records a permitted call that returned.
+     * @param durationNanos How long the call took.
+     */
+    public void onSuccess(long durationNanos) {
+        record(durationNanos >= slowCallNanos ? SLOW : 0);
+    }
+
+    /**
+     * Records a permitted call that threw.
+     * @param durationNanos How long the call took.
+     */
+    public void onError(long durationNanos) {
+        record(FAILED | (durationNanos >= slowCallNanos ? SLOW : 0));
+    }
+
+    /**
+     * The current state of the circuit. An open circuit whose openDuration has passed reports OPEN until the next call
+     * asks for permission.
+     * @return the state
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * The ticker calls are timed with.
+     * @return Ticker
+     */
+    public Ticker getTicker() {
+        return ticker;
+    }
+
+    private synchronized void record(int outcome) {
+        if (state == State.OPEN) {
+            return;
+        }
+        if (recorded == windowSize) {
+            failures -= outcomes[next] & FAILED;
+            slowCalls -= (outcomes[next] & SLOW) >> 1;
+        } else {
+            recorded++;
+        }
+        outcomes[next] = (byte) outcome;
+        next = (next + 1) % windowSize;
+        failures += outcome & FAILED;
+        slowCalls += (outcome & SLOW) >> 1;
+
+        int requiredCalls = state == State.HALF_OPEN ? halfOpenCalls : minimumCalls;
+        if (recorded < requiredCalls) {
+            return;
+        }
+        boolean unhealthy = failures * 100 >= failureRateThreshold * recorded ||
+                slowCalls * 100 >= slowCallRateThreshold * recorded;
+        if (unhealthy) {
+            transitionTo(State.OPEN);
+        } else if (state == State.HALF_OPEN) {
+            transitionTo(State.CLOSED);
+        }
+    }
+
+    private void transitionTo(State newState) {
+        state = newState;
+        next = 0;
+        recorded = 0;
+        failures = 0;
+        slowCalls = 0;
+        if (newState == State.OPEN) {
+            openedAt = ticker.read();
+        } else if (newState == State.HALF_OPEN) {
+            halfOpenPermits = halfOpenCalls;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.amazon.ata.advertising.service.resilience;
+
+import com.amazon.ata.advertising.service.exceptions.DownstreamUnavailableException;
+
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Protects one downstream service with a bulkhead and a circuit breaker. The bulkhead limits how many calls can be in
+ * flight at once, so a slow service can't hold every thread in the process; the circuit breaker stops calls while the
+ * service is failing or slow. Calls refused by either fail immediately with a DownstreamUnavailableException.
+ */
+public class DownstreamGuard {
+    private final String name;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+
+    /**
+     * Creates a guard for a downstream service.
+     * @param name The name of the service, used in error messages.
+     * @param maxConcurrentCalls The most calls allowed in flight at once.
+     * @param circuitBreaker The circuit breaker for the service.
+     */
+    public DownstreamGuard(String name, int maxConcurrentCalls, CircuitBreaker circuitBreaker) {
+        this.name = name;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * Makes a call to the service if both the bulkhead and the circuit breaker permit it, and records its outcome.
+     * @param call The call to the service.
+     * @param <T> The type the call returns.
+     * @return What the call returned.
+     * @throws DownstreamUnavailableException if the call was not permitted
+     */
+    public <T> T call(Supplier<T> call) {
+        if (!bulkhead.tryAcquire()) {
+            throw new DownstreamUnavailableException(name + " has too many calls in flight.");
+        }
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                throw new DownstreamUnavailableException(name + " circuit is open.");
+            }
+            long start = circuitBreaker.getTicker().read();
+            try {
+                T result = call.get();
+                circuitBreaker.onSuccess(circuitBreaker.getTicker().read() - start);
+                return result;
+            } catch (Throwable e) {
+                circuitBreaker.onError(circuitBreaker.getTicker().read() - start);
+                throw e;
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+}
@@ -0,0 +1,40 @@
+package com.amazon.ata.advertising.service.resilience;
+
+/**
+ * Caps how many hedged calls are made, as a share of all calls, so hedging can't double the load on a downstream
+ * service that is slow for everyone. Every call earns a fraction of a hedge, and a hedge is only made when a whole one
+ * has been earned. Earned hedges are capped, so a long quiet period can't fund a burst of them.
+ */
+public final class HedgeBudget {
+    private static final double MAX_SAVED_HEDGES = 10;
+
+    private final double hedgesPerCall;
+    private double available;
+
+    /**
+     * Creates a budget with no hedges available.
+     * @param maxHedgePercent The most hedges to make, as a percentage of calls.
+     */
+    public HedgeBudget(double maxHedgePercent) {
+        this.hedgesPerCall = maxHedgePercent / 100;
+    }
+
+    /**
+     * Records a call, earning its share of a hedge.
+     */
+    public synchronized void onCall() {
+        available = Math.min(MAX_SAVED_HEDGES, available + hedgesPerCall);
+    }
+
+    /**
+     * Spends a hedge, if one is available.
+     * @return true if the call may be hedged
+     */
+    public synchronized boolean tryHedge() {
+        if (available < 1) {
+            return false;
+        }
+        available--;
+        return true;
+    }
+}
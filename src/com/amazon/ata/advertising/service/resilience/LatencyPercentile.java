@@ -0,0 +1,53 @@
+package com.amazon.ata.advertising.service.resilience;
+
+import java.util.Arrays;
+
+/**
+ * Estimates a percentile of the latency of the most recent calls to a downstream service. The estimate is refreshed
+ * every few calls from a fixed window of samples, so recording a call is cheap.
+ */
+public final class LatencyPercentile {
+    private static final int WINDOW_SIZE = 1024;
+    private static final int REFRESH_INTERVAL = 64;
+    private static final int MINIMUM_SAMPLES = 100;
+
+    private final double percentile;
+    private final long[] samples = new long[WINDOW_SIZE];
+    private int next;
+    private int recorded;
+    private int sinceRefresh;
+    private volatile long estimateNanos = -1;
+
+    /**
+     * Creates an estimator with no samples.
+     * @param percentile The percentile to estimate, between 0 and 100.
+     */
+    public LatencyPercentile(double percentile) {
+        this.percentile = percentile;
+    }
+
+    /**
+     * Records how long a call took.
+     * @param durationNanos The call's latency.
+     */
+    public synchronized void record(long durationNanos) {
+        samples[next] = durationNanos;
+        next = (next + 1) % WINDOW_SIZE;
+        recorded = Math.min(recorded + 1, WINDOW_SIZE);
+        if (recorded >= MINIMUM_SAMPLES && ++sinceRefresh >= REFRESH_INTERVAL) {
+            sinceRefresh = 0;
+            long[] sorted = Arrays.copyOf(samples, recorded);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100 * recorded) - 1;
+            estimateNanos = sorted[Math.max(0, Math.min(index, recorded - 1))];
+        }
+    }
+
+    /**
+     * The latency at the percentile, as of the last refresh.
+     * @return the estimate in nanoseconds, or -1 until enough calls have been recorded
+     */
+    public long getNanos() {
+        return estimateNanos;
+    }
+}
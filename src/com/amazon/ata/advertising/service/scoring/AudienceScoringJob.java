@@ -0,0 +1,222 @@
+package com.amazon.ata.advertising.service.scoring;
+
+import com.amazon.ata.advertising.service.businesslogic.AdvertisementSelectionLogic;
+import com.amazon.ata.advertising.service.dependency.ExecutorModule;
+import com.amazon.ata.advertising.service.model.AdvertisementPlacement;
+import com.amazon.ata.advertising.service.model.GeneratedAdvertisement;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+/**
+ * Precomputes the best ad for every customer in a file, for campaigns and cache warming. Customer IDs are read one per
+ * line and scored in batches on a fork-join pool, or on virtual threads in the VIRTUAL execution mode. Each batch goes
+ * through AdvertisementSelectionLogic's batch selection, so a batch's customer data is fetched in parallel and its
+ * catalog snapshot is read once. When the customer and prime club daos are batched, those parallel lookups are
+ * coalesced into the services' batch calls.
+ *
+ * Only a fixed number of batches are read ahead of the scoring threads, so memory stays bounded however large the
+ * file is. Results are written as each batch finishes, one "customerId,contentId" line per customer, with an empty
+ * contentId when no ad matched. Lines within a batch keep the input order; batches may finish out of order.
+ *
+ * The number of scoring threads, which on virtual threads bounds the batches in flight instead, the batch size and
+ * how often progress is logged can be configured with the system properties ata.advertising.scoring.parallelism,
+ * ata.advertising.scoring.batchSize and ata.advertising.scoring.progressInterval.
+ */
+public class AudienceScoringJob {
+    private static final Logger LOG = LogManager.getLogger(AudienceScoringJob.class);
+
+    private static final String PARALLELISM = "ata.advertising.scoring.parallelism";
+    private static final String BATCH_SIZE = "ata.advertising.scoring.batchSize";
+    private static final String PROGRESS_INTERVAL = "ata.advertising.scoring.progressInterval";
+    private static final int DEFAULT_BATCH_SIZE = 256;
+    private static final long DEFAULT_PROGRESS_INTERVAL = 100_000;
+    private static final int BATCHES_IN_FLIGHT_PER_THREAD = 2;
+
+    private final AdvertisementSelectionLogic adSelector;
+    private final Optional<ExecutorService> virtualThreadExecutor;
+    private final int parallelism;
+    private final int batchSize;
+    private final long progressInterval;
+
+    /**
+     * Creates a job configured from system properties.
+     * @param adSelector The business logic to select ads.
+     * @param virtualThreadExecutor The process-wide virtual thread executor, used instead of a fork-join pool when
+     *                              configured.
+     */
+    @Inject
+    public AudienceScoringJob(AdvertisementSelectionLogic adSelector,
+                              @Named(ExecutorModule.VIRTUAL_THREAD_EXECUTOR)
+                                      Optional<ExecutorService> virtualThreadExecutor) {
+        this(adSelector, virtualThreadExecutor,
+                Integer.getInteger(PARALLELISM, Runtime.getRuntime().availableProcessors()),
+                Integer.getInteger(BATCH_SIZE, DEFAULT_BATCH_SIZE),
+                Long.getLong(PROGRESS_INTERVAL, DEFAULT_PROGRESS_INTERVAL));
+    }
+
+    /**
+     * Creates a job that scores batches on a fork-join pool.
+     * @param adSelector The business logic to select ads.
+     * @param parallelism The number of batches scored at once.
+     * @param batchSize The number of customers selected together.
+     * @param progressInterval Progress is logged each time this many more customers have been scored.
+     */
+    public AudienceScoringJob(AdvertisementSelectionLogic adSelector, int parallelism, int batchSize,
+                              long progressInterval) {
+        this(adSelector, Optional.empty(), parallelism, batchSize, progressInterval);
+    }
+
+    /**
+     * Creates a job.
+     * @param adSelector The business logic to select ads.
+     * @param virtualThreadExecutor Executor to score batches on. A fork-join pool of parallelism threads is used for
+     *                              each run when empty.
+     * @param parallelism The number of batches scored at once.
+     * @param batchSize The number of customers selected together.
+     * @param progressInterval Progress is logged each time this many more customers have been scored.
+     */
+    public AudienceScoringJob(AdvertisementSelectionLogic adSelector, Optional<ExecutorService> virtualThreadExecutor,
+                              int parallelism, int batchSize, long progressInterval) {
+        if (parallelism < 1 || batchSize < 1 || progressInterval < 1) {
+            throw new IllegalArgumentException("Parallelism, batch size and progress interval must be positive.");
+        }
+        this.adSelector = adSelector;
+        this.virtualThreadExecutor = virtualThreadExecutor;
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+        this.progressInterval = progressInterval;
+    }
+
+    /**
+     * Scores every customer in a file.
+     * @param customerIdFile A file with one customer ID per line.
+     * @param marketplaceId The marketplace to select ads in.
+     * @param outputFile The file to write results to. It is replaced if it exists.
+     * @return the metrics of the finished run
+     * @throws IOException if the input can't be read or the output can't be written
+     */
+    public ScoringMetrics run(Path customerIdFile, String marketplaceId, Path outputFile) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(customerIdFile, StandardCharsets.UTF_8);
+             BufferedWriter writer = Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8)) {
+            return run(reader, marketplaceId, writer);
+        }
+    }
+
+    /**
+     * Scores every customer read from a reader. Blank lines are skipped.
+     * @param customerIds One customer ID per line.
+     * @param marketplaceId The marketplace to select ads in.
+     * @param output Where results are written. It isn't closed.
+     * @return the metrics of the finished run
+     * @throws IOException if the input can't be read or the output can't be written
+     */
+    public ScoringMetrics run(BufferedReader customerIds, String marketplaceId, Writer output) throws IOException {
+        ScoringMetrics metrics = new ScoringMetrics();
+        int batchesInFlight = parallelism * BATCHES_IN_FLIGHT_PER_THREAD;
+        Semaphore permits = new Semaphore(batchesInFlight);
+        AtomicReference<IOException> writeFailure = new AtomicReference<>();
+        ExecutorService pool = virtualThreadExecutor.orElseGet(() -> new ForkJoinPool(parallelism));
+        try {
+            List<String> batch = new ArrayList<>(batchSize);
+            String line;
+            while ((line = customerIds.readLine()) != null && writeFailure.get() == null) {
+                String customerId = line.trim();
+                if (customerId.isEmpty()) {
+                    continue;
+                }
+                metrics.recordRead();
+                batch.add(customerId);
+                if (batch.size() == batchSize) {
+                    submit(pool, permits, batch, marketplaceId, output, metrics, writeFailure);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                submit(pool, permits, batch, marketplaceId, output, metrics, writeFailure);
+            }
+            permits.acquireUninterruptibly(batchesInFlight);
+            output.flush();
+        } finally {
+            if (!virtualThreadExecutor.isPresent()) {
+                pool.shutdownNow();
+            }
+            metrics.finish();
+        }
+
+        if (writeFailure.get() != null) {
+            throw writeFailure.get();
+        }
+        LOG.info("Finished scoring customers: {}", metrics);
+        return metrics;
+    }
+
+    private void submit(ExecutorService pool, Semaphore permits, List<String> batch, String marketplaceId,
+                        Writer output, ScoringMetrics metrics, AtomicReference<IOException> writeFailure) {
+        permits.acquireUninterruptibly();
+        pool.execute(() -> {
+            try {
+                score(batch, marketplaceId, output, metrics, writeFailure);
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    private void score(List<String> batch, String marketplaceId, Writer output, ScoringMetrics metrics,
+                       AtomicReference<IOException> writeFailure) {
+        List<AdvertisementPlacement> placements = new ArrayList<>(batch.size());
+        for (String customerId : batch) {
+            placements.add(new AdvertisementPlacement(customerId, marketplaceId, null));
+        }
+
+        List<GeneratedAdvertisement> ads = null;
+        try {
+            ads = adSelector.selectAdvertisements(placements);
+        } catch (RuntimeException e) {
+            LOG.error(String.format("Unable to score a batch of %d customers starting with %s.", batch.size(),
+                    batch.get(0)), e);
+        }
+
+        StringBuilder lines = new StringBuilder();
+        int matched = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            String contentId = ads == null ? null : ads.get(i).getContent().getContentId();
+            if (StringUtils.isNotEmpty(contentId)) {
+                matched++;
+            }
+            lines.append(batch.get(i)).append(',').append(StringUtils.defaultString(contentId)).append('\n');
+        }
+
+        try {
+            synchronized (output) {
+                output.write(lines.toString());
+            }
+        } catch (IOException e) {
+            writeFailure.compareAndSet(null, e);
+        }
+
+        long scored = ads == null ? metrics.recordFailed(batch.size()) : metrics.recordScored(batch.size(), matched);
+        if (scored / progressInterval != (scored - batch.size()) / progressInterval) {
+            LOG.info("Scoring customers: {}", metrics);
+        }
+    }
+}
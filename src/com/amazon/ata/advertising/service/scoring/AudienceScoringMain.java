@@ -0,0 +1,36 @@
+package com.amazon.ata.advertising.service.scoring;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Runs an AudienceScoringJob locally against the fake customer and prime club services. Customer profile and prime
+ * benefit lookups are batched unless ata.advertising.customerService.batchEnabled or
+ * ata.advertising.primeClubService.batchEnabled is set, since a scoring batch prefetches many customers at once.
+ *
+ * Usage: AudienceScoringMain customerIdFile marketplaceId outputFile
+ */
+public final class AudienceScoringMain {
+    private static final String CUSTOMER_SERVICE_BATCH_ENABLED = "ata.advertising.customerService.batchEnabled";
+    private static final String PRIME_CLUB_SERVICE_BATCH_ENABLED = "ata.advertising.primeClubService.batchEnabled";
+
+    private AudienceScoringMain() {}
+
+    /**
+     * Scores a customer file.
+     * @param args The customer ID file, the marketplace ID and the output file.
+     * @throws IOException if the input can't be read or the output can't be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: AudienceScoringMain customerIdFile marketplaceId outputFile");
+            System.exit(1);
+        }
+        System.getProperties().putIfAbsent(CUSTOMER_SERVICE_BATCH_ENABLED, "true");
+        System.getProperties().putIfAbsent(PRIME_CLUB_SERVICE_BATCH_ENABLED, "true");
+        ScoringMetrics metrics = DaggerScoringComponent.create()
+                .provideAudienceScoringJob()
+                .run(Paths.get(args[0]), args[1], Paths.get(args[2]));
+        System.out.println(metrics);
+    }
+}
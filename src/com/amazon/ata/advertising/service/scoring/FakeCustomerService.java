@@ -0,0 +1,90 @@
+package com.amazon.ata.advertising.service.scoring;
+
+import com.amazon.ata.customerservice.AgeRange;
+import com.amazon.ata.customerservice.BatchGetCustomerProfilesRequest;
+import com.amazon.ata.customerservice.BatchGetCustomerProfilesResponse;
+import com.amazon.ata.customerservice.Category;
+import com.amazon.ata.customerservice.CustomerProfile;
+import com.amazon.ata.customerservice.CustomerSpendCategories;
+import com.amazon.ata.customerservice.GetCustomerProfileRequest;
+import com.amazon.ata.customerservice.GetCustomerProfileResponse;
+import com.amazon.ata.customerservice.GetCustomerSpendCategoriesRequest;
+import com.amazon.ata.customerservice.GetCustomerSpendCategoriesResponse;
+import com.amazon.ata.customerservice.Spend;
+import com.amazon.ata.customerservice.State;
+import com.amazon.atacustomerservicelambda.service.ATACustomerService;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A stand-in for ATACustomerService that makes up a profile and spend for any customer, so audiences can be scored
+ * without calling the service. The same customer always gets the same data. An optional delay simulates the latency
+ * of a remote call.
+ */
+public class FakeCustomerService extends ATACustomerService {
+    private static final String[] AGE_RANGES = AgeRange.values();
+    private static final String[] STATES = State.values();
+    private static final String[] CATEGORIES = Category.values();
+    private static final int MAXIMUM_SPEND_CATEGORIES = 4;
+
+    private final long latencyMillis;
+
+    /**
+     * Creates a FakeCustomerService.
+     * @param latencyMillis How long each call waits before responding.
+     */
+    public FakeCustomerService(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    public GetCustomerProfileResponse getCustomerProfile(GetCustomerProfileRequest request) {
+        FakeServices.sleep(latencyMillis);
+        return GetCustomerProfileResponse.builder()
+                .withCustomerProfile(profile(request.getCustomerId()))
+                .build();
+    }
+
+    @Override
+    public BatchGetCustomerProfilesResponse batchGetCustomerProfiles(BatchGetCustomerProfilesRequest request) {
+        FakeServices.sleep(latencyMillis);
+        Map<String, CustomerProfile> profiles = new LinkedHashMap<>();
+        for (String customerId : request.getCustomerIds()) {
+            profiles.put(customerId, profile(customerId));
+        }
+        return BatchGetCustomerProfilesResponse.builder()
+                .withCustomerProfiles(profiles)
+                .build();
+    }
+
+    @Override
+    public GetCustomerSpendCategoriesResponse getCustomerSpendCategories(GetCustomerSpendCategoriesRequest request) {
+        FakeServices.sleep(latencyMillis);
+        int hash = FakeServices.mix(request.getCustomerId() + request.getMarketplaceId());
+        Map<String, Spend> spendCategories = new HashMap<>();
+        int categories = Math.floorMod(hash, MAXIMUM_SPEND_CATEGORIES + 1);
+        for (int i = 0; i < categories; i++) {
+            hash = FakeServices.mix(Integer.toString(hash));
+            spendCategories.put(CATEGORIES[Math.floorMod(hash, CATEGORIES.length)], Spend.builder()
+                    .withNumberOfPurchases(1 + Math.floorMod(hash >>> 8, 20))
+                    .withUsdSpent(Math.floorMod(hash >>> 16, 500))
+                    .build());
+        }
+        return GetCustomerSpendCategoriesResponse.builder()
+                .withCustomerSpendCategories(CustomerSpendCategories.builder()
+                        .withSpendCategories(spendCategories)
+                        .build())
+                .build();
+    }
+
+    private CustomerProfile profile(String customerId) {
+        int hash = FakeServices.mix(customerId);
+        return CustomerProfile.builder()
+                .withAgeRange(AGE_RANGES[Math.floorMod(hash, AGE_RANGES.length)])
+                .withHomeState(STATES[Math.floorMod(hash >>> 8, STATES.length)])
+                .withParent((hash & 1 << 16) != 0)
+                .build();
+    }
+}
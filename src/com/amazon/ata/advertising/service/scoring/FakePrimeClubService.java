@@ -0,0 +1,64 @@
+package com.amazon.ata.advertising.service.scoring;
+
+import com.amazon.ata.primeclubservice.BatchGetPrimeBenefitsRequest;
+import com.amazon.ata.primeclubservice.BatchGetPrimeBenefitsResponse;
+import com.amazon.ata.primeclubservice.Benefit;
+import com.amazon.ata.primeclubservice.GetPrimeBenefitsRequest;
+import com.amazon.ata.primeclubservice.GetPrimeBenefitsResponse;
+import com.amazon.ata.primeclubservice.PrimeBenefit;
+import com.amazon.ataprimeclubservicelambda.service.ATAPrimeClubService;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A stand-in for ATAPrimeClubService that makes up prime benefits for any customer, so audiences can be scored without
+ * calling the service. The same customer always gets the same benefits. An optional delay simulates the latency of a
+ * remote call.
+ */
+public class FakePrimeClubService extends ATAPrimeClubService {
+    private static final String[] BENEFITS = Benefit.values();
+
+    private final long latencyMillis;
+
+    /**
+     * Creates a FakePrimeClubService.
+     * @param latencyMillis How long each call waits before responding.
+     */
+    public FakePrimeClubService(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    public GetPrimeBenefitsResponse getPrimeBenefits(GetPrimeBenefitsRequest request) {
+        FakeServices.sleep(latencyMillis);
+        return GetPrimeBenefitsResponse.builder()
+                .withPrimeBenefits(benefits(request.getCustomerId(), request.getMarketplaceId()))
+                .build();
+    }
+
+    @Override
+    public BatchGetPrimeBenefitsResponse batchGetPrimeBenefits(BatchGetPrimeBenefitsRequest request) {
+        FakeServices.sleep(latencyMillis);
+        Map<String, List<PrimeBenefit>> benefits = new LinkedHashMap<>();
+        for (String customerId : request.getCustomerIds()) {
+            benefits.put(customerId, benefits(customerId, request.getMarketplaceId()));
+        }
+        return BatchGetPrimeBenefitsResponse.builder()
+                .withPrimeBenefits(benefits)
+                .build();
+    }
+
+    private List<PrimeBenefit> benefits(String customerId, String marketplaceId) {
+        int hash = FakeServices.mix(customerId + marketplaceId);
+        List<PrimeBenefit> benefits = new ArrayList<>();
+        for (int i = 0; i < BENEFITS.length; i++) {
+            if ((hash & 1 << i) != 0) {
+                benefits.add(PrimeBenefit.builder().withBenefitType(BENEFITS[i]).build());
+            }
+        }
+        return benefits;
+    }
+}
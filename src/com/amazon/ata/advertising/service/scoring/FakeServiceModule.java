@@ -0,0 +1,39 @@
+package com.amazon.ata.advertising.service.scoring;
+
+import com.amazon.atacustomerservicelambda.service.ATACustomerService;
+import com.amazon.ataprimeclubservicelambda.service.ATAPrimeClubService;
+
+import dagger.Module;
+import dagger.Provides;
+
+import javax.inject.Singleton;
+
+/**
+ * Wires the fake customer and prime club services in place of ExternalServiceModule, so the scoring job can run
+ * locally. The latency of each fake call can be configured with the system property
+ * ata.advertising.scoring.fakeServiceLatencyMillis.
+ */
+@Module
+public class FakeServiceModule {
+    private static final String FAKE_SERVICE_LATENCY_MILLIS = "ata.advertising.scoring.fakeServiceLatencyMillis";
+
+    /**
+     * Provides a fake ATACustomerService.
+     * @return Client for ATACustomer
+     */
+    @Provides
+    @Singleton
+    public ATACustomerService provideCustomerService() {
+        return new FakeCustomerService(Long.getLong(FAKE_SERVICE_LATENCY_MILLIS, 0));
+    }
+
+    /**
+     * Provides a fake ATAPrimeClubService.
+     * @return Client for ATAPrimeClubService
+     */
+    @Provides
+    @Singleton
+    public ATAPrimeClubService providePrimeClubService() {
+        return new FakePrimeClubService(Long.getLong(FAKE_SERVICE_LATENCY_MILLIS, 0));
+    }
+}
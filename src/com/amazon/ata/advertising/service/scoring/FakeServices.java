@@ -0,0 +1,37 @@
+package com.amazon.ata.advertising.service.scoring;
+
+/**
+ * Helpers shared by the fake services.
+ */
+final class FakeServices {
+    private FakeServices() {}
+
+    /**
+     * Waits to simulate a remote call.
+     * @param millis How long to wait. Nothing happens if it isn't positive.
+     */
+    static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A well spread hash of a key, so made up data doesn't follow the order of customer IDs.
+     * @param key The key to hash.
+     * @return the hash
+     */
+    static int mix(String key) {
+        int hash = key == null ? 0 : key.hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        return hash ^ hash >>> 16;
+    }
+}
@@ -0,0 +1,25 @@
+package com.amazon.ata.advertising.service.scoring;
+
+import com.amazon.ata.advertising.service.dependency.CatalogModule;
+import com.amazon.ata.advertising.service.dependency.DaoModule;
+import com.amazon.ata.advertising.service.dependency.DynamoDBModule;
+import com.amazon.ata.advertising.service.dependency.ExecutorModule;
+
+import dagger.Component;
+
+import javax.inject.Singleton;
+
+/**
+ * Wires the scoring job like the Lambda, except customer and prime data come from the fake services.
+ */
+@Singleton
+@Component(modules = {
+        FakeServiceModule.class,
+        DaoModule.class,
+        DynamoDBModule.class,
+        ExecutorModule.class,
+        CatalogModule.class
+})
+public interface ScoringComponent {
+    AudienceScoringJob provideAudienceScoringJob();
+}
@@ -0,0 +1,98 @@
+package com.amazon.ata.advertising.service.scoring;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress and throughput of an AudienceScoringJob run. Safe to update from every scoring thread at once.
+ */
+public final class ScoringMetrics {
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong read = new AtomicLong();
+    private final AtomicLong scored = new AtomicLong();
+    private final AtomicLong matched = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile long endNanos;
+
+    void recordRead() {
+        read.incrementAndGet();
+    }
+
+    /**
+     * Records a scored batch.
+     * @return the number of customers scored so far, including this batch
+     */
+    long recordScored(int customers, int customersMatched) {
+        matched.addAndGet(customersMatched);
+        return scored.addAndGet(customers);
+    }
+
+    /**
+     * Records a batch that couldn't be scored.
+     * @return the number of customers scored so far, including this batch
+     */
+    long recordFailed(int customers) {
+        failed.addAndGet(customers);
+        return scored.addAndGet(customers);
+    }
+
+    void finish() {
+        endNanos = System.nanoTime();
+    }
+
+    /**
+     * Customer IDs read from the input so far.
+     * @return customers read
+     */
+    public long getRead() {
+        return read.get();
+    }
+
+    /**
+     * Customers whose batch has finished, whether or not it succeeded.
+     * @return customers scored
+     */
+    public long getScored() {
+        return scored.get();
+    }
+
+    /**
+     * Customers an ad was found for.
+     * @return customers matched
+     */
+    public long getMatched() {
+        return matched.get();
+    }
+
+    /**
+     * Customers whose batch failed. They are written to the output without an ad.
+     * @return customers failed
+     */
+    public long getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * Time since the run started, or the length of the run once it has finished.
+     * @return elapsed milliseconds
+     */
+    public long getElapsedMillis() {
+        long end = endNanos == 0 ? System.nanoTime() : endNanos;
+        return TimeUnit.NANOSECONDS.toMillis(end - startNanos);
+    }
+
+    /**
+     * Customers scored per second over the run so far.
+     * @return throughput
+     */
+    public double getCustomersPerSecond() {
+        long elapsedMillis = getElapsedMillis();
+        return elapsedMillis == 0 ? 0 : getScored() * 1000.0 / elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("read=%d scored=%d matched=%d failed=%d elapsedMillis=%d customersPerSecond=%.1f",
+                getRead(), getScored(), getMatched(), getFailed(), getElapsedMillis(), getCustomersPerSecond());
+    }
+}
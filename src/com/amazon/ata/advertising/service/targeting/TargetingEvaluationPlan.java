@@ -0,0 +1,76 @@
+package com.amazon.ata.advertising.service.targeting;
+
+import com.amazon.ata.advertising.service.dao.CustomerDataSource;
+import com.amazon.ata.advertising.service.targeting.predicate.TargetingPredicate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The order to evaluate a TargetingGroup's predicates in. Predicates that only need the request context are
+ * evaluated first, on the calling thread. The remaining predicates are split into one stage per customer data source,
+ * so predicates reading the same data are evaluated together, and the stages are evaluated in parallel.
+ */
+public final class TargetingEvaluationPlan {
+    private final List<TargetingPredicate> localPredicates;
+    private final List<List<TargetingPredicate>> remoteStages;
+
+    private TargetingEvaluationPlan(List<TargetingPredicate> localPredicates,
+                                    List<List<TargetingPredicate>> remoteStages) {
+        this.localPredicates = localPredicates;
+        this.remoteStages = remoteStages;
+    }
+
+    /**
+     * Compiles the plan for a targeting group.
+     * @param targetingGroup The targeting group to evaluate.
+     * @return The group's evaluation plan.
+     */
+    public static TargetingEvaluationPlan compile(TargetingGroup targetingGroup) {
+        return compile(targetingGroup.getTargetingPredicates() == null ?
+                Collections.emptyList() : targetingGroup.getTargetingPredicates());
+    }
+
+    /**
+     * Compiles the plan for a list of predicates that must all be TRUE.
+     * @param predicates The predicates to evaluate.
+     * @return The predicates' evaluation plan.
+     */
+    public static TargetingEvaluationPlan compile(List<TargetingPredicate> predicates) {
+        List<TargetingPredicate> localPredicates = new ArrayList<>();
+        Map<CustomerDataSource, List<TargetingPredicate>> stages = new EnumMap<>(CustomerDataSource.class);
+
+        for (TargetingPredicate predicate : predicates) {
+            CustomerDataSource dataSource = predicate.getRequiredCustomerData();
+            if (dataSource == null || dataSource == CustomerDataSource.NONE) {
+                localPredicates.add(predicate);
+            } else {
+                stages.computeIfAbsent(dataSource, source -> new ArrayList<>()).add(predicate);
+            }
+        }
+
+        List<List<TargetingPredicate>> remoteStages = new ArrayList<>();
+        stages.values().forEach(stage -> remoteStages.add(Collections.unmodifiableList(stage)));
+        return new TargetingEvaluationPlan(Collections.unmodifiableList(localPredicates),
+                Collections.unmodifiableList(remoteStages));
+    }
+
+    /**
+     * Predicates that can be evaluated from the request context alone.
+     * @return the local predicates, in the group's order.
+     */
+    public List<TargetingPredicate> getLocalPredicates() {
+        return localPredicates;
+    }
+
+    /**
+     * Predicates that read customer data, with one stage per data source.
+     * @return the remote stages.
+     */
+    public List<List<TargetingPredicate>> getRemoteStages() {
+        return remoteStages;
+    }
+}
@@ -3,27 +3,45 @@ package com.amazon.ata.advertising.service.targeting;
 import com.amazon.ata.advertising.service.model.RequestContext;
 import com.amazon.ata.advertising.service.targeting.predicate.TargetingPredicate;
 import com.amazon.ata.advertising.service.targeting.predicate.TargetingPredicateResult;
-import org.apache.logging.log4j.core.util.ExecutorServices;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
-import java.math.BigDecimal;
 import java.util.List;
-import java.util.concurrent.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
- * Evaluates TargetingPredicates for a given RequestContext.
+ * Evaluates TargetingPredicates for a given RequestContext. Results are remembered for the lifetime of the evaluator,
+ * so a predicate that is repeated across targeting groups is only evaluated once per request.
  */
 public class TargetingEvaluator {
     public static final boolean IMPLEMENTED_STREAMS = true;
     public static final boolean IMPLEMENTED_CONCURRENCY = true;
+    private static final Logger LOG = LogManager.getLogger(TargetingEvaluator.class);
+    private static final long PREDICATE_TIMEOUT_MILLIS = 1000;
+
     private final RequestContext requestContext;
+    private final ExecutorService executorService;
+    private final ConcurrentMap<TargetingPredicate, CompletableFuture<TargetingPredicateResult>> results =
+            new ConcurrentHashMap<>();
 
     /**
      * Creates an evaluator for targeting predicates.
      * @param requestContext Context that can be used to evaluate the predicates.
+     * @param executorService Shared executor the predicates are evaluated on.
      */
-    public TargetingEvaluator(RequestContext requestContext) {
+    public TargetingEvaluator(RequestContext requestContext, ExecutorService executorService) {
         this.requestContext = requestContext;
+        this.executorService = executorService;
     }
 
     /**
@@ -33,25 +51,132 @@ public class TargetingEvaluator {
      * @return TRUE if all of the TargetingPredicates evaluate to TRUE against the RequestContext, FALSE otherwise.
      */
     public TargetingPredicateResult evaluate(TargetingGroup targetingGroup) {
-        ExecutorService executorService = Executors.newCachedThreadPool();
+        return evaluate(TargetingEvaluationPlan.compile(targetingGroup));
+    }
+
+    /**
+     * Evaluate a compiled TargetingGroup. Local predicates are evaluated first on the calling thread, then each
+     * customer data stage is evaluated in parallel. Evaluation stops at the first predicate that is not TRUE, and any
+     * stage still running is cancelled. Customer data stages are not started once the request's deadline has passed,
+     * and are given up on when it passes, leaving the group FALSE.
+     * @param plan The compiled targeting group.
+     * @return TRUE if all of the TargetingPredicates evaluate to TRUE against the RequestContext, FALSE otherwise.
+     */
+    public TargetingPredicateResult evaluate(TargetingEvaluationPlan plan) {
+        if (!evaluateAll(plan.getLocalPredicates()).isTrue()) {
+            return TargetingPredicateResult.FALSE;
+        }
+        if (plan.getRemoteStages().isEmpty()) {
+            return TargetingPredicateResult.TRUE;
+        }
+        if (requestContext.getDeadline().isExpired()) {
+            return TargetingPredicateResult.FALSE;
+        }
 
-        List<Future<TargetingPredicateResult>> targetingPredicateResultFutures =targetingGroup.getTargetingPredicates()
+        CompletionService<TargetingPredicateResult> completionService =
+                new ExecutorCompletionService<>(executorService);
+        List<Future<TargetingPredicateResult>> stages = plan.getRemoteStages()
                 .stream()
-                .map(targetingPredicate -> executorService.submit(()->targetingPredicate.evaluate(requestContext)))
+                .map(stage -> completionService.submit(() -> evaluateAll(stage)))
                 .collect(Collectors.toList());
-        executorService.shutdown();
+        try {
+            return awaitAllTrue(completionService, stages.size());
+        } finally {
+            stages.forEach(stage -> stage.cancel(true));
+        }
+    }
 
-        return targetingPredicateResultFutures
-                .stream()
-                .map(targetingPredicateResultFuture -> {
-                    try {
-                        return targetingPredicateResultFuture.get(1000, TimeUnit.MILLISECONDS);
-                    } catch (InterruptedException | TimeoutException | ExecutionException e) {
-                        e.printStackTrace();
-                        return TargetingPredicateResult.FALSE;
-                    }
-                })
-                .allMatch(TargetingPredicateResult::isTrue)? TargetingPredicateResult.TRUE :
-                                   TargetingPredicateResult.FALSE;
+    private TargetingPredicateResult evaluateAll(List<TargetingPredicate> predicates) {
+        try {
+            for (TargetingPredicate predicate : predicates) {
+                TargetingPredicateResult result = evaluate(predicate);
+                if (result == null || !result.isTrue()) {
+                    return TargetingPredicateResult.FALSE;
+                }
+            }
+            return TargetingPredicateResult.TRUE;
+        } catch (RuntimeException e) {
+            LOG.warn("Unable to evaluate targeting predicate, treating it as FALSE.", e);
+            return TargetingPredicateResult.FALSE;
+        }
+    }
+
+    /**
+     * Evaluates a predicate, or waits for the result of an equal predicate already evaluated for this request. The
+     * first caller evaluates it on its own thread; concurrent callers share that result. If the first caller's stage
+     * was cancelled while it evaluated, its result is not remembered and the callers waiting on it evaluate again.
+     */
+    private TargetingPredicateResult evaluate(TargetingPredicate predicate) {
+        while (true) {
+            CompletableFuture<TargetingPredicateResult> result = new CompletableFuture<>();
+            CompletableFuture<TargetingPredicateResult> existing = results.putIfAbsent(predicate, result);
+            if (existing == null) {
+                return evaluateAndRemember(predicate, result);
+            }
+            try {
+                return existing.join();
+            } catch (CancellationException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private TargetingPredicateResult evaluateAndRemember(TargetingPredicate predicate,
+                                                         CompletableFuture<TargetingPredicateResult> result) {
+        TargetingPredicateResult evaluated;
+        try {
+            evaluated = predicate.evaluate(requestContext);
+        } catch (Throwable e) {
+            if (wasCancelled(e)) {
+                forget(predicate, result);
+            } else {
+                result.completeExceptionally(e);
+            }
+            throw e;
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            forget(predicate, result);
+        } else {
+            result.complete(evaluated);
+        }
+        return evaluated;
+    }
+
+    private void forget(TargetingPredicate predicate, CompletableFuture<TargetingPredicateResult> result) {
+        results.remove(predicate, result);
+        result.cancel(false);
+    }
+
+    private static boolean wasCancelled(Throwable e) {
+        return Thread.currentThread().isInterrupted() || e instanceof CancellationException ||
+                e.getCause() instanceof CancellationException || e.getCause() instanceof InterruptedException;
+    }
+
+    private TargetingPredicateResult awaitAllTrue(CompletionService<TargetingPredicateResult> completionService,
+                                                  int stageCount) {
+        long timeoutMillis = Math.min(PREDICATE_TIMEOUT_MILLIS, requestContext.getDeadline().remainingMillis());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        try {
+            for (int i = 0; i < stageCount; i++) {
+                Future<TargetingPredicateResult> stage =
+                        completionService.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (stage == null) {
+                    LOG.warn("Timed out evaluating targeting predicates, treating them as FALSE.");
+                    return TargetingPredicateResult.FALSE;
+                }
+                if (!stage.get().isTrue()) {
+                    return TargetingPredicateResult.FALSE;
+                }
+            }
+            return TargetingPredicateResult.TRUE;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return TargetingPredicateResult.FALSE;
+        } catch (ExecutionException e) {
+            LOG.warn("Unable to evaluate targeting predicate, treating it as FALSE.", e);
+            return TargetingPredicateResult.FALSE;
+        }
     }
 }
@@ -0,0 +1,506 @@
+package com.amazon.ata.advertising.service.targeting;
+
+import com.amazon.ata.advertising.service.dao.CustomerDataLoader;
+import com.amazon.ata.advertising.service.dao.CustomerDataSource;
+import com.amazon.ata.advertising.service.exceptions.DownstreamUnavailableException;
+import com.amazon.ata.advertising.service.model.CustomerSpendVector;
+import com.amazon.ata.advertising.service.model.Deadline;
+import com.amazon.ata.advertising.service.model.RequestContext;
+import com.amazon.ata.advertising.service.targeting.predicate.AgeTargetingPredicate;
+import com.amazon.ata.advertising.service.targeting.predicate.CategorySpendFrequencyTargetingPredicate;
+import com.amazon.ata.advertising.service.targeting.predicate.CategorySpendValueTargetingPredicate;
+import com.amazon.ata.advertising.service.targeting.predicate.ParentPredicate;
+import com.amazon.ata.advertising.service.targeting.predicate.PrimeBenefitTargetingPredicate;
+import com.amazon.ata.advertising.service.targeting.predicate.RecognizedTargetingPredicate;
+import com.amazon.ata.advertising.service.targeting.predicate.TargetingPredicate;
+import com.amazon.ata.customerservice.AgeRange;
+import com.amazon.ata.customerservice.CustomerProfile;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Matches a customer against every targeting group in a marketplace at once. Each kind of predicate the index
+ * understands is a dimension: recognition, age range, parent, each prime benefit, and the purchases and spend in each
+ * category. For every value a customer can have in a dimension, the index keeps a bitset of the groups whose
+ * predicates in that dimension are all TRUE for that value. Spend thresholds are split into the ranges between and at
+ * the thresholds predicates use. Matching a customer is one bitset AND per dimension.
+ *
+ * Predicates the index can't represent, such as unknown predicate types, are left as residual predicates on their
+ * group and evaluated with a TargetingEvaluator, only for groups that matched every indexed dimension.
+ *
+ * Groups keep the order they were indexed in, so bit i is the i-th group passed to build.
+ */
+public final class TargetingIndex {
+    private static final Logger LOG = LogManager.getLogger(TargetingIndex.class);
+    private static final long CUSTOMER_DATA_TIMEOUT_MILLIS = 1000;
+
+    private final int size;
+    private final List<Dimension> dimensions;
+    private final TargetingEvaluationPlan[] residualPlans;
+    private final Set<CustomerDataSource> requiredCustomerData;
+
+    private TargetingIndex(int size, List<Dimension> dimensions, TargetingEvaluationPlan[] residualPlans) {
+        this.size = size;
+        this.dimensions = dimensions;
+        this.residualPlans = residualPlans;
+        Set<CustomerDataSource> dataSources = EnumSet.noneOf(CustomerDataSource.class);
+        dimensions.forEach(dimension -> dataSources.add(dimension.getRequiredCustomerData()));
+        dataSources.remove(CustomerDataSource.NONE);
+        this.requiredCustomerData = Collections.unmodifiableSet(dataSources);
+    }
+
+    /**
+     * Indexes targeting groups.
+     * @param targetingGroups The groups to index, in the order matches should be considered.
+     * @return The index.
+     */
+    public static TargetingIndex build(List<TargetingGroup> targetingGroups) {
+        Map<String, Dimension> dimensions = new LinkedHashMap<>();
+        TargetingEvaluationPlan[] residualPlans = new TargetingEvaluationPlan[targetingGroups.size()];
+
+        for (int group = 0; group < targetingGroups.size(); group++) {
+            List<TargetingPredicate> predicates = targetingGroups.get(group).getTargetingPredicates();
+            List<TargetingPredicate> residual = new ArrayList<>();
+            for (TargetingPredicate predicate : predicates == null ?
+                    Collections.<TargetingPredicate>emptyList() : predicates) {
+                Dimension dimension = dimensionFor(predicate, dimensions);
+                if (dimension == null) {
+                    residual.add(predicate);
+                } else {
+                    dimension.add(group, predicate);
+                }
+            }
+            if (!residual.isEmpty()) {
+                residualPlans[group] = TargetingEvaluationPlan.compile(residual);
+            }
+        }
+
+        dimensions.values().forEach(dimension -> dimension.index(targetingGroups.size()));
+        return new TargetingIndex(targetingGroups.size(), new ArrayList<>(dimensions.values()), residualPlans);
+    }
+
+    /**
+     * The customer data the indexed predicates read.
+     * @return customer data sources
+     */
+    public Set<CustomerDataSource> getRequiredCustomerData() {
+        return requiredCustomerData;
+    }
+
+    /**
+     * Finds the groups whose indexed predicates are all TRUE for the customer in the request. Groups with residual
+     * predicates still need those evaluated.
+     * @param requestContext The request to match.
+     * @param customerDataLoader Loads the customer data the indexed predicates read.
+     * @return Bits set for each group that matches every indexed dimension.
+     */
+    public BitSet match(RequestContext requestContext, CustomerDataLoader customerDataLoader) {
+        Signals signals = new Signals(requestContext.isRecognizedCustomer());
+        if (signals.recognized) {
+            if (requiredCustomerData.contains(CustomerDataSource.CUSTOMER_PROFILE)) {
+                signals.profile = await(customerDataLoader.loadCustomerProfile(requestContext),
+                        requestContext.getDeadline());
+            }
+            if (requiredCustomerData.contains(CustomerDataSource.CUSTOMER_SPEND)) {
+                signals.spend = await(customerDataLoader.loadCustomerSpend(requestContext),
+                        requestContext.getDeadline());
+            }
+            if (requiredCustomerData.contains(CustomerDataSource.PRIME_BENEFITS)) {
+                signals.primeBenefits = await(customerDataLoader.loadPrimeBenefits(requestContext),
+                        requestContext.getDeadline());
+            }
+        }
+
+        BitSet matches = new BitSet(size);
+        matches.set(0, size);
+        for (Dimension dimension : dimensions) {
+            matches.and(dimension.allowed(signals));
+        }
+        return matches;
+    }
+
+    /**
+     * Finds the first group that matches the customer, evaluating residual predicates only for groups that matched
+     * every indexed dimension, in order, until one is TRUE.
+     * @param requestContext The request to match.
+     * @param customerDataLoader Loads the customer data the indexed predicates read.
+     * @param targetingEvaluator Evaluates residual predicates for the request.
+     * @return The index of the first matching group, or -1 if no group matches.
+     */
+    public int firstMatch(RequestContext requestContext, CustomerDataLoader customerDataLoader,
+                          TargetingEvaluator targetingEvaluator) {
+        return nextMatch(match(requestContext, customerDataLoader), 0, targetingEvaluator);
+    }
+
+    /**
+     * Finds the next group at or after fromIndex that matches the customer, evaluating residual predicates only for
+     * groups set in matches.
+     * @param matches The groups that matched every indexed dimension, from match.
+     * @param fromIndex The first group to consider.
+     * @param targetingEvaluator Evaluates residual predicates for the request matches was built for.
+     * @return The index of the next matching group, or -1 if no later group matches.
+     */
+    public int nextMatch(BitSet matches, int fromIndex, TargetingEvaluator targetingEvaluator) {
+        for (int group = matches.nextSetBit(fromIndex); group >= 0; group = matches.nextSetBit(group + 1)) {
+            if (residualPlans[group] == null || targetingEvaluator.evaluate(residualPlans[group]).isTrue()) {
+                return group;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Waits for customer data, but no longer than CUSTOMER_DATA_TIMEOUT_MILLIS or the request's deadline. Once the
+     * deadline has passed only data that has already loaded is used.
+     */
+    private static <T> T await(CompletableFuture<T> future, Deadline deadline) {
+        if (deadline.isExpired() && !future.isDone()) {
+            LOG.warn("Request deadline passed before customer data loaded, treating predicates that read it as FALSE.");
+            return null;
+        }
+        try {
+            return future.get(Math.min(CUSTOMER_DATA_TIMEOUT_MILLIS, deadline.remainingMillis()),
+                    TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DownstreamUnavailableException) {
+                LOG.debug("Customer data unavailable, treating predicates that read it as FALSE: {}",
+                        e.getCause().getMessage());
+            } else {
+                LOG.warn("Unable to load customer data, treating predicates that read it as FALSE.", e);
+            }
+            return null;
+        } catch (TimeoutException e) {
+            LOG.warn("Unable to load customer data, treating predicates that read it as FALSE.", e);
+            return null;
+        }
+    }
+
+    /**
+     * The dimension a predicate is indexed in, or null if it has to be evaluated as a residual predicate. Only the
+     * exact predicate classes are indexed, since a subclass could evaluate differently.
+     */
+    private static Dimension dimensionFor(TargetingPredicate predicate, Map<String, Dimension> dimensions) {
+        Class<?> type = predicate.getClass();
+        if (type == RecognizedTargetingPredicate.class) {
+            return dimensions.computeIfAbsent("recognized", key -> new RecognizedDimension());
+        }
+        if (type == AgeTargetingPredicate.class) {
+            String ageRange = ((AgeTargetingPredicate) predicate).getTargetedAgeRange();
+            return AgeDimension.indexOf(ageRange) < 0 ? null :
+                    dimensions.computeIfAbsent("age", key -> new AgeDimension());
+        }
+        if (type == ParentPredicate.class) {
+            return dimensions.computeIfAbsent("parent", key -> new ParentDimension());
+        }
+        if (type == PrimeBenefitTargetingPredicate.class) {
+            String benefit = ((PrimeBenefitTargetingPredicate) predicate).getBenefitToHave();
+            return benefit == null ? null :
+                    dimensions.computeIfAbsent("prime:" + benefit, key -> new PrimeBenefitDimension(benefit));
+        }
+        if (type == CategorySpendFrequencyTargetingPredicate.class) {
+            CategorySpendFrequencyTargetingPredicate frequency = (CategorySpendFrequencyTargetingPredicate) predicate;
+            int category = CustomerSpendVector.categoryIndex(frequency.getTargetedCategory());
+            return category < 0 || frequency.getComparison() == null ? null :
+                    dimensions.computeIfAbsent("purchases:" + category, key -> new SpendDimension(category, false));
+        }
+        if (type == CategorySpendValueTargetingPredicate.class) {
+            CategorySpendValueTargetingPredicate value = (CategorySpendValueTargetingPredicate) predicate;
+            int category = CustomerSpendVector.categoryIndex(value.getTargetedCategory());
+            return category < 0 || value.getComparison() == null ? null :
+                    dimensions.computeIfAbsent("cents:" + category, key -> new SpendDimension(category, true));
+        }
+        return null;
+    }
+
+    /**
+     * The customer data a request is matched with. Null data could not be loaded.
+     */
+    private static final class Signals {
+        private final boolean recognized;
+        private CustomerProfile profile;
+        private CustomerSpendVector spend;
+        private List<String> primeBenefits;
+
+        private Signals(boolean recognized) {
+            this.recognized = recognized;
+        }
+    }
+
+    /**
+     * One kind of predicate. Every dimension's last value is UNKNOWN, used when the customer isn't recognized or the
+     * data couldn't be loaded; predicates evaluate to INDETERMINATE or fail then, so no group with a predicate in the
+     * dimension is allowed.
+     */
+    private abstract static class Dimension {
+        private final List<Integer> groups = new ArrayList<>();
+        private final List<TargetingPredicate> predicates = new ArrayList<>();
+        private BitSet[] allowed;
+
+        void add(int group, TargetingPredicate predicate) {
+            groups.add(group);
+            predicates.add(predicate);
+        }
+
+        void index(int size) {
+            prepare(predicates);
+            allowed = new BitSet[valueCount()];
+            for (int value = 0; value < allowed.length; value++) {
+                allowed[value] = new BitSet(size);
+                allowed[value].set(0, size);
+            }
+            for (int i = 0; i < predicates.size(); i++) {
+                TargetingPredicate predicate = predicates.get(i);
+                for (int value = 0; value < allowed.length; value++) {
+                    if (!passes(predicate, value)) {
+                        allowed[value].clear(groups.get(i));
+                    }
+                }
+            }
+        }
+
+        BitSet allowed(Signals signals) {
+            return allowed[valueOf(signals)];
+        }
+
+        void prepare(List<TargetingPredicate> indexedPredicates) {}
+
+        abstract CustomerDataSource getRequiredCustomerData();
+
+        abstract int valueCount();
+
+        abstract boolean passes(TargetingPredicate predicate, int value);
+
+        abstract int valueOf(Signals signals);
+    }
+
+    /**
+     * RECOGNIZED or UNRECOGNIZED.
+     */
+    private static final class RecognizedDimension extends Dimension {
+        private static final int RECOGNIZED = 0;
+
+        @Override
+        CustomerDataSource getRequiredCustomerData() {
+            return CustomerDataSource.NONE;
+        }
+
+        @Override
+        int valueCount() {
+            return 2;
+        }
+
+        @Override
+        boolean passes(TargetingPredicate predicate, int value) {
+            return (value == RECOGNIZED) != predicate.isInverse();
+        }
+
+        @Override
+        int valueOf(Signals signals) {
+            return signals.recognized ? RECOGNIZED : 1;
+        }
+    }
+
+    /**
+     * Each AgeRange, OTHER for an age range that isn't one of them, then UNKNOWN.
+     */
+    private static final class AgeDimension extends Dimension {
+        private static final String[] AGE_RANGES = AgeRange.values();
+        private static final int OTHER = AGE_RANGES.length;
+        private static final int UNKNOWN = OTHER + 1;
+
+        static int indexOf(String ageRange) {
+            for (int i = 0; ageRange != null && i < AGE_RANGES.length; i++) {
+                if (AGE_RANGES[i].equalsIgnoreCase(ageRange)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        CustomerDataSource getRequiredCustomerData() {
+            return CustomerDataSource.CUSTOMER_PROFILE;
+        }
+
+        @Override
+        int valueCount() {
+            return UNKNOWN + 1;
+        }
+
+        @Override
+        boolean passes(TargetingPredicate predicate, int value) {
+            if (value == UNKNOWN) {
+                return false;
+            }
+            boolean matches = value == indexOf(((AgeTargetingPredicate) predicate).getTargetedAgeRange());
+            return matches != predicate.isInverse();
+        }
+
+        @Override
+        int valueOf(Signals signals) {
+            if (!signals.recognized || signals.profile == null) {
+                return UNKNOWN;
+            }
+            int index = indexOf(signals.profile.getAgeRange());
+            return index < 0 ? OTHER : index;
+        }
+    }
+
+    /**
+     * PARENT, NOT_PARENT, then UNKNOWN, which includes customers the customer service doesn't know about.
+     */
+    private static final class ParentDimension extends Dimension {
+        private static final int PARENT = 0;
+        private static final int NOT_PARENT = 1;
+        private static final int UNKNOWN = 2;
+
+        @Override
+        CustomerDataSource getRequiredCustomerData() {
+            return CustomerDataSource.CUSTOMER_PROFILE;
+        }
+
+        @Override
+        int valueCount() {
+            return UNKNOWN + 1;
+        }
+
+        @Override
+        boolean passes(TargetingPredicate predicate, int value) {
+            return value != UNKNOWN && (value == PARENT) != predicate.isInverse();
+        }
+
+        @Override
+        int valueOf(Signals signals) {
+            if (!signals.recognized || signals.profile == null || signals.profile.isParent() == null) {
+                return UNKNOWN;
+            }
+            return signals.profile.isParent() ? PARENT : NOT_PARENT;
+        }
+    }
+
+    /**
+     * HAS or HAS_NOT a single prime benefit, then UNKNOWN.
+     */
+    private static final class PrimeBenefitDimension extends Dimension {
+        private static final int HAS = 0;
+        private static final int HAS_NOT = 1;
+        private static final int UNKNOWN = 2;
+
+        private final String benefit;
+
+        private PrimeBenefitDimension(String benefit) {
+            this.benefit = benefit;
+        }
+
+        @Override
+        CustomerDataSource getRequiredCustomerData() {
+            return CustomerDataSource.PRIME_BENEFITS;
+        }
+
+        @Override
+        int valueCount() {
+            return UNKNOWN + 1;
+        }
+
+        @Override
+        boolean passes(TargetingPredicate predicate, int value) {
+            return value != UNKNOWN && (value == HAS) != predicate.isInverse();
+        }
+
+        @Override
+        int valueOf(Signals signals) {
+            if (!signals.recognized || signals.primeBenefits == null) {
+                return UNKNOWN;
+            }
+            return signals.primeBenefits.contains(benefit) ? HAS : HAS_NOT;
+        }
+    }
+
+    /**
+     * The purchases or cents spent in one category. With the distinct thresholds t0 < t1 < ... < tk-1 the predicates
+     * compare against, value 2j is the range below tj and above tj-1, value 2j+1 is exactly tj, value 2k is above
+     * tk-1, then UNKNOWN.
+     */
+    private static final class SpendDimension extends Dimension {
+        private final int category;
+        private final boolean cents;
+        private long[] thresholds;
+
+        private SpendDimension(int category, boolean cents) {
+            this.category = category;
+            this.cents = cents;
+        }
+
+        @Override
+        void prepare(List<TargetingPredicate> indexedPredicates) {
+            TreeSet<Long> distinct = new TreeSet<>();
+            indexedPredicates.forEach(predicate -> distinct.add(threshold(predicate)));
+            thresholds = distinct.stream().mapToLong(Long::longValue).toArray();
+        }
+
+        @Override
+        CustomerDataSource getRequiredCustomerData() {
+            return CustomerDataSource.CUSTOMER_SPEND;
+        }
+
+        @Override
+        int valueCount() {
+            return 2 * thresholds.length + 2;
+        }
+
+        @Override
+        boolean passes(TargetingPredicate predicate, int value) {
+            if (value == valueCount() - 1) {
+                return false;
+            }
+            int threshold = Arrays.binarySearch(thresholds, threshold(predicate));
+            int range = value / 2;
+            int sign;
+            if (value % 2 == 1) {
+                sign = Integer.compare(range, threshold);
+            } else {
+                sign = range <= threshold ? -1 : 1;
+            }
+            return comparison(predicate).compare(sign, 0) != predicate.isInverse();
+        }
+
+        @Override
+        int valueOf(Signals signals) {
+            if (!signals.recognized || signals.spend == null) {
+                return valueCount() - 1;
+            }
+            long spend = cents ? signals.spend.getCentsSpent(category) : signals.spend.getNumberOfPurchases(category);
+            int found = Arrays.binarySearch(thresholds, spend);
+            return found >= 0 ? 2 * found + 1 : 2 * (-found - 1);
+        }
+
+        private long threshold(TargetingPredicate predicate) {
+            return cents ? ((CategorySpendValueTargetingPredicate) predicate).getTargetedValue() * 100L :
+                    ((CategorySpendFrequencyTargetingPredicate) predicate).getTargetedNumberOfPurchases();
+        }
+
+        private Comparison comparison(TargetingPredicate predicate) {
+            return cents ? ((CategorySpendValueTargetingPredicate) predicate).getComparison() :
+                    ((CategorySpendFrequencyTargetingPredicate) predicate).getComparison();
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package com.amazon.ata.advertising.service.targeting.predicate;
 
-import com.amazon.ata.advertising.service.dao.ReadableDao;
+import com.amazon.ata.advertising.service.dao.CustomerDataLoader;
+import com.amazon.ata.advertising.service.dao.CustomerDataSource;
 import com.amazon.ata.advertising.service.model.RequestContext;
 import com.amazon.ata.customerservice.CustomerProfile;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.commons.lang3.Validate;
 
+import java.util.Objects;
 import javax.inject.Inject;
 
 /**
@@ -15,7 +17,7 @@ import javax.inject.Inject;
 public class AgeTargetingPredicate extends TargetingPredicate {
 
     @Inject
-    ReadableDao<String, CustomerProfile> customerProfileDao;
+    CustomerDataLoader customerDataLoader;
 
     private String targetedAgeRange;
 
@@ -47,14 +49,19 @@ public class AgeTargetingPredicate extends TargetingPredicate {
     TargetingPredicateResult evaluateRecognizedCustomer(RequestContext context) {
         Validate.notNull(targetedAgeRange, "Targeted AgeRange cannot be null.");
 
-        final CustomerProfile profile = customerProfileDao.get(context.getCustomerId());
+        final CustomerProfile profile = customerDataLoader.loadCustomerProfile(context).join();
         return targetedAgeRange.toString().equalsIgnoreCase(profile.getAgeRange()) ?
                 TargetingPredicateResult.TRUE : TargetingPredicateResult.FALSE;
     }
 
+    @Override
+    public CustomerDataSource getRequiredCustomerData() {
+        return CustomerDataSource.CUSTOMER_PROFILE;
+    }
+
     @VisibleForTesting
-    void setCustomerProfileDao(ReadableDao<String, CustomerProfile> customerProfileDao) {
-        this.customerProfileDao = customerProfileDao;
+    void setCustomerDataLoader(CustomerDataLoader customerDataLoader) {
+        this.customerDataLoader = customerDataLoader;
     }
 
     public String getTargetedAgeRange() {
@@ -64,4 +71,18 @@ public class AgeTargetingPredicate extends TargetingPredicate {
     public void setTargetedAgeRange(String targetedAgeRange) {
         this.targetedAgeRange = targetedAgeRange;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+        final AgeTargetingPredicate that = (AgeTargetingPredicate) o;
+        return Objects.equals(targetedAgeRange, that.targetedAgeRange);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), targetedAgeRange);
+    }
 }
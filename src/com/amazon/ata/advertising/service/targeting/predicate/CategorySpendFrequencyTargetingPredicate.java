@@ -1,24 +1,24 @@
 package com.amazon.ata.advertising.service.targeting.predicate;
 
-import com.amazon.ata.advertising.service.dao.ReadableDao;
+import com.amazon.ata.advertising.service.dao.CustomerDataLoader;
+import com.amazon.ata.advertising.service.dao.CustomerDataSource;
+import com.amazon.ata.advertising.service.model.CustomerSpendVector;
 import com.amazon.ata.advertising.service.model.RequestContext;
 import com.amazon.ata.advertising.service.targeting.Comparison;
-import com.amazon.ata.customerservice.Spend;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.commons.lang3.Validate;
 
-import java.util.Map;
+import java.util.Objects;
 import javax.inject.Inject;
 
 /**
  * Compare against the number of purchases a customer has made in a single category on Amazon.
  */
 public class CategorySpendFrequencyTargetingPredicate extends TargetingPredicate {
-    private static final Spend ZERO_SPEND = new Spend.Builder().withNumberOfPurchases(0).withUsdSpent(0).build();
 
     @Inject
-    ReadableDao<RequestContext, Map<String, Spend>> spendDao;
+    CustomerDataLoader customerDataLoader;
 
     private String targetedCategory;
     private Comparison comparison;
@@ -70,12 +70,17 @@ public class CategorySpendFrequencyTargetingPredicate extends TargetingPredicate
         Validate.notNull(targetedCategory, "The targeted category cannot be null.");
         Validate.notNull(comparison, "How to compare against the targeted value cannot be null.");
 
-        final Map<String, Spend> customerSpend = spendDao.get(context);
-        final Spend categorySpend = customerSpend.getOrDefault(targetedCategory, ZERO_SPEND);
-        return comparison.compare(categorySpend.getNumberOfPurchases(), targetedNumberOfPurchases) ?
+        final CustomerSpendVector customerSpend = customerDataLoader.loadCustomerSpend(context).join();
+        final int categoryIndex = CustomerSpendVector.categoryIndex(targetedCategory);
+        return comparison.compare(customerSpend.getNumberOfPurchases(categoryIndex), targetedNumberOfPurchases) ?
                 TargetingPredicateResult.TRUE : TargetingPredicateResult.FALSE;
     }
 
+    @Override
+    public CustomerDataSource getRequiredCustomerData() {
+        return CustomerDataSource.CUSTOMER_SPEND;
+    }
+
     public String getTargetedCategory() {
         return targetedCategory;
     }
@@ -101,7 +106,23 @@ public class CategorySpendFrequencyTargetingPredicate extends TargetingPredicate
     }
 
     @VisibleForTesting
-    public void setSpendDao(ReadableDao<RequestContext, Map<String, Spend>> spendDao) {
-        this.spendDao = spendDao;
+    public void setCustomerDataLoader(CustomerDataLoader customerDataLoader) {
+        this.customerDataLoader = customerDataLoader;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+        final CategorySpendFrequencyTargetingPredicate that = (CategorySpendFrequencyTargetingPredicate) o;
+        return Objects.equals(targetedCategory, that.targetedCategory) &&
+                Objects.equals(comparison, that.comparison) &&
+                targetedNumberOfPurchases == that.targetedNumberOfPurchases;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), targetedCategory, comparison, targetedNumberOfPurchases);
     }
 }
@@ -1,24 +1,24 @@
 package com.amazon.ata.advertising.service.targeting.predicate;
 
-import com.amazon.ata.advertising.service.dao.ReadableDao;
+import com.amazon.ata.advertising.service.dao.CustomerDataLoader;
+import com.amazon.ata.advertising.service.dao.CustomerDataSource;
+import com.amazon.ata.advertising.service.model.CustomerSpendVector;
 import com.amazon.ata.advertising.service.model.RequestContext;
 import com.amazon.ata.advertising.service.targeting.Comparison;
-import com.amazon.ata.customerservice.Spend;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.commons.lang3.Validate;
 
-import java.util.Map;
+import java.util.Objects;
 import javax.inject.Inject;
 
 /**
  * Compare against the amount a customer has spent in USD in a single category on Amazon.
  */
 public class CategorySpendValueTargetingPredicate extends TargetingPredicate {
-    private static final Spend ZERO_SPEND = new Spend.Builder().withNumberOfPurchases(0).withUsdSpent(0).build();
 
     @Inject
-    ReadableDao<RequestContext, Map<String, Spend>> spendDao;
+    CustomerDataLoader customerDataLoader;
 
     private String targetedCategory;
     private Comparison comparison;
@@ -67,12 +67,17 @@ public class CategorySpendValueTargetingPredicate extends TargetingPredicate {
         Validate.notNull(targetedCategory, "The targeted category cannot be null.");
         Validate.notNull(comparison, "How to compare against the targeted value cannot be null.");
 
-        final Map<String, Spend> customerSpend = spendDao.get(context);
-        final Spend categorySpend = customerSpend.getOrDefault(targetedCategory, ZERO_SPEND);
-        return comparison.compare(categorySpend.getUsdSpent(), targetedValue) ?
+        final CustomerSpendVector customerSpend = customerDataLoader.loadCustomerSpend(context).join();
+        final int categoryIndex = CustomerSpendVector.categoryIndex(targetedCategory);
+        return comparison.compare(customerSpend.getCentsSpent(categoryIndex), targetedValue * 100L) ?
                 TargetingPredicateResult.TRUE : TargetingPredicateResult.FALSE;
     }
 
+    @Override
+    public CustomerDataSource getRequiredCustomerData() {
+        return CustomerDataSource.CUSTOMER_SPEND;
+    }
+
     public String getTargetedCategory() {
         return targetedCategory;
     }
@@ -98,7 +103,23 @@ public class CategorySpendValueTargetingPredicate extends TargetingPredicate {
     }
 
     @VisibleForTesting
-    void setSpendDao(ReadableDao<RequestContext, Map<String, Spend>> spendDao) {
-        this.spendDao = spendDao;
+    void setCustomerDataLoader(CustomerDataLoader customerDataLoader) {
+        this.customerDataLoader = customerDataLoader;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+        final CategorySpendValueTargetingPredicate that = (CategorySpendValueTargetingPredicate) o;
+        return Objects.equals(targetedCategory, that.targetedCategory) &&
+                Objects.equals(comparison, that.comparison) &&
+                targetedValue == that.targetedValue;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), targetedCategory, comparison, targetedValue);
     }
 }
@@ -1,6 +1,7 @@
 package com.amazon.ata.advertising.service.targeting.predicate;
 
-import com.amazon.ata.advertising.service.dao.ReadableDao;
+import com.amazon.ata.advertising.service.dao.CustomerDataLoader;
+import com.amazon.ata.advertising.service.dao.CustomerDataSource;
 import com.amazon.ata.advertising.service.model.RequestContext;
 import com.amazon.ata.customerservice.CustomerProfile;
 
@@ -14,7 +15,7 @@ import javax.inject.Inject;
 public class ParentPredicate extends TargetingPredicate {
 
     @Inject
-    ReadableDao<String, CustomerProfile> customerProfileDao;
+    CustomerDataLoader customerDataLoader;
 
     /**
      * Evaluates to true if a customer is a parent.
@@ -31,14 +32,19 @@ public class ParentPredicate extends TargetingPredicate {
 
     @Override
     TargetingPredicateResult evaluateRecognizedCustomer(RequestContext context) {
-        final CustomerProfile profile = customerProfileDao.get(context.getCustomerId());
+        final CustomerProfile profile = customerDataLoader.loadCustomerProfile(context).join();
 
         return profile.isParent() == null ? TargetingPredicateResult.INDETERMINATE : profile.isParent() ?
                 TargetingPredicateResult.TRUE : TargetingPredicateResult.FALSE;
     }
 
+    @Override
+    public CustomerDataSource getRequiredCustomerData() {
+        return CustomerDataSource.CUSTOMER_PROFILE;
+    }
+
     @VisibleForTesting
-    void setCustomerProfileDao(ReadableDao<String, CustomerProfile> customerProfileDao) {
-        this.customerProfileDao = customerProfileDao;
+    void setCustomerDataLoader(CustomerDataLoader customerDataLoader) {
+        this.customerDataLoader = customerDataLoader;
     }
 }
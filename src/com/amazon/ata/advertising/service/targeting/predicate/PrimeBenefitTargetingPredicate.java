@@ -1,12 +1,13 @@
 package com.amazon.ata.advertising.service.targeting.predicate;
 
-import com.amazon.ata.advertising.service.dao.ReadableDao;
+import com.amazon.ata.advertising.service.dao.CustomerDataLoader;
+import com.amazon.ata.advertising.service.dao.CustomerDataSource;
 import com.amazon.ata.advertising.service.model.RequestContext;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.commons.lang3.Validate;
 
-import java.util.List;
+import java.util.Objects;
 import javax.inject.Inject;
 
 /**
@@ -16,7 +17,7 @@ import javax.inject.Inject;
 public class PrimeBenefitTargetingPredicate extends TargetingPredicate {
 
     @Inject
-    ReadableDao<RequestContext, List<String>> primeDao;
+    CustomerDataLoader customerDataLoader;
 
     private String benefitToHave;
 
@@ -49,12 +50,17 @@ public class PrimeBenefitTargetingPredicate extends TargetingPredicate {
     TargetingPredicateResult evaluateRecognizedCustomer(RequestContext context) {
         Validate.notNull(benefitToHave, "Prime Benefit must be populated to evaluate the predicate.");
 
-        return primeDao.get(context)
+        return customerDataLoader.loadPrimeBenefits(context).join()
                 .stream()
                 .anyMatch(benefit -> benefitToHave.equals(benefit)) ?
                 TargetingPredicateResult.TRUE : TargetingPredicateResult.FALSE;
     }
 
+    @Override
+    public CustomerDataSource getRequiredCustomerData() {
+        return CustomerDataSource.PRIME_BENEFITS;
+    }
+
     public String getBenefitToHave() {
         return benefitToHave;
     }
@@ -64,7 +70,21 @@ public class PrimeBenefitTargetingPredicate extends TargetingPredicate {
     }
 
     @VisibleForTesting
-    void setDao(ReadableDao<RequestContext, List<String>> dao) {
-        this.primeDao = dao;
+    void setCustomerDataLoader(CustomerDataLoader customerDataLoader) {
+        this.customerDataLoader = customerDataLoader;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+        final PrimeBenefitTargetingPredicate that = (PrimeBenefitTargetingPredicate) o;
+        return Objects.equals(benefitToHave, that.benefitToHave);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), benefitToHave);
     }
 }
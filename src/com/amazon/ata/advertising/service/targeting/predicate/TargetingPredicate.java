@@ -1,10 +1,16 @@
 package com.amazon.ata.advertising.service.targeting.predicate;
 
+import com.amazon.ata.advertising.service.dao.CustomerDataSource;
+import com.amazon.ata.advertising.service.exceptions.DownstreamUnavailableException;
 import com.amazon.ata.advertising.service.model.RequestContext;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+
 /**
  * Base class for all TargetingPredicates. The evaluate method will call either a recognized or unrecognized evaluate
  * method based on whether not the customerId is available in the context. All classes extending TargetingPredicate must
@@ -41,13 +47,21 @@ public abstract class TargetingPredicate {
     }
 
     /**
-     * Evaluate this targeting predicate ignoring whether or not it is set to inverse.
+     * Evaluate this targeting predicate ignoring whether or not it is set to inverse. A predicate whose customer data
+     * can't be loaded because the downstream service is unavailable is INDETERMINATE.
      * @param context The context of this request.
      * @return The result of evaluating the predicate.
      */
     private TargetingPredicateResult evaluateWithoutInverse(RequestContext context) {
-        return context.isRecognizedCustomer() ?
-                evaluateRecognizedCustomer(context) : evaluateUnrecognizedCustomer(context);
+        try {
+            return context.isRecognizedCustomer() ?
+                    evaluateRecognizedCustomer(context) : evaluateUnrecognizedCustomer(context);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof DownstreamUnavailableException) {
+                return TargetingPredicateResult.INDETERMINATE;
+            }
+            throw e;
+        }
     }
 
     /**
@@ -66,6 +80,15 @@ public abstract class TargetingPredicate {
      */
     abstract TargetingPredicateResult evaluateRecognizedCustomer(RequestContext context);
 
+    /**
+     * The customer data this predicate reads when it is evaluated, so it can be fetched before evaluation starts.
+     * @return The customer data source, or NONE if the predicate only needs the request context.
+     */
+    @JsonIgnore
+    public CustomerDataSource getRequiredCustomerData() {
+        return CustomerDataSource.NONE;
+    }
+
     public void setInverse(boolean inverse) {
         this.inverse = inverse;
     }
@@ -73,4 +96,27 @@ public abstract class TargetingPredicate {
     public boolean isInverse() {
         return inverse;
     }
+
+    /**
+     * Two predicates are equal when they are the same type with the same configuration, so they always evaluate to the
+     * same result for a request.
+     * @param o The object to compare against.
+     * @return true if o is the same type of predicate with the same configuration.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final TargetingPredicate that = (TargetingPredicate) o;
+        return inverse == that.inverse;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getClass(), inverse);
+    }
 }
@@ -0,0 +1,242 @@
+package com.amazon.ata.advertising.service.targeting.predicate;
+
+import com.amazon.ata.advertising.service.targeting.Comparison;
+import com.amazon.ata.customerservice.AgeRange;
+import com.amazon.ata.customerservice.Category;
+import com.amazon.ata.primeclubservice.Benefit;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes a list of TargetingPredicates in a compact, versioned binary format. Version 1 is laid out as:
+ * <pre>
+ *   version (byte) | predicate count (unsigned short) | predicates...
+ *   predicate: type tag (byte) | flags (byte, bit 0 is inverse) | type specific fields
+ * </pre>
+ * Age ranges, categories and prime benefits are written as their index in this codec's tag tables, comparisons as
+ * their ordinal and targeted values as 4 byte ints. A value missing from its table is written as a string. The tables
+ * are owned here rather than read from the customer and prime club models' values(), so an upstream model that
+ * reorders or inserts values can't change what stored items decode to. The tables and Comparison may only be appended
+ * to, or existing items will decode differently.
+ */
+public final class TargetingPredicateCodec {
+    static final byte VERSION = 1;
+
+    private static final byte AGE = 1;
+    private static final byte CATEGORY_SPEND_FREQUENCY = 2;
+    private static final byte CATEGORY_SPEND_VALUE = 3;
+    private static final byte PARENT = 4;
+    private static final byte PRIME_BENEFIT = 5;
+    private static final byte RECOGNIZED = 6;
+
+    private static final String[] AGE_RANGE_TAGS = {
+        AgeRange.UNDER_18, AgeRange.AGE_18_TO_21, AgeRange.AGE_22_TO_25, AgeRange.AGE_26_TO_30, AgeRange.AGE_31_TO_35,
+        AgeRange.AGE_36_TO_45, AgeRange.AGE_46_TO_60, AgeRange.OVER_60,
+    };
+    private static final String[] CATEGORY_TAGS = {
+        Category.PRIME_VIDEO, Category.AMAZON_MUSIC, Category.KINDLE, Category.ECHO, Category.FRESH,
+        Category.TECHNICAL_BOOKS, Category.CHILDRENS_BOOKS, Category.MAGAZINES, Category.VIDEO_GAMES,
+        Category.ELECTRONICS, Category.COMPUTERS, Category.HOME, Category.PET,
+    };
+    private static final String[] BENEFIT_TAGS = {
+        Benefit.MOM_LITE, Benefit.MOM_DISCOUNT, Benefit.FREE_TRIDENT_VOD, Benefit.FREE_EXPEDITED_SHIPPING,
+        Benefit.DIM_SUM, Benefit.AMZN4KIDS,
+    };
+
+    private static final int INVERSE_FLAG = 1;
+    private static final int LITERAL = 0xFE;
+    private static final int NULL = 0xFF;
+
+    private TargetingPredicateCodec() {}
+
+    /**
+     * Whether every predicate in the list has a compact encoding.
+     * @param predicates The predicates to check.
+     * @return true if the list can be passed to encode.
+     */
+    public static boolean canEncode(List<TargetingPredicate> predicates) {
+        return predicates.stream().allMatch(predicate -> tagOf(predicate) != 0);
+    }
+
+    /**
+     * Encodes a list of predicates.
+     * @param predicates The predicates to encode. Every predicate must be one of the known predicate types.
+     * @return The encoded predicates.
+     */
+    public static byte[] encode(List<TargetingPredicate> predicates) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeShort(predicates.size());
+            for (TargetingPredicate predicate : predicates) {
+                writePredicate(out, predicate);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a list of predicates written by encode. The predicates' dependencies are not injected.
+     * @param encoded The encoded predicates.
+     * @return The decoded predicates.
+     */
+    public static List<TargetingPredicate> decode(byte[] encoded) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded))) {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported targeting predicate encoding version: " + version);
+            }
+            int count = in.readUnsignedShort();
+            List<TargetingPredicate> predicates = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                predicates.add(readPredicate(in));
+            }
+            return predicates;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Encoded targeting predicates are truncated or corrupt.", e);
+        }
+    }
+
+    private static byte tagOf(TargetingPredicate predicate) {
+        if (predicate instanceof AgeTargetingPredicate) {
+            return AGE;
+        } else if (predicate instanceof CategorySpendFrequencyTargetingPredicate) {
+            return CATEGORY_SPEND_FREQUENCY;
+        } else if (predicate instanceof CategorySpendValueTargetingPredicate) {
+            return CATEGORY_SPEND_VALUE;
+        } else if (predicate instanceof ParentPredicate) {
+            return PARENT;
+        } else if (predicate instanceof PrimeBenefitTargetingPredicate) {
+            return PRIME_BENEFIT;
+        } else if (predicate instanceof RecognizedTargetingPredicate) {
+            return RECOGNIZED;
+        }
+        return 0;
+    }
+
+    private static void writePredicate(DataOutputStream out, TargetingPredicate predicate) throws IOException {
+        byte tag = tagOf(predicate);
+        if (tag == 0) {
+            throw new IllegalArgumentException("No compact encoding for " + predicate.getClass().getName());
+        }
+        out.writeByte(tag);
+        out.writeByte(predicate.isInverse() ? INVERSE_FLAG : 0);
+
+        switch (tag) {
+            case AGE:
+                writeConstant(out, ((AgeTargetingPredicate) predicate).getTargetedAgeRange(), AGE_RANGE_TAGS);
+                break;
+            case CATEGORY_SPEND_FREQUENCY:
+                CategorySpendFrequencyTargetingPredicate frequency =
+                        (CategorySpendFrequencyTargetingPredicate) predicate;
+                writeConstant(out, frequency.getTargetedCategory(), CATEGORY_TAGS);
+                writeComparison(out, frequency.getComparison());
+                out.writeInt(frequency.getTargetedNumberOfPurchases());
+                break;
+            case CATEGORY_SPEND_VALUE:
+                CategorySpendValueTargetingPredicate value = (CategorySpendValueTargetingPredicate) predicate;
+                writeConstant(out, value.getTargetedCategory(), CATEGORY_TAGS);
+                writeComparison(out, value.getComparison());
+                out.writeInt(value.getTargetedValue());
+                break;
+            case PRIME_BENEFIT:
+                writeConstant(out, ((PrimeBenefitTargetingPredicate) predicate).getBenefitToHave(), BENEFIT_TAGS);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static TargetingPredicate readPredicate(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        boolean inverse = (in.readUnsignedByte() & INVERSE_FLAG) != 0;
+
+        TargetingPredicate predicate;
+        switch (tag) {
+            case AGE:
+                AgeTargetingPredicate age = new AgeTargetingPredicate();
+                age.setTargetedAgeRange(readConstant(in, AGE_RANGE_TAGS));
+                predicate = age;
+                break;
+            case CATEGORY_SPEND_FREQUENCY:
+                CategorySpendFrequencyTargetingPredicate frequency = new CategorySpendFrequencyTargetingPredicate();
+                frequency.setTargetedCategory(readConstant(in, CATEGORY_TAGS));
+                frequency.setComparison(readComparison(in));
+                frequency.setTargetedNumberOfPurchases(in.readInt());
+                predicate = frequency;
+                break;
+            case CATEGORY_SPEND_VALUE:
+                CategorySpendValueTargetingPredicate value = new CategorySpendValueTargetingPredicate();
+                value.setTargetedCategory(readConstant(in, CATEGORY_TAGS));
+                value.setComparison(readComparison(in));
+                value.setTargetedValue(in.readInt());
+                predicate = value;
+                break;
+            case PARENT:
+                predicate = new ParentPredicate();
+                break;
+            case PRIME_BENEFIT:
+                PrimeBenefitTargetingPredicate prime = new PrimeBenefitTargetingPredicate();
+                prime.setBenefitToHave(readConstant(in, BENEFIT_TAGS));
+                predicate = prime;
+                break;
+            case RECOGNIZED:
+                predicate = new RecognizedTargetingPredicate();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown targeting predicate type tag: " + tag);
+        }
+        predicate.setInverse(inverse);
+        return predicate;
+    }
+
+    private static void writeConstant(DataOutputStream out, String value, String[] values) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+            return;
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (values[i].equals(value)) {
+                out.writeByte(i);
+                return;
+            }
+        }
+        out.writeByte(LITERAL);
+        out.writeUTF(value);
+    }
+
+    private static String readConstant(DataInputStream in, String[] values) throws IOException {
+        int index = in.readUnsignedByte();
+        if (index == NULL) {
+            return null;
+        } else if (index == LITERAL) {
+            return in.readUTF();
+        } else if (index >= values.length) {
+            throw new IllegalArgumentException("Unknown constant index: " + index);
+        }
+        return values[index];
+    }
+
+    private static void writeComparison(DataOutputStream out, Comparison comparison) throws IOException {
+        out.writeByte(comparison == null ? NULL : comparison.ordinal());
+    }
+
+    private static Comparison readComparison(DataInputStream in) throws IOException {
+        int ordinal = in.readUnsignedByte();
+        if (ordinal == NULL) {
+            return null;
+        } else if (ordinal >= Comparison.values().length) {
+            throw new IllegalArgumentException("Unknown comparison: " + ordinal);
+        }
+        return Comparison.values()[ordinal];
+    }
+}
@@ -0,0 +1,15 @@
+package com.amazon.ata.advertising.service.targeting.predicate;
+
+/**
+ * How targeting predicates are written to the TargetingGroups table. Both formats are always readable.
+ */
+public enum TargetingPredicateEncoding {
+    /**
+     * Jackson JSON, with the fully qualified class name of each predicate.
+     */
+    JSON,
+    /**
+     * The versioned binary format written by TargetingPredicateCodec, stored as Base64 text.
+     */
+    COMPACT
+}
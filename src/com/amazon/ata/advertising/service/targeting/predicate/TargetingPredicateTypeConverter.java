@@ -1,23 +1,47 @@
 package com.amazon.ata.advertising.service.targeting.predicate;
 
-import com.amazon.ata.advertising.service.dependency.DaggerLambdaComponent;
 import com.amazon.ata.advertising.service.exceptions.AdvertisementServiceException;
-import com.amazon.ata.advertising.service.dependency.LambdaComponent;
-import com.amazon.ata.advertising.service.dependency.TargetingPredicateInjector;
 
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTypeConverter;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
 /**
  * Class to convert a list of the complex type TargetingPredicate to a string and vice-versa.
+ *
+ * DynamoDBMapper creates converters itself, so it can't give them the dependencies of the component that loaded the
+ * item. Predicates are returned without their dependencies, and TargetingGroupDao injects copies of them with its
+ * component's TargetingPredicateInjector. Parsed predicate lists are cached by their serialized value; the cached lists
+ * are immutable and their predicates are shared by every targeting group with the same value, so they must not be
+ * modified or injected.
+ *
+ * Predicates are written as JSON unless the system property ata.advertising.targetingPredicateEncoding is COMPACT, in
+ * which case they are written with TargetingPredicateCodec, Base64 encoded and prefixed with COMPACT_PREFIX. Both
+ * formats are always read, so items can be migrated while the service is running.
  */
 public class TargetingPredicateTypeConverter implements DynamoDBTypeConverter<String, List<TargetingPredicate>> {
+    public static final String COMPACT_PREFIX = "~";
+
     private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TargetingPredicateEncoding ENCODING = TargetingPredicateEncoding.valueOf(
+            System.getProperty("ata.advertising.targetingPredicateEncoding", TargetingPredicateEncoding.JSON.name()));
+    private static final long MAXIMUM_CACHE_SIZE =
+            Long.getLong("ata.advertising.targetingPredicateCache.maximumSize", 10_000);
+    private static final Cache<String, List<TargetingPredicate>> PARSED_PREDICATES = CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_CACHE_SIZE)
+            .build();
 
     /**
      * Serializes the passed predicate list into a String. Each member is serialized separately so that the Jackson
@@ -29,6 +53,20 @@ public class TargetingPredicateTypeConverter implements DynamoDBTypeConverter<St
      */
     @Override
     public String convert(List<TargetingPredicate> predicateList) {
+        return convert(predicateList, ENCODING);
+    }
+
+    /**
+     * Serializes the passed predicate list with a specific encoding. Lists containing a predicate the compact format
+     * doesn't support are always written as JSON.
+     * @param predicateList - a list of TargetingPredicates that will be converted to a String value
+     * @param encoding - the format to write
+     * @return The serialized string.
+     */
+    public String convert(List<TargetingPredicate> predicateList, TargetingPredicateEncoding encoding) {
+        if (encoding == TargetingPredicateEncoding.COMPACT && TargetingPredicateCodec.canEncode(predicateList)) {
+            return COMPACT_PREFIX + Base64.getEncoder().encodeToString(TargetingPredicateCodec.encode(predicateList));
+        }
         return new StringBuffer()
                 .append("[")
                 .append(predicateList.stream()
@@ -45,21 +83,61 @@ public class TargetingPredicateTypeConverter implements DynamoDBTypeConverter<St
         }
     }
 
+    /**
+     * Deserializes a predicate list in either format, without injecting the predicates' dependencies. Identical values
+     * are only parsed once.
+     * @param value - the serialized predicate list
+     * @return An immutable list of the predicates, shared with every other caller that unconverts the same value.
+     */
     @Override
     public List<TargetingPredicate> unconvert(String value) {
-//        todo look into this null
-        LambdaComponent component = DaggerLambdaComponent.create();
-        TargetingPredicateInjector injector = component.getTargetingPredicateInjector();
         try {
-            final List<TargetingPredicate> predicates = MAPPER.readValue(value,
-                    new TypeReference<List<TargetingPredicate>>() { });
-            for (TargetingPredicate predicate : predicates) {
-                injector.inject(predicate);
-            }
-            return predicates;
-        } catch (IOException e) {
+            return PARSED_PREDICATES.get(value, () -> ImmutableList.copyOf(parse(value)));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw new AdvertisementServiceException("Unable to convert the String value to a list of targeting " +
+                    "predicates. String: " + value, e.getCause());
+        }
+    }
+
+    /**
+     * Copies a predicate list, so the copies can be injected without changing predicates shared through the cache.
+     * @param predicates - the predicates to copy
+     * @return A new list of new predicates equal to the given ones.
+     */
+    public List<TargetingPredicate> copy(List<TargetingPredicate> predicates) {
+        return parse(convert(predicates, TargetingPredicateEncoding.JSON));
+    }
+
+    /**
+     * Rewrites a serialized predicate list, in either format, with the given encoding. The predicates are not
+     * injected, so this can be used without the rest of the service's dependencies.
+     * @param value - the serialized predicate list
+     * @param encoding - the format to write
+     * @return The re-serialized predicate list.
+     */
+    public String reencode(String value, TargetingPredicateEncoding encoding) {
+        try {
+            return convert(parse(value), encoding);
+        } catch (UncheckedIOException | IllegalArgumentException e) {
             throw new AdvertisementServiceException("Unable to convert the String value to a list of targeting " +
                     "predicates. String: " + value, e);
         }
     }
+
+    /**
+     * Deserializes a predicate list in either format, bypassing the parsed predicate cache.
+     * @param value - the serialized predicate list
+     * @return A new list of the predicates.
+     */
+    @VisibleForTesting
+    List<TargetingPredicate> parse(String value) {
+        if (value.startsWith(COMPACT_PREFIX)) {
+            return TargetingPredicateCodec.decode(Base64.getDecoder().decode(value.substring(COMPACT_PREFIX.length())));
+        }
+        try {
+            return MAPPER.readValue(value, new TypeReference<List<TargetingPredicate>>() { });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
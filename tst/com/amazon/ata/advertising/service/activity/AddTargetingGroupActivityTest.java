@@ -1,5 +1,6 @@
 package com.amazon.ata.advertising.service.activity;
 
+import com.amazon.ata.advertising.service.catalog.AdvertisementCatalog;
 import com.amazon.ata.advertising.service.model.requests.AddTargetingGroupRequest;
 import com.amazon.ata.advertising.service.model.responses.AddTargetingGroupResponse;
 import com.amazon.ata.advertising.service.model.TargetingGroup;
@@ -25,6 +26,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -35,6 +37,9 @@ public class AddTargetingGroupActivityTest {
     @Mock
     private TargetingGroupDao targetingGroupDao;
 
+    @Mock
+    private AdvertisementCatalog advertisementCatalog;
+
     @InjectMocks
     private AddTargetingGroupActivity addTargetingGroupActivity;
 
@@ -61,6 +66,7 @@ public class AddTargetingGroupActivityTest {
         // THEN
         assertTargetingGroup(response.getTargetingGroup());
         assertTrue(response.getTargetingGroup().getTargetingPredicates().isEmpty());
+        verify(advertisementCatalog).invalidateContent(CONTENT_ID);
     }
 
     @Test
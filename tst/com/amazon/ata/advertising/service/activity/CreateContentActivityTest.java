@@ -1,5 +1,6 @@
 package com.amazon.ata.advertising.service.activity;
 
+import com.amazon.ata.advertising.service.catalog.AdvertisementCatalog;
 import com.amazon.ata.advertising.service.model.requests.CreateContentRequest;
 import com.amazon.ata.advertising.service.model.responses.CreateContentResponse;
 import com.amazon.ata.advertising.service.model.TargetingPredicate;
@@ -24,6 +25,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -38,6 +40,9 @@ public class CreateContentActivityTest {
     @Mock
     private TargetingGroupDao targetingGroupDao;
 
+    @Mock
+    private AdvertisementCatalog advertisementCatalog;
+
     @InjectMocks
     private CreateContentActivity activity;
 
@@ -72,6 +77,7 @@ public class CreateContentActivityTest {
         // THEN
         assertCreateContentResponse(response);
         assertEquals(Collections.singletonList(recognizedPredicate), response.getTargetingGroup().getTargetingPredicates());
+        verify(advertisementCatalog).invalidate(MARKETPLACE_ID);
     }
 
     @Test
@@ -1,5 +1,6 @@
 package com.amazon.ata.advertising.service.activity;
 
+import com.amazon.ata.advertising.service.catalog.AdvertisementCatalog;
 import com.amazon.ata.advertising.service.exceptions.AdvertisementClientException;
 import com.amazon.ata.advertising.service.model.requests.DeleteContentRequest;
 import com.amazon.ata.advertising.service.model.responses.DeleteContentResponse;
@@ -28,6 +29,9 @@ public class DeleteContentActivityTest {
     @Mock
     private TargetingGroupDao targetingGroupDao;
 
+    @Mock
+    private AdvertisementCatalog advertisementCatalog;
+
     @InjectMocks
     private DeleteContentActivity deleteContentActivity;
 
@@ -64,5 +68,6 @@ public class DeleteContentActivityTest {
         assertNotNull(response, "Expected a non-null response from the api.");
         verify(targetingGroupDao).delete(CONTENT_ID);
         verify(contentDao).delete(CONTENT_ID);
+        verify(advertisementCatalog).invalidateContent(CONTENT_ID);
     }
 }
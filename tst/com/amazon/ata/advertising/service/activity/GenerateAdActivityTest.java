@@ -4,17 +4,24 @@ import com.amazon.ata.advertising.service.model.requests.GenerateAdvertisementRe
 import com.amazon.ata.advertising.service.model.responses.GenerateAdvertisementResponse;
 import com.amazon.ata.advertising.service.businesslogic.AdvertisementSelectionLogic;
 import com.amazon.ata.advertising.service.model.AdvertisementContent;
+import com.amazon.ata.advertising.service.model.Deadline;
 import com.amazon.ata.advertising.service.model.EmptyGeneratedAdvertisement;
 import com.amazon.ata.advertising.service.model.GeneratedAdvertisement;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 
+import java.time.Duration;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -51,7 +58,8 @@ public class GenerateAdActivityTest {
 
     @Test
     public void testGenerateAd_advertisementReturned() {
-        when(adSelectionService.selectAdvertisement(CUSTOMER_ID, MARKETPLACE_ID)).thenReturn(GENERATED_ADVERTISEMENT);
+        when(adSelectionService.selectAdvertisementAsync(eq(CUSTOMER_ID), eq(MARKETPLACE_ID), any(Deadline.class)))
+                .thenReturn(CompletableFuture.completedFuture(GENERATED_ADVERTISEMENT));
         final GenerateAdvertisementResponse response = activity.generateAd(REQUEST);
 
         assertNotNull(response.getAdvertisement());
@@ -61,7 +69,8 @@ public class GenerateAdActivityTest {
 
     @Test
     public void testGenerateAd_emptyAdvertisementReturned() {
-        when(adSelectionService.selectAdvertisement(CUSTOMER_ID, MARKETPLACE_ID)).thenReturn(EMPTY_GENERATED_ADVERTISEMENT);
+        when(adSelectionService.selectAdvertisementAsync(eq(CUSTOMER_ID), eq(MARKETPLACE_ID), any(Deadline.class)))
+                .thenReturn(CompletableFuture.completedFuture(EMPTY_GENERATED_ADVERTISEMENT));
         final GenerateAdvertisementResponse response = activity.generateAd(REQUEST);
 
         assertNotNull(response.getAdvertisement());
@@ -71,10 +80,32 @@ public class GenerateAdActivityTest {
 
     @Test
     public void whenExceptionThrown_emptyAdvertisementReturned() {
-        when(adSelectionService.selectAdvertisement(CUSTOMER_ID, MARKETPLACE_ID)).thenThrow(new RuntimeException());
+        when(adSelectionService.selectAdvertisementAsync(eq(CUSTOMER_ID), eq(MARKETPLACE_ID), any(Deadline.class))).thenThrow(new RuntimeException());
         final GenerateAdvertisementResponse response = activity.generateAd(REQUEST);
 
         assertNotNull(response.getAdvertisement());
         assertEquals("", response.getAdvertisement().getContent());
     }
+
+    @Test
+    public void whenSelectionTimesOut_emptyAdvertisementReturned() {
+        when(adSelectionService.selectAdvertisementAsync(eq(CUSTOMER_ID), eq(MARKETPLACE_ID), any(Deadline.class)))
+                .thenReturn(new CompletableFuture<>());
+        final GenerateAdvertisementResponse response = activity.generateAd(REQUEST);
+
+        assertNotNull(response.getAdvertisement());
+        assertEquals("", response.getAdvertisement().getContent());
+    }
+
+    @Test
+    public void whenCallerHasLessTimeThanSla_selectionDeadlineIsWithinCallersTime() {
+        ArgumentCaptor<Deadline> deadline = ArgumentCaptor.forClass(Deadline.class);
+        when(adSelectionService.selectAdvertisementAsync(eq(CUSTOMER_ID), eq(MARKETPLACE_ID), deadline.capture()))
+                .thenReturn(CompletableFuture.completedFuture(GENERATED_ADVERTISEMENT));
+
+        activity.generateAd(REQUEST, Duration.ofMillis(300));
+
+        assertTrue(deadline.getValue().isBounded());
+        assertTrue(deadline.getValue().remainingMillis() <= 300);
+    }
 }
@@ -0,0 +1,106 @@
+package com.amazon.ata.advertising.service.activity;
+
+import com.amazon.ata.advertising.service.businesslogic.AdvertisementSelectionLogic;
+import com.amazon.ata.advertising.service.model.AdvertisementContent;
+import com.amazon.ata.advertising.service.model.AdvertisementPlacement;
+import com.amazon.ata.advertising.service.model.EmptyGeneratedAdvertisement;
+import com.amazon.ata.advertising.service.model.GeneratedAdvertisement;
+import com.amazon.ata.advertising.service.model.requests.GenerateAdvertisementsBatchRequest;
+import com.amazon.ata.advertising.service.model.responses.GenerateAdvertisementsBatchResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class GenerateAdvertisementsBatchActivityTest {
+
+    private static final String CUSTOMER_ID = "A123B456";
+    private static final String MARKETPLACE_ID = "1";
+    private static final String CONTENT_ID = UUID.randomUUID().toString();
+    private static final String RENDERABLE_CONTENT = "<div class=\"ata-ad\"> Click here! </div>";
+
+    private static final List<AdvertisementPlacement> PLACEMENTS = Arrays.asList(
+            AdvertisementPlacement.builder()
+                    .withCustomerId(CUSTOMER_ID)
+                    .withMarketplaceId(MARKETPLACE_ID)
+                    .withSlotId("top")
+                    .build(),
+            AdvertisementPlacement.builder()
+                    .withCustomerId(CUSTOMER_ID)
+                    .withMarketplaceId(MARKETPLACE_ID)
+                    .withSlotId("side")
+                    .build());
+
+    private static final GenerateAdvertisementsBatchRequest REQUEST = GenerateAdvertisementsBatchRequest.builder()
+            .withPlacements(PLACEMENTS)
+            .build();
+
+    private static final AdvertisementContent CONTENT = AdvertisementContent.builder()
+            .withRenderableContent(RENDERABLE_CONTENT)
+            .withContentId(CONTENT_ID)
+            .build();
+
+    private static final GeneratedAdvertisement GENERATED_ADVERTISEMENT = new GeneratedAdvertisement(CONTENT);
+
+    @Mock
+    private AdvertisementSelectionLogic adSelectionService;
+
+    @InjectMocks
+    private GenerateAdvertisementsBatchActivity activity;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+    }
+
+    @Test
+    public void generateAds_advertisementsReturnedInPlacementOrder() {
+        // GIVEN
+        when(adSelectionService.selectAdvertisements(PLACEMENTS)).thenReturn(Arrays.asList(GENERATED_ADVERTISEMENT,
+                new EmptyGeneratedAdvertisement()));
+
+        // WHEN
+        GenerateAdvertisementsBatchResponse response = activity.generateAds(REQUEST);
+
+        // THEN
+        assertEquals(2, response.getAdvertisements().size());
+        assertEquals("top", response.getAdvertisements().get(0).getSlotId());
+        assertEquals(GENERATED_ADVERTISEMENT.getId(), response.getAdvertisements().get(0).getAdvertisement().getId());
+        assertEquals(RENDERABLE_CONTENT, response.getAdvertisements().get(0).getAdvertisement().getContent());
+        assertEquals("side", response.getAdvertisements().get(1).getSlotId());
+        assertEquals("", response.getAdvertisements().get(1).getAdvertisement().getContent());
+    }
+
+    @Test
+    public void generateAds_noPlacements_emptyResponse() {
+        // WHEN
+        GenerateAdvertisementsBatchResponse response = activity.generateAds(new GenerateAdvertisementsBatchRequest());
+
+        // THEN
+        assertTrue(response.getAdvertisements().isEmpty());
+    }
+
+    @Test
+    public void generateAds_exceptionThrown_emptyAdvertisementForEachPlacement() {
+        // GIVEN
+        when(adSelectionService.selectAdvertisements(PLACEMENTS)).thenThrow(new RuntimeException());
+
+        // WHEN
+        GenerateAdvertisementsBatchResponse response = activity.generateAds(REQUEST);
+
+        // THEN
+        assertEquals(2, response.getAdvertisements().size());
+        assertEquals("", response.getAdvertisements().get(0).getAdvertisement().getContent());
+        assertEquals("side", response.getAdvertisements().get(1).getSlotId());
+        assertEquals("", response.getAdvertisements().get(1).getAdvertisement().getContent());
+    }
+}
@@ -1,5 +1,6 @@
 package com.amazon.ata.advertising.service.activity;
 
+import com.amazon.ata.advertising.service.catalog.AdvertisementCatalog;
 import com.amazon.ata.advertising.service.model.requests.UpdateClickThroughRateRequest;
 import com.amazon.ata.advertising.service.model.responses.UpdateClickThroughRateResponse;
 import com.amazon.ata.advertising.service.dao.TargetingGroupDao;
@@ -13,6 +14,7 @@ import java.util.ArrayList;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -23,6 +25,9 @@ public class UpdateClickThroughRateActivityTest {
     @Mock
     private TargetingGroupDao targetingGroupDao;
 
+    @Mock
+    private AdvertisementCatalog advertisementCatalog;
+
     @InjectMocks
     private UpdateClickThroughRateActivity updateClickThroughRateActivity;
 
@@ -48,6 +53,7 @@ public class UpdateClickThroughRateActivityTest {
         // THEN
         assertEquals(response.getTargetingGroup().getTargetingGroupId(), TARGETING_GROUP_ID);
         assertEquals(response.getTargetingGroup().getClickThroughRate(), CLICK_THROUGH_RATE);
+        verify(advertisementCatalog).invalidateContent(group.getContentId());
     }
 
 }
@@ -1,5 +1,6 @@
 package com.amazon.ata.advertising.service.activity;
 
+import com.amazon.ata.advertising.service.catalog.AdvertisementCatalog;
 import com.amazon.ata.advertising.service.model.AdvertisingContent;
 import com.amazon.ata.advertising.service.model.requests.UpdateContentRequest;
 import com.amazon.ata.advertising.service.model.responses.UpdateContentResponse;
@@ -17,6 +18,7 @@ import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -31,6 +33,9 @@ public class UpdateContentActivityTest {
     @Mock
     private TargetingGroupDao targetingGroupDao;
 
+    @Mock
+    private AdvertisementCatalog advertisementCatalog;
+
     @InjectMocks
     private UpdateContentActivity updateContentActivity;
 
@@ -66,6 +71,8 @@ public class UpdateContentActivityTest {
         assertEquals(CONTENT_ID, response.getAdvertisingContent().getId());
         assertEquals(MARKETPLACE_ID, response.getAdvertisingContent().getMarketplaceId());
         assertEquals(CONTENT, response.getAdvertisingContent().getContent());
+        verify(advertisementCatalog).invalidateContent(CONTENT_ID);
+        verify(advertisementCatalog).invalidate(MARKETPLACE_ID);
     }
 
 }
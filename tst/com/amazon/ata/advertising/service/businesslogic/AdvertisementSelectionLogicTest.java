@@ -1,21 +1,37 @@
 package com.amazon.ata.advertising.service.businesslogic;
 
+import com.amazon.ata.advertising.service.catalog.AdvertisementCatalog;
+import com.amazon.ata.advertising.service.dao.CustomerDataLoader;
 import com.amazon.ata.advertising.service.dao.ReadableDao;
 import com.amazon.ata.advertising.service.model.*;
 import com.amazon.ata.advertising.service.targeting.TargetingGroup;
+import com.amazon.ata.advertising.service.targeting.predicate.ParentPredicate;
+import com.amazon.ata.advertising.service.targeting.predicate.RecognizedTargetingPredicate;
+import com.amazon.ata.advertising.service.targeting.predicate.TargetingPredicate;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
 import org.mockito.Mock;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -40,22 +56,32 @@ public class AdvertisementSelectionLogicTest {
     @Mock
     private ReadableDao<String, List<AdvertisementContent>> contentDao;
 
-    @Mock
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
     private ReadableDao<String, List<TargetingGroup>> targetingGroupDao;
 
     @Mock
     private Random random;
 
+    private ScheduledExecutorService deadlineExecutor;
+
     private AdvertisementSelectionLogic adSelectionService;
 
 
     @BeforeEach
     public void setup() {
         initMocks(this);
-        adSelectionService = new AdvertisementSelectionLogic(contentDao, targetingGroupDao);
+        deadlineExecutor = Executors.newSingleThreadScheduledExecutor();
+        adSelectionService = new AdvertisementSelectionLogic(new AdvertisementCatalog(contentDao, targetingGroupDao),
+                new CustomerDataLoader(null, null, null, MoreExecutors.directExecutor()),
+                MoreExecutors.newDirectExecutorService(), deadlineExecutor);
         adSelectionService.setRandom(random);
     }
 
+    @AfterEach
+    public void cleanup() {
+        deadlineExecutor.shutdownNow();
+    }
+
     @Test
     public void selectAdvertisement_nullMarketplaceId_EmptyAdReturned() {
         GeneratedAdvertisement ad = adSelectionService.selectAdvertisement(CUSTOMER_ID, null);
@@ -104,4 +130,180 @@ public class AdvertisementSelectionLogicTest {
         assertEquals(CONTENT_ID2, ad.getContent().getContentId());
     }
 
+    @Test
+    public void selectAdvertisement_multipleEligibleAds_returnsHighestCTR() {
+        List<AdvertisementContent> contents = Arrays.asList(CONTENT1, CONTENT2, CONTENT3);
+        when(contentDao.get(MARKETPLACE_ID)).thenReturn(contents);
+        when(targetingGroupDao.get(CONTENT_ID1)).thenReturn(Arrays.asList(eligibleGroup(CONTENT_ID1, 0.2)));
+        when(targetingGroupDao.get(CONTENT_ID2)).thenReturn(Arrays.asList(eligibleGroup(CONTENT_ID2, 0.9)));
+        when(targetingGroupDao.get(CONTENT_ID3)).thenReturn(Arrays.asList(eligibleGroup(CONTENT_ID3, 0.5)));
+
+        GeneratedAdvertisement ad = adSelectionService.selectAdvertisement(CUSTOMER_ID, MARKETPLACE_ID);
+
+        assertEquals(CONTENT_ID2, ad.getContent().getContentId());
+    }
+
+    @Test
+    public void selectAdvertisement_ineligibleGroupHasHighestCTR_returnsHighestEligibleCTR() {
+        List<AdvertisementContent> contents = Arrays.asList(CONTENT1, CONTENT2);
+        when(contentDao.get(MARKETPLACE_ID)).thenReturn(contents);
+        when(targetingGroupDao.get(CONTENT_ID1)).thenReturn(Arrays.asList(eligibleGroup(CONTENT_ID1, 0.4)));
+        when(targetingGroupDao.get(CONTENT_ID2)).thenReturn(Arrays.asList(ineligibleGroup(CONTENT_ID2, 0.9),
+                eligibleGroup(CONTENT_ID2, 0.1)));
+
+        GeneratedAdvertisement ad = adSelectionService.selectAdvertisement(CUSTOMER_ID, MARKETPLACE_ID);
+
+        assertEquals(CONTENT_ID1, ad.getContent().getContentId());
+    }
+
+    @Test
+    public void selectAdvertisement_multipleAds_getsTargetingGroupsOncePerContent() {
+        List<AdvertisementContent> contents = Arrays.asList(CONTENT1, CONTENT2);
+        when(contentDao.get(MARKETPLACE_ID)).thenReturn(contents);
+        when(targetingGroupDao.get(CONTENT_ID1)).thenReturn(Arrays.asList(eligibleGroup(CONTENT_ID1, 0.4)));
+        when(targetingGroupDao.get(CONTENT_ID2)).thenReturn(Arrays.asList(eligibleGroup(CONTENT_ID2, 0.6)));
+
+        adSelectionService.selectAdvertisement(CUSTOMER_ID, MARKETPLACE_ID);
+
+        verify(targetingGroupDao, times(1)).get(CONTENT_ID1);
+        verify(targetingGroupDao, times(1)).get(CONTENT_ID2);
+    }
+
+    @Test
+    public void selectAdvertisement_highestCTRGroupMatches_lowerGroupsNotEvaluated() {
+        TargetingPredicate lowerPredicate = mock(TargetingPredicate.class);
+        List<AdvertisementContent> contents = Arrays.asList(CONTENT1, CONTENT2);
+        when(contentDao.get(MARKETPLACE_ID)).thenReturn(contents);
+        when(targetingGroupDao.get(CONTENT_ID1)).thenReturn(Arrays.asList(new TargetingGroup(
+                UUID.randomUUID().toString(), CONTENT_ID1, 0.1, Arrays.asList(lowerPredicate))));
+        when(targetingGroupDao.get(CONTENT_ID2)).thenReturn(Arrays.asList(eligibleGroup(CONTENT_ID2, 0.8)));
+
+        GeneratedAdvertisement ad = adSelectionService.selectAdvertisement(CUSTOMER_ID, MARKETPLACE_ID);
+
+        assertEquals(CONTENT_ID2, ad.getContent().getContentId());
+        verify(lowerPredicate, never()).evaluate(any());
+    }
+
+    @Test
+    public void selectAdvertisement_eligibleAdsTiedOnCTR_returnsFirstContent() {
+        List<AdvertisementContent> contents = Arrays.asList(CONTENT1, CONTENT2);
+        when(contentDao.get(MARKETPLACE_ID)).thenReturn(contents);
+        when(targetingGroupDao.get(CONTENT_ID1)).thenReturn(Arrays.asList(eligibleGroup(CONTENT_ID1, 0.5)));
+        when(targetingGroupDao.get(CONTENT_ID2)).thenReturn(Arrays.asList(eligibleGroup(CONTENT_ID2, 0.5)));
+
+        GeneratedAdvertisement ad = adSelectionService.selectAdvertisement(CUSTOMER_ID, MARKETPLACE_ID);
+
+        assertEquals(CONTENT_ID1, ad.getContent().getContentId());
+    }
+
+    @Test
+    public void selectAdvertisements_sameCustomerSeveralSlots_distinctContentHighestCTRFirst() {
+        List<AdvertisementContent> contents = Arrays.asList(CONTENT1, CONTENT2, CONTENT3);
+        when(contentDao.get(MARKETPLACE_ID)).thenReturn(contents);
+        when(targetingGroupDao.get(CONTENT_ID1)).thenReturn(Arrays.asList(eligibleGroup(CONTENT_ID1, 0.2)));
+        when(targetingGroupDao.get(CONTENT_ID2)).thenReturn(Arrays.asList(eligibleGroup(CONTENT_ID2, 0.9),
+                eligibleGroup(CONTENT_ID2, 0.8)));
+        when(targetingGroupDao.get(CONTENT_ID3)).thenReturn(Arrays.asList(eligibleGroup(CONTENT_ID3, 0.5)));
+
+        List<GeneratedAdvertisement> ads = adSelectionService.selectAdvertisements(Arrays.asList(
+                placement(CUSTOMER_ID, MARKETPLACE_ID, "top"),
+                placement(CUSTOMER_ID, MARKETPLACE_ID, "side")));
+
+        assertEquals(2, ads.size());
+        assertEquals(CONTENT_ID2, ads.get(0).getContent().getContentId());
+        assertEquals(CONTENT_ID3, ads.get(1).getContent().getContentId());
+    }
+
+    @Test
+    public void selectAdvertisements_moreSlotsThanEligibleContent_remainingSlotsEmpty() {
+        List<AdvertisementContent> contents = Arrays.asList(CONTENT1, CONTENT2);
+        when(contentDao.get(MARKETPLACE_ID)).thenReturn(contents);
+        when(targetingGroupDao.get(CONTENT_ID1)).thenReturn(Arrays.asList(eligibleGroup(CONTENT_ID1, 0.4)));
+        when(targetingGroupDao.get(CONTENT_ID2)).thenReturn(Arrays.asList(ineligibleGroup(CONTENT_ID2, 0.9)));
+
+        List<GeneratedAdvertisement> ads = adSelectionService.selectAdvertisements(Arrays.asList(
+                placement(CUSTOMER_ID, MARKETPLACE_ID, "top"),
+                placement(CUSTOMER_ID, MARKETPLACE_ID, "side")));
+
+        assertEquals(CONTENT_ID1, ads.get(0).getContent().getContentId());
+        assertTrue(ads.get(1) instanceof EmptyGeneratedAdvertisement);
+    }
+
+    @Test
+    public void selectAdvertisements_differentCustomers_resultsInPlacementOrder() {
+        List<AdvertisementContent> contents = Arrays.asList(CONTENT1, CONTENT2);
+        when(contentDao.get(MARKETPLACE_ID)).thenReturn(contents);
+        when(targetingGroupDao.get(CONTENT_ID1)).thenReturn(Arrays.asList(eligibleGroup(CONTENT_ID1, 0.4)));
+        when(targetingGroupDao.get(CONTENT_ID2)).thenReturn(Arrays.asList(ineligibleGroup(CONTENT_ID2, 0.9)));
+
+        List<GeneratedAdvertisement> ads = adSelectionService.selectAdvertisements(Arrays.asList(
+                placement(null, MARKETPLACE_ID, "email"),
+                placement(CUSTOMER_ID, MARKETPLACE_ID, "email"),
+                placement(CUSTOMER_ID, null, "email")));
+
+        assertEquals(3, ads.size());
+        assertEquals(CONTENT_ID2, ads.get(0).getContent().getContentId());
+        assertEquals(CONTENT_ID1, ads.get(1).getContent().getContentId());
+        assertTrue(ads.get(2) instanceof EmptyGeneratedAdvertisement);
+        verify(contentDao, times(1)).get(MARKETPLACE_ID);
+    }
+
+    @Test
+    public void selectAdvertisementAsync_multipleEligibleAds_completesWithHighestCTR() {
+        List<AdvertisementContent> contents = Arrays.asList(CONTENT1, CONTENT2);
+        when(contentDao.get(MARKETPLACE_ID)).thenReturn(contents);
+        when(targetingGroupDao.get(CONTENT_ID1)).thenReturn(Arrays.asList(eligibleGroup(CONTENT_ID1, 0.4)));
+        when(targetingGroupDao.get(CONTENT_ID2)).thenReturn(Arrays.asList(ineligibleGroup(CONTENT_ID2, 0.9),
+                eligibleGroup(CONTENT_ID2, 0.3)));
+
+        GeneratedAdvertisement ad = adSelectionService.selectAdvertisementAsync(CUSTOMER_ID, MARKETPLACE_ID).join();
+
+        assertEquals(CONTENT_ID1, ad.getContent().getContentId());
+    }
+
+    @Test
+    public void selectAdvertisementAsync_emptyMarketplaceId_completesWithEmptyAd() {
+        CompletableFuture<GeneratedAdvertisement> ad = adSelectionService.selectAdvertisementAsync(CUSTOMER_ID, "");
+
+        assertTrue(ad.join() instanceof EmptyGeneratedAdvertisement);
+        verify(contentDao, never()).get(any());
+    }
+
+    @Test
+    public void selectAdvertisementAsync_deadlinePassesWhileLoading_completesWithBestDecidedAd() {
+        List<AdvertisementContent> contents = Arrays.asList(CONTENT1, CONTENT2);
+        when(contentDao.get(MARKETPLACE_ID)).thenReturn(contents);
+        when(targetingGroupDao.get(CONTENT_ID1)).thenReturn(Arrays.asList(new TargetingGroup(
+                UUID.randomUUID().toString(), CONTENT_ID1, 0.9, Arrays.asList(new ParentPredicate()))));
+        when(targetingGroupDao.get(CONTENT_ID2)).thenReturn(Arrays.asList(new TargetingGroup(
+                UUID.randomUUID().toString(), CONTENT_ID2, 0.1, Collections.emptyList())));
+        CustomerDataLoader slowLoader = new CustomerDataLoader(customerId -> new CompletableFuture<>(),
+                requestContext -> new CompletableFuture<>(), requestContext -> new CompletableFuture<>());
+        AdvertisementSelectionLogic selector = new AdvertisementSelectionLogic(
+                new AdvertisementCatalog(contentDao, targetingGroupDao), slowLoader,
+                MoreExecutors.newDirectExecutorService(), deadlineExecutor);
+
+        GeneratedAdvertisement ad = selector.selectAdvertisementAsync(CUSTOMER_ID, MARKETPLACE_ID,
+                Deadline.after(Duration.ofMillis(50))).join();
+
+        assertEquals(CONTENT_ID2, ad.getContent().getContentId());
+    }
+
+    private AdvertisementPlacement placement(String customerId, String marketplaceId, String slotId) {
+        return AdvertisementPlacement.builder()
+                .withCustomerId(customerId)
+                .withMarketplaceId(marketplaceId)
+                .withSlotId(slotId)
+                .build();
+    }
+
+    private TargetingGroup eligibleGroup(String contentId, double clickThroughRate) {
+        return new TargetingGroup(UUID.randomUUID().toString(), contentId, clickThroughRate,
+                Arrays.asList(new RecognizedTargetingPredicate()));
+    }
+
+    private TargetingGroup ineligibleGroup(String contentId, double clickThroughRate) {
+        return new TargetingGroup(UUID.randomUUID().toString(), contentId, clickThroughRate,
+                Arrays.asList(new RecognizedTargetingPredicate(true)));
+    }
 }
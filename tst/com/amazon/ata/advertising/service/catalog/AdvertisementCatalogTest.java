@@ -0,0 +1,204 @@
+package com.amazon.ata.advertising.service.catalog;
+
+import com.amazon.ata.advertising.service.dao.CustomerDataSource;
+import com.amazon.ata.advertising.service.dao.ReadableDao;
+import com.amazon.ata.advertising.service.model.AdvertisementContent;
+import com.amazon.ata.advertising.service.targeting.TargetingGroup;
+import com.amazon.ata.advertising.service.targeting.predicate.ParentPredicate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.mockito.Mock;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class AdvertisementCatalogTest {
+    private static final String MARKETPLACE_ID = "1";
+    private static final String OTHER_MARKETPLACE_ID = "2";
+    private static final String CONTENT_ID = "content";
+    private static final String OTHER_CONTENT_ID = "otherContent";
+    private static final AdvertisementContent CONTENT = AdvertisementContent.builder().withContentId(CONTENT_ID).build();
+    private static final AdvertisementContent OTHER_CONTENT =
+            AdvertisementContent.builder().withContentId(OTHER_CONTENT_ID).build();
+    private static final TargetingGroup TARGETING_GROUP =
+            new TargetingGroup("group", CONTENT_ID, 0.5, Collections.singletonList(new ParentPredicate()));
+
+    @Mock
+    private ReadableDao<String, List<AdvertisementContent>> contentDao;
+
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
+    private ReadableDao<String, List<TargetingGroup>> targetingGroupDao;
+
+    private AdvertisementCatalog catalog;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+        when(contentDao.get(MARKETPLACE_ID)).thenReturn(Collections.singletonList(CONTENT));
+        when(contentDao.get(OTHER_MARKETPLACE_ID)).thenReturn(Collections.singletonList(OTHER_CONTENT));
+        when(targetingGroupDao.get(CONTENT_ID)).thenReturn(Collections.singletonList(TARGETING_GROUP));
+        when(targetingGroupDao.get(OTHER_CONTENT_ID)).thenReturn(Collections.emptyList());
+        catalog = new AdvertisementCatalog(contentDao, targetingGroupDao);
+    }
+
+    @Test
+    public void get_calledTwice_loadsMarketplaceOnce() {
+        // WHEN
+        MarketplaceCatalog first = catalog.get(MARKETPLACE_ID);
+        MarketplaceCatalog second = catalog.get(MARKETPLACE_ID);
+
+        // THEN
+        assertSame(first, second);
+        assertEquals(Collections.singletonList(CONTENT), first.getContents());
+        assertEquals(Collections.singletonList(TARGETING_GROUP), first.getTargetingGroups(CONTENT_ID));
+        assertEquals(Collections.singleton(CustomerDataSource.CUSTOMER_PROFILE), first.getRequiredCustomerData());
+        verify(contentDao, times(1)).get(MARKETPLACE_ID);
+        verify(targetingGroupDao, times(1)).get(CONTENT_ID);
+    }
+
+    @Test
+    public void get_noContent_emptySnapshot() {
+        // GIVEN
+        when(contentDao.get(MARKETPLACE_ID)).thenReturn(null);
+
+        // WHEN
+        MarketplaceCatalog snapshot = catalog.get(MARKETPLACE_ID);
+
+        // THEN
+        assertTrue(snapshot.getContents().isEmpty());
+        assertTrue(snapshot.getTargetingGroups(CONTENT_ID).isEmpty());
+    }
+
+    @Test
+    public void get_loadFails_nextGetLoadsAgain() {
+        // GIVEN
+        when(contentDao.get(MARKETPLACE_ID)).thenThrow(new IllegalStateException("down"))
+                .thenReturn(Collections.singletonList(CONTENT));
+        assertThrows(IllegalStateException.class, () -> catalog.get(MARKETPLACE_ID));
+
+        // WHEN
+        MarketplaceCatalog snapshot = catalog.get(MARKETPLACE_ID);
+
+        // THEN
+        assertEquals(Collections.singletonList(CONTENT), snapshot.getContents());
+        verify(contentDao, times(2)).get(MARKETPLACE_ID);
+    }
+
+    @Test
+    public void get_marketplaceStillLoading_otherMarketplacesAndInvalidationDoNotWait() throws InterruptedException {
+        // GIVEN
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch loadReleased = new CountDownLatch(1);
+        when(contentDao.get(MARKETPLACE_ID)).thenAnswer(invocation -> {
+            loadStarted.countDown();
+            loadReleased.await();
+            return Collections.singletonList(CONTENT);
+        });
+        CompletableFuture<MarketplaceCatalog> slowLoad =
+                CompletableFuture.supplyAsync(() -> catalog.get(MARKETPLACE_ID));
+        loadStarted.await();
+
+        try {
+            // WHEN
+            MarketplaceCatalog other = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                catalog.invalidate(MARKETPLACE_ID);
+                catalog.invalidateContent(OTHER_CONTENT_ID);
+                return catalog.get(OTHER_MARKETPLACE_ID);
+            });
+
+            // THEN
+            assertEquals(Collections.singletonList(OTHER_CONTENT), other.getContents());
+        } finally {
+            loadReleased.countDown();
+        }
+        assertEquals(Collections.singletonList(CONTENT), slowLoad.join().getContents());
+    }
+
+    @Test
+    public void invalidate_marketplace_reloadsOnNextGet() {
+        // GIVEN
+        MarketplaceCatalog before = catalog.get(MARKETPLACE_ID);
+
+        // WHEN
+        catalog.invalidate(MARKETPLACE_ID);
+
+        // THEN
+        assertNotSame(before, catalog.get(MARKETPLACE_ID));
+        verify(contentDao, times(2)).get(MARKETPLACE_ID);
+    }
+
+    @Test
+    public void invalidateContent_onlyMarketplacesWithContentReloaded() {
+        // GIVEN
+        MarketplaceCatalog before = catalog.get(MARKETPLACE_ID);
+        MarketplaceCatalog otherBefore = catalog.get(OTHER_MARKETPLACE_ID);
+
+        // WHEN
+        catalog.invalidateContent(CONTENT_ID);
+
+        // THEN
+        assertNotSame(before, catalog.get(MARKETPLACE_ID));
+        assertSame(otherBefore, catalog.get(OTHER_MARKETPLACE_ID));
+    }
+
+    @Test
+    public void refresh_loadedMarketplace_newSnapshotSwappedIn() {
+        // GIVEN
+        MarketplaceCatalog before = catalog.get(MARKETPLACE_ID);
+        when(contentDao.get(MARKETPLACE_ID)).thenReturn(Collections.emptyList());
+
+        // WHEN
+        catalog.refresh();
+
+        // THEN
+        MarketplaceCatalog after = catalog.get(MARKETPLACE_ID);
+        assertNotSame(before, after);
+        assertTrue(after.getContents().isEmpty());
+    }
+
+    @Test
+    public void refresh_daoThrows_keepsPreviousSnapshot() {
+        // GIVEN
+        MarketplaceCatalog before = catalog.get(MARKETPLACE_ID);
+        when(contentDao.get(MARKETPLACE_ID)).thenThrow(new IllegalStateException("down"));
+
+        // WHEN
+        catalog.refresh();
+
+        // THEN
+        assertSame(before, catalog.get(MARKETPLACE_ID));
+    }
+
+    @Test
+    public void scheduleRefresh_interval_scheduledWithFixedDelay() {
+        // GIVEN
+        ScheduledExecutorService refreshExecutor = mock(ScheduledExecutorService.class);
+
+        // WHEN
+        catalog.scheduleRefresh(refreshExecutor, Duration.ofSeconds(30));
+
+        // THEN
+        verify(refreshExecutor).scheduleWithFixedDelay(any(Runnable.class), eq(30000L), eq(30000L),
+                eq(TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,47 @@
+package com.amazon.ata.advertising.service.catalog;
+
+import com.amazon.ata.advertising.service.model.AdvertisementContent;
+import com.amazon.ata.advertising.service.targeting.TargetingGroup;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MarketplaceCatalogTest {
+    private static final String MARKETPLACE_ID = "1";
+    private static final AdvertisementContent CONTENT1 = AdvertisementContent.builder().withContentId("1").build();
+    private static final AdvertisementContent CONTENT2 = AdvertisementContent.builder().withContentId("2").build();
+
+    @Test
+    public void getCandidates_multipleGroups_sortedByDescendingCTRWithTiesInContentOrder() {
+        // GIVEN
+        TargetingGroup low = group("low", CONTENT1, 0.1);
+        TargetingGroup tiedFirst = group("tiedFirst", CONTENT1, 0.5);
+        TargetingGroup tiedSecond = group("tiedSecond", CONTENT2, 0.5);
+        TargetingGroup high = group("high", CONTENT2, 0.9);
+        Map<String, List<TargetingGroup>> targetingGroups = new LinkedHashMap<>();
+        targetingGroups.put(CONTENT1.getContentId(), Arrays.asList(low, tiedFirst));
+        targetingGroups.put(CONTENT2.getContentId(), Arrays.asList(tiedSecond, high));
+
+        // WHEN
+        MarketplaceCatalog catalog =
+                new MarketplaceCatalog(MARKETPLACE_ID, Arrays.asList(CONTENT1, CONTENT2), targetingGroups);
+
+        // THEN
+        List<String> order = catalog.getCandidates().stream()
+                .map(candidate -> candidate.getTargetingGroup().getTargetingGroupId())
+                .collect(Collectors.toList());
+        assertEquals(Arrays.asList("high", "tiedFirst", "tiedSecond", "low"), order);
+        assertEquals(CONTENT2, catalog.getCandidates().get(0).getContent());
+    }
+
+    private static TargetingGroup group(String targetingGroupId, AdvertisementContent content, double ctr) {
+        return new TargetingGroup(targetingGroupId, content.getContentId(), ctr, new ArrayList<>());
+    }
+}
@@ -0,0 +1,247 @@
+package com.amazon.ata.advertising.service.dao;
+
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CachingReadableDaoTest {
+    private static final String NAME = "TestDao";
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(5);
+    private static final String CUSTOMER_ID = "A123B456";
+
+    private AtomicInteger calls;
+    private AtomicLong nanos;
+    private Ticker ticker;
+    private ExecutorService loadExecutor;
+
+    @BeforeEach
+    public void setup() {
+        calls = new AtomicInteger();
+        loadExecutor = Executors.newCachedThreadPool();
+        nanos = new AtomicLong();
+        ticker = new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        };
+    }
+
+    @AfterEach
+    public void tearDown() {
+        loadExecutor.shutdownNow();
+    }
+
+    @Test
+    public void get_repeatedInput_loadsOnce() {
+        // GIVEN
+        CachingReadableDao<String, String> dao =
+                new CachingReadableDao<>(NAME, this::countingGet, TIME_TO_LIVE, 10, loadExecutor, ticker);
+
+        // WHEN
+        dao.get(CUSTOMER_ID);
+        String result = dao.get(CUSTOMER_ID);
+
+        // THEN
+        assertEquals("profile-" + CUSTOMER_ID, result);
+        assertEquals(1, calls.get());
+        assertEquals(1, dao.getStats().hitCount());
+        assertEquals(1, dao.getStats().missCount());
+    }
+
+    @Test
+    public void get_afterTimeToLive_loadsAgain() {
+        // GIVEN
+        CachingReadableDao<String, String> dao =
+                new CachingReadableDao<>(NAME, this::countingGet, TIME_TO_LIVE, 10, loadExecutor, ticker);
+        dao.get(CUSTOMER_ID);
+
+        // WHEN
+        nanos.addAndGet(TIME_TO_LIVE.toNanos());
+        dao.get(CUSTOMER_ID);
+
+        // THEN
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void get_missingCustomer_cachesNull() {
+        // GIVEN
+        CachingReadableDao<String, String> dao = new CachingReadableDao<>(NAME, customerId -> {
+            calls.incrementAndGet();
+            return null;
+        }, TIME_TO_LIVE, 10, loadExecutor, ticker);
+
+        // WHEN
+        dao.get(CUSTOMER_ID);
+        String result = dao.get(CUSTOMER_ID);
+
+        // THEN
+        assertNull(result);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void get_delegateThrows_rethrowsAndDoesNotCache() {
+        // GIVEN
+        CachingReadableDao<String, String> dao = new CachingReadableDao<>(NAME, customerId -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("down");
+        }, TIME_TO_LIVE, 10, loadExecutor, ticker);
+
+        // WHEN
+        assertThrows(IllegalStateException.class, () -> dao.get(CUSTOMER_ID));
+        assertThrows(IllegalStateException.class, () -> dao.get(CUSTOMER_ID));
+
+        // THEN
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void get_overMaximumSize_evicts() {
+        // GIVEN
+        CachingReadableDao<String, String> dao =
+                new CachingReadableDao<>(NAME, this::countingGet, TIME_TO_LIVE, 1, loadExecutor, ticker);
+
+        // WHEN
+        dao.get("first");
+        dao.get("second");
+
+        // THEN
+        assertEquals(1, dao.getStats().evictionCount());
+    }
+
+    @Test
+    public void get_concurrentMisses_loadOnce() throws Exception {
+        // GIVEN
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CachingReadableDao<String, String> dao = new CachingReadableDao<>(NAME, customerId -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return countingGet(customerId);
+        }, TIME_TO_LIVE, 10, loadExecutor, ticker);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // WHEN
+            Future<String> first = executor.submit(() -> dao.get(CUSTOMER_ID));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<String> second = executor.submit(() -> dao.get(CUSTOMER_ID));
+            release.countDown();
+
+            // THEN
+            assertEquals(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void get_firstCallerInterrupted_otherWaitersStillLoad() throws Exception {
+        // GIVEN
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CachingReadableDao<String, String> dao = new CachingReadableDao<>(NAME, customerId -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException("load interrupted", e);
+            }
+            return countingGet(customerId);
+        }, TIME_TO_LIVE, 10, loadExecutor, ticker);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // WHEN
+            Future<String> first = executor.submit(() -> dao.get(CUSTOMER_ID));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<String> second = executor.submit(() -> dao.get(CUSTOMER_ID));
+            first.cancel(true);
+            release.countDown();
+
+            // THEN
+            assertEquals("profile-" + CUSTOMER_ID, second.get(5, TimeUnit.SECONDS));
+            assertEquals("profile-" + CUSTOMER_ID, dao.get(CUSTOMER_ID));
+            assertEquals(1, calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void getAll_someCached_loadsMissesWithOneGetAll() {
+        // GIVEN
+        AtomicInteger getAllCalls = new AtomicInteger();
+        CachingReadableDao<String, String> dao = new CachingReadableDao<>(NAME, new ReadableDao<String, String>() {
+            @Override
+            public String get(String customerId) {
+                return countingGet(customerId);
+            }
+
+            @Override
+            public Map<String, String> getAll(Collection<String> customerIds) {
+                getAllCalls.incrementAndGet();
+                Map<String, String> results = new LinkedHashMap<>();
+                customerIds.forEach(customerId -> results.put(customerId, countingGet(customerId)));
+                return results;
+            }
+        }, TIME_TO_LIVE, 10, loadExecutor, ticker);
+        dao.get("first");
+
+        // WHEN
+        Map<String, String> results = dao.getAll(Arrays.asList("first", "second", "third"));
+
+        // THEN
+        assertEquals(Arrays.asList("first", "second", "third"), new ArrayList<>(results.keySet()));
+        assertEquals("profile-third", results.get("third"));
+        assertEquals(3, calls.get());
+        assertEquals(1, getAllCalls.get());
+    }
+
+    @Test
+    public void invalidate_loadsAgain() {
+        // GIVEN
+        CachingReadableDao<String, String> dao =
+                new CachingReadableDao<>(NAME, this::countingGet, TIME_TO_LIVE, 10, loadExecutor, ticker);
+        dao.get(CUSTOMER_ID);
+
+        // WHEN
+        dao.invalidate(CUSTOMER_ID);
+        dao.get(CUSTOMER_ID);
+
+        // THEN
+        assertEquals(2, calls.get());
+    }
+
+    private String countingGet(String customerId) {
+        calls.incrementAndGet();
+        return "profile-" + customerId;
+    }
+}
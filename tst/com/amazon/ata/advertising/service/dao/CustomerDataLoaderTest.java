@@ -0,0 +1,283 @@
+package com.amazon.ata.advertising.service.dao;
+
+import com.amazon.ata.advertising.service.model.CustomerSpendVector;
+import com.amazon.ata.advertising.service.model.RequestContext;
+import com.amazon.ata.customerservice.CustomerProfile;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class CustomerDataLoaderTest {
+    private static final String CUSTOMER_ID = "A123B456";
+    private static final String MARKETPLACE_ID = "1";
+    private static final RequestContext REQUEST_CONTEXT = new RequestContext(CUSTOMER_ID, MARKETPLACE_ID);
+    private static final CustomerProfile PROFILE = CustomerProfile.builder().withParent(true).build();
+
+    @Mock
+    private ReadableDao<String, CustomerProfile> customerProfileDao;
+
+    @Mock
+    private ReadableDao<RequestContext, CustomerSpendVector> customerSpendDao;
+
+    @Mock
+    private ReadableDao<RequestContext, List<String>> primeDao;
+
+    private CustomerDataLoader loader;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+        when(customerProfileDao.get(CUSTOMER_ID)).thenReturn(PROFILE);
+        when(customerSpendDao.get(REQUEST_CONTEXT)).thenReturn(CustomerSpendVector.EMPTY);
+        when(primeDao.get(REQUEST_CONTEXT)).thenReturn(Collections.emptyList());
+        loader = new CustomerDataLoader(customerProfileDao, customerSpendDao, primeDao, MoreExecutors.directExecutor());
+    }
+
+    @Test
+    public void load_withinScope_fetchesEachDataSetOnce() {
+        // GIVEN
+        CustomerDataLoader.RequestScope scope = loader.openScope(REQUEST_CONTEXT);
+        try {
+            // WHEN
+            for (int i = 0; i < 3; i++) {
+                assertEquals(PROFILE, loader.loadCustomerProfile(REQUEST_CONTEXT).join());
+                loader.loadCustomerSpend(REQUEST_CONTEXT).join();
+                loader.loadPrimeBenefits(REQUEST_CONTEXT).join();
+            }
+        } finally {
+            scope.close();
+        }
+
+        // THEN
+        verify(customerProfileDao, times(1)).get(CUSTOMER_ID);
+        verify(customerSpendDao, times(1)).get(REQUEST_CONTEXT);
+        verify(primeDao, times(1)).get(REQUEST_CONTEXT);
+    }
+
+    @Test
+    public void load_withoutScope_fetchesEveryTime() {
+        // WHEN
+        loader.loadCustomerProfile(REQUEST_CONTEXT).join();
+        loader.loadCustomerProfile(REQUEST_CONTEXT).join();
+
+        // THEN
+        verify(customerProfileDao, times(2)).get(CUSTOMER_ID);
+    }
+
+    @Test
+    public void load_afterScopeClosed_fetchesAgain() {
+        // GIVEN
+        CustomerDataLoader.RequestScope first = loader.openScope(REQUEST_CONTEXT);
+        try {
+            loader.loadCustomerProfile(REQUEST_CONTEXT).join();
+        } finally {
+            first.close();
+        }
+
+        // WHEN
+        CustomerDataLoader.RequestScope second = loader.openScope(REQUEST_CONTEXT);
+        try {
+            loader.loadCustomerProfile(REQUEST_CONTEXT).join();
+        } finally {
+            second.close();
+        }
+
+        // THEN
+        verify(customerProfileDao, times(2)).get(CUSTOMER_ID);
+    }
+
+    @Test
+    public void load_scopeStillOpenByAnotherRequest_keepsSharedData() {
+        // GIVEN
+        CustomerDataLoader.RequestScope first = loader.openScope(REQUEST_CONTEXT);
+        CustomerDataLoader.RequestScope second = loader.openScope(REQUEST_CONTEXT);
+        loader.loadCustomerProfile(REQUEST_CONTEXT).join();
+
+        // WHEN
+        first.close();
+        first.close();
+        loader.loadCustomerProfile(REQUEST_CONTEXT).join();
+        second.close();
+
+        // THEN
+        verify(customerProfileDao, times(1)).get(CUSTOMER_ID);
+    }
+
+    @Test
+    public void load_concurrentCallers_shareInFlightFuture() throws Exception {
+        // GIVEN
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ReadableDao<String, CustomerProfile> slowDao = customerId -> {
+            calls.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return PROFILE;
+        };
+        CustomerDataLoader slowLoader =
+                new CustomerDataLoader(slowDao, customerSpendDao, primeDao, MoreExecutors.directExecutor());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        CustomerDataLoader.RequestScope scope = slowLoader.openScope(REQUEST_CONTEXT);
+        try {
+            Future<CompletableFuture<CustomerProfile>> inFlight =
+                    executor.submit(() -> slowLoader.loadCustomerProfile(REQUEST_CONTEXT));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // WHEN
+            CompletableFuture<CustomerProfile> shared = slowLoader.loadCustomerProfile(REQUEST_CONTEXT);
+            release.countDown();
+
+            // THEN
+            assertSame(inFlight.get(5, TimeUnit.SECONDS), shared);
+            assertEquals(PROFILE, shared.join());
+            assertEquals(1, calls.get());
+        } finally {
+            scope.close();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void load_daoThrows_completesExceptionally() {
+        // GIVEN
+        when(primeDao.get(REQUEST_CONTEXT)).thenThrow(new IllegalStateException("down"));
+
+        // WHEN
+        CompletableFuture<List<String>> benefits = loader.loadPrimeBenefits(REQUEST_CONTEXT);
+
+        // THEN
+        assertTrue(benefits.isCompletedExceptionally());
+    }
+
+    @Test
+    public void prefetch_withinScope_loadsOnExecutorAndSharesResult() {
+        // GIVEN
+        List<Runnable> submitted = new ArrayList<>();
+        CustomerDataLoader prefetchingLoader =
+                new CustomerDataLoader(customerProfileDao, customerSpendDao, primeDao, submitted::add);
+
+        CustomerDataLoader.RequestScope scope = prefetchingLoader.openScope(REQUEST_CONTEXT);
+        try {
+            // WHEN
+            prefetchingLoader.prefetch(REQUEST_CONTEXT,
+                    EnumSet.of(CustomerDataSource.CUSTOMER_PROFILE, CustomerDataSource.PRIME_BENEFITS));
+            CompletableFuture<CustomerProfile> profile = prefetchingLoader.loadCustomerProfile(REQUEST_CONTEXT);
+
+            // THEN
+            assertEquals(2, submitted.size());
+            assertFalse(profile.isDone());
+            submitted.forEach(Runnable::run);
+            assertEquals(PROFILE, profile.join());
+            prefetchingLoader.loadPrimeBenefits(REQUEST_CONTEXT).join();
+        } finally {
+            scope.close();
+        }
+        verify(customerProfileDao, times(1)).get(CUSTOMER_ID);
+        verify(primeDao, times(1)).get(REQUEST_CONTEXT);
+        verify(customerSpendDao, never()).get(any());
+    }
+
+    @Test
+    public void prefetchAll_withinScope_completesOnceEveryLoadIsDone() {
+        // GIVEN
+        List<Runnable> submitted = new ArrayList<>();
+        when(primeDao.get(REQUEST_CONTEXT)).thenThrow(new IllegalStateException("down"));
+        CustomerDataLoader prefetchingLoader =
+                new CustomerDataLoader(customerProfileDao, customerSpendDao, primeDao, submitted::add);
+
+        CustomerDataLoader.RequestScope scope = prefetchingLoader.openScope(REQUEST_CONTEXT);
+        try {
+            // WHEN
+            CompletableFuture<Void> loaded = prefetchingLoader.prefetchAll(REQUEST_CONTEXT,
+                    EnumSet.of(CustomerDataSource.CUSTOMER_PROFILE, CustomerDataSource.PRIME_BENEFITS));
+
+            // THEN
+            assertFalse(loaded.isDone());
+            submitted.get(0).run();
+            assertFalse(loaded.isDone());
+            submitted.get(1).run();
+            assertTrue(loaded.isDone());
+            assertFalse(loaded.isCompletedExceptionally());
+            assertTrue(prefetchingLoader.loadCustomerProfile(REQUEST_CONTEXT).isDone());
+            assertTrue(prefetchingLoader.loadPrimeBenefits(REQUEST_CONTEXT).isCompletedExceptionally());
+        } finally {
+            scope.close();
+        }
+    }
+
+    @Test
+    public void close_lastScopeWithLoadsInFlight_cancelsLoads() {
+        // GIVEN
+        List<Runnable> submitted = new ArrayList<>();
+        CustomerDataLoader prefetchingLoader =
+                new CustomerDataLoader(customerProfileDao, customerSpendDao, primeDao, submitted::add);
+        CustomerDataLoader.RequestScope scope = prefetchingLoader.openScope(REQUEST_CONTEXT);
+        prefetchingLoader.prefetch(REQUEST_CONTEXT, EnumSet.of(CustomerDataSource.CUSTOMER_PROFILE));
+        CompletableFuture<CustomerProfile> profile = prefetchingLoader.loadCustomerProfile(REQUEST_CONTEXT);
+
+        // WHEN
+        scope.close();
+        submitted.forEach(Runnable::run);
+
+        // THEN
+        assertTrue(profile.isCancelled());
+        verify(customerProfileDao, never()).get(any());
+    }
+
+    @Test
+    public void prefetch_withoutScope_doesNotLoad() {
+        // WHEN
+        loader.prefetch(REQUEST_CONTEXT, EnumSet.allOf(CustomerDataSource.class));
+
+        // THEN
+        verifyZeroInteractions(customerProfileDao, customerSpendDao, primeDao);
+    }
+
+    @Test
+    public void prefetch_unrecognizedCustomer_doesNotLoad() {
+        // GIVEN
+        RequestContext unrecognized = new RequestContext(null, MARKETPLACE_ID);
+
+        // WHEN
+        CustomerDataLoader.RequestScope scope = loader.openScope(unrecognized);
+        try {
+            loader.prefetch(unrecognized, EnumSet.allOf(CustomerDataSource.class));
+        } finally {
+            scope.close();
+        }
+
+        // THEN
+        verifyZeroInteractions(customerProfileDao, customerSpendDao, primeDao);
+    }
+}
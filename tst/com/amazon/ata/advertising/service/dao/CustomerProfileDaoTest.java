@@ -1,6 +1,8 @@
 package com.amazon.ata.advertising.service.dao;
 
 import com.amazon.ata.customerservice.AgeRange;
+import com.amazon.ata.customerservice.BatchGetCustomerProfilesRequest;
+import com.amazon.ata.customerservice.BatchGetCustomerProfilesResponse;
 import com.amazon.ata.customerservice.CustomerProfile;
 import com.amazon.ata.customerservice.GetCustomerProfileRequest;
 import com.amazon.ata.customerservice.GetCustomerProfileResponse;
@@ -12,6 +14,10 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
@@ -55,4 +61,44 @@ public class CustomerProfileDaoTest {
         GetCustomerProfileRequest capturedRequest = requestCaptor.getValue();
         assertEquals(capturedRequest.getCustomerId(), CUSTOMER_ID);
     }
+
+    @Test
+    public void getAll_customerIds_receivesProfilesInOneBatchCall() {
+        // GIVEN
+        ArgumentCaptor<BatchGetCustomerProfilesRequest> requestCaptor =
+                ArgumentCaptor.forClass(BatchGetCustomerProfilesRequest.class);
+        when(customerClient.batchGetCustomerProfiles(any(BatchGetCustomerProfilesRequest.class))).thenReturn(
+                BatchGetCustomerProfilesResponse.builder()
+                        .withCustomerProfiles(Collections.singletonMap(CUSTOMER_ID, PROFILE))
+                        .build());
+
+        // WHEN
+        Map<String, CustomerProfile> actual = customerProfileDao.getAll(Arrays.asList(CUSTOMER_ID, CUSTOMER_ID));
+
+        // THEN
+        assertEquals(Collections.singletonMap(CUSTOMER_ID, PROFILE), actual);
+        verify(customerClient).batchGetCustomerProfiles(requestCaptor.capture());
+        assertEquals(Collections.singletonList(CUSTOMER_ID), requestCaptor.getValue().getCustomerIds());
+    }
+
+    @Test
+    public void getAll_customerMissingFromBatchResponse_looksUpCustomerWithGet() {
+        // GIVEN
+        String missingCustomerId = "2";
+        when(customerClient.batchGetCustomerProfiles(any(BatchGetCustomerProfilesRequest.class))).thenReturn(
+                BatchGetCustomerProfilesResponse.builder()
+                        .withCustomerProfiles(Collections.singletonMap(CUSTOMER_ID, PROFILE))
+                        .build());
+        when(customerClient.getCustomerProfile(GetCustomerProfileRequest.builder()
+                .withCustomerId(missingCustomerId)
+                .build())).thenReturn(RESULT);
+
+        // WHEN
+        Map<String, CustomerProfile> actual =
+                customerProfileDao.getAll(Arrays.asList(CUSTOMER_ID, missingCustomerId));
+
+        // THEN
+        assertEquals(PROFILE, actual.get(CUSTOMER_ID));
+        assertEquals(customerProfileDao.get(missingCustomerId), actual.get(missingCustomerId));
+    }
 }
@@ -1,5 +1,6 @@
 package com.amazon.ata.advertising.service.dao;
 
+import com.amazon.ata.advertising.service.model.CustomerSpendVector;
 import com.amazon.ata.advertising.service.model.RequestContext;
 import com.amazon.ata.customerservice.Category;
 import com.amazon.ata.customerservice.CustomerSpendCategories;
@@ -14,7 +15,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 
 import java.util.Collections;
-import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
@@ -28,6 +28,7 @@ public class CustomerSpendDaoTest {
     private static final RequestContext REQUEST_CONTEXT = new RequestContext(CUSTOMER_ID, MARKETPLACE_ID);
     private static final String CATEGORY = Category.COMPUTERS;
     private static final Spend SPEND = Spend.builder().withNumberOfPurchases(1).withUsdSpent(1).build();
+    private static final int CATEGORY_INDEX = CustomerSpendVector.categoryIndex(CATEGORY);
 
     private static final GetCustomerSpendCategoriesResponse SERVICE_RESULT = GetCustomerSpendCategoriesResponse.builder()
             .withCustomerSpendCategories(CustomerSpendCategories.builder()
@@ -53,12 +54,13 @@ public class CustomerSpendDaoTest {
         when(customerClient.getCustomerSpendCategories(any(GetCustomerSpendCategoriesRequest.class))).thenReturn(SERVICE_RESULT);
 
         // WHEN
-        Map<String, Spend> result = customerSpendDao.get(REQUEST_CONTEXT);
+        CustomerSpendVector result = customerSpendDao.get(REQUEST_CONTEXT);
 
 
         // THEN
-        assertEquals(result.size(), 1);
-        assertEquals(result.get(Category.COMPUTERS), SPEND);
+        assertEquals(result.getNumberOfPurchases(CATEGORY_INDEX), SPEND.getNumberOfPurchases());
+        assertEquals(result.getCentsSpent(CATEGORY_INDEX), SPEND.getUsdSpent() * 100L);
+        assertEquals(result.getNumberOfPurchases(CustomerSpendVector.categoryIndex(Category.PET)), 0);
 
         verify(customerClient).getCustomerSpendCategories(requestCaptor.capture());
         GetCustomerSpendCategoriesRequest request = requestCaptor.getValue();
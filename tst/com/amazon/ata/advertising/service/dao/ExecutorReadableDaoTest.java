@@ -0,0 +1,94 @@
+package com.amazon.ata.advertising.service.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExecutorReadableDaoTest {
+
+    @Test
+    public void getAsync_callsDelegateOnExecutor() {
+        // GIVEN
+        List<Runnable> submitted = new ArrayList<>();
+        ExecutorReadableDao<String, Integer> dao = new ExecutorReadableDao<>(String::length, submitted::add);
+
+        // WHEN
+        CompletableFuture<Integer> result = dao.getAsync("four");
+
+        // THEN
+        assertFalse(result.isDone());
+        submitted.forEach(Runnable::run);
+        assertEquals(4, result.join());
+    }
+
+    @Test
+    public void getAsync_delegateThrows_completesExceptionally() {
+        // GIVEN
+        ExecutorReadableDao<String, Integer> dao = new ExecutorReadableDao<>(input -> {
+            throw new IllegalStateException("down");
+        }, Runnable::run);
+
+        // WHEN
+        CompletableFuture<Integer> result = dao.getAsync("four");
+
+        // THEN
+        assertTrue(result.isCompletedExceptionally());
+        assertThrows(IllegalStateException.class, () -> dao.get("four"));
+    }
+
+    @Test
+    public void getAsync_delegateThrowsError_completesExceptionally() {
+        // GIVEN
+        ExecutorReadableDao<String, Integer> dao = new ExecutorReadableDao<>(input -> {
+            throw new StackOverflowError();
+        }, Runnable::run);
+
+        // WHEN
+        CompletableFuture<Integer> result = dao.getAsync("four");
+
+        // THEN
+        assertTrue(result.isCompletedExceptionally());
+    }
+
+    @Test
+    public void getAsync_executorRejects_callsDelegateOnCaller() {
+        // GIVEN
+        ExecutorReadableDao<String, Integer> dao = new ExecutorReadableDao<>(String::length, command -> {
+            throw new RejectedExecutionException("full");
+        });
+
+        // WHEN
+        CompletableFuture<Integer> result = dao.getAsync("four");
+
+        // THEN
+        assertEquals(4, result.join());
+    }
+
+    @Test
+    public void getAsync_cancelledBeforeCallStarts_delegateNotCalled() {
+        // GIVEN
+        List<Runnable> submitted = new ArrayList<>();
+        List<String> calls = new ArrayList<>();
+        ExecutorReadableDao<String, Integer> dao = new ExecutorReadableDao<>(input -> {
+            calls.add(input);
+            return input.length();
+        }, submitted::add);
+        CompletableFuture<Integer> result = dao.getAsync("four");
+
+        // WHEN
+        result.cancel(true);
+        submitted.forEach(Runnable::run);
+
+        // THEN
+        assertTrue(result.isCancelled());
+        assertTrue(calls.isEmpty());
+    }
+}
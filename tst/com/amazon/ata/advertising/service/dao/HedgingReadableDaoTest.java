@@ -0,0 +1,130 @@
+package com.amazon.ata.advertising.service.dao;
+
+import com.amazon.ata.advertising.service.resilience.HedgeBudget;
+import com.amazon.ata.advertising.service.resilience.LatencyPercentile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class HedgingReadableDaoTest {
+    private static final int WARM_UP_CALLS = 200;
+
+    private final AtomicInteger slowCalls = new AtomicInteger();
+    private final CountDownLatch slowCallReleased = new CountDownLatch(1);
+    private ExecutorService hedgeExecutor;
+
+    @BeforeEach
+    public void setup() {
+        hedgeExecutor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        slowCallReleased.countDown();
+        hedgeExecutor.shutdownNow();
+    }
+
+    @Test
+    public void get_callSlowerThanPercentile_returnsHedgedResult() {
+        // GIVEN
+        HedgingReadableDao<String, String> dao = hedging(this::firstCallSlow, 10);
+        warmUp(dao);
+
+        // WHEN
+        String result = dao.get("slow");
+
+        // THEN
+        assertEquals("slow call 2", result);
+        assertEquals(2, slowCalls.get());
+    }
+
+    @Test
+    public void getAll_batchSlowerThanPercentile_returnsHedgedResult() {
+        // GIVEN
+        HedgingReadableDao<String, String> dao = hedging(this::firstCallSlow, 10);
+        for (int i = 0; i < WARM_UP_CALLS; i++) {
+            dao.getAll(Collections.singletonList("warm-up"));
+        }
+
+        // WHEN
+        Map<String, String> results = dao.getAll(Arrays.asList("other", "slow"));
+
+        // THEN
+        assertEquals("slow call 2", results.get("slow"));
+        assertEquals("other", results.get("other"));
+        assertEquals(2, slowCalls.get());
+    }
+
+    @Test
+    public void get_noHedgeBudget_waitsForOriginalCall() {
+        // GIVEN
+        HedgingReadableDao<String, String> dao = hedging(this::firstCallSlow, 0);
+        warmUp(dao);
+        hedgeExecutor.submit(() -> {
+            TimeUnit.MILLISECONDS.sleep(50);
+            slowCallReleased.countDown();
+            return null;
+        });
+
+        // WHEN
+        String result = dao.get("slow");
+
+        // THEN
+        assertEquals("slow call 1", result);
+        assertEquals(1, slowCalls.get());
+    }
+
+    @Test
+    public void get_bothCallsFail_throwsFailure() {
+        // GIVEN
+        HedgingReadableDao<String, String> dao = hedging(query -> {
+            throw new IllegalStateException("down");
+        }, 10);
+
+        // WHEN + THEN
+        assertThrows(IllegalStateException.class, () -> dao.get("query"));
+    }
+
+    private HedgingReadableDao<String, String> hedging(ReadableDao<String, String> delegate, int maxHedgePercent) {
+        return new HedgingReadableDao<>(delegate, hedgeExecutor, new LatencyPercentile(95), Duration.ofMillis(1),
+                new HedgeBudget(maxHedgePercent));
+    }
+
+    /**
+     * Answers warm-up queries at once. Names each call for the "slow" query by its number, and blocks the first one
+     * until the test releases it.
+     */
+    private String firstCallSlow(String query) {
+        if (!"slow".equals(query)) {
+            return query;
+        }
+        int call = slowCalls.incrementAndGet();
+        if (call == 1) {
+            try {
+                slowCallReleased.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return "slow call " + call;
+    }
+
+    private void warmUp(HedgingReadableDao<String, String> dao) {
+        for (int i = 0; i < WARM_UP_CALLS; i++) {
+            dao.get("warm-up");
+        }
+    }
+}
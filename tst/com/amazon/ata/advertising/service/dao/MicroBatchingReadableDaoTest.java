@@ -0,0 +1,304 @@
+package com.amazon.ata.advertising.service.dao;
+
+import com.amazon.ata.advertising.service.exceptions.AdvertisementServiceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MicroBatchingReadableDaoTest {
+    private static final String NAME = "ProfileDao";
+    private static final Duration BATCH_TIMEOUT = Duration.ofSeconds(5);
+
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+
+    private final CountDownLatch batchStarted = new CountDownLatch(1);
+    private final CountDownLatch batchReleased = new CountDownLatch(1);
+    private volatile boolean blockBatches;
+    private final ExecutorService fetchExecutor = Executors.newCachedThreadPool();
+
+    private final ReadableDao<String, String> batchDao = new ReadableDao<String, String>() {
+        @Override
+        public String get(String customerId) {
+            throw new AssertionError("Single gets should be batched.");
+        }
+
+        @Override
+        public Map<String, String> getAll(Collection<String> customerIds) {
+            batches.add(new ArrayList<>(customerIds));
+            if (blockBatches) {
+                batchStarted.countDown();
+                try {
+                    batchReleased.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted waiting for the call.", e);
+                }
+            }
+            return customerIds.stream().collect(Collectors.toMap(id -> id, id -> "profile-" + id));
+        }
+    };
+
+    @AfterEach
+    public void tearDown() {
+        batchReleased.countDown();
+        fetchExecutor.shutdownNow();
+    }
+
+    @Test
+    public void get_concurrentGetsFillBatch_oneGetAllForTheBatch() throws Exception {
+        // GIVEN
+        MicroBatchingReadableDao<String, String> dao =
+                new MicroBatchingReadableDao<>(NAME, batchDao, 3, Duration.ofSeconds(5), BATCH_TIMEOUT, fetchExecutor);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        try {
+            // WHEN
+            List<Future<String>> results = new ArrayList<>();
+            for (String customerId : Arrays.asList("a", "b", "c")) {
+                results.add(executor.submit(() -> dao.get(customerId)));
+            }
+
+            // THEN
+            assertEquals("profile-a", results.get(0).get(5, TimeUnit.SECONDS));
+            assertEquals("profile-b", results.get(1).get(5, TimeUnit.SECONDS));
+            assertEquals("profile-c", results.get(2).get(5, TimeUnit.SECONDS));
+            assertEquals(1, batches.size());
+            assertEquals(3, batches.get(0).size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void get_batchNotFilled_fetchedAfterWindow() {
+        // GIVEN
+        MicroBatchingReadableDao<String, String> dao =
+                new MicroBatchingReadableDao<>(NAME, batchDao, 10, Duration.ofMillis(1), BATCH_TIMEOUT, fetchExecutor);
+
+        // WHEN
+        String first = dao.get("a");
+        String second = dao.get("b");
+
+        // THEN
+        assertEquals("profile-a", first);
+        assertEquals("profile-b", second);
+        assertEquals(Arrays.asList(Collections.singletonList("a"), Collections.singletonList("b")), batches);
+    }
+
+    @Test
+    public void get_sameInputInFlight_sharesCall() throws Exception {
+        // GIVEN
+        blockBatches = true;
+        MicroBatchingReadableDao<String, String> dao =
+                new MicroBatchingReadableDao<>(NAME, batchDao, 1, Duration.ZERO, BATCH_TIMEOUT, fetchExecutor);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<String> first = executor.submit(() -> dao.get("a"));
+            assertTrue(batchStarted.await(5, TimeUnit.SECONDS));
+
+            // WHEN
+            Future<String> second = executor.submit(() -> dao.get("a"));
+            waitForCoalescedGets(dao, 1);
+            batchReleased.countDown();
+
+            // THEN
+            assertEquals("profile-a", first.get(5, TimeUnit.SECONDS));
+            assertEquals("profile-a", second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, batches.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void getAll_someInputsInFlight_fetchesOnlyTheOthers() throws Exception {
+        // GIVEN
+        blockBatches = true;
+        MicroBatchingReadableDao<String, String> dao =
+                new MicroBatchingReadableDao<>(NAME, batchDao, 1, Duration.ZERO, BATCH_TIMEOUT, fetchExecutor);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<String> first = executor.submit(() -> dao.get("a"));
+            assertTrue(batchStarted.await(5, TimeUnit.SECONDS));
+
+            // WHEN
+            Future<Map<String, String>> all = executor.submit(() -> dao.getAll(Arrays.asList("a", "b")));
+            waitForCoalescedGets(dao, 1);
+            batchReleased.countDown();
+
+            // THEN
+            assertEquals("profile-a", first.get(5, TimeUnit.SECONDS));
+            assertEquals("profile-a", all.get(5, TimeUnit.SECONDS).get("a"));
+            assertEquals("profile-b", all.get(5, TimeUnit.SECONDS).get("b"));
+            assertEquals(Arrays.asList(Collections.singletonList("a"), Collections.singletonList("b")), batches);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void getMetrics_afterBatches_reportsBatchSizes() {
+        // GIVEN
+        MicroBatchingReadableDao<String, String> dao =
+                new MicroBatchingReadableDao<>(NAME, batchDao, 10, Duration.ofMillis(1), BATCH_TIMEOUT, fetchExecutor);
+
+        // WHEN
+        dao.get("a");
+        dao.getAll(Arrays.asList("b", "c", "d"));
+
+        // THEN
+        BatchMetrics metrics = dao.getMetrics();
+        assertEquals(2, metrics.getBatches());
+        assertEquals(2.0, metrics.getAverageBatchSize());
+        assertEquals(3, metrics.getLargestBatch());
+        assertTrue(metrics.getAverageWaitMillis() > 0);
+    }
+
+    @Test
+    public void get_batchFails_throwsFailure() {
+        // GIVEN
+        MicroBatchingReadableDao<String, String> dao = new MicroBatchingReadableDao<>(NAME, new ReadableDao<String, String>() {
+            @Override
+            public String get(String customerId) {
+                throw new AssertionError("Single gets should be batched.");
+            }
+
+            @Override
+            public Map<String, String> getAll(Collection<String> customerIds) {
+                throw new IllegalStateException("down");
+            }
+        }, 10, Duration.ofMillis(1), BATCH_TIMEOUT, fetchExecutor);
+
+        // WHEN + THEN
+        assertThrows(IllegalStateException.class, () -> dao.get("a"));
+    }
+
+    @Test
+    public void get_firstGetOfBatchInterrupted_otherGetsInBatchStillLoad() throws Exception {
+        // GIVEN
+        blockBatches = true;
+        MicroBatchingReadableDao<String, String> dao =
+                new MicroBatchingReadableDao<>(NAME, batchDao, 2, Duration.ofSeconds(5), BATCH_TIMEOUT, fetchExecutor);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<String> first = executor.submit(() -> dao.get("a"));
+            waitForOpenBatch(dao, "a");
+            Future<String> second = executor.submit(() -> dao.get("b"));
+            assertTrue(batchStarted.await(5, TimeUnit.SECONDS));
+
+            // WHEN
+            first.cancel(true);
+            batchReleased.countDown();
+
+            // THEN
+            assertEquals("profile-b", second.get(5, TimeUnit.SECONDS));
+            assertEquals("profile-a", dao.get("a"));
+            assertEquals(Arrays.asList("a", "b"), batches.get(0));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void get_sameInputInFlightAndFirstGetInterrupted_sharedGetStillLoads() throws Exception {
+        // GIVEN
+        blockBatches = true;
+        MicroBatchingReadableDao<String, String> dao =
+                new MicroBatchingReadableDao<>(NAME, batchDao, 1, Duration.ZERO, BATCH_TIMEOUT, fetchExecutor);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<String> first = executor.submit(() -> dao.get("a"));
+            assertTrue(batchStarted.await(5, TimeUnit.SECONDS));
+            Future<String> second = executor.submit(() -> dao.get("a"));
+            waitForCoalescedGets(dao, 1);
+
+            // WHEN
+            first.cancel(true);
+            batchReleased.countDown();
+
+            // THEN
+            assertEquals("profile-a", second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, batches.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void get_batchThrowsError_laterGetsFetchAgain() {
+        // GIVEN
+        AtomicInteger calls = new AtomicInteger();
+        MicroBatchingReadableDao<String, String> dao = new MicroBatchingReadableDao<>(NAME,
+                new ReadableDao<String, String>() {
+                    @Override
+                    public String get(String customerId) {
+                        throw new AssertionError("Single gets should be batched.");
+                    }
+
+                    @Override
+                    public Map<String, String> getAll(Collection<String> customerIds) {
+                        calls.incrementAndGet();
+                        throw new StackOverflowError();
+                    }
+                }, 10, Duration.ofMillis(1), BATCH_TIMEOUT, fetchExecutor);
+
+        // WHEN
+        assertThrows(StackOverflowError.class, () -> dao.get("a"));
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(StackOverflowError.class, () -> dao.get("a")));
+
+        // THEN
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void get_batchSlowerThanTimeout_throwsTimeout() {
+        // GIVEN
+        blockBatches = true;
+        MicroBatchingReadableDao<String, String> dao =
+                new MicroBatchingReadableDao<>(NAME, batchDao, 1, Duration.ZERO, Duration.ofMillis(10), fetchExecutor);
+
+        // WHEN + THEN
+        assertThrows(AdvertisementServiceException.class, () -> dao.get("a"));
+    }
+
+    private static void waitForOpenBatch(MicroBatchingReadableDao<String, String> dao, String customerId)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!dao.isWaiting(customerId) && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void waitForCoalescedGets(MicroBatchingReadableDao<String, String> dao, long gets)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (dao.getMetrics().getCoalescedGets() < gets && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+}
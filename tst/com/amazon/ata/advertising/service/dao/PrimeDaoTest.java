@@ -1,11 +1,14 @@
 package com.amazon.ata.advertising.service.dao;
 
 import com.amazon.ata.advertising.service.model.RequestContext;
+import com.amazon.ata.primeclubservice.BatchGetPrimeBenefitsRequest;
+import com.amazon.ata.primeclubservice.BatchGetPrimeBenefitsResponse;
 import com.amazon.ata.primeclubservice.Benefit;
 import com.amazon.ata.primeclubservice.GetPrimeBenefitsRequest;
 import com.amazon.ata.primeclubservice.GetPrimeBenefitsResponse;
 import com.amazon.ata.primeclubservice.PrimeBenefit;
 import com.amazon.ataprimeclubservicelambda.service.ATAPrimeClubService;
+import com.google.common.collect.ImmutableMap;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -14,6 +17,7 @@ import org.mockito.Mock;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.when;
@@ -57,4 +61,54 @@ public class PrimeDaoTest {
         // THEN
         assertEquals(Collections.singletonList(Benefit.MOM_DISCOUNT), primeBenefits);
     }
+
+    @Test
+    public void getAll_requestContexts_benefitsFromOneBatchCall() {
+        // GIVEN
+        String otherCustomerId = "67890";
+        when(primeClubService.batchGetPrimeBenefits(BatchGetPrimeBenefitsRequest.builder()
+                .withMarketplaceId(MARKETPLACE_ID)
+                .withCustomerIds(Arrays.asList(CUSTOMER_ID, otherCustomerId))
+                .build()))
+                .thenReturn(BatchGetPrimeBenefitsResponse.builder()
+                        .withPrimeBenefits(ImmutableMap.of(
+                                CUSTOMER_ID, RESULT.getPrimeBenefits(),
+                                otherCustomerId, Collections.emptyList()))
+                        .build());
+
+        // WHEN
+        Map<RequestContext, List<String>> primeBenefits = primeDao.getAll(Arrays.asList(
+                REQUEST_CONTEXT, new RequestContext(otherCustomerId, MARKETPLACE_ID)));
+
+        // THEN
+        assertEquals(Collections.singletonList(Benefit.MOM_DISCOUNT), primeBenefits.get(REQUEST_CONTEXT));
+        assertEquals(Collections.emptyList(), primeBenefits.get(new RequestContext(otherCustomerId, MARKETPLACE_ID)));
+    }
+
+    @Test
+    public void getAll_customerMissingFromBatchResponse_looksUpCustomerWithGet() {
+        // GIVEN
+        String missingCustomerId = "67890";
+        RequestContext missingRequestContext = new RequestContext(missingCustomerId, MARKETPLACE_ID);
+        when(primeClubService.batchGetPrimeBenefits(BatchGetPrimeBenefitsRequest.builder()
+                .withMarketplaceId(MARKETPLACE_ID)
+                .withCustomerIds(Arrays.asList(CUSTOMER_ID, missingCustomerId))
+                .build()))
+                .thenReturn(BatchGetPrimeBenefitsResponse.builder()
+                        .withPrimeBenefits(ImmutableMap.of(CUSTOMER_ID, Collections.emptyList()))
+                        .build());
+        when(primeClubService.getPrimeBenefits(GetPrimeBenefitsRequest.builder()
+                .withMarketplaceId(MARKETPLACE_ID)
+                .withCustomerId(missingCustomerId)
+                .build())).thenReturn(RESULT);
+
+        // WHEN
+        Map<RequestContext, List<String>> primeBenefits =
+                primeDao.getAll(Arrays.asList(REQUEST_CONTEXT, missingRequestContext));
+
+        // THEN
+        assertEquals(Collections.emptyList(), primeBenefits.get(REQUEST_CONTEXT));
+        assertEquals(primeDao.get(missingRequestContext), primeBenefits.get(missingRequestContext));
+        assertEquals(Collections.singletonList(Benefit.MOM_DISCOUNT), primeBenefits.get(missingRequestContext));
+    }
 }
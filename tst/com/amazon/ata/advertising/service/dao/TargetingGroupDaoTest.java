@@ -9,14 +9,17 @@ import com.amazon.ata.advertising.service.targeting.predicate.TargetingPredicate
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
 import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedQueryList;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -66,6 +69,36 @@ class TargetingGroupDaoTest {
         assertEquals(paginatedQueryList, targetingGroups);
     }
 
+    @Test
+    public void getAll_severalContentIds_returnsTargetingGroupsOfEachContentOnce() {
+        // GIVEN
+        TargetingGroup targetingGroup = new TargetingGroup("group", "content", 0.5, Collections.emptyList());
+        when(paginatedQueryList.toArray()).thenReturn(new Object[] {targetingGroup});
+        TargetingGroupDao dao = new TargetingGroupDao(injector, mapper, MoreExecutors.newDirectExecutorService());
+
+        // WHEN
+        Map<String, List<TargetingGroup>> targetingGroups = dao.getAll(Arrays.asList("content1", "content2", "content1"));
+
+        // THEN
+        assertEquals(Arrays.asList("content1", "content2"), Arrays.asList(targetingGroups.keySet().toArray()));
+        assertEquals(Collections.singletonList(targetingGroup), targetingGroups.get("content1"));
+        assertEquals(Collections.singletonList(targetingGroup), targetingGroups.get("content2"));
+        assertEquals(Arrays.asList("content1", "content2"), Arrays.asList(argumentCaptor.getAllValues().stream()
+                .map(expression -> expression.getHashKeyValues().getContentId())
+                .toArray()));
+    }
+
+    @Test
+    public void getAll_queryFails_throwsQueryException() {
+        // GIVEN
+        when(mapper.query(eq(TargetingGroup.class), any(DynamoDBQueryExpression.class)))
+                .thenThrow(new IllegalStateException("throttled"));
+        TargetingGroupDao dao = new TargetingGroupDao(injector, mapper, MoreExecutors.newDirectExecutorService());
+
+        // WHEN + THEN
+        assertThrows(IllegalStateException.class, () -> dao.getAll(Arrays.asList("content1", "content2")));
+    }
+
     @Test
     public void create_newTargetingGroup_saves() {
         // GIVEN
@@ -0,0 +1,194 @@
+package com.amazon.ata.advertising.service.dao.signals;
+
+import com.amazon.ata.advertising.service.model.CustomerSpendVector;
+import com.amazon.ata.customerservice.AgeRange;
+import com.amazon.ata.customerservice.Category;
+import com.amazon.ata.customerservice.CustomerProfile;
+import com.amazon.ata.customerservice.Spend;
+import com.amazon.ata.customerservice.State;
+import com.amazon.ata.primeclubservice.Benefit;
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CustomerSignalStoreTest {
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(5);
+    private static final String CUSTOMER_ID = "A123B456";
+    private static final String MARKETPLACE_ID = "1";
+
+    private AtomicLong nanos;
+    private CustomerSignalStore store;
+    private CustomerSignals signals;
+
+    @BeforeEach
+    public void setup() {
+        nanos = new AtomicLong();
+        store = new CustomerSignalStore(1_000, TIME_TO_LIVE, new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        });
+        signals = new CustomerSignals();
+    }
+
+    @Test
+    public void read_unknownCustomer_notFound() {
+        assertFalse(store.read(CUSTOMER_ID, signals));
+    }
+
+    @Test
+    public void writeProfile_readsBackProfile() {
+        // GIVEN
+        CustomerProfile profile = CustomerProfile.builder()
+                .withAgeRange(AgeRange.AGE_26_TO_30)
+                .withHomeState(State.WA)
+                .withParent(true)
+                .build();
+
+        // WHEN
+        assertTrue(store.writeProfile(CUSTOMER_ID, profile));
+
+        // THEN
+        assertTrue(store.read(CUSTOMER_ID, signals));
+        assertTrue(signals.hasProfile());
+        assertFalse(signals.hasSpend(MARKETPLACE_ID));
+        assertEquals(profile, signals.toCustomerProfile());
+    }
+
+    @Test
+    public void writeProfile_unknownFields_readBackAsNull() {
+        // WHEN
+        store.writeProfile(CUSTOMER_ID, CustomerProfile.builder().build());
+
+        // THEN
+        assertTrue(store.read(CUSTOMER_ID, signals));
+        assertNull(signals.getAgeRange());
+        assertNull(signals.getHomeState());
+        assertNull(signals.isParent());
+    }
+
+    @Test
+    public void writeSpend_readsBackSpendForSameMarketplaceOnly() {
+        // GIVEN
+        Map<String, Spend> spendByCategory = new HashMap<>();
+        spendByCategory.put(Category.PET, Spend.builder().withNumberOfPurchases(3).withUsdSpent(120).build());
+        spendByCategory.put(Category.KINDLE, Spend.builder().withNumberOfPurchases(1).withUsdSpent(0).build());
+        CustomerSpendVector customerSpend = CustomerSpendVector.fromSpendByCategory(spendByCategory);
+
+        // WHEN
+        store.writeSpend(CUSTOMER_ID, MARKETPLACE_ID, customerSpend);
+
+        // THEN
+        assertTrue(store.read(CUSTOMER_ID, signals));
+        assertTrue(signals.hasSpend(MARKETPLACE_ID));
+        assertFalse(signals.hasSpend("2"));
+        assertEquals(12_000, signals.getCentsSpent(CustomerSpendVector.categoryIndex(Category.PET)));
+        assertEquals(customerSpend, signals.toCustomerSpendVector());
+    }
+
+    @Test
+    public void writeSpend_marketplaceWithSameStringHashCode_notReadBack() {
+        // GIVEN
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+
+        // WHEN
+        store.writeSpend(CUSTOMER_ID, "Aa", CustomerSpendVector.fromSpendByCategory(new HashMap<>()));
+
+        // THEN
+        assertTrue(store.read(CUSTOMER_ID, signals));
+        assertTrue(signals.hasSpend("Aa"));
+        assertFalse(signals.hasSpend("BB"));
+    }
+
+    @Test
+    public void writePrimeBenefits_keepsOtherSections() {
+        // GIVEN
+        store.writeProfile(CUSTOMER_ID, CustomerProfile.builder().withAgeRange(AgeRange.OVER_60).build());
+
+        // WHEN
+        store.writePrimeBenefits(CUSTOMER_ID, MARKETPLACE_ID, Arrays.asList(Benefit.values()[0], Benefit.values()[2]));
+
+        // THEN
+        assertTrue(store.read(CUSTOMER_ID, signals));
+        assertEquals(AgeRange.OVER_60, signals.getAgeRange());
+        assertTrue(signals.hasPrimeBenefits(MARKETPLACE_ID));
+        assertEquals(Arrays.asList(Benefit.values()[0], Benefit.values()[2]), signals.toPrimeBenefits());
+    }
+
+    @Test
+    public void read_afterTimeToLive_sectionExpired() {
+        // GIVEN
+        store.writeProfile(CUSTOMER_ID, CustomerProfile.builder().build());
+
+        // WHEN
+        nanos.addAndGet(TIME_TO_LIVE.toNanos());
+
+        // THEN
+        assertFalse(store.read(CUSTOMER_ID, signals));
+        assertFalse(signals.hasProfile());
+    }
+
+    @Test
+    public void read_timeToLiveLongerThanIntegerSeconds_sectionNotExpired() {
+        // GIVEN
+        Ticker ticker = new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        };
+        CustomerSignalStore longLived = new CustomerSignalStore(1_000, Duration.ofSeconds(Long.MAX_VALUE), ticker);
+        nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        // WHEN
+        longLived.writeProfile(CUSTOMER_ID, CustomerProfile.builder().build());
+
+        // THEN
+        assertTrue(longLived.read(CUSTOMER_ID, signals));
+        assertTrue(signals.hasProfile());
+    }
+
+    @Test
+    public void constructor_timeToLiveNotPositive_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new CustomerSignalStore(1_000, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new CustomerSignalStore(1_000, Duration.ofSeconds(-1)));
+    }
+
+    @Test
+    public void write_bucketFull_replacesRecordWrittenLongestAgo() {
+        // GIVEN
+        CustomerSignalStore singleBucket = new CustomerSignalStore(1, TIME_TO_LIVE, new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        });
+        for (int i = 0; i < 8; i++) {
+            singleBucket.writeProfile("customer" + i, CustomerProfile.builder().build());
+            nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+        }
+
+        // WHEN
+        singleBucket.writeProfile(CUSTOMER_ID, CustomerProfile.builder().build());
+
+        // THEN
+        assertTrue(singleBucket.read(CUSTOMER_ID, signals));
+        assertFalse(singleBucket.read("customer0", signals));
+        for (int i = 1; i < 8; i++) {
+            assertTrue(singleBucket.read("customer" + i, signals));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.amazon.ata.advertising.service.dao.signals;
+
+import com.amazon.ata.advertising.service.model.CustomerSpendVector;
+import com.amazon.ata.advertising.service.model.RequestContext;
+import com.amazon.ata.customerservice.Category;
+import com.amazon.ata.customerservice.Spend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CustomerSpendSignalDaoTest {
+    private static final RequestContext REQUEST_CONTEXT = new RequestContext("A123B456", "1");
+    private static final CustomerSpendVector SPEND = CustomerSpendVector.fromSpendByCategory(
+            Collections.singletonMap(Category.PET, Spend.builder().withNumberOfPurchases(2).withUsdSpent(40).build()));
+
+    private AtomicInteger calls;
+    private CustomerSpendSignalDao dao;
+
+    @BeforeEach
+    public void setup() {
+        calls = new AtomicInteger();
+        dao = new CustomerSpendSignalDao(requestContext -> {
+            calls.incrementAndGet();
+            return SPEND;
+        }, new CustomerSignalStore(1_000, Duration.ofMinutes(5)));
+    }
+
+    @Test
+    public void get_repeatedCustomer_loadsOnce() {
+        // WHEN
+        dao.get(REQUEST_CONTEXT);
+        CustomerSpendVector result = dao.get(REQUEST_CONTEXT);
+
+        // THEN
+        assertEquals(SPEND, result);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void get_otherMarketplace_loadsAgain() {
+        // WHEN
+        dao.get(REQUEST_CONTEXT);
+        dao.get(new RequestContext(REQUEST_CONTEXT.getCustomerId(), "2"));
+
+        // THEN
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void get_unrecognizedCustomer_loadsFromDelegate() {
+        // GIVEN
+        RequestContext unrecognized = new RequestContext(null, "1");
+
+        // WHEN
+        dao.get(unrecognized);
+        dao.get(unrecognized);
+
+        // THEN
+        assertEquals(2, calls.get());
+    }
+}
@@ -0,0 +1,107 @@
+package com.amazon.ata.advertising.service.dependency;
+
+import com.amazon.ata.advertising.service.dao.ReadableDao;
+import com.amazon.ata.customerservice.BatchGetCustomerProfilesRequest;
+import com.amazon.ata.customerservice.BatchGetCustomerProfilesResponse;
+import com.amazon.ata.customerservice.CustomerProfile;
+import com.amazon.ata.customerservice.State;
+import com.amazon.atacustomerservicelambda.service.ATACustomerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+public class DaoModuleTest {
+    private static final String BATCH_ENABLED_KEY = "ata.advertising.customerService.batchEnabled";
+    private static final String BATCH_WINDOW_MILLIS_KEY = "ata.advertising.customerService.batchWindowMillis";
+    private static final String HEDGE_ENABLED_KEY = "ata.advertising.customerService.hedgeEnabled";
+    private static final String MAX_HEDGE_PERCENT_KEY = "ata.advertising.customerService.maxHedgePercent";
+    private static final String MIN_HEDGE_DELAY_MILLIS_KEY = "ata.advertising.customerService.minHedgeDelayMillis";
+    private static final String SLOW_CUSTOMER_ID = "slow";
+    private static final int WARM_UP_CALLS = 200;
+
+    private final AtomicInteger slowCalls = new AtomicInteger();
+    private final CountDownLatch slowCallReleased = new CountDownLatch(1);
+    private ExecutorService hedgeExecutor;
+    private ExecutorService batchFetchExecutor;
+    private ExecutorService cacheLoadExecutor;
+
+    @AfterEach
+    public void cleanup() {
+        System.clearProperty(BATCH_ENABLED_KEY);
+        System.clearProperty(BATCH_WINDOW_MILLIS_KEY);
+        System.clearProperty(HEDGE_ENABLED_KEY);
+        System.clearProperty(MAX_HEDGE_PERCENT_KEY);
+        System.clearProperty(MIN_HEDGE_DELAY_MILLIS_KEY);
+        slowCallReleased.countDown();
+        if (hedgeExecutor != null) {
+            hedgeExecutor.shutdownNow();
+        }
+        if (batchFetchExecutor != null) {
+            batchFetchExecutor.shutdownNow();
+        }
+        if (cacheLoadExecutor != null) {
+            cacheLoadExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void provideCustomerProfileDao_batchedAndHedged_slowBatchIsHedged() {
+        // GIVEN
+        System.setProperty(BATCH_ENABLED_KEY, "true");
+        System.setProperty(BATCH_WINDOW_MILLIS_KEY, "0");
+        System.setProperty(HEDGE_ENABLED_KEY, "true");
+        System.setProperty(MAX_HEDGE_PERCENT_KEY, "100");
+        System.setProperty(MIN_HEDGE_DELAY_MILLIS_KEY, "1");
+        hedgeExecutor = Executors.newCachedThreadPool();
+        batchFetchExecutor = Executors.newCachedThreadPool();
+        cacheLoadExecutor = Executors.newCachedThreadPool();
+        DaoModule daoModule = new DaoModule();
+        ReadableDao<String, CustomerProfile> dao = daoModule.provideCustomerProfileDao(new FirstSlowCustomerService(),
+                daoModule.provideCustomerServiceGuard(), hedgeExecutor, batchFetchExecutor, cacheLoadExecutor,
+                Optional.empty());
+        for (int i = 0; i < WARM_UP_CALLS; i++) {
+            dao.get("warm-up-" + i);
+        }
+
+        // WHEN
+        CustomerProfile profile = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> dao.get(SLOW_CUSTOMER_ID));
+
+        // THEN
+        assertEquals(State.WA, profile.getHomeState());
+        assertEquals(2, slowCalls.get());
+    }
+
+    /**
+     * Answers every batch at once, except the first one for the slow customer, which blocks until the test ends.
+     */
+    private class FirstSlowCustomerService extends ATACustomerService {
+        @Override
+        public BatchGetCustomerProfilesResponse batchGetCustomerProfiles(BatchGetCustomerProfilesRequest request) {
+            if (request.getCustomerIds().contains(SLOW_CUSTOMER_ID) && slowCalls.incrementAndGet() == 1) {
+                try {
+                    slowCallReleased.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            Map<String, CustomerProfile> profiles = new LinkedHashMap<>();
+            for (String customerId : request.getCustomerIds()) {
+                profiles.put(customerId, CustomerProfile.builder().withHomeState(State.WA).build());
+            }
+            return BatchGetCustomerProfilesResponse.builder()
+                    .withCustomerProfiles(profiles)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.amazon.ata.advertising.service.dependency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExecutorModuleTest {
+    private static final String PARALLELISM_KEY = "ata.advertising.targetingEvaluation.parallelism";
+    private static final String QUEUE_DEPTH_KEY = "ata.advertising.targetingEvaluation.queueDepth";
+    private static final String EXECUTION_MODE_KEY = "ata.advertising.executionMode";
+
+    private ExecutorService executor;
+
+    @AfterEach
+    public void cleanup() {
+        System.clearProperty(PARALLELISM_KEY);
+        System.clearProperty(QUEUE_DEPTH_KEY);
+        System.clearProperty(EXECUTION_MODE_KEY);
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void provideTargetingEvaluationExecutor_configuredBounds_areApplied() {
+        // GIVEN
+        System.setProperty(PARALLELISM_KEY, "3");
+        System.setProperty(QUEUE_DEPTH_KEY, "7");
+
+        // WHEN
+        executor = new ExecutorModule().provideTargetingEvaluationExecutor(Optional.empty());
+
+        // THEN
+        ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) executor;
+        assertEquals(3, threadPoolExecutor.getMaximumPoolSize());
+        assertEquals(7, threadPoolExecutor.getQueue().remainingCapacity());
+    }
+
+    @Test
+    public void provideTargetingEvaluationExecutor_queueFull_runsOnCallingThread() throws Exception {
+        // GIVEN
+        System.setProperty(PARALLELISM_KEY, "1");
+        System.setProperty(QUEUE_DEPTH_KEY, "1");
+        executor = new ExecutorModule().provideTargetingEvaluationExecutor(Optional.empty());
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> release.await(5, TimeUnit.SECONDS));
+        executor.submit(() -> release.await(5, TimeUnit.SECONDS));
+
+        // WHEN
+        Thread caller = Thread.currentThread();
+        Future<Boolean> inline = executor.submit(() -> Thread.currentThread() == caller);
+        release.countDown();
+
+        // THEN
+        assertTrue(inline.isDone());
+        assertTrue(inline.get());
+    }
+
+    @Test
+    public void provideExecutionMode_unknownMode_usesPlatform() {
+        // GIVEN
+        System.setProperty(EXECUTION_MODE_KEY, "green");
+
+        // WHEN
+        ExecutionMode mode = new ExecutorModule().provideExecutionMode();
+
+        // THEN
+        assertEquals(ExecutionMode.PLATFORM, mode);
+    }
+
+    @Test
+    public void provideExecutionMode_configuredMode_isParsed() {
+        // GIVEN
+        System.setProperty(EXECUTION_MODE_KEY, "virtual");
+
+        // WHEN
+        ExecutionMode mode = new ExecutorModule().provideExecutionMode();
+
+        // THEN
+        assertEquals(ExecutionMode.VIRTUAL, mode);
+    }
+
+    @Test
+    public void provideVirtualThreadExecutor_platformMode_isEmpty() {
+        // WHEN
+        Optional<ExecutorService> virtualThreadExecutor =
+                new ExecutorModule().provideVirtualThreadExecutor(ExecutionMode.PLATFORM);
+
+        // THEN
+        assertFalse(virtualThreadExecutor.isPresent());
+    }
+
+    @Test
+    public void provideCustomerDataExecutor_virtualThreadExecutor_isShared() {
+        // GIVEN
+        executor = new ExecutorModule().provideTargetingEvaluationExecutor(Optional.empty());
+
+        // WHEN
+        ExecutorService customerDataExecutor = new ExecutorModule().provideCustomerDataExecutor(Optional.of(executor));
+
+        // THEN
+        assertSame(executor, customerDataExecutor);
+    }
+}
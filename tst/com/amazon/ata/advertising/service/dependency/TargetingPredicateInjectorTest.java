@@ -12,6 +12,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -151,4 +159,22 @@ public class TargetingPredicateInjectorTest {
         verifyZeroInteractions(agePredicateInjector);
     }
 
+    @Test
+    public void injectCopy_sameListTwice_injectsOneCopy() {
+        // GIVEN
+        TargetingPredicate predicate = new AgeTargetingPredicate("21-25");
+        List<TargetingPredicate> predicates = Collections.singletonList(predicate);
+
+        // WHEN
+        List<TargetingPredicate> first = targetingPredicateInjector.injectCopy(predicates);
+        List<TargetingPredicate> second = targetingPredicateInjector.injectCopy(predicates);
+
+        // THEN
+        assertSame(first, second);
+        assertEquals(predicates, first);
+        assertNotSame(predicate, first.get(0));
+        verify(agePredicateInjector).injectMembers(same((AgeTargetingPredicate) first.get(0)));
+        verify(agePredicateInjector, never()).injectMembers(same((AgeTargetingPredicate) predicate));
+    }
+
 }
@@ -0,0 +1,84 @@
+package com.amazon.ata.advertising.service.migration;
+
+import com.amazon.ata.advertising.service.targeting.predicate.RecognizedTargetingPredicate;
+import com.amazon.ata.advertising.service.targeting.predicate.TargetingPredicate;
+import com.amazon.ata.advertising.service.targeting.predicate.TargetingPredicateEncoding;
+import com.amazon.ata.advertising.service.targeting.predicate.TargetingPredicateTypeConverter;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.ScanResult;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class TargetingPredicateMigrationTest {
+    private static final List<TargetingPredicate> PREDICATES =
+            Collections.singletonList(new RecognizedTargetingPredicate());
+
+    @Mock
+    private AmazonDynamoDB dynamoDb;
+
+    private TargetingPredicateTypeConverter converter = new TargetingPredicateTypeConverter();
+    private String json;
+    private String compact;
+    private TargetingPredicateMigration migration;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+        json = converter.convert(PREDICATES, TargetingPredicateEncoding.JSON);
+        compact = converter.convert(PREDICATES, TargetingPredicateEncoding.COMPACT);
+        when(dynamoDb.scan(any(ScanRequest.class))).thenReturn(new ScanResult()
+                .withItems(Arrays.asList(item("jsonGroup", json), item("compactGroup", compact))));
+        migration = new TargetingPredicateMigration(dynamoDb, converter);
+    }
+
+    @Test
+    public void migrate_toCompact_rewritesOnlyJsonItems() {
+        // WHEN
+        TargetingPredicateMigration.MigrationResult result = migration.migrate(TargetingPredicateEncoding.COMPACT, false);
+
+        // THEN
+        ArgumentCaptor<UpdateItemRequest> update = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        verify(dynamoDb).updateItem(update.capture());
+        assertEquals("jsonGroup", update.getValue().getKey().get("TargetingGroupId").getS());
+        assertEquals(compact, update.getValue().getExpressionAttributeValues().get(":rewritten").getS());
+        assertEquals(json, update.getValue().getExpressionAttributeValues().get(":current").getS());
+        assertEquals(2, result.getScanned());
+        assertEquals(1, result.getRewritten());
+        assertEquals(1, result.getSkipped());
+    }
+
+    @Test
+    public void migrate_dryRun_noUpdates() {
+        // WHEN
+        TargetingPredicateMigration.MigrationResult result = migration.migrate(TargetingPredicateEncoding.COMPACT, true);
+
+        // THEN
+        verify(dynamoDb, never()).updateItem(any(UpdateItemRequest.class));
+        assertEquals(1, result.getRewritten());
+    }
+
+    private static Map<String, AttributeValue> item(String targetingGroupId, String predicates) {
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("TargetingGroupId", new AttributeValue(targetingGroupId));
+        item.put("TargetingPredicates", new AttributeValue(predicates));
+        return item;
+    }
+}
@@ -0,0 +1,47 @@
+package com.amazon.ata.advertising.service.model;
+
+import com.amazon.ata.customerservice.Category;
+import com.amazon.ata.customerservice.Spend;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CustomerSpendVectorTest {
+
+    @Test
+    public void fromSpendByCategory_indexesByCategoryAndConvertsToCents() {
+        // GIVEN
+        Map<String, Spend> spendByCategory = new HashMap<>();
+        spendByCategory.put(Category.PET, Spend.builder().withNumberOfPurchases(4).withUsdSpent(250).build());
+        spendByCategory.put("GARDEN", Spend.builder().withNumberOfPurchases(1).withUsdSpent(10).build());
+
+        // WHEN
+        CustomerSpendVector customerSpend = CustomerSpendVector.fromSpendByCategory(spendByCategory);
+
+        // THEN
+        int pet = CustomerSpendVector.categoryIndex(Category.PET);
+        assertEquals(4, customerSpend.getNumberOfPurchases(pet));
+        assertEquals(25_000, customerSpend.getCentsSpent(pet));
+        assertEquals(0, customerSpend.getNumberOfPurchases(CustomerSpendVector.categoryIndex(Category.KINDLE)));
+    }
+
+    @Test
+    public void categoryIndex_unknownCategory_hasNoSpend() {
+        // WHEN
+        int index = CustomerSpendVector.categoryIndex("GARDEN");
+
+        // THEN
+        assertEquals(-1, index);
+        assertEquals(0, CustomerSpendVector.EMPTY.getNumberOfPurchases(index));
+        assertEquals(0, CustomerSpendVector.EMPTY.getCentsSpent(index));
+    }
+
+    @Test
+    public void constructor_wrongLength_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new CustomerSpendVector(new int[1], new long[1]));
+    }
+}
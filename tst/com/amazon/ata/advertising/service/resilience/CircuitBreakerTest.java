@@ -0,0 +1,117 @@
+package com.amazon.ata.advertising.service.resilience;
+
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CircuitBreakerTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(600);
+
+    private long now;
+    private final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return now;
+        }
+    };
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(10, 4, 50, 50,
+            Duration.ofMillis(500), Duration.ofSeconds(5), ticker);
+
+    @Test
+    public void failureRateReachesThreshold_opensAndRefusesCalls() {
+        // GIVEN
+        record(true, FAST);
+        record(false, FAST);
+        record(true, FAST);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+        // WHEN
+        record(false, FAST);
+
+        // THEN
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    public void slowCallRateReachesThreshold_opens() {
+        // WHEN
+        record(false, SLOW);
+        record(false, FAST);
+        record(false, SLOW);
+        record(false, FAST);
+
+        // THEN
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void healthyCalls_staysClosed() {
+        // WHEN
+        for (int i = 0; i < 25; i++) {
+            record(i % 5 == 0, FAST);
+        }
+
+        // THEN
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void openDurationPasses_healthyTrialCallsClose() {
+        // GIVEN
+        openCircuit();
+        now += TimeUnit.SECONDS.toNanos(5);
+
+        // WHEN
+        for (int i = 0; i < 4; i++) {
+            record(false, FAST);
+        }
+
+        // THEN
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void openDurationPasses_onlyTrialCallsPermittedAndFailingTrialReopens() {
+        // GIVEN
+        openCircuit();
+        now += TimeUnit.SECONDS.toNanos(5);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(circuitBreaker.tryAcquirePermission());
+        }
+        assertFalse(circuitBreaker.tryAcquirePermission());
+
+        // WHEN
+        circuitBreaker.onError(FAST);
+        circuitBreaker.onError(FAST);
+        circuitBreaker.onSuccess(FAST);
+        circuitBreaker.onSuccess(FAST);
+
+        // THEN
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 4; i++) {
+            record(true, FAST);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    private void record(boolean failed, long durationNanos) {
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        if (failed) {
+            circuitBreaker.onError(durationNanos);
+        } else {
+            circuitBreaker.onSuccess(durationNanos);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.amazon.ata.advertising.service.resilience;
+
+import com.amazon.ata.advertising.service.exceptions.DownstreamUnavailableException;
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DownstreamGuardTest {
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(10, 2, 50, 100,
+            Duration.ofSeconds(1), Duration.ofMinutes(1));
+    private final DownstreamGuard guard = new DownstreamGuard("service", 1, circuitBreaker);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    public void call_circuitOpen_failsFastWithoutCalling() {
+        // GIVEN
+        for (int i = 0; i < 2; i++) {
+            assertThrows(IllegalStateException.class, () -> guard.call(this::failingCall));
+        }
+
+        // WHEN + THEN
+        assertThrows(DownstreamUnavailableException.class, () -> guard.call(this::failingCall));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void call_bulkheadFull_failsFastWithoutCalling() {
+        // WHEN
+        String result = guard.call(() -> {
+            assertThrows(DownstreamUnavailableException.class, () -> guard.call(this::failingCall));
+            return "outer";
+        });
+
+        // THEN
+        assertEquals("outer", result);
+        assertEquals(0, calls.get());
+        assertEquals("again", guard.call(() -> "again"));
+    }
+
+    @Test
+    public void call_trialCallThrowsError_recordedSoLaterTrialsArePermitted() {
+        // GIVEN
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker trialBreaker = new CircuitBreaker(10, 1, 50, 100,
+                Duration.ofSeconds(1), Duration.ofMinutes(1), new Ticker() {
+                    @Override
+                    public long read() {
+                        return now.get();
+                    }
+                });
+        DownstreamGuard trialGuard = new DownstreamGuard("service", 1, trialBreaker);
+        assertThrows(IllegalStateException.class, () -> trialGuard.call(this::failingCall));
+        now.addAndGet(Duration.ofMinutes(1).toNanos());
+
+        // WHEN
+        assertThrows(StackOverflowError.class, () -> trialGuard.call(() -> {
+            throw new StackOverflowError();
+        }));
+
+        // THEN
+        assertEquals(CircuitBreaker.State.OPEN, trialBreaker.getState());
+        now.addAndGet(Duration.ofMinutes(1).toNanos());
+        assertEquals("recovered", trialGuard.call(() -> "recovered"));
+        assertEquals(CircuitBreaker.State.CLOSED, trialBreaker.getState());
+    }
+
+    private String failingCall() {
+        calls.incrementAndGet();
+        throw new IllegalStateException("down");
+    }
+}
@@ -0,0 +1,36 @@
+package com.amazon.ata.advertising.service.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class HedgeBudgetTest {
+
+    @Test
+    public void tryHedge_noCalls_refused() {
+        // GIVEN
+        HedgeBudget budget = new HedgeBudget(5);
+
+        // WHEN + THEN
+        assertFalse(budget.tryHedge());
+    }
+
+    @Test
+    public void tryHedge_manyCalls_capsHedgesAtSavedMaximum() {
+        // GIVEN
+        HedgeBudget budget = new HedgeBudget(50);
+        for (int i = 0; i < 1000; i++) {
+            budget.onCall();
+        }
+
+        // WHEN
+        int hedges = 0;
+        while (budget.tryHedge()) {
+            hedges++;
+        }
+
+        // THEN
+        assertEquals(10, hedges);
+    }
+}
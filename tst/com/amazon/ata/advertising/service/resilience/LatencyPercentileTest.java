@@ -0,0 +1,36 @@
+package com.amazon.ata.advertising.service.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LatencyPercentileTest {
+
+    @Test
+    public void getNanos_tooFewSamples_returnsNegativeOne() {
+        // GIVEN
+        LatencyPercentile percentile = new LatencyPercentile(95);
+
+        // WHEN
+        for (int i = 0; i < 50; i++) {
+            percentile.record(i);
+        }
+
+        // THEN
+        assertEquals(-1, percentile.getNanos());
+    }
+
+    @Test
+    public void getNanos_enoughSamples_returnsPercentileOfWindow() {
+        // GIVEN
+        LatencyPercentile percentile = new LatencyPercentile(95);
+
+        // WHEN
+        for (int i = 1; i <= 163; i++) {
+            percentile.record(i);
+        }
+
+        // THEN
+        assertEquals(155, percentile.getNanos());
+    }
+}
@@ -0,0 +1,159 @@
+package com.amazon.ata.advertising.service.scoring;
+
+import com.amazon.ata.advertising.service.businesslogic.AdvertisementSelectionLogic;
+import com.amazon.ata.advertising.service.catalog.AdvertisementCatalog;
+import com.amazon.ata.advertising.service.dao.CustomerDataLoader;
+import com.amazon.ata.advertising.service.dao.CustomerProfileDao;
+import com.amazon.ata.advertising.service.dao.CustomerSpendDao;
+import com.amazon.ata.advertising.service.dao.PrimeDao;
+import com.amazon.ata.advertising.service.model.AdvertisementContent;
+import com.amazon.ata.advertising.service.model.AdvertisementPlacement;
+import com.amazon.ata.advertising.service.model.GeneratedAdvertisement;
+import com.amazon.ata.advertising.service.targeting.TargetingGroup;
+import com.amazon.ata.advertising.service.targeting.predicate.ParentPredicate;
+import com.amazon.ata.customerservice.GetCustomerProfileRequest;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class AudienceScoringJobTest {
+    private static final String MARKETPLACE_ID = "1";
+    private static final String CONTENT_ID = "parent-content";
+    private static final AdvertisementContent CONTENT = AdvertisementContent.builder()
+            .withContentId(CONTENT_ID)
+            .withMarketplaceId(MARKETPLACE_ID)
+            .build();
+
+    private final FakeCustomerService customerService = new FakeCustomerService(0);
+    private final AdvertisementSelectionLogic adSelector = new AdvertisementSelectionLogic(
+            new AdvertisementCatalog(marketplaceId -> Collections.singletonList(CONTENT),
+                    contentId -> Collections.singletonList(new TargetingGroup("group", CONTENT_ID, 0.5,
+                            Arrays.asList(new ParentPredicate())))),
+            new CustomerDataLoader(new CustomerProfileDao(customerService), new CustomerSpendDao(customerService),
+                    new PrimeDao(new FakePrimeClubService(0)), MoreExecutors.directExecutor()),
+            MoreExecutors.newDirectExecutorService(), null);
+
+    @Test
+    public void run_customerFile_writesOneLinePerCustomerInInputOrder() throws IOException {
+        // GIVEN
+        AudienceScoringJob job = new AudienceScoringJob(adSelector, 1, 2, 1);
+        List<String> customerIds = customerIds(5);
+        StringWriter output = new StringWriter();
+
+        // WHEN
+        ScoringMetrics metrics = job.run(reader(String.join("\n", customerIds) + "\n\n"), MARKETPLACE_ID, output);
+
+        // THEN
+        List<String> expected = new ArrayList<>();
+        int parents = 0;
+        for (String customerId : customerIds) {
+            boolean parent = isParent(customerId);
+            parents += parent ? 1 : 0;
+            expected.add(customerId + "," + (parent ? CONTENT_ID : ""));
+        }
+        assertEquals(expected, Arrays.asList(output.toString().split("\n")));
+        assertEquals(5, metrics.getRead());
+        assertEquals(5, metrics.getScored());
+        assertEquals(parents, metrics.getMatched());
+        assertEquals(0, metrics.getFailed());
+    }
+
+    @Test
+    public void run_manyBatchesInParallel_everyCustomerScoredOnce() throws IOException {
+        // GIVEN
+        AudienceScoringJob job = new AudienceScoringJob(adSelector, 4, 16, 100);
+        List<String> customerIds = customerIds(1000);
+        StringWriter output = new StringWriter();
+
+        // WHEN
+        ScoringMetrics metrics = job.run(reader(String.join("\n", customerIds)), MARKETPLACE_ID, output);
+
+        // THEN
+        List<String> lines = new ArrayList<>(Arrays.asList(output.toString().split("\n")));
+        List<String> expected = new ArrayList<>();
+        for (String customerId : customerIds) {
+            expected.add(customerId + "," + (isParent(customerId) ? CONTENT_ID : ""));
+        }
+        Collections.sort(lines);
+        Collections.sort(expected);
+        assertEquals(expected, lines);
+        assertEquals(1000, metrics.getScored());
+    }
+
+    @Test
+    public void run_sharedExecutor_everyCustomerScoredAndExecutorLeftRunning() throws IOException {
+        // GIVEN
+        ExecutorService executor = Executors.newCachedThreadPool();
+        AudienceScoringJob job = new AudienceScoringJob(adSelector, Optional.of(executor), 4, 16, 100);
+        StringWriter output = new StringWriter();
+
+        try {
+            // WHEN
+            ScoringMetrics metrics = job.run(reader(String.join("\n", customerIds(100))), MARKETPLACE_ID, output);
+
+            // THEN
+            assertEquals(100, metrics.getScored());
+            assertEquals(100, output.toString().split("\n").length);
+            assertFalse(executor.isShutdown());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void run_selectionFails_customersWrittenWithoutAdAndCountedAsFailed() throws IOException {
+        // GIVEN
+        AdvertisementSelectionLogic failingSelector = new AdvertisementSelectionLogic(null, null, null, null) {
+            @Override
+            public List<GeneratedAdvertisement> selectAdvertisements(List<AdvertisementPlacement> placements) {
+                throw new IllegalStateException("unavailable");
+            }
+        };
+        AudienceScoringJob job = new AudienceScoringJob(failingSelector, 2, 2, 1);
+        StringWriter output = new StringWriter();
+
+        // WHEN
+        ScoringMetrics metrics = job.run(reader("a\nb\nc"), MARKETPLACE_ID, output);
+
+        // THEN
+        List<String> lines = new ArrayList<>(Arrays.asList(output.toString().split("\n")));
+        Collections.sort(lines);
+        assertEquals(Arrays.asList("a,", "b,", "c,"), lines);
+        assertEquals(3, metrics.getFailed());
+        assertEquals(0, metrics.getMatched());
+    }
+
+    private boolean isParent(String customerId) {
+        return customerService.getCustomerProfile(GetCustomerProfileRequest.builder()
+                .withCustomerId(customerId)
+                .build())
+                .getCustomerProfile()
+                .isParent();
+    }
+
+    private static List<String> customerIds(int count) {
+        List<String> customerIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            customerIds.add("customer" + i);
+        }
+        return customerIds;
+    }
+
+    private static BufferedReader reader(String contents) {
+        return new BufferedReader(new StringReader(contents));
+    }
+}
@@ -0,0 +1,128 @@
+package com.amazon.ata.advertising.service.scoring;
+
+import com.amazon.ata.advertising.service.dependency.DynamoDBModule;
+import com.amazon.ata.advertising.service.model.AdvertisementContent;
+import com.amazon.ata.advertising.service.targeting.TargetingGroup;
+import com.amazon.ata.advertising.service.targeting.predicate.AgeTargetingPredicate;
+import com.amazon.ata.advertising.service.targeting.predicate.TargetingPredicate;
+import com.amazon.ata.advertising.service.targeting.predicate.TargetingPredicateTypeConverter;
+import com.amazon.ata.customerservice.GetCustomerProfileRequest;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedQueryList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class ScoringComponentTest {
+    private static final String MARKETPLACE_ID = "1";
+    private static final String CONTENT_ID = "residual-content";
+
+    @Mock
+    private AmazonDynamoDB amazonDynamoDB;
+
+    @Mock
+    private DynamoDBMapper mapper;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+    }
+
+    @Test
+    public void provideAudienceScoringJob_residualPredicate_evaluatedWithScoringComponentData() throws IOException {
+        // GIVEN
+        List<String> customerIds = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            customerIds.add("customer" + i);
+        }
+        String targetedAgeRange = ageRange(customerIds.get(0));
+        TargetingPredicateTypeConverter converter = new TargetingPredicateTypeConverter();
+        List<TargetingPredicate> residualPredicates = converter.unconvert(converter.convert(
+                Collections.singletonList(new UnindexedAgeTargetingPredicate(targetedAgeRange))));
+        when(mapper.query(eq(AdvertisementContent.class), any(DynamoDBQueryExpression.class)))
+                .thenReturn(queryList(AdvertisementContent.builder()
+                        .withContentId(CONTENT_ID)
+                        .withMarketplaceId(MARKETPLACE_ID)
+                        .build()));
+        when(mapper.query(eq(TargetingGroup.class), any(DynamoDBQueryExpression.class)))
+                .thenAnswer(invocation -> queryList(new TargetingGroup("group", CONTENT_ID, 0.5, residualPredicates)));
+        AudienceScoringJob job = DaggerScoringComponent.builder()
+                .dynamoDBModule(new DynamoDBModule() {
+                    @Override
+                    public AmazonDynamoDB provideAmazonDynamoDB() {
+                        return amazonDynamoDB;
+                    }
+
+                    @Override
+                    public DynamoDBMapper provideDynamoDBMapper(AmazonDynamoDB amazonDynamoDBClient) {
+                        return mapper;
+                    }
+                })
+                .build()
+                .provideAudienceScoringJob();
+        StringWriter output = new StringWriter();
+
+        // WHEN
+        ScoringMetrics metrics = job.run(new BufferedReader(new StringReader(String.join("\n", customerIds))),
+                MARKETPLACE_ID, output);
+
+        // THEN
+        List<String> expected = new ArrayList<>();
+        int matched = 0;
+        for (String customerId : customerIds) {
+            boolean targeted = targetedAgeRange.equals(ageRange(customerId));
+            matched += targeted ? 1 : 0;
+            expected.add(customerId + "," + (targeted ? CONTENT_ID : ""));
+        }
+        List<String> lines = new ArrayList<>(Arrays.asList(output.toString().split("\n")));
+        Collections.sort(lines);
+        Collections.sort(expected);
+        assertEquals(expected, lines);
+        assertEquals(matched, metrics.getMatched());
+        assertEquals(0, metrics.getFailed());
+    }
+
+    private static String ageRange(String customerId) {
+        return new FakeCustomerService(0).getCustomerProfile(GetCustomerProfileRequest.builder()
+                .withCustomerId(customerId)
+                .build())
+                .getCustomerProfile()
+                .getAgeRange();
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    private static <T> PaginatedQueryList<T> queryList(T... items) {
+        return mock(PaginatedQueryList.class, delegatesTo(new ArrayList<>(Arrays.asList(items))));
+    }
+
+    /**
+     * An age predicate the TargetingIndex can't index, since only exact predicate classes are indexed.
+     */
+    public static class UnindexedAgeTargetingPredicate extends AgeTargetingPredicate {
+        public UnindexedAgeTargetingPredicate() {}
+
+        public UnindexedAgeTargetingPredicate(String targetedAgeRange) {
+            super(targetedAgeRange);
+        }
+    }
+}
@@ -49,4 +49,11 @@ class ComparisonTest {
         assertFalse(Comparison.EQ.compare(-5, -4));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void longs_compareWithoutOverflow() {
+        assertTrue(Comparison.LT.compare(Long.MIN_VALUE, 1L));
+        assertTrue(Comparison.GT.compare(Long.MAX_VALUE, -1L));
+        assertTrue(Comparison.EQ.compare(5_000_000_000L, 5_000_000_000L));
+        assertFalse(Comparison.EQ.compare(5_000_000_000L, 5_000_000_001L));
+    }
+}
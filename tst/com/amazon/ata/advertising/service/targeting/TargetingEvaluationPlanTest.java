@@ -0,0 +1,50 @@
+package com.amazon.ata.advertising.service.targeting;
+
+import com.amazon.ata.advertising.service.targeting.predicate.AgeTargetingPredicate;
+import com.amazon.ata.advertising.service.targeting.predicate.CategorySpendFrequencyTargetingPredicate;
+import com.amazon.ata.advertising.service.targeting.predicate.CategorySpendValueTargetingPredicate;
+import com.amazon.ata.advertising.service.targeting.predicate.ParentPredicate;
+import com.amazon.ata.advertising.service.targeting.predicate.RecognizedTargetingPredicate;
+import com.amazon.ata.advertising.service.targeting.predicate.TargetingPredicate;
+import com.amazon.ata.customerservice.AgeRange;
+import com.amazon.ata.customerservice.Category;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TargetingEvaluationPlanTest {
+
+    @Test
+    public void compile_mixedPredicates_localFirstAndGroupedByDataSource() {
+        // GIVEN
+        TargetingPredicate age = new AgeTargetingPredicate(AgeRange.AGE_18_TO_21);
+        TargetingPredicate frequency = new CategorySpendFrequencyTargetingPredicate(Category.PET, Comparison.GT, 1);
+        TargetingPredicate recognized = new RecognizedTargetingPredicate(true);
+        TargetingPredicate parent = new ParentPredicate();
+        TargetingPredicate value = new CategorySpendValueTargetingPredicate(Category.PET, Comparison.LT, 10);
+        TargetingGroup group = new TargetingGroup("group", "content", 0.5,
+                Arrays.asList(age, frequency, recognized, parent, value));
+
+        // WHEN
+        TargetingEvaluationPlan plan = TargetingEvaluationPlan.compile(group);
+
+        // THEN
+        assertEquals(Collections.singletonList(recognized), plan.getLocalPredicates());
+        assertEquals(Arrays.asList(Arrays.asList(age, parent), Arrays.asList(frequency, value)),
+                plan.getRemoteStages());
+    }
+
+    @Test
+    public void compile_noPredicates_emptyPlan() {
+        // WHEN
+        TargetingEvaluationPlan plan = TargetingEvaluationPlan.compile(new TargetingGroup("group", "content", 0, null));
+
+        // THEN
+        assertTrue(plan.getLocalPredicates().isEmpty());
+        assertTrue(plan.getRemoteStages().isEmpty());
+    }
+}
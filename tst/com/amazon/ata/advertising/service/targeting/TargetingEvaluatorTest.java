@@ -1,18 +1,34 @@
 package com.amazon.ata.advertising.service.targeting;
 
+import com.amazon.ata.advertising.service.dao.CustomerDataSource;
+import com.amazon.ata.advertising.service.model.Deadline;
 import com.amazon.ata.advertising.service.model.RequestContext;
 import com.amazon.ata.advertising.service.targeting.predicate.TargetingPredicate;
 import com.amazon.ata.advertising.service.targeting.predicate.TargetingPredicateResult;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -29,12 +45,13 @@ public class TargetingEvaluatorTest {
     @Mock
     private RequestContext requestContext;
 
-    @InjectMocks
     private TargetingEvaluator targetingEvaluator;
 
     @BeforeEach
     public void setup() {
         initMocks(this);
+        when(requestContext.getDeadline()).thenReturn(Deadline.NONE);
+        targetingEvaluator = new TargetingEvaluator(requestContext, MoreExecutors.newDirectExecutorService());
         targetingPredicates = new ArrayList<>();
         targetingGroup = new TargetingGroup(UUID.randomUUID().toString(), UUID.randomUUID().toString(), 0, targetingPredicates);
     }
@@ -116,4 +133,128 @@ public class TargetingEvaluatorTest {
         assertEquals(TargetingPredicateResult.TRUE, result);
     }
 
+    @Test
+    public void evaluate_localPredicateFalse_remotePredicatesNotEvaluated() {
+        when(predicate1.getRequiredCustomerData()).thenReturn(CustomerDataSource.CUSTOMER_PROFILE);
+        when(predicate2.getRequiredCustomerData()).thenReturn(CustomerDataSource.NONE);
+        when(predicate2.evaluate(requestContext)).thenReturn(TargetingPredicateResult.FALSE);
+        targetingPredicates.add(predicate1);
+        targetingPredicates.add(predicate2);
+
+        TargetingPredicateResult result = targetingEvaluator.evaluate(targetingGroup);
+
+        assertEquals(TargetingPredicateResult.FALSE, result);
+        verify(predicate1, never()).evaluate(any());
+    }
+
+    @Test
+    public void evaluate_predicateInStageFalse_restOfStageNotEvaluated() {
+        when(predicate1.getRequiredCustomerData()).thenReturn(CustomerDataSource.CUSTOMER_SPEND);
+        when(predicate2.getRequiredCustomerData()).thenReturn(CustomerDataSource.CUSTOMER_SPEND);
+        when(predicate1.evaluate(requestContext)).thenReturn(TargetingPredicateResult.INDETERMINATE);
+        targetingPredicates.add(predicate1);
+        targetingPredicates.add(predicate2);
+
+        TargetingPredicateResult result = targetingEvaluator.evaluate(targetingGroup);
+
+        assertEquals(TargetingPredicateResult.FALSE, result);
+        verify(predicate2, never()).evaluate(any());
+    }
+
+    @Test
+    public void evaluate_deadlineExpired_remotePredicatesNotEvaluated() {
+        when(requestContext.getDeadline()).thenReturn(Deadline.after(Duration.ZERO));
+        when(predicate1.getRequiredCustomerData()).thenReturn(CustomerDataSource.NONE);
+        when(predicate1.evaluate(requestContext)).thenReturn(TargetingPredicateResult.TRUE);
+        when(predicate2.getRequiredCustomerData()).thenReturn(CustomerDataSource.CUSTOMER_PROFILE);
+        when(predicate2.evaluate(requestContext)).thenReturn(TargetingPredicateResult.TRUE);
+        targetingPredicates.add(predicate1);
+        targetingPredicates.add(predicate2);
+
+        TargetingPredicateResult result = targetingEvaluator.evaluate(targetingGroup);
+
+        assertEquals(TargetingPredicateResult.FALSE, result);
+        verify(predicate2, never()).evaluate(any());
+    }
+
+    @Test
+    public void evaluate_stageFalse_outstandingStageCancelled() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch slowStageStarted = new CountDownLatch(1);
+        CountDownLatch slowStageInterrupted = new CountDownLatch(1);
+        TargetingPredicate slowPredicate = mock(TargetingPredicate.class);
+        when(slowPredicate.getRequiredCustomerData()).thenReturn(CustomerDataSource.PRIME_BENEFITS);
+        when(slowPredicate.evaluate(requestContext)).thenAnswer(invocation -> {
+            slowStageStarted.countDown();
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                slowStageInterrupted.countDown();
+            }
+            return TargetingPredicateResult.TRUE;
+        });
+        when(predicate1.getRequiredCustomerData()).thenReturn(CustomerDataSource.CUSTOMER_PROFILE);
+        when(predicate1.evaluate(requestContext)).thenAnswer(invocation -> {
+            slowStageStarted.await(5, TimeUnit.SECONDS);
+            return TargetingPredicateResult.FALSE;
+        });
+        targetingPredicates.add(slowPredicate);
+        targetingPredicates.add(predicate1);
+
+        try {
+            TargetingPredicateResult result = new TargetingEvaluator(requestContext, executor).evaluate(targetingGroup);
+
+            assertEquals(TargetingPredicateResult.FALSE, result);
+            assertTrue(slowStageInterrupted.await(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void evaluate_predicateRepeatedAcrossGroups_evaluatedOncePerRequest() {
+        when(predicate1.evaluate(requestContext)).thenReturn(TargetingPredicateResult.TRUE);
+        targetingPredicates.add(predicate1);
+        TargetingGroup otherGroup = new TargetingGroup(UUID.randomUUID().toString(), UUID.randomUUID().toString(), 0,
+                Collections.singletonList(predicate1));
+
+        assertEquals(TargetingPredicateResult.TRUE, targetingEvaluator.evaluate(targetingGroup));
+        assertEquals(TargetingPredicateResult.TRUE, targetingEvaluator.evaluate(otherGroup));
+
+        verify(predicate1, times(1)).evaluate(requestContext);
+    }
+
+    @Test
+    public void evaluate_predicateEvaluatedWhileInterrupted_notRemembered() {
+        when(predicate1.evaluate(requestContext)).thenAnswer(invocation -> {
+            Thread.currentThread().interrupt();
+            return TargetingPredicateResult.INDETERMINATE;
+        }).thenReturn(TargetingPredicateResult.TRUE);
+        targetingPredicates.add(predicate1);
+        TargetingGroup otherGroup = new TargetingGroup(UUID.randomUUID().toString(), UUID.randomUUID().toString(), 0,
+                Collections.singletonList(predicate1));
+
+        TargetingPredicateResult interrupted = targetingEvaluator.evaluate(targetingGroup);
+        Thread.interrupted();
+        TargetingPredicateResult result = targetingEvaluator.evaluate(otherGroup);
+
+        assertEquals(TargetingPredicateResult.FALSE, interrupted);
+        assertEquals(TargetingPredicateResult.TRUE, result);
+        verify(predicate1, times(2)).evaluate(requestContext);
+    }
+
+    @Test
+    public void evaluate_predicateThrowsError_laterGroupsDoNotWait() {
+        when(predicate1.evaluate(requestContext)).thenThrow(new LinkageError("Unable to load the predicate."));
+        targetingPredicates.add(predicate1);
+        TargetingGroup otherGroup = new TargetingGroup(UUID.randomUUID().toString(), UUID.randomUUID().toString(), 0,
+                Collections.singletonList(predicate1));
+
+        assertThrows(LinkageError.class, () -> targetingEvaluator.evaluate(targetingGroup));
+        TargetingPredicateResult result =
+                assertTimeoutPreemptively(Duration.ofSeconds(5), () -> targetingEvaluator.evaluate(otherGroup));
+
+        assertEquals(TargetingPredicateResult.FALSE, result);
+        verify(predicate1, times(1)).evaluate(requestContext);
+    }
 }
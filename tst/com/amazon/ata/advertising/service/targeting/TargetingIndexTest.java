@@ -0,0 +1,229 @@
+package com.amazon.ata.advertising.service.targeting;
+
+import com.amazon.ata.advertising.service.dao.CustomerDataLoader;
+import com.amazon.ata.advertising.service.dao.CustomerDataSource;
+import com.amazon.ata.advertising.service.model.CustomerSpendVector;
+import com.amazon.ata.advertising.service.model.RequestContext;
+import com.amazon.ata.advertising.service.targeting.predicate.AgeTargetingPredicate;
+import com.amazon.ata.advertising.service.targeting.predicate.CategorySpendFrequencyTargetingPredicate;
+import com.amazon.ata.advertising.service.targeting.predicate.CategorySpendValueTargetingPredicate;
+import com.amazon.ata.advertising.service.targeting.predicate.ParentPredicate;
+import com.amazon.ata.advertising.service.targeting.predicate.PrimeBenefitTargetingPredicate;
+import com.amazon.ata.advertising.service.targeting.predicate.RecognizedTargetingPredicate;
+import com.amazon.ata.advertising.service.targeting.predicate.TargetingPredicate;
+import com.amazon.ata.advertising.service.targeting.predicate.TargetingPredicateResult;
+import com.amazon.ata.customerservice.AgeRange;
+import com.amazon.ata.customerservice.Category;
+import com.amazon.ata.customerservice.CustomerProfile;
+import com.amazon.ata.customerservice.Spend;
+import com.amazon.ata.primeclubservice.Benefit;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TargetingIndexTest {
+    private static final String CUSTOMER_ID = "A123B456";
+    private static final String MARKETPLACE_ID = "1";
+    private static final RequestContext RECOGNIZED = new RequestContext(CUSTOMER_ID, MARKETPLACE_ID);
+    private static final RequestContext UNRECOGNIZED = new RequestContext(null, MARKETPLACE_ID);
+    private static final CustomerProfile PROFILE = CustomerProfile.builder()
+            .withAgeRange(AgeRange.AGE_26_TO_30)
+            .withParent(true)
+            .build();
+    private static final CustomerSpendVector SPEND = CustomerSpendVector.fromSpendByCategory(Collections.singletonMap(
+            Category.PET, Spend.builder().withNumberOfPurchases(3).withUsdSpent(20).build()));
+
+    private final CustomerDataLoader loader = new CustomerDataLoader(customerId -> PROFILE, context -> SPEND,
+            context -> Collections.singletonList(Benefit.DIM_SUM), MoreExecutors.directExecutor());
+
+    @Test
+    public void match_spendThresholds_matchesComparisonsAtBetweenAndAroundThresholds() {
+        // GIVEN
+        TargetingIndex index = build(
+                new CategorySpendFrequencyTargetingPredicate(Category.PET, Comparison.GT, 2),
+                new CategorySpendFrequencyTargetingPredicate(Category.PET, Comparison.EQ, 3),
+                new CategorySpendFrequencyTargetingPredicate(Category.PET, Comparison.LT, 3),
+                new CategorySpendFrequencyTargetingPredicate(Category.PET, Comparison.GT, 4),
+                new CategorySpendFrequencyTargetingPredicate(Category.PET, Comparison.GT, 4, true),
+                new CategorySpendValueTargetingPredicate(Category.PET, Comparison.LT, 21),
+                new CategorySpendValueTargetingPredicate(Category.PET, Comparison.GT, 19),
+                new CategorySpendValueTargetingPredicate(Category.PET, Comparison.EQ, 0, true),
+                new CategorySpendFrequencyTargetingPredicate(Category.KINDLE, Comparison.EQ, 0));
+
+        // WHEN
+        BitSet matches = index.match(RECOGNIZED, loader);
+
+        // THEN
+        assertEquals(bits(0, 1, 4, 5, 6, 7, 8), matches);
+    }
+
+    @Test
+    public void match_profileAndPrimePredicates_matchesCustomerProfileAndBenefits() {
+        // GIVEN
+        TargetingIndex index = build(
+                new AgeTargetingPredicate(AgeRange.AGE_26_TO_30),
+                new AgeTargetingPredicate(AgeRange.OVER_60),
+                new AgeTargetingPredicate(AgeRange.UNDER_18, true),
+                new ParentPredicate(),
+                new ParentPredicate(true),
+                new PrimeBenefitTargetingPredicate(Benefit.DIM_SUM),
+                new PrimeBenefitTargetingPredicate(Benefit.MOM_DISCOUNT),
+                new PrimeBenefitTargetingPredicate(Benefit.MOM_DISCOUNT, true),
+                new RecognizedTargetingPredicate(),
+                new RecognizedTargetingPredicate(true));
+
+        // WHEN
+        BitSet matches = index.match(RECOGNIZED, loader);
+
+        // THEN
+        assertEquals(bits(0, 2, 3, 5, 7, 8), matches);
+    }
+
+    @Test
+    public void match_unrecognizedCustomer_onlyGroupsWithoutCustomerDataMatch() {
+        // GIVEN
+        TargetingIndex index = build(
+                new AgeTargetingPredicate(AgeRange.AGE_26_TO_30, true),
+                new ParentPredicate(true),
+                new PrimeBenefitTargetingPredicate(Benefit.MOM_DISCOUNT, true),
+                new CategorySpendValueTargetingPredicate(Category.PET, Comparison.GT, 100, true),
+                new RecognizedTargetingPredicate(true));
+
+        // WHEN
+        BitSet matches = index.match(UNRECOGNIZED, loader);
+
+        // THEN
+        assertEquals(bits(4), matches);
+    }
+
+    @Test
+    public void match_customerDataFails_groupsReadingItDoNotMatch() {
+        // GIVEN
+        CustomerDataLoader failingLoader = new CustomerDataLoader(customerId -> {
+            throw new IllegalStateException("unavailable");
+        }, context -> SPEND, context -> Collections.emptyList(), MoreExecutors.directExecutor());
+        TargetingIndex index = build(
+                new AgeTargetingPredicate(AgeRange.AGE_26_TO_30, true),
+                new CategorySpendFrequencyTargetingPredicate(Category.PET, Comparison.EQ, 3));
+
+        // WHEN
+        BitSet matches = index.match(RECOGNIZED, failingLoader);
+
+        // THEN
+        assertEquals(bits(1), matches);
+    }
+
+    @Test
+    public void match_groupWithSeveralPredicates_requiresEveryPredicate() {
+        // GIVEN
+        TargetingIndex index = TargetingIndex.build(Arrays.asList(
+                group(new ParentPredicate(), new AgeTargetingPredicate(AgeRange.OVER_60)),
+                group(new ParentPredicate(), new AgeTargetingPredicate(AgeRange.AGE_26_TO_30)),
+                group()));
+
+        // WHEN
+        BitSet matches = index.match(RECOGNIZED, loader);
+
+        // THEN
+        assertEquals(bits(1, 2), matches);
+        assertEquals(EnumSet.of(CustomerDataSource.CUSTOMER_PROFILE), index.getRequiredCustomerData());
+    }
+
+    @Test
+    public void firstMatch_residualPredicates_evaluatedOnlyForIndexedMatchesUntilOneIsTrue() {
+        // GIVEN
+        CountingPredicate skipped = new CountingPredicate(TargetingPredicateResult.TRUE);
+        CountingPredicate falsePredicate = new CountingPredicate(TargetingPredicateResult.FALSE);
+        CountingPredicate truePredicate = new CountingPredicate(TargetingPredicateResult.TRUE);
+        CountingPredicate after = new CountingPredicate(TargetingPredicateResult.TRUE);
+        TargetingIndex index = TargetingIndex.build(Arrays.asList(
+                group(new ParentPredicate(true), skipped),
+                group(falsePredicate),
+                group(new ParentPredicate(), truePredicate),
+                group(after)));
+
+        // WHEN
+        int match = index.firstMatch(RECOGNIZED, loader,
+                new TargetingEvaluator(RECOGNIZED, MoreExecutors.newDirectExecutorService()));
+
+        // THEN
+        assertEquals(2, match);
+        assertEquals(0, skipped.evaluations.get());
+        assertEquals(1, falsePredicate.evaluations.get());
+        assertEquals(1, truePredicate.evaluations.get());
+        assertEquals(0, after.evaluations.get());
+    }
+
+    @Test
+    public void firstMatch_noGroupMatches_returnsNegativeOne() {
+        // GIVEN
+        TargetingIndex index = build(new RecognizedTargetingPredicate(true), new ParentPredicate(true));
+
+        // WHEN
+        int match = index.firstMatch(RECOGNIZED, loader,
+                new TargetingEvaluator(RECOGNIZED, MoreExecutors.newDirectExecutorService()));
+
+        // THEN
+        assertEquals(-1, match);
+    }
+
+    /**
+     * Indexes one group per predicate, so bit i is predicate i.
+     */
+    private static TargetingIndex build(TargetingPredicate... predicates) {
+        List<TargetingGroup> groups = new ArrayList<>();
+        for (TargetingPredicate predicate : predicates) {
+            groups.add(group(predicate));
+        }
+        return TargetingIndex.build(groups);
+    }
+
+    private static TargetingGroup group(TargetingPredicate... predicates) {
+        return new TargetingGroup("group", "content", 0.5, Arrays.asList(predicates));
+    }
+
+    private static BitSet bits(int... indexes) {
+        BitSet bits = new BitSet();
+        for (int index : indexes) {
+            bits.set(index);
+        }
+        return bits;
+    }
+
+    /**
+     * A predicate type the index doesn't know, so it is always evaluated as a residual predicate.
+     */
+    private static final class CountingPredicate extends RecognizedTargetingPredicate {
+        private final TargetingPredicateResult result;
+        private final AtomicInteger evaluations = new AtomicInteger();
+
+        private CountingPredicate(TargetingPredicateResult result) {
+            this.result = result;
+        }
+
+        @Override
+        public TargetingPredicateResult evaluate(RequestContext context) {
+            evaluations.incrementAndGet();
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+}
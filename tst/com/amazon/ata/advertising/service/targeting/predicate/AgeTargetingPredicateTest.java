@@ -1,9 +1,11 @@
 package com.amazon.ata.advertising.service.targeting.predicate;
 
+import com.amazon.ata.advertising.service.dao.CustomerDataLoader;
 import com.amazon.ata.advertising.service.dao.ReadableDao;
 import com.amazon.ata.advertising.service.model.RequestContext;
 import com.amazon.ata.customerservice.AgeRange;
 import com.amazon.ata.customerservice.CustomerProfile;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -26,7 +28,8 @@ public class AgeTargetingPredicateTest {
     public void setup() {
         initMocks(this);
         predicate = new AgeTargetingPredicate(AgeRange.AGE_18_TO_21);
-        predicate.setCustomerProfileDao(customerProfileDao);
+        predicate.setCustomerDataLoader(
+                new CustomerDataLoader(customerProfileDao, null, null, MoreExecutors.directExecutor()));
     }
 
     @Test
@@ -1,16 +1,18 @@
 package com.amazon.ata.advertising.service.targeting.predicate;
 
+import com.amazon.ata.advertising.service.dao.CustomerDataLoader;
 import com.amazon.ata.advertising.service.dao.ReadableDao;
+import com.amazon.ata.advertising.service.model.CustomerSpendVector;
 import com.amazon.ata.advertising.service.model.RequestContext;
 import com.amazon.ata.advertising.service.targeting.Comparison;
 import com.amazon.ata.customerservice.Category;
 import com.amazon.ata.customerservice.Spend;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 
 import java.util.Collections;
-import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.when;
@@ -26,21 +28,22 @@ public class CategorySpendFrequencyTargetingPredicateTest {
     private static final Spend SPEND = Spend.builder().withNumberOfPurchases(PURCHASES).withUsdSpent(1000).build();
 
     @Mock
-    private ReadableDao<RequestContext, Map<String, Spend>> spendDao;
+    private ReadableDao<RequestContext, CustomerSpendVector> spendDao;
 
     private CategorySpendFrequencyTargetingPredicate predicate;
 
     @BeforeEach
     public void setup() {
         initMocks(this);
-        when(spendDao.get(REQUEST_CONTEXT)).thenReturn(Collections.singletonMap(CATEGORY, SPEND));
+        when(spendDao.get(REQUEST_CONTEXT))
+                .thenReturn(CustomerSpendVector.fromSpendByCategory(Collections.singletonMap(CATEGORY, SPEND)));
     }
 
 
     @Test
     public void predicatePass() {
         predicate = new CategorySpendFrequencyTargetingPredicate(CATEGORY, Comparison.LT, PURCHASES + 5);
-        predicate.setSpendDao(spendDao);
+        predicate.setCustomerDataLoader(new CustomerDataLoader(null, spendDao, null, MoreExecutors.directExecutor()));
 
         final TargetingPredicateResult result = predicate.evaluate(REQUEST_CONTEXT);
 
@@ -50,7 +53,7 @@ public class CategorySpendFrequencyTargetingPredicateTest {
     @Test
     public void predicateFail() {
         predicate = new CategorySpendFrequencyTargetingPredicate(CATEGORY, Comparison.GT, PURCHASES + 5);
-        predicate.setSpendDao(spendDao);
+        predicate.setCustomerDataLoader(new CustomerDataLoader(null, spendDao, null, MoreExecutors.directExecutor()));
 
         final TargetingPredicateResult result = predicate.evaluate(REQUEST_CONTEXT);
 
@@ -60,7 +63,7 @@ public class CategorySpendFrequencyTargetingPredicateTest {
     @Test
     public void predicatePass_inverse() {
         predicate = new CategorySpendFrequencyTargetingPredicate(CATEGORY, Comparison.GT, PURCHASES + 5, true);
-        predicate.setSpendDao(spendDao);
+        predicate.setCustomerDataLoader(new CustomerDataLoader(null, spendDao, null, MoreExecutors.directExecutor()));
 
         final TargetingPredicateResult result = predicate.evaluate(REQUEST_CONTEXT);
 
@@ -71,7 +74,7 @@ public class CategorySpendFrequencyTargetingPredicateTest {
     @Test
     public void predicateFail_inverse() {
         predicate = new CategorySpendFrequencyTargetingPredicate(CATEGORY, Comparison.LT, PURCHASES + 5, true);
-        predicate.setSpendDao(spendDao);
+        predicate.setCustomerDataLoader(new CustomerDataLoader(null, spendDao, null, MoreExecutors.directExecutor()));
 
         final TargetingPredicateResult result = predicate.evaluate(REQUEST_CONTEXT);
 
@@ -81,9 +84,10 @@ public class CategorySpendFrequencyTargetingPredicateTest {
 
     @Test
     public void categoryNotPresentInMap() {
-        when(spendDao.get(REQUEST_CONTEXT)).thenReturn(Collections.singletonMap(Category.AMAZON_MUSIC, SPEND));
+        when(spendDao.get(REQUEST_CONTEXT)).thenReturn(
+                CustomerSpendVector.fromSpendByCategory(Collections.singletonMap(Category.AMAZON_MUSIC, SPEND)));
         predicate = new CategorySpendFrequencyTargetingPredicate(CATEGORY, Comparison.LT, PURCHASES + 5);
-        predicate.setSpendDao(spendDao);
+        predicate.setCustomerDataLoader(new CustomerDataLoader(null, spendDao, null, MoreExecutors.directExecutor()));
 
         final TargetingPredicateResult result = predicate.evaluate(REQUEST_CONTEXT);
 
@@ -94,7 +98,7 @@ public class CategorySpendFrequencyTargetingPredicateTest {
     @Test
     public void unrecognized() {
         predicate = new CategorySpendFrequencyTargetingPredicate(CATEGORY, Comparison.LT, PURCHASES + 5);
-        predicate.setSpendDao(spendDao);
+        predicate.setCustomerDataLoader(new CustomerDataLoader(null, spendDao, null, MoreExecutors.directExecutor()));
         final RequestContext unrecognizedContext = new RequestContext(null, MARKETPLACE_ID);
 
         final TargetingPredicateResult result = predicate.evaluate(unrecognizedContext);
@@ -106,7 +110,7 @@ public class CategorySpendFrequencyTargetingPredicateTest {
     @Test
     public void unrecognized_inverse() {
         predicate = new CategorySpendFrequencyTargetingPredicate(CATEGORY, Comparison.LT, PURCHASES + 5, true);
-        predicate.setSpendDao(spendDao);
+        predicate.setCustomerDataLoader(new CustomerDataLoader(null, spendDao, null, MoreExecutors.directExecutor()));
         final RequestContext unrecognizedContext = new RequestContext(null, MARKETPLACE_ID);
 
         final TargetingPredicateResult result = predicate.evaluate(unrecognizedContext);
@@ -1,18 +1,21 @@
 package com.amazon.ata.advertising.service.targeting.predicate;
 
+import com.amazon.ata.advertising.service.dao.CustomerDataLoader;
 import com.amazon.ata.advertising.service.dao.ReadableDao;
+import com.amazon.ata.advertising.service.model.CustomerSpendVector;
 import com.amazon.ata.advertising.service.model.RequestContext;
 import com.amazon.ata.advertising.service.targeting.Comparison;
 import com.amazon.ata.customerservice.Category;
 import com.amazon.ata.customerservice.Spend;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 
 import java.util.Collections;
-import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -26,21 +29,22 @@ public class CategorySpendValueTargetingPredicateTest {
     private static final Spend SPEND = Spend.builder().withNumberOfPurchases(1).withUsdSpent(USD_SPENT).build();
 
     @Mock
-    private ReadableDao<RequestContext, Map<String, Spend>> spendDao;
+    private ReadableDao<RequestContext, CustomerSpendVector> spendDao;
 
     private CategorySpendValueTargetingPredicate predicate;
 
     @BeforeEach
     public void setup() {
         initMocks(this);
-        when(spendDao.get(REQUEST_CONTEXT)).thenReturn(Collections.singletonMap(CATEGORY, SPEND));
+        when(spendDao.get(REQUEST_CONTEXT))
+                .thenReturn(CustomerSpendVector.fromSpendByCategory(Collections.singletonMap(CATEGORY, SPEND)));
     }
 
 
     @Test
     public void predicatePass() {
         predicate = new CategorySpendValueTargetingPredicate(CATEGORY, Comparison.LT, USD_SPENT + 100);
-        predicate.setSpendDao(spendDao);
+        predicate.setCustomerDataLoader(new CustomerDataLoader(null, spendDao, null, MoreExecutors.directExecutor()));
 
         final TargetingPredicateResult result = predicate.evaluate(REQUEST_CONTEXT);
 
@@ -50,7 +54,7 @@ public class CategorySpendValueTargetingPredicateTest {
     @Test
     public void predicateFail() {
         predicate = new CategorySpendValueTargetingPredicate(CATEGORY, Comparison.GT, USD_SPENT + 100);
-        predicate.setSpendDao(spendDao);
+        predicate.setCustomerDataLoader(new CustomerDataLoader(null, spendDao, null, MoreExecutors.directExecutor()));
 
         final TargetingPredicateResult result = predicate.evaluate(REQUEST_CONTEXT);
 
@@ -60,7 +64,7 @@ public class CategorySpendValueTargetingPredicateTest {
     @Test
     public void predicatePass_inverse() {
         predicate = new CategorySpendValueTargetingPredicate(CATEGORY, Comparison.GT, USD_SPENT + 100, true);
-        predicate.setSpendDao(spendDao);
+        predicate.setCustomerDataLoader(new CustomerDataLoader(null, spendDao, null, MoreExecutors.directExecutor()));
 
         final TargetingPredicateResult result = predicate.evaluate(REQUEST_CONTEXT);
 
@@ -70,7 +74,7 @@ public class CategorySpendValueTargetingPredicateTest {
     @Test
     public void predicateFail_inverse() {
         predicate = new CategorySpendValueTargetingPredicate(CATEGORY, Comparison.LT, USD_SPENT + 100, true);
-        predicate.setSpendDao(spendDao);
+        predicate.setCustomerDataLoader(new CustomerDataLoader(null, spendDao, null, MoreExecutors.directExecutor()));
 
         final TargetingPredicateResult result = predicate.evaluate(REQUEST_CONTEXT);
 
@@ -79,9 +83,10 @@ public class CategorySpendValueTargetingPredicateTest {
 
     @Test
     public void categoryNotPresentInMap() {
-        when(spendDao.get(REQUEST_CONTEXT)).thenReturn(Collections.singletonMap(Category.AMAZON_MUSIC, SPEND));
+        when(spendDao.get(REQUEST_CONTEXT)).thenReturn(
+                CustomerSpendVector.fromSpendByCategory(Collections.singletonMap(Category.AMAZON_MUSIC, SPEND)));
         predicate = new CategorySpendValueTargetingPredicate(CATEGORY, Comparison.LT, USD_SPENT + 100);
-        predicate.setSpendDao(spendDao);
+        predicate.setCustomerDataLoader(new CustomerDataLoader(null, spendDao, null, MoreExecutors.directExecutor()));
 
         final TargetingPredicateResult result = predicate.evaluate(REQUEST_CONTEXT);
 
@@ -91,7 +96,7 @@ public class CategorySpendValueTargetingPredicateTest {
     @Test
     public void unrecognized() {
         predicate = new CategorySpendValueTargetingPredicate(CATEGORY, Comparison.LT, USD_SPENT + 100);
-        predicate.setSpendDao(spendDao);
+        predicate.setCustomerDataLoader(new CustomerDataLoader(null, spendDao, null, MoreExecutors.directExecutor()));
         final RequestContext unrecognizedContext = new RequestContext(null, MARKETPLACE_ID);
 
         final TargetingPredicateResult result = predicate.evaluate(unrecognizedContext);
@@ -102,7 +107,7 @@ public class CategorySpendValueTargetingPredicateTest {
     @Test
     public void unrecognized_inverse() {
         predicate = new CategorySpendValueTargetingPredicate(CATEGORY, Comparison.LT, USD_SPENT + 100, true);
-        predicate.setSpendDao(spendDao);
+        predicate.setCustomerDataLoader(new CustomerDataLoader(null, spendDao, null, MoreExecutors.directExecutor()));
         final RequestContext unrecognizedContext = new RequestContext(null, MARKETPLACE_ID);
 
         final TargetingPredicateResult result = predicate.evaluate(unrecognizedContext);
@@ -110,4 +115,25 @@ public class CategorySpendValueTargetingPredicateTest {
         assertEquals(TargetingPredicateResult.INDETERMINATE, result);
     }
 
+    @Test
+    public void equals_sameConfiguration_equalWithSameHashCode() {
+        final CategorySpendValueTargetingPredicate first =
+                new CategorySpendValueTargetingPredicate(CATEGORY, Comparison.LT, USD_SPENT, true);
+        final CategorySpendValueTargetingPredicate second =
+                new CategorySpendValueTargetingPredicate(CATEGORY, Comparison.LT, USD_SPENT, true);
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+    }
+
+    @Test
+    public void equals_differentConfiguration_notEqual() {
+        final CategorySpendValueTargetingPredicate predicate =
+                new CategorySpendValueTargetingPredicate(CATEGORY, Comparison.LT, USD_SPENT);
+
+        assertNotEquals(predicate, new CategorySpendValueTargetingPredicate(CATEGORY, Comparison.LT, USD_SPENT, true));
+        assertNotEquals(predicate, new CategorySpendValueTargetingPredicate(CATEGORY, Comparison.GT, USD_SPENT));
+        assertNotEquals(predicate, new CategorySpendValueTargetingPredicate(CATEGORY, Comparison.LT, USD_SPENT + 1));
+        assertNotEquals(predicate, new CategorySpendFrequencyTargetingPredicate(CATEGORY, Comparison.LT, USD_SPENT));
+    }
 }
@@ -1,8 +1,11 @@
 package com.amazon.ata.advertising.service.targeting.predicate;
 
+import com.amazon.ata.advertising.service.dao.CustomerDataLoader;
 import com.amazon.ata.advertising.service.dao.ReadableDao;
+import com.amazon.ata.advertising.service.exceptions.DownstreamUnavailableException;
 import com.amazon.ata.advertising.service.model.RequestContext;
 import com.amazon.ata.customerservice.CustomerProfile;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -25,7 +28,8 @@ public class ParentPredicateTest {
     public void setup() {
         initMocks(this);
         predicate = new ParentPredicate();
-        predicate.setCustomerProfileDao(customerProfileDao);
+        predicate.setCustomerDataLoader(
+                new CustomerDataLoader(customerProfileDao, null, null, MoreExecutors.directExecutor()));
     }
 
     @Test
@@ -49,7 +53,8 @@ public class ParentPredicateTest {
     @Test
     public void matchesParentStatus_inverse() {
         predicate = new ParentPredicate(true);
-        predicate.setCustomerProfileDao(customerProfileDao);
+        predicate.setCustomerDataLoader(
+                new CustomerDataLoader(customerProfileDao, null, null, MoreExecutors.directExecutor()));
 
         when(customerProfileDao.get(CUSTOMER_ID)).thenReturn(CustomerProfile.builder().withParent(true).build());
 
@@ -83,4 +88,17 @@ public class ParentPredicateTest {
 
         assertEquals(TargetingPredicateResult.INDETERMINATE, result);
     }
+
+    @Test
+    public void downstreamUnavailable_inverse_isIndeterminate() {
+        predicate = new ParentPredicate(true);
+        predicate.setCustomerDataLoader(
+                new CustomerDataLoader(customerProfileDao, null, null, MoreExecutors.directExecutor()));
+
+        when(customerProfileDao.get(CUSTOMER_ID)).thenThrow(new DownstreamUnavailableException("circuit is open."));
+
+        TargetingPredicateResult result = predicate.evaluate(REQUEST_CONTEXT);
+
+        assertEquals(TargetingPredicateResult.INDETERMINATE, result);
+    }
 }
@@ -1,8 +1,10 @@
 package com.amazon.ata.advertising.service.targeting.predicate;
 
+import com.amazon.ata.advertising.service.dao.CustomerDataLoader;
 import com.amazon.ata.advertising.service.dao.PrimeDao;
 import com.amazon.ata.advertising.service.model.RequestContext;
 import com.amazon.ata.primeclubservice.Benefit;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -33,7 +35,7 @@ public class PrimeBenefitTargetingPredicateTest {
     public void setup() {
         initMocks(this);
         predicate = new PrimeBenefitTargetingPredicate(BENEFIT_TYPE);
-        predicate.setDao(primeDao);
+        predicate.setCustomerDataLoader(new CustomerDataLoader(null, null, primeDao, MoreExecutors.directExecutor()));
     }
 
     @Test
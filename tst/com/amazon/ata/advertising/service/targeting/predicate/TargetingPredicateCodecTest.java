@@ -0,0 +1,143 @@
+package com.amazon.ata.advertising.service.targeting.predicate;
+
+import com.amazon.ata.advertising.service.targeting.Comparison;
+import com.amazon.ata.customerservice.AgeRange;
+import com.amazon.ata.customerservice.Category;
+import com.amazon.ata.primeclubservice.Benefit;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TargetingPredicateCodecTest {
+
+    @Test
+    public void decode_encodedPredicates_roundTrips() {
+        // GIVEN
+        List<TargetingPredicate> predicates = Arrays.asList(
+                new AgeTargetingPredicate(AgeRange.AGE_26_TO_30, true),
+                new CategorySpendFrequencyTargetingPredicate(Category.KINDLE, Comparison.GT, 3),
+                new CategorySpendValueTargetingPredicate(Category.PET, Comparison.LT, 250, true),
+                new ParentPredicate(true),
+                new PrimeBenefitTargetingPredicate(Benefit.DIM_SUM),
+                new RecognizedTargetingPredicate());
+
+        // WHEN
+        List<TargetingPredicate> decoded = TargetingPredicateCodec.decode(TargetingPredicateCodec.encode(predicates));
+
+        // THEN
+        assertEquals(6, decoded.size());
+        AgeTargetingPredicate age = (AgeTargetingPredicate) decoded.get(0);
+        assertEquals(AgeRange.AGE_26_TO_30, age.getTargetedAgeRange());
+        assertTrue(age.isInverse());
+        CategorySpendFrequencyTargetingPredicate frequency = (CategorySpendFrequencyTargetingPredicate) decoded.get(1);
+        assertEquals(Category.KINDLE, frequency.getTargetedCategory());
+        assertEquals(Comparison.GT, frequency.getComparison());
+        assertEquals(3, frequency.getTargetedNumberOfPurchases());
+        assertFalse(frequency.isInverse());
+        CategorySpendValueTargetingPredicate value = (CategorySpendValueTargetingPredicate) decoded.get(2);
+        assertEquals(Category.PET, value.getTargetedCategory());
+        assertEquals(Comparison.LT, value.getComparison());
+        assertEquals(250, value.getTargetedValue());
+        assertTrue(value.isInverse());
+        assertTrue(decoded.get(3) instanceof ParentPredicate);
+        assertTrue(decoded.get(3).isInverse());
+        assertEquals(Benefit.DIM_SUM, ((PrimeBenefitTargetingPredicate) decoded.get(4)).getBenefitToHave());
+        assertTrue(decoded.get(5) instanceof RecognizedTargetingPredicate);
+    }
+
+    @Test
+    public void decode_unknownAndNullConstants_roundTrips() {
+        // GIVEN
+        AgeTargetingPredicate unknownAge = new AgeTargetingPredicate("AGE_OVER_9000");
+        AgeTargetingPredicate nullAge = new AgeTargetingPredicate();
+
+        // WHEN
+        List<TargetingPredicate> decoded =
+                TargetingPredicateCodec.decode(TargetingPredicateCodec.encode(Arrays.asList(unknownAge, nullAge)));
+
+        // THEN
+        assertEquals("AGE_OVER_9000", ((AgeTargetingPredicate) decoded.get(0)).getTargetedAgeRange());
+        assertNull(((AgeTargetingPredicate) decoded.get(1)).getTargetedAgeRange());
+    }
+
+    @Test
+    public void encode_constants_writeStableTags() {
+        // Stored items depend on these tags. If this fails, append to the codec's tables instead of reordering them.
+        String[] ageRanges = {
+            AgeRange.UNDER_18, AgeRange.AGE_18_TO_21, AgeRange.AGE_22_TO_25, AgeRange.AGE_26_TO_30,
+            AgeRange.AGE_31_TO_35, AgeRange.AGE_36_TO_45, AgeRange.AGE_46_TO_60, AgeRange.OVER_60,
+        };
+        for (int tag = 0; tag < ageRanges.length; tag++) {
+            assertEquals(tag, constantTag(new AgeTargetingPredicate(ageRanges[tag])), ageRanges[tag]);
+        }
+        String[] categories = {
+            Category.PRIME_VIDEO, Category.AMAZON_MUSIC, Category.KINDLE, Category.ECHO, Category.FRESH,
+            Category.TECHNICAL_BOOKS, Category.CHILDRENS_BOOKS, Category.MAGAZINES, Category.VIDEO_GAMES,
+            Category.ELECTRONICS, Category.COMPUTERS, Category.HOME, Category.PET,
+        };
+        for (int tag = 0; tag < categories.length; tag++) {
+            assertEquals(tag, constantTag(new CategorySpendFrequencyTargetingPredicate(categories[tag],
+                    Comparison.GT, 1)), categories[tag]);
+        }
+        String[] benefits = {
+            Benefit.MOM_LITE, Benefit.MOM_DISCOUNT, Benefit.FREE_TRIDENT_VOD, Benefit.FREE_EXPEDITED_SHIPPING,
+            Benefit.DIM_SUM, Benefit.AMZN4KIDS,
+        };
+        for (int tag = 0; tag < benefits.length; tag++) {
+            assertEquals(tag, constantTag(new PrimeBenefitTargetingPredicate(benefits[tag])), benefits[tag]);
+        }
+        assertEquals(Arrays.asList(Comparison.LT, Comparison.GT, Comparison.EQ), Arrays.asList(Comparison.values()));
+    }
+
+    @Test
+    public void encode_prime_smallerThanJson() {
+        // GIVEN
+        List<TargetingPredicate> predicates =
+                Collections.singletonList(new PrimeBenefitTargetingPredicate(Benefit.FREE_EXPEDITED_SHIPPING));
+
+        // WHEN
+        byte[] encoded = TargetingPredicateCodec.encode(predicates);
+
+        // THEN
+        assertEquals(6, encoded.length);
+    }
+
+    @Test
+    public void decode_unsupportedVersion_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> TargetingPredicateCodec.decode(new byte[] {9, 0, 0}));
+    }
+
+    @Test
+    public void decode_truncated_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> TargetingPredicateCodec.decode(new byte[] {1, 0, 1}));
+    }
+
+    @Test
+    public void canEncode_unknownPredicateType_false() {
+        TargetingPredicate custom = new TargetingPredicate() {
+            @Override
+            TargetingPredicateResult evaluateRecognizedCustomer(com.amazon.ata.advertising.service.model.RequestContext
+                                                                        context) {
+                return TargetingPredicateResult.TRUE;
+            }
+        };
+
+        assertFalse(TargetingPredicateCodec.canEncode(Collections.singletonList(custom)));
+    }
+
+    /**
+     * The tag written for a single predicate's age range, category or benefit, which follows the version, predicate
+     * count, type tag and flags.
+     */
+    private static int constantTag(TargetingPredicate predicate) {
+        return Byte.toUnsignedInt(TargetingPredicateCodec.encode(Collections.singletonList(predicate))[5]);
+    }
+}
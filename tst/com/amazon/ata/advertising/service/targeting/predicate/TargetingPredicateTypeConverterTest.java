@@ -9,6 +9,8 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TargetingPredicateTypeConverterTest {
@@ -79,6 +81,40 @@ public class TargetingPredicateTypeConverterTest {
         assertPrimeBenefit(Benefit.MOM_DISCOUNT, true, predicates.get(1));
     }
 
+    @Test
+    public void unconvert_sameValueTwice_parsedOnce() {
+        List<TargetingPredicate> first = converter.unconvert(PREDICATE_LIST_2_STRING);
+        List<TargetingPredicate> second = new TargetingPredicateTypeConverter().unconvert(PREDICATE_LIST_2_STRING);
+
+        assertSame(first, second);
+    }
+
+    @Test
+    public void unconvert_cachedList_isImmutable() {
+        List<TargetingPredicate> predicates = converter.unconvert(PREDICATE_LIST_1_STRING);
+
+        assertThrows(UnsupportedOperationException.class, () -> predicates.add(PREDICATE2));
+    }
+
+    @Test
+    public void convert_compactEncoding_prefixedAndReadable() {
+        String compact = converter.convert(PREDICATE_LIST_2, TargetingPredicateEncoding.COMPACT);
+
+        assertTrue(compact.startsWith(TargetingPredicateTypeConverter.COMPACT_PREFIX));
+        assertTrue(compact.length() < PREDICATE_LIST_2_STRING.length());
+        List<TargetingPredicate> predicates = converter.unconvert(compact);
+        assertEquals(2, predicates.size());
+        assertPrimeBenefit(Benefit.FREE_EXPEDITED_SHIPPING, false, predicates.get(0));
+        assertPrimeBenefit(Benefit.MOM_DISCOUNT, true, predicates.get(1));
+    }
+
+    @Test
+    public void reencode_jsonToCompactAndBack_originalJson() {
+        String compact = converter.reencode(PREDICATE_LIST_2_STRING, TargetingPredicateEncoding.COMPACT);
+
+        assertEquals(PREDICATE_LIST_2_STRING, converter.reencode(compact, TargetingPredicateEncoding.JSON));
+    }
+
     private void assertPrimeBenefit(String benefit, boolean isInverse, TargetingPredicate targetingPredicate) {
         assertTrue(targetingPredicate instanceof PrimeBenefitTargetingPredicate);
         assertEquals(isInverse, targetingPredicate.isInverse());